@@ -8,6 +8,8 @@
 
 package org.elasticsearch.benchmark.compute.operator;
 
+import org.apache.lucene.codecs.DocValuesFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
 import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StoredField;
@@ -42,6 +44,7 @@ import org.elasticsearch.compute.lucene.ValuesSourceReaderOperator;
 import org.elasticsearch.compute.operator.topn.TopNOperator;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.index.IndexVersion;
+import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormat;
 import org.elasticsearch.index.mapper.BlockLoader;
 import org.elasticsearch.index.mapper.FieldNamesFieldMapper;
 import org.elasticsearch.index.mapper.KeywordFieldMapper;
@@ -134,11 +137,11 @@ public class ValuesSourceReaderBenchmark {
     private static ElementType elementType(String name) {
         name = WhereAndBaseName.fromName(name).name;
         switch (name) {
-            case "long":
+            case "long", "tsdb_long":
                 return ElementType.LONG;
             case "int":
                 return ElementType.INT;
-            case "double":
+            case "double", "tsdb_double":
                 return ElementType.DOUBLE;
         }
         if (name.startsWith("keyword")) {
@@ -150,11 +153,11 @@ public class ValuesSourceReaderBenchmark {
     private static BlockLoader blockLoader(String name) {
         WhereAndBaseName w = WhereAndBaseName.fromName(name);
         switch (w.name) {
-            case "long":
+            case "long", "tsdb_long":
                 return numericBlockLoader(w, NumberFieldMapper.NumberType.LONG);
             case "int":
                 return numericBlockLoader(w, NumberFieldMapper.NumberType.INTEGER);
-            case "double":
+            case "double", "tsdb_double":
                 return numericBlockLoader(w, NumberFieldMapper.NumberType.DOUBLE);
             case "keyword":
                 w = new WhereAndBaseName(w.where, "keyword_1");
@@ -273,7 +276,7 @@ public class ValuesSourceReaderBenchmark {
     @Param({ "in_order", "shuffled", "shuffled_singles" })
     public String layout;
 
-    @Param({ "long", "int", "double", "keyword", "stored_keyword", "3_stored_keywords" })
+    @Param({ "long", "int", "double", "tsdb_long", "tsdb_double", "keyword", "stored_keyword", "3_stored_keywords" })
     public String name;
 
     private Directory directory;
@@ -295,7 +298,7 @@ public class ValuesSourceReaderBenchmark {
         for (Page page : pages) {
             op.addInput(page);
             switch (name) {
-                case "long" -> {
+                case "long", "tsdb_long" -> {
                     LongVector values = op.getOutput().<LongBlock>getBlock(1).asVector();
                     for (int p = 0; p < values.getPositionCount(); p++) {
                         sum += values.getLong(p);
@@ -307,7 +310,7 @@ public class ValuesSourceReaderBenchmark {
                         sum += values.getInt(p);
                     }
                 }
-                case "double" -> {
+                case "double", "tsdb_double" -> {
                     DoubleVector values = op.getOutput().<DoubleBlock>getBlock(1).asVector();
                     for (int p = 0; p < values.getPositionCount(); p++) {
                         sum += (long) values.getDouble(p);
@@ -389,7 +392,15 @@ public class ValuesSourceReaderBenchmark {
         FieldType keywordFieldType = new FieldType(KeywordFieldMapper.Defaults.FIELD_TYPE);
         keywordFieldType.setStored(true);
         keywordFieldType.freeze();
-        try (IndexWriter iw = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+        DocValuesFormat tsdbDocValuesFormat = new ES87TSDBDocValuesFormat();
+        // the tsdb_ fields use the doc values format of time series indices
+        IndexWriterConfig config = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE).setCodec(new Lucene99Codec() {
+            @Override
+            public DocValuesFormat getDocValuesFormatForField(String field) {
+                return field.startsWith("tsdb_") ? tsdbDocValuesFormat : super.getDocValuesFormatForField(field);
+            }
+        });
+        try (IndexWriter iw = new IndexWriter(directory, config)) {
             for (int i = 0; i < INDEX_SIZE; i++) {
                 String c = Character.toString('a' - ((i % 1000) % 26) + 26);
                 iw.addDocument(
@@ -400,6 +411,8 @@ public class ValuesSourceReaderBenchmark {
                         new StoredField("int", i),
                         new NumericDocValuesField("double", NumericUtils.doubleToSortableLong(i)),
                         new StoredField("double", (double) i),
+                        new NumericDocValuesField("tsdb_long", i),
+                        new NumericDocValuesField("tsdb_double", NumericUtils.doubleToSortableLong(i)),
                         new KeywordFieldMapper.KeywordField("keyword_1", new BytesRef(c + i % 1000), keywordFieldType),
                         new KeywordFieldMapper.KeywordField("keyword_2", new BytesRef(c + i % 1000), keywordFieldType),
                         new KeywordFieldMapper.KeywordField("keyword_3", new BytesRef(c + i % 1000), keywordFieldType)
@@ -0,0 +1,75 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.index.codec.tsdb;
+
+import org.apache.lucene.store.ByteArrayDataInput;
+import org.apache.lucene.store.ByteArrayDataOutput;
+import org.elasticsearch.benchmark.index.codec.tsdb.internal.DecimalGaugeSupplier;
+import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+@State(value = Scope.Benchmark)
+public class DecodeDecimalGaugeBenchmark {
+    private static final int SEED = 17;
+    private static final int BLOCK_SIZE = 128;
+    @Param({ "0", "2", "4" })
+    private int fractionDigits;
+
+    @Param({ "false", "true" })
+    private boolean decimalScaling;
+
+    private final ES87TSDBDocValuesEncoder encoder = new ES87TSDBDocValuesEncoder();
+    private final long[] output = new long[BLOCK_SIZE];
+    private final byte[] encoded = new byte[Long.BYTES * BLOCK_SIZE + 16];
+    private final ByteArrayDataInput dataInput = new ByteArrayDataInput();
+    private int encodedLength;
+
+    @Setup(Level.Iteration)
+    public void setupIteration() throws IOException {
+        final long[] input = new DecimalGaugeSupplier(SEED, fractionDigits, BLOCK_SIZE).get();
+        final ByteArrayDataOutput dataOutput = new ByteArrayDataOutput(encoded);
+        if (decimalScaling) {
+            encoder.encodeWithDecimalScaling(input, dataOutput);
+        } else {
+            encoder.encode(input, dataOutput);
+        }
+        encodedLength = dataOutput.getPosition();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        dataInput.reset(encoded, 0, encodedLength);
+    }
+
+    @Benchmark
+    public void benchmark(Blackhole bh) throws IOException {
+        encoder.decode(dataInput, output);
+        bh.consume(output);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.index.codec.tsdb;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSortField;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures indexing and flushing a segment of a time series index, sorted by {@code _tsid} ascending then {@code @timestamp}
+ * descending, depending on the order in which the documents are added: in random order, as a sequence of sorted runs like bulk
+ * requests presorted by {@code index.time_series.presort_bulk_items} produce, or fully sorted.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.MILLISECONDS)
+@State(value = Scope.Benchmark)
+public class TSDBSortedFlushBenchmark {
+    private static final int SEED = 17;
+    private static final int DOCS = 100_000;
+    private static final int BULK_SIZE = 1_000;
+
+    @Param({ "random", "sorted_bulks", "sorted" })
+    private String order;
+
+    @Param({ "10", "1000" })
+    private int timeSeries;
+
+    private final List<Point> points = new ArrayList<>(DOCS);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(SEED);
+        final long startTime = 1_700_000_000_000L;
+        for (int i = 0; i < DOCS; i++) {
+            final BytesRef tsid = new BytesRef(String.format(Locale.ROOT, "tsid-%08d", random.nextInt(timeSeries)));
+            points.add(new Point(tsid, startTime + i * 10L));
+        }
+        final Comparator<Point> indexSort = Comparator.comparing(Point::tsid).thenComparing(Point::timestamp, Comparator.reverseOrder());
+        switch (order) {
+            case "random" -> Collections.shuffle(points, random);
+            case "sorted_bulks" -> {
+                for (int from = 0; from < DOCS; from += BULK_SIZE) {
+                    points.subList(from, Math.min(from + BULK_SIZE, DOCS)).sort(indexSort);
+                }
+            }
+            case "sorted" -> points.sort(indexSort);
+            default -> throw new IllegalArgumentException("unknown order [" + order + "]");
+        }
+    }
+
+    @Benchmark
+    public void indexAndFlush() throws IOException {
+        final IndexWriterConfig config = new IndexWriterConfig().setIndexSort(
+            new Sort(new SortField("_tsid", SortField.Type.STRING), new SortedNumericSortField("@timestamp", SortField.Type.LONG, true))
+        ).setRAMBufferSizeMB(IndexWriterConfig.DISABLE_AUTO_FLUSH).setMaxBufferedDocs(DOCS + 1);
+        try (ByteBuffersDirectory directory = new ByteBuffersDirectory(); IndexWriter writer = new IndexWriter(directory, config)) {
+            for (Point point : points) {
+                final Document doc = new Document();
+                doc.add(new SortedDocValuesField("_tsid", point.tsid()));
+                doc.add(new SortedNumericDocValuesField("@timestamp", point.timestamp()));
+                writer.addDocument(doc);
+            }
+            writer.flush();
+        }
+    }
+
+    private record Point(BytesRef tsid, long timestamp) {}
+}
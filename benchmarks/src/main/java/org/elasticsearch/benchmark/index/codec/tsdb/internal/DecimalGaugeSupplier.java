@@ -0,0 +1,40 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.index.codec.tsdb.internal;
+
+import org.apache.lucene.util.NumericUtils;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Supplies a random walk of doubles, rounded to the given number of fractional digits, as sortable longs.
+ */
+public class DecimalGaugeSupplier implements Supplier<long[]> {
+    private final Random random;
+    private final double scale;
+    private final int size;
+
+    public DecimalGaugeSupplier(int seed, int fractionDigits, int size) {
+        this.random = new Random(seed);
+        this.scale = Math.pow(10, fractionDigits);
+        this.size = size;
+    }
+
+    @Override
+    public long[] get() {
+        final long[] data = new long[size];
+        double value = 100;
+        for (int i = 0; i < size; i++) {
+            value = Math.round((value + random.nextGaussian()) * scale) / scale;
+            data[i] = NumericUtils.doubleToSortableLong(value);
+        }
+        return data;
+    }
+}
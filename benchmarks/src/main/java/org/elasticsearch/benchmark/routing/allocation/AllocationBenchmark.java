@@ -103,7 +103,12 @@ public class AllocationBenchmark {
             "       10|     10|        2|    50",
             "      100|      1|        2|    50",
             "      100|      3|        2|    50",
-            "      100|     10|        2|    50" }
+            "      100|     10|        2|    50",
+
+            // large clusters, up to 80k shards
+            "     1000|     10|        1|   100",
+            "     4000|     10|        1|   200",
+            "    20000|      2|        1|   400" }
     )
     public String indicesShardsReplicasNodes = "10|1|0|1";
 
@@ -111,6 +116,7 @@ public class AllocationBenchmark {
 
     private AllocationService strategy;
     private ClusterState initialClusterState;
+    private ClusterState allocatedClusterState;
 
     @Setup
     public void setUp() throws Exception {
@@ -154,6 +160,7 @@ public class AllocationBenchmark {
             .nodes(nb)
             .nodeIdsToCompatibilityVersions(compatibilityVersions)
             .build();
+        allocatedClusterState = measureAllocation();
     }
 
     private int toInt(String v) {
@@ -179,4 +186,12 @@ public class AllocationBenchmark {
         }
         return clusterState;
     }
+
+    /**
+     * Measures a reroute of a cluster whose shards are all allocated, which is what happens after most shard events in a large cluster
+     */
+    @Benchmark
+    public ClusterState measureRerouteOfAllocatedCluster() {
+        return strategy.reroute(allocatedClusterState, "reroute", ActionListener.noop());
+    }
 }
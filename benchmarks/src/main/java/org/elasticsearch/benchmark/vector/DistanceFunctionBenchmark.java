@@ -36,12 +36,16 @@ import java.util.function.Consumer;
  * Various benchmarks for the distance functions
  * used by indexed and non-indexed vectors.
  * Parameters include element, dims, function, and type.
+ * The {@code vector} function measures how fast a vector is
+ * read as floats, which widens the values of byte vectors.
+ * Forks enable the Panama vector API so that vectorized
+ * implementations are picked when the platform supports them.
  * For individual local tests it may be useful to increase
  * fork, measurement, and operations per invocation. (Note
  * to also update the benchmark loop if operations per invocation
  * is increased.)
  */
-@Fork(1)
+@Fork(value = 1, jvmArgsPrepend = { "--add-modules=jdk.incubator.vector" })
 @Warmup(iterations = 1)
 @Measurement(iterations = 2)
 @BenchmarkMode(Mode.AverageTime)
@@ -53,10 +57,10 @@ public class DistanceFunctionBenchmark {
     @Param({ "float", "byte" })
     private String element;
 
-    @Param({ "96" })
+    @Param({ "96", "768", "1536" })
     private int dims;
 
-    @Param({ "dot", "cosine", "l1", "l2" })
+    @Param({ "dot", "cosine", "l1", "l2", "vector" })
     private String function;
 
     @Param({ "knn", "binary" })
@@ -314,7 +318,7 @@ public class DistanceFunctionBenchmark {
 
         @Override
         public void execute(Consumer<Object> consumer) {
-            new KnnDenseVector(docVector).l1Norm(queryVector);
+            consumer.accept(new KnnDenseVector(docVector).l1Norm(queryVector));
         }
     }
 
@@ -326,7 +330,7 @@ public class DistanceFunctionBenchmark {
 
         @Override
         public void execute(Consumer<Object> consumer) {
-            new ByteKnnDenseVector(docVector).l1Norm(queryVector);
+            consumer.accept(new ByteKnnDenseVector(docVector).l1Norm(queryVector));
         }
     }
 
@@ -338,7 +342,7 @@ public class DistanceFunctionBenchmark {
 
         @Override
         public void execute(Consumer<Object> consumer) {
-            new BinaryDenseVector(docFloatVector, docVector, dims, IndexVersion.current()).l1Norm(queryVector);
+            consumer.accept(new BinaryDenseVector(docFloatVector, docVector, dims, IndexVersion.current()).l1Norm(queryVector));
         }
     }
 
@@ -350,7 +354,7 @@ public class DistanceFunctionBenchmark {
 
         @Override
         public void execute(Consumer<Object> consumer) {
-            new ByteBinaryDenseVector(vectorValue, docVector, dims).l1Norm(queryVector);
+            consumer.accept(new ByteBinaryDenseVector(vectorValue, docVector, dims).l1Norm(queryVector));
         }
     }
 
@@ -386,7 +390,7 @@ public class DistanceFunctionBenchmark {
 
         @Override
         public void execute(Consumer<Object> consumer) {
-            new BinaryDenseVector(docFloatVector, docVector, dims, IndexVersion.current()).l1Norm(queryVector);
+            new BinaryDenseVector(docFloatVector, docVector, dims, IndexVersion.current()).l2Norm(queryVector);
         }
     }
 
@@ -402,6 +406,54 @@ public class DistanceFunctionBenchmark {
         }
     }
 
+    private static class VectorKnnFloatBenchmarkFunction extends KnnFloatBenchmarkFunction {
+
+        private VectorKnnFloatBenchmarkFunction(int dims) {
+            super(dims, false);
+        }
+
+        @Override
+        public void execute(Consumer<Object> consumer) {
+            consumer.accept(new KnnDenseVector(docVector).getVector());
+        }
+    }
+
+    private static class VectorKnnByteBenchmarkFunction extends KnnByteBenchmarkFunction {
+
+        private VectorKnnByteBenchmarkFunction(int dims) {
+            super(dims);
+        }
+
+        @Override
+        public void execute(Consumer<Object> consumer) {
+            consumer.accept(new ByteKnnDenseVector(docVector).getVector());
+        }
+    }
+
+    private static class VectorBinaryFloatBenchmarkFunction extends BinaryFloatBenchmarkFunction {
+
+        private VectorBinaryFloatBenchmarkFunction(int dims) {
+            super(dims, false);
+        }
+
+        @Override
+        public void execute(Consumer<Object> consumer) {
+            consumer.accept(new BinaryDenseVector(docFloatVector, docVector, dims, IndexVersion.current()).getVector());
+        }
+    }
+
+    private static class VectorBinaryByteBenchmarkFunction extends BinaryByteBenchmarkFunction {
+
+        private VectorBinaryByteBenchmarkFunction(int dims) {
+            super(dims);
+        }
+
+        @Override
+        public void execute(Consumer<Object> consumer) {
+            consumer.accept(new ByteBinaryDenseVector(vectorValue, docVector, dims).getVector());
+        }
+    }
+
     private BenchmarkFunction benchmarkFunction;
 
     @Setup
@@ -429,6 +481,11 @@ public class DistanceFunctionBenchmark {
                         case "binary" -> new L2BinaryFloatBenchmarkFunction(dims);
                         default -> throw new UnsupportedOperationException("unexpected type [" + type + "]");
                     };
+                    case "vector" -> benchmarkFunction = switch (type) {
+                        case "knn" -> new VectorKnnFloatBenchmarkFunction(dims);
+                        case "binary" -> new VectorBinaryFloatBenchmarkFunction(dims);
+                        default -> throw new UnsupportedOperationException("unexpected type [" + type + "]");
+                    };
                     default -> throw new UnsupportedOperationException("unexpected function [" + function + "]");
                 }
             }
@@ -454,6 +511,11 @@ public class DistanceFunctionBenchmark {
                         case "binary" -> new L2BinaryByteBenchmarkFunction(dims);
                         default -> throw new UnsupportedOperationException("unexpected type [" + type + "]");
                     };
+                    case "vector" -> benchmarkFunction = switch (type) {
+                        case "knn" -> new VectorKnnByteBenchmarkFunction(dims);
+                        case "binary" -> new VectorBinaryByteBenchmarkFunction(dims);
+                        default -> throw new UnsupportedOperationException("unexpected type [" + type + "]");
+                    };
                     default -> throw new UnsupportedOperationException("unexpected function [" + function + "]");
                 }
             }
@@ -15,5 +15,8 @@ module org.elasticsearch.nativeaccess.jna {
     requires org.elasticsearch.logging;
     requires com.sun.jna;
 
+    // allows jna to read and write the fields of structures
+    exports org.elasticsearch.nativeaccess.jna to com.sun.jna;
+
     provides NativeLibraryProvider with JnaNativeLibraryProvider;
 }
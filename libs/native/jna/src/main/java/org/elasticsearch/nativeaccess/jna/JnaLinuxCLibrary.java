@@ -0,0 +1,98 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.nativeaccess.jna;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.Structure;
+
+import org.elasticsearch.nativeaccess.lib.LinuxCLibrary;
+
+class JnaLinuxCLibrary implements LinuxCLibrary {
+
+    @Structure.FieldOrder(
+        {
+            "ru_utime_sec",
+            "ru_utime_usec",
+            "ru_stime_sec",
+            "ru_stime_usec",
+            "ru_maxrss",
+            "ru_ixrss",
+            "ru_idrss",
+            "ru_isrss",
+            "ru_minflt",
+            "ru_majflt",
+            "ru_nswap",
+            "ru_inblock",
+            "ru_oublock",
+            "ru_msgsnd",
+            "ru_msgrcv",
+            "ru_nsignals",
+            "ru_nvcsw",
+            "ru_nivcsw" }
+    )
+    public static final class JnaRUsage extends Structure implements RUsage {
+        public long ru_utime_sec;
+        public long ru_utime_usec;
+        public long ru_stime_sec;
+        public long ru_stime_usec;
+        public long ru_maxrss;
+        public long ru_ixrss;
+        public long ru_idrss;
+        public long ru_isrss;
+        public long ru_minflt;
+        public long ru_majflt;
+        public long ru_nswap;
+        public long ru_inblock;
+        public long ru_oublock;
+        public long ru_msgsnd;
+        public long ru_msgrcv;
+        public long ru_nsignals;
+        public long ru_nvcsw;
+        public long ru_nivcsw;
+
+        @Override
+        public long ru_minflt() {
+            return ru_minflt;
+        }
+
+        @Override
+        public long ru_majflt() {
+            return ru_majflt;
+        }
+    }
+
+    private interface NativeFunctions extends Library {
+        int getrusage(int who, JnaRUsage usage);
+
+        int posix_fadvise(int fd, long offset, long len, int advice);
+    }
+
+    private final NativeFunctions functions;
+
+    JnaLinuxCLibrary() {
+        this.functions = Native.load("c", NativeFunctions.class);
+    }
+
+    @Override
+    public RUsage newRUsage() {
+        return new JnaRUsage();
+    }
+
+    @Override
+    public int getrusage(int who, RUsage usage) {
+        assert usage instanceof JnaRUsage;
+        return functions.getrusage(who, (JnaRUsage) usage);
+    }
+
+    @Override
+    public int posix_fadvise(int fd, long offset, long len, int advice) {
+        return functions.posix_fadvise(fd, offset, len, advice);
+    }
+}
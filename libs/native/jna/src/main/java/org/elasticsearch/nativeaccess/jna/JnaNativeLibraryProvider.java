@@ -8,13 +8,25 @@
 
 package org.elasticsearch.nativeaccess.jna;
 
+import org.elasticsearch.nativeaccess.lib.LinuxCLibrary;
 import org.elasticsearch.nativeaccess.lib.NativeLibraryProvider;
 import org.elasticsearch.nativeaccess.lib.PosixCLibrary;
+import org.elasticsearch.nativeaccess.lib.ZstdLibrary;
 
 import java.util.Map;
 
 public class JnaNativeLibraryProvider extends NativeLibraryProvider {
     public JnaNativeLibraryProvider() {
-        super("jna", Map.of(PosixCLibrary.class, JnaPosixCLibrary::new));
+        super(
+            "jna",
+            Map.of(
+                PosixCLibrary.class,
+                JnaPosixCLibrary::new,
+                LinuxCLibrary.class,
+                JnaLinuxCLibrary::new,
+                ZstdLibrary.class,
+                JnaZstdLibrary::new
+            )
+        );
     }
 }
@@ -17,6 +17,10 @@ class JnaPosixCLibrary implements PosixCLibrary {
 
     private interface NativeFunctions extends Library {
         int geteuid();
+
+        int open(String pathname, int flags);
+
+        int close(int fd);
     }
 
     private final NativeFunctions functions;
@@ -29,4 +33,14 @@ class JnaPosixCLibrary implements PosixCLibrary {
     public int geteuid() {
         return functions.geteuid();
     }
+
+    @Override
+    public int open(String pathname, int flags) {
+        return functions.open(pathname, flags);
+    }
+
+    @Override
+    public int close(int fd) {
+        return functions.close(fd);
+    }
 }
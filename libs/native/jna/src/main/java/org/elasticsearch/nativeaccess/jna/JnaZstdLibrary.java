@@ -0,0 +1,168 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.nativeaccess.jna;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import org.elasticsearch.nativeaccess.lib.ZstdLibrary;
+
+import java.nio.ByteBuffer;
+
+class JnaZstdLibrary implements ZstdLibrary {
+
+    private interface NativeFunctions extends Library {
+        long ZSTD_compressBound(long scrLen);
+
+        Pointer ZSTD_createCCtx();
+
+        long ZSTD_freeCCtx(Pointer cctx);
+
+        Pointer ZSTD_createCDict(Pointer dictBuffer, long dictSize, int compressionLevel);
+
+        long ZSTD_freeCDict(Pointer cdict);
+
+        long ZSTD_compressCCtx(Pointer cctx, Pointer dst, long dstCapacity, Pointer src, long srcSize, int compressionLevel);
+
+        long ZSTD_compress_usingCDict(Pointer cctx, Pointer dst, long dstCapacity, Pointer src, long srcSize, Pointer cdict);
+
+        Pointer ZSTD_createDCtx();
+
+        long ZSTD_freeDCtx(Pointer dctx);
+
+        Pointer ZSTD_createDDict(Pointer dictBuffer, long dictSize);
+
+        long ZSTD_freeDDict(Pointer ddict);
+
+        long ZSTD_decompressDCtx(Pointer dctx, Pointer dst, long dstCapacity, Pointer src, long srcSize);
+
+        long ZSTD_decompress_usingDDict(Pointer dctx, Pointer dst, long dstCapacity, Pointer src, long srcSize, Pointer ddict);
+
+        long ZDICT_trainFromBuffer(Pointer dictBuffer, long dictBufferCapacity, Pointer samplesBuffer, long[] samplesSizes, int nbSamples);
+
+        int ZSTD_isError(long code);
+
+        String ZSTD_getErrorName(long code);
+    }
+
+    private final NativeFunctions functions;
+
+    JnaZstdLibrary() {
+        this.functions = Native.load("zstd", NativeFunctions.class);
+    }
+
+    @Override
+    public long compressBound(int srcLen) {
+        return functions.ZSTD_compressBound(srcLen);
+    }
+
+    @Override
+    public long createCCtx() {
+        return Pointer.nativeValue(functions.ZSTD_createCCtx());
+    }
+
+    @Override
+    public long freeCCtx(long cctx) {
+        return functions.ZSTD_freeCCtx(new Pointer(cctx));
+    }
+
+    @Override
+    public long createCDict(ByteBuffer dict, int compressionLevel) {
+        return Pointer.nativeValue(functions.ZSTD_createCDict(pointer(dict), dict.remaining(), compressionLevel));
+    }
+
+    @Override
+    public long freeCDict(long cdict) {
+        return functions.ZSTD_freeCDict(new Pointer(cdict));
+    }
+
+    @Override
+    public long compressCCtx(long cctx, ByteBuffer dst, ByteBuffer src, int compressionLevel) {
+        return functions.ZSTD_compressCCtx(
+            new Pointer(cctx),
+            pointer(dst),
+            dst.remaining(),
+            pointer(src),
+            src.remaining(),
+            compressionLevel
+        );
+    }
+
+    @Override
+    public long compressUsingCDict(long cctx, ByteBuffer dst, ByteBuffer src, long cdict) {
+        return functions.ZSTD_compress_usingCDict(
+            new Pointer(cctx),
+            pointer(dst),
+            dst.remaining(),
+            pointer(src),
+            src.remaining(),
+            new Pointer(cdict)
+        );
+    }
+
+    @Override
+    public long createDCtx() {
+        return Pointer.nativeValue(functions.ZSTD_createDCtx());
+    }
+
+    @Override
+    public long freeDCtx(long dctx) {
+        return functions.ZSTD_freeDCtx(new Pointer(dctx));
+    }
+
+    @Override
+    public long createDDict(ByteBuffer dict) {
+        return Pointer.nativeValue(functions.ZSTD_createDDict(pointer(dict), dict.remaining()));
+    }
+
+    @Override
+    public long freeDDict(long ddict) {
+        return functions.ZSTD_freeDDict(new Pointer(ddict));
+    }
+
+    @Override
+    public long decompressDCtx(long dctx, ByteBuffer dst, ByteBuffer src) {
+        return functions.ZSTD_decompressDCtx(new Pointer(dctx), pointer(dst), dst.remaining(), pointer(src), src.remaining());
+    }
+
+    @Override
+    public long decompressUsingDDict(long dctx, ByteBuffer dst, ByteBuffer src, long ddict) {
+        return functions.ZSTD_decompress_usingDDict(
+            new Pointer(dctx),
+            pointer(dst),
+            dst.remaining(),
+            pointer(src),
+            src.remaining(),
+            new Pointer(ddict)
+        );
+    }
+
+    @Override
+    public long trainFromBuffer(ByteBuffer dict, ByteBuffer samples, long[] sampleSizes) {
+        return functions.ZDICT_trainFromBuffer(pointer(dict), dict.remaining(), pointer(samples), sampleSizes, sampleSizes.length);
+    }
+
+    @Override
+    public boolean isError(long code) {
+        return functions.ZSTD_isError(code) != 0;
+    }
+
+    @Override
+    public String getErrorName(long code) {
+        return functions.ZSTD_getErrorName(code);
+    }
+
+    private static Pointer pointer(ByteBuffer buffer) {
+        if (buffer.remaining() == 0) {
+            return null;
+        }
+        return Native.getDirectBufferPointer(buffer).share(buffer.position());
+    }
+}
@@ -10,18 +10,54 @@ package org.elasticsearch.nativeaccess;
 
 import org.elasticsearch.logging.LogManager;
 import org.elasticsearch.logging.Logger;
+import org.elasticsearch.nativeaccess.lib.NativeLibraryProvider;
+import org.elasticsearch.nativeaccess.lib.ZstdLibrary;
+
+import java.nio.file.Path;
 
 abstract class AbstractNativeAccess implements NativeAccess {
 
     protected static final Logger logger = LogManager.getLogger(NativeAccess.class);
 
     private final String name;
+    private final Zstd zstd;
 
     protected AbstractNativeAccess(String name) {
         this.name = name;
+        this.zstd = null;
+    }
+
+    protected AbstractNativeAccess(String name, NativeLibraryProvider libraryProvider) {
+        this.name = name;
+        this.zstd = loadZstd(libraryProvider);
+    }
+
+    private static Zstd loadZstd(NativeLibraryProvider libraryProvider) {
+        try {
+            return new Zstd(libraryProvider.getLibrary(ZstdLibrary.class));
+        } catch (LinkageError e) {
+            // libzstd is optional, callers fall back to other compression algorithms
+            logger.debug("Unable to load zstd. Native zstd compression will be disabled.", e);
+            return null;
+        }
     }
 
     String getName() {
         return name;
     }
+
+    @Override
+    public boolean prefetch(Path file, long offset, long length) {
+        return false;
+    }
+
+    @Override
+    public long currentThreadMajorPageFaults() {
+        return -1;
+    }
+
+    @Override
+    public Zstd getZstd() {
+        return zstd;
+    }
 }
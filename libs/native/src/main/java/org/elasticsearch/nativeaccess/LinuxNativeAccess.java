@@ -8,10 +8,53 @@
 
 package org.elasticsearch.nativeaccess;
 
+import org.elasticsearch.nativeaccess.lib.LinuxCLibrary;
+import org.elasticsearch.nativeaccess.lib.LinuxCLibrary.RUsage;
 import org.elasticsearch.nativeaccess.lib.NativeLibraryProvider;
 
+import java.nio.file.Path;
+
 class LinuxNativeAccess extends PosixNativeAccess {
+
+    private static final int O_RDONLY = 0;
+    private static final int POSIX_FADV_WILLNEED = 3;
+    private static final int RUSAGE_THREAD = 1;
+
+    private final LinuxCLibrary linuxLibc;
+    private final ThreadLocal<RUsage> rusage;
+
     LinuxNativeAccess(NativeLibraryProvider libraryProvider) {
         super("Linux", libraryProvider);
+        this.linuxLibc = libraryProvider.getLibrary(LinuxCLibrary.class);
+        this.rusage = ThreadLocal.withInitial(linuxLibc::newRUsage);
+    }
+
+    @Override
+    public boolean prefetch(Path file, long offset, long length) {
+        int fd = libc.open(file.toAbsolutePath().toString(), O_RDONLY);
+        if (fd == -1) {
+            logger.debug("could not open [{}] to prefetch it", file);
+            return false;
+        }
+        try {
+            // unlike most functions, posix_fadvise returns the error number rather than setting errno
+            int ret = linuxLibc.posix_fadvise(fd, offset, length, POSIX_FADV_WILLNEED);
+            if (ret != 0) {
+                logger.debug("posix_fadvise failed on [{}] with error [{}]", file, ret);
+                return false;
+            }
+            return true;
+        } finally {
+            libc.close(fd);
+        }
+    }
+
+    @Override
+    public long currentThreadMajorPageFaults() {
+        RUsage usage = rusage.get();
+        if (linuxLibc.getrusage(RUSAGE_THREAD, usage) != 0) {
+            return -1;
+        }
+        return usage.ru_majflt();
     }
 }
@@ -8,6 +8,10 @@
 
 package org.elasticsearch.nativeaccess;
 
+import org.elasticsearch.core.Nullable;
+
+import java.nio.file.Path;
+
 /**
  * Provides access to native functionality needed by Elastisearch.
  */
@@ -26,4 +30,30 @@ public interface NativeAccess {
      * @return true if running as root, or false if unsure
      */
     boolean definitelyRunningAsRoot();
+
+    /**
+     * Advise the operating system that a range of a file will be read soon, so that it can start reading it into the page cache.
+     * Memory mappings of the file benefit from this as well since they are backed by the same page cache.
+     *
+     * @param file the file to read ahead
+     * @param offset the offset of the range in the file
+     * @param length the length of the range, or 0 to read ahead until the end of the file
+     * @return true if the advice was given, or false if it is not supported on this platform or failed
+     */
+    boolean prefetch(Path file, long offset, long length);
+
+    /**
+     * Get the number of major page faults, which required reading from disk, of the current thread since it started.
+     *
+     * @return the number of major page faults, or -1 if not supported on this platform
+     */
+    long currentThreadMajorPageFaults();
+
+    /**
+     * Return an API for zstd compression, which requires libzstd to be on the library path.
+     *
+     * @return zstd, or {@code null} if libzstd could not be loaded
+     */
+    @Nullable
+    Zstd getZstd();
 }
@@ -0,0 +1,261 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.nativeaccess;
+
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.nativeaccess.lib.ZstdLibrary;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compresses and decompresses data with zstd, optionally with a dictionary. Native contexts and dictionaries are created once and
+ * reused: a {@link CompressionContext} compresses one block after the other with the same dictionary, a
+ * {@link DecompressionDictionary} is shared by all threads that decompress blocks that were compressed with it, and the contexts
+ * that {@link #decompress} uses are pooled.
+ */
+public final class Zstd {
+
+    /**
+     * Pooled decompression contexts keep direct buffers of up to this size, larger buffers are only allocated for a single call.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 256 * 1024;
+
+    private final ZstdLibrary zstdLib;
+    private final Queue<DecompressionContext> decompressionContexts = new ConcurrentLinkedQueue<>();
+
+    Zstd(ZstdLibrary zstdLib) {
+        this.zstdLib = zstdLib;
+    }
+
+    /**
+     * Return the maximum number of bytes that compressing {@code srcLen} bytes may take.
+     */
+    public int compressBound(int srcLen) {
+        return toInt(zstdLib.compressBound(srcLen));
+    }
+
+    /**
+     * Create a context that compresses with the given dictionary and level. It must be released once no more data is compressed.
+     *
+     * @param dict a dictionary that was trained with {@link #trainDictionary}, or {@code null}
+     */
+    public CompressionContext newCompressionContext(@Nullable byte[] dict, int level) {
+        return new CompressionContext(dict, level);
+    }
+
+    /**
+     * Create a dictionary to decompress data that was compressed with {@code dict}. It must be released once no more data is
+     * decompressed with it.
+     */
+    public DecompressionDictionary newDecompressionDictionary(byte[] dict) {
+        return new DecompressionDictionary(dict);
+    }
+
+    /**
+     * Decompress {@code src[srcOffset:srcOffset+srcLength]} into {@code dst[dstOffset:dstOffset+dstLength]}. This method is
+     * thread-safe.
+     *
+     * @param dict the dictionary that {@code src} was compressed with, or {@code null}
+     * @return the number of decompressed bytes
+     */
+    public int decompress(
+        byte[] dst,
+        int dstOffset,
+        int dstLength,
+        byte[] src,
+        int srcOffset,
+        int srcLength,
+        @Nullable DecompressionDictionary dict
+    ) {
+        DecompressionContext context = decompressionContexts.poll();
+        if (context == null) {
+            context = new DecompressionContext();
+        }
+        try {
+            final ByteBuffer srcBuffer = context.src = ensureCapacity(context.src, srcLength);
+            srcBuffer.put(0, src, srcOffset, srcLength);
+            final ByteBuffer dstBuffer = context.dst = ensureCapacity(context.dst, dstLength);
+            final int decompressedLength;
+            if (dict == null) {
+                decompressedLength = toInt(zstdLib.decompressDCtx(context.dctx, dstBuffer, srcBuffer));
+            } else {
+                dict.ensureOpen();
+                decompressedLength = toInt(zstdLib.decompressUsingDDict(context.dctx, dstBuffer, srcBuffer, dict.ddict));
+            }
+            dstBuffer.get(0, dst, dstOffset, decompressedLength);
+            return decompressedLength;
+        } finally {
+            if (context.src != null && context.src.capacity() > MAX_POOLED_BUFFER_SIZE) {
+                context.src = null;
+            }
+            if (context.dst != null && context.dst.capacity() > MAX_POOLED_BUFFER_SIZE) {
+                context.dst = null;
+            }
+            decompressionContexts.add(context);
+        }
+    }
+
+    /**
+     * Train a dictionary of at most {@code maxDictSize} bytes from samples of the data to compress.
+     *
+     * @param samples the samples, one after the other
+     * @param sampleSizes the size of every sample
+     * @return the dictionary
+     */
+    public byte[] trainDictionary(byte[] samples, int[] sampleSizes, int maxDictSize) {
+        final long[] sizes = new long[sampleSizes.length];
+        int samplesLength = 0;
+        for (int i = 0; i < sampleSizes.length; i++) {
+            sizes[i] = sampleSizes[i];
+            samplesLength += sampleSizes[i];
+        }
+        final ByteBuffer nativeSamples = ByteBuffer.allocateDirect(samplesLength).put(0, samples, 0, samplesLength);
+        final ByteBuffer nativeDict = ByteBuffer.allocateDirect(maxDictSize);
+        final byte[] dict = new byte[toInt(zstdLib.trainFromBuffer(nativeDict, nativeSamples, sizes))];
+        nativeDict.get(0, dict);
+        return dict;
+    }
+
+    private int toInt(long code) {
+        if (zstdLib.isError(code)) {
+            throw new IllegalArgumentException(zstdLib.getErrorName(code));
+        }
+        if (code > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Integer overflow: " + code);
+        }
+        return (int) code;
+    }
+
+    /**
+     * Returns a direct buffer whose limit is {@code size}, reusing {@code buffer} if it is large enough.
+     */
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int size) {
+        if (buffer == null || buffer.capacity() < size) {
+            buffer = ByteBuffer.allocateDirect(size);
+        }
+        return buffer.clear().limit(size);
+    }
+
+    private static ByteBuffer toDirect(byte[] bytes) {
+        return ByteBuffer.allocateDirect(bytes.length).put(0, bytes);
+    }
+
+    /**
+     * Compresses data with the same dictionary and level, reusing its native state. Instances are not thread-safe.
+     */
+    public final class CompressionContext implements Releasable {
+        private final long cctx;
+        private final long cdict;
+        private final int level;
+        private ByteBuffer src;
+        private ByteBuffer dst;
+        private boolean closed;
+
+        private CompressionContext(@Nullable byte[] dict, int level) {
+            this.level = level;
+            this.cctx = zstdLib.createCCtx();
+            if (cctx == 0) {
+                throw new IllegalStateException("failed to create zstd compression context");
+            }
+            if (dict == null || dict.length == 0) {
+                this.cdict = 0;
+            } else {
+                this.cdict = zstdLib.createCDict(toDirect(dict), level);
+                if (cdict == 0) {
+                    zstdLib.freeCCtx(cctx);
+                    throw new IllegalArgumentException("failed to create zstd compression dictionary");
+                }
+            }
+        }
+
+        /**
+         * Compress {@code src[srcOffset:srcOffset+srcLength]} into {@code dst[dstOffset:dstOffset+dstLength]}, which should have
+         * room for {@link #compressBound} bytes.
+         *
+         * @return the number of compressed bytes
+         */
+        public int compress(byte[] dst, int dstOffset, int dstLength, byte[] src, int srcOffset, int srcLength) {
+            if (closed) {
+                throw new IllegalStateException("compression context is closed");
+            }
+            this.src = ensureCapacity(this.src, srcLength);
+            this.src.put(0, src, srcOffset, srcLength);
+            this.dst = ensureCapacity(this.dst, dstLength);
+            final int compressedLength = toInt(
+                cdict == 0
+                    ? zstdLib.compressCCtx(cctx, this.dst, this.src, level)
+                    : zstdLib.compressUsingCDict(cctx, this.dst, this.src, cdict)
+            );
+            this.dst.get(0, dst, dstOffset, compressedLength);
+            return compressedLength;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (cdict != 0) {
+                zstdLib.freeCDict(cdict);
+            }
+            zstdLib.freeCCtx(cctx);
+        }
+    }
+
+    /**
+     * A dictionary that native zstd has digested once for decompression. Instances are thread-safe, but must not be used once they
+     * are released.
+     */
+    public final class DecompressionDictionary implements Releasable {
+        private final long ddict;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private DecompressionDictionary(byte[] dict) {
+            this.ddict = zstdLib.createDDict(toDirect(dict));
+            if (ddict == 0) {
+                throw new IllegalArgumentException("failed to create zstd decompression dictionary");
+            }
+        }
+
+        private void ensureOpen() {
+            if (closed.get()) {
+                throw new IllegalStateException("decompression dictionary is closed");
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                zstdLib.freeDDict(ddict);
+            }
+        }
+    }
+
+    /**
+     * A native decompression context with the direct buffers to decompress from and into. These are pooled, and their number is
+     * bounded by the number of threads that decompress at the same time, so they are never freed.
+     */
+    private final class DecompressionContext {
+        private final long dctx;
+        private ByteBuffer src;
+        private ByteBuffer dst;
+
+        private DecompressionContext() {
+            this.dctx = zstdLib.createDCtx();
+            if (dctx == 0) {
+                throw new IllegalStateException("failed to create zstd decompression context");
+            }
+        }
+    }
+}
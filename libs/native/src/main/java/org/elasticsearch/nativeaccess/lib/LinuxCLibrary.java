@@ -0,0 +1,51 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.nativeaccess.lib;
+
+/**
+ * Provides access to methods in libc.so that are specific to Linux.
+ */
+public non-sealed interface LinuxCLibrary extends NativeLibrary {
+
+    /**
+     * Corresponds to struct rusage, of which only the page fault counters are exposed.
+     */
+    interface RUsage {
+        long ru_minflt();
+
+        long ru_majflt();
+    }
+
+    /**
+     * Create a new {@link RUsage} to be filled by {@link #getrusage(int, RUsage)}.
+     */
+    RUsage newRUsage();
+
+    /**
+     * Gets resource usage statistics of the calling process, of its children, or of the calling thread.
+     *
+     * @param who {@code RUSAGE_SELF}, {@code RUSAGE_CHILDREN} or {@code RUSAGE_THREAD}
+     * @param usage the structure to fill
+     * @return 0 on success, -1 otherwise
+     * @see <a href="https://man7.org/linux/man-pages/man2/getrusage.2.html">getrusage</a>
+     */
+    int getrusage(int who, RUsage usage);
+
+    /**
+     * Announces an intention to access file data in a specific pattern in the future.
+     *
+     * @param fd the file descriptor of the file
+     * @param offset the start of the range of the file the advice applies to
+     * @param len the length of the range, 0 meaning until the end of the file
+     * @param advice the expected access pattern, e.g. {@code POSIX_FADV_WILLNEED}
+     * @return 0 on success, an error number otherwise
+     * @see <a href="https://man7.org/linux/man-pages/man2/posix_fadvise.2.html">posix_fadvise</a>
+     */
+    int posix_fadvise(int fd, long offset, long len, int advice);
+}
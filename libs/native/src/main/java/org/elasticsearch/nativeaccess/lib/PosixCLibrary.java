@@ -20,4 +20,23 @@ public non-sealed interface PosixCLibrary extends NativeLibrary {
      * @see <a href="https://pubs.opengroup.org/onlinepubs/9699919799/functions/geteuid.html">geteuid</a>
      */
     int geteuid();
+
+    /**
+     * Opens a file.
+     *
+     * @param pathname the path of the file
+     * @param flags the access mode and creation flags, e.g. {@code O_RDONLY}
+     * @return a file descriptor on success, -1 otherwise
+     * @see <a href="https://pubs.opengroup.org/onlinepubs/9699919799/functions/open.html">open</a>
+     */
+    int open(String pathname, int flags);
+
+    /**
+     * Closes a file descriptor.
+     *
+     * @param fd the file descriptor to close
+     * @return 0 on success, -1 otherwise
+     * @see <a href="https://pubs.opengroup.org/onlinepubs/9699919799/functions/close.html">close</a>
+     */
+    int close(int fd);
 }
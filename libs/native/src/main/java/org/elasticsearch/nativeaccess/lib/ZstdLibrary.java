@@ -0,0 +1,102 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.nativeaccess.lib;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Provides access to libzstd. Buffers must be direct, and the range of a buffer that a method reads or writes is between its position
+ * and its limit. Sizes are returned as size_t, which may hold an error code that {@link #isError(long)} detects. Contexts and
+ * dictionaries are referred to by their native address.
+ *
+ * @see <a href="https://facebook.github.io/zstd/zstd_manual.html">zstd manual</a>
+ */
+public non-sealed interface ZstdLibrary extends NativeLibrary {
+
+    /**
+     * The maximum compressed size of {@code srcLen} bytes in the worst case.
+     */
+    long compressBound(int srcLen);
+
+    /**
+     * Creates a compression context, which keeps its state across calls to save allocations.
+     *
+     * @return the address of the context, or 0 if it could not be allocated
+     */
+    long createCCtx();
+
+    long freeCCtx(long cctx);
+
+    /**
+     * Creates a compression dictionary that has digested {@code dict} for the given compression level, and can be shared across
+     * threads.
+     *
+     * @return the address of the dictionary, or 0 if it could not be created
+     */
+    long createCDict(ByteBuffer dict, int compressionLevel);
+
+    long freeCDict(long cdict);
+
+    /**
+     * Compresses {@code src} into {@code dst} without a dictionary.
+     *
+     * @return the compressed size or an error code
+     */
+    long compressCCtx(long cctx, ByteBuffer dst, ByteBuffer src, int compressionLevel);
+
+    /**
+     * Compresses {@code src} into {@code dst} with a dictionary that was created by {@link #createCDict}.
+     *
+     * @return the compressed size or an error code
+     */
+    long compressUsingCDict(long cctx, ByteBuffer dst, ByteBuffer src, long cdict);
+
+    /**
+     * Creates a decompression context, which keeps its state across calls to save allocations.
+     *
+     * @return the address of the context, or 0 if it could not be allocated
+     */
+    long createDCtx();
+
+    long freeDCtx(long dctx);
+
+    /**
+     * Creates a decompression dictionary that has digested {@code dict}, and can be shared across threads.
+     *
+     * @return the address of the dictionary, or 0 if it could not be created
+     */
+    long createDDict(ByteBuffer dict);
+
+    long freeDDict(long ddict);
+
+    /**
+     * Decompresses {@code src}, which was compressed without a dictionary, into {@code dst}.
+     *
+     * @return the decompressed size or an error code
+     */
+    long decompressDCtx(long dctx, ByteBuffer dst, ByteBuffer src);
+
+    /**
+     * Decompresses {@code src} into {@code dst} with a dictionary that was created by {@link #createDDict}.
+     *
+     * @return the decompressed size or an error code
+     */
+    long decompressUsingDDict(long dctx, ByteBuffer dst, ByteBuffer src, long ddict);
+
+    /**
+     * Trains a dictionary from samples, which are concatenated in {@code samples}.
+     *
+     * @return the size of the dictionary written into {@code dict} or an error code
+     */
+    long trainFromBuffer(ByteBuffer dict, ByteBuffer samples, long[] sampleSizes);
+
+    boolean isError(long code);
+
+    String getErrorName(long code);
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.nativeaccess.jdk;
+
+import org.elasticsearch.nativeaccess.lib.LinuxCLibrary;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static org.elasticsearch.nativeaccess.jdk.LinkerHelper.downcallHandle;
+
+class JdkLinuxCLibrary implements LinuxCLibrary {
+
+    private static final MethodHandle getrusage$mh = downcallHandle("getrusage", FunctionDescriptor.of(JAVA_INT, JAVA_INT, ADDRESS));
+    private static final MethodHandle posix_fadvise$mh = downcallHandle(
+        "posix_fadvise",
+        FunctionDescriptor.of(JAVA_INT, JAVA_INT, JAVA_LONG, JAVA_LONG, JAVA_INT)
+    );
+
+    /**
+     * struct rusage on 64 bit platforms: two struct timeval of two longs each, followed by 14 longs.
+     */
+    private static final MemoryLayout RUSAGE_LAYOUT = MemoryLayout.sequenceLayout(18, JAVA_LONG);
+    private static final int RU_MINFLT_INDEX = 8;
+    private static final int RU_MAJFLT_INDEX = 9;
+
+    private static class JdkRUsage implements RUsage {
+        final MemorySegment segment = Arena.ofAuto().allocate(RUSAGE_LAYOUT);
+
+        @Override
+        public long ru_minflt() {
+            return segment.getAtIndex(JAVA_LONG, RU_MINFLT_INDEX);
+        }
+
+        @Override
+        public long ru_majflt() {
+            return segment.getAtIndex(JAVA_LONG, RU_MAJFLT_INDEX);
+        }
+    }
+
+    @Override
+    public RUsage newRUsage() {
+        return new JdkRUsage();
+    }
+
+    @Override
+    public int getrusage(int who, RUsage usage) {
+        assert usage instanceof JdkRUsage;
+        var jdkUsage = (JdkRUsage) usage;
+        try {
+            return (int) getrusage$mh.invokeExact(who, jdkUsage.segment);
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public int posix_fadvise(int fd, long offset, long len, int advice) {
+        try {
+            return (int) posix_fadvise$mh.invokeExact(fd, offset, len, advice);
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+}
@@ -8,14 +8,26 @@
 
 package org.elasticsearch.nativeaccess.jdk;
 
+import org.elasticsearch.nativeaccess.lib.LinuxCLibrary;
 import org.elasticsearch.nativeaccess.lib.NativeLibraryProvider;
 import org.elasticsearch.nativeaccess.lib.PosixCLibrary;
+import org.elasticsearch.nativeaccess.lib.ZstdLibrary;
 
 import java.util.Map;
 
 public class JdkNativeLibraryProvider extends NativeLibraryProvider {
 
     public JdkNativeLibraryProvider() {
-        super("jdk", Map.of(PosixCLibrary.class, JdkPosixCLibrary::new));
+        super(
+            "jdk",
+            Map.of(
+                PosixCLibrary.class,
+                JdkPosixCLibrary::new,
+                LinuxCLibrary.class,
+                JdkLinuxCLibrary::new,
+                ZstdLibrary.class,
+                JdkZstdLibrary::new
+            )
+        );
     }
 }
@@ -12,9 +12,12 @@ import org.elasticsearch.logging.LogManager;
 import org.elasticsearch.logging.Logger;
 import org.elasticsearch.nativeaccess.lib.PosixCLibrary;
 
+import java.lang.foreign.Arena;
 import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.MemorySegment;
 import java.lang.invoke.MethodHandle;
 
+import static java.lang.foreign.ValueLayout.ADDRESS;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 import static org.elasticsearch.nativeaccess.jdk.LinkerHelper.downcallHandle;
 
@@ -23,6 +26,8 @@ class JdkPosixCLibrary implements PosixCLibrary {
     private static final Logger logger = LogManager.getLogger(JdkPosixCLibrary.class);
 
     private static final MethodHandle geteuid$mh = downcallHandle("geteuid", FunctionDescriptor.of(JAVA_INT));
+    private static final MethodHandle open$mh = downcallHandle("open", FunctionDescriptor.of(JAVA_INT, ADDRESS, JAVA_INT));
+    private static final MethodHandle close$mh = downcallHandle("close", FunctionDescriptor.of(JAVA_INT, JAVA_INT));
 
     @Override
     public int geteuid() {
@@ -32,4 +37,23 @@ class JdkPosixCLibrary implements PosixCLibrary {
             throw new AssertionError(t);
         }
     }
+
+    @Override
+    public int open(String pathname, int flags) {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment nativePathname = arena.allocateUtf8String(pathname);
+            return (int) open$mh.invokeExact(nativePathname, flags);
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public int close(int fd) {
+        try {
+            return (int) close$mh.invokeExact(fd);
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.nativeaccess.jdk;
+
+import org.elasticsearch.nativeaccess.lib.ZstdLibrary;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static org.elasticsearch.nativeaccess.jdk.LinkerHelper.downcallHandle;
+
+class JdkZstdLibrary implements ZstdLibrary {
+
+    static {
+        System.loadLibrary("zstd");
+    }
+
+    private static final MethodHandle compressBound$mh = downcallHandle("ZSTD_compressBound", FunctionDescriptor.of(JAVA_LONG, JAVA_LONG));
+    private static final MethodHandle createCCtx$mh = downcallHandle("ZSTD_createCCtx", FunctionDescriptor.of(ADDRESS));
+    private static final MethodHandle freeCCtx$mh = downcallHandle("ZSTD_freeCCtx", FunctionDescriptor.of(JAVA_LONG, ADDRESS));
+    private static final MethodHandle createCDict$mh = downcallHandle(
+        "ZSTD_createCDict",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_LONG, JAVA_INT)
+    );
+    private static final MethodHandle freeCDict$mh = downcallHandle("ZSTD_freeCDict", FunctionDescriptor.of(JAVA_LONG, ADDRESS));
+    private static final MethodHandle compressCCtx$mh = downcallHandle(
+        "ZSTD_compressCCtx",
+        FunctionDescriptor.of(JAVA_LONG, ADDRESS, ADDRESS, JAVA_LONG, ADDRESS, JAVA_LONG, JAVA_INT)
+    );
+    private static final MethodHandle compressUsingCDict$mh = downcallHandle(
+        "ZSTD_compress_usingCDict",
+        FunctionDescriptor.of(JAVA_LONG, ADDRESS, ADDRESS, JAVA_LONG, ADDRESS, JAVA_LONG, ADDRESS)
+    );
+    private static final MethodHandle createDCtx$mh = downcallHandle("ZSTD_createDCtx", FunctionDescriptor.of(ADDRESS));
+    private static final MethodHandle freeDCtx$mh = downcallHandle("ZSTD_freeDCtx", FunctionDescriptor.of(JAVA_LONG, ADDRESS));
+    private static final MethodHandle createDDict$mh = downcallHandle(
+        "ZSTD_createDDict",
+        FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_LONG)
+    );
+    private static final MethodHandle freeDDict$mh = downcallHandle("ZSTD_freeDDict", FunctionDescriptor.of(JAVA_LONG, ADDRESS));
+    private static final MethodHandle decompressDCtx$mh = downcallHandle(
+        "ZSTD_decompressDCtx",
+        FunctionDescriptor.of(JAVA_LONG, ADDRESS, ADDRESS, JAVA_LONG, ADDRESS, JAVA_LONG)
+    );
+    private static final MethodHandle decompressUsingDDict$mh = downcallHandle(
+        "ZSTD_decompress_usingDDict",
+        FunctionDescriptor.of(JAVA_LONG, ADDRESS, ADDRESS, JAVA_LONG, ADDRESS, JAVA_LONG, ADDRESS)
+    );
+    private static final MethodHandle trainFromBuffer$mh = downcallHandle(
+        "ZDICT_trainFromBuffer",
+        FunctionDescriptor.of(JAVA_LONG, ADDRESS, JAVA_LONG, ADDRESS, ADDRESS, JAVA_INT)
+    );
+    private static final MethodHandle isError$mh = downcallHandle("ZSTD_isError", FunctionDescriptor.of(JAVA_INT, JAVA_LONG));
+    private static final MethodHandle getErrorName$mh = downcallHandle("ZSTD_getErrorName", FunctionDescriptor.of(ADDRESS, JAVA_LONG));
+
+    @Override
+    public long compressBound(int srcLen) {
+        try {
+            return (long) compressBound$mh.invokeExact((long) srcLen);
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long createCCtx() {
+        try {
+            return ((MemorySegment) createCCtx$mh.invokeExact()).address();
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long freeCCtx(long cctx) {
+        try {
+            return (long) freeCCtx$mh.invokeExact(MemorySegment.ofAddress(cctx));
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long createCDict(ByteBuffer dict, int compressionLevel) {
+        var nativeDict = MemorySegment.ofBuffer(dict);
+        try {
+            return ((MemorySegment) createCDict$mh.invokeExact(nativeDict, nativeDict.byteSize(), compressionLevel)).address();
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long freeCDict(long cdict) {
+        try {
+            return (long) freeCDict$mh.invokeExact(MemorySegment.ofAddress(cdict));
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long compressCCtx(long cctx, ByteBuffer dst, ByteBuffer src, int compressionLevel) {
+        var nativeDst = MemorySegment.ofBuffer(dst);
+        var nativeSrc = MemorySegment.ofBuffer(src);
+        try {
+            return (long) compressCCtx$mh.invokeExact(
+                MemorySegment.ofAddress(cctx),
+                nativeDst,
+                nativeDst.byteSize(),
+                nativeSrc,
+                nativeSrc.byteSize(),
+                compressionLevel
+            );
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long compressUsingCDict(long cctx, ByteBuffer dst, ByteBuffer src, long cdict) {
+        var nativeDst = MemorySegment.ofBuffer(dst);
+        var nativeSrc = MemorySegment.ofBuffer(src);
+        try {
+            return (long) compressUsingCDict$mh.invokeExact(
+                MemorySegment.ofAddress(cctx),
+                nativeDst,
+                nativeDst.byteSize(),
+                nativeSrc,
+                nativeSrc.byteSize(),
+                MemorySegment.ofAddress(cdict)
+            );
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long createDCtx() {
+        try {
+            return ((MemorySegment) createDCtx$mh.invokeExact()).address();
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long freeDCtx(long dctx) {
+        try {
+            return (long) freeDCtx$mh.invokeExact(MemorySegment.ofAddress(dctx));
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long createDDict(ByteBuffer dict) {
+        var nativeDict = MemorySegment.ofBuffer(dict);
+        try {
+            return ((MemorySegment) createDDict$mh.invokeExact(nativeDict, nativeDict.byteSize())).address();
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long freeDDict(long ddict) {
+        try {
+            return (long) freeDDict$mh.invokeExact(MemorySegment.ofAddress(ddict));
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long decompressDCtx(long dctx, ByteBuffer dst, ByteBuffer src) {
+        var nativeDst = MemorySegment.ofBuffer(dst);
+        var nativeSrc = MemorySegment.ofBuffer(src);
+        try {
+            return (long) decompressDCtx$mh.invokeExact(
+                MemorySegment.ofAddress(dctx),
+                nativeDst,
+                nativeDst.byteSize(),
+                nativeSrc,
+                nativeSrc.byteSize()
+            );
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long decompressUsingDDict(long dctx, ByteBuffer dst, ByteBuffer src, long ddict) {
+        var nativeDst = MemorySegment.ofBuffer(dst);
+        var nativeSrc = MemorySegment.ofBuffer(src);
+        try {
+            return (long) decompressUsingDDict$mh.invokeExact(
+                MemorySegment.ofAddress(dctx),
+                nativeDst,
+                nativeDst.byteSize(),
+                nativeSrc,
+                nativeSrc.byteSize(),
+                MemorySegment.ofAddress(ddict)
+            );
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public long trainFromBuffer(ByteBuffer dict, ByteBuffer samples, long[] sampleSizes) {
+        var nativeDict = MemorySegment.ofBuffer(dict);
+        var nativeSamples = MemorySegment.ofBuffer(samples);
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment nativeSampleSizes = arena.allocateArray(JAVA_LONG, sampleSizes);
+            return (long) trainFromBuffer$mh.invokeExact(
+                nativeDict,
+                nativeDict.byteSize(),
+                nativeSamples,
+                nativeSampleSizes,
+                sampleSizes.length
+            );
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public boolean isError(long code) {
+        try {
+            return (int) isError$mh.invokeExact(code) != 0;
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    @Override
+    public String getErrorName(long code) {
+        try {
+            MemorySegment str = (MemorySegment) getErrorName$mh.invokeExact(code);
+            return str.reinterpret(Long.MAX_VALUE).getUtf8String(0);
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec;
+
+import org.elasticsearch.simdvec.internal.vectorization.ESVectorUtilSupport;
+import org.elasticsearch.simdvec.internal.vectorization.ESVectorizationProvider;
+
+/**
+ * Vector functions that Lucene's {@code VectorUtil} does not provide. They are implemented with the Panama Vector API when the
+ * {@code jdk.incubator.vector} module is available at runtime and with plain loops otherwise.
+ */
+public final class ESVectorUtil {
+
+    private static final ESVectorUtilSupport IMPL = ESVectorizationProvider.getInstance().getVectorUtilSupport();
+
+    private ESVectorUtil() {}
+
+    /**
+     * Returns the sum of the absolute differences of the values of two float vectors.
+     */
+    public static float l1Norm(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("vector dimensions differ: " + a.length + "!=" + b.length);
+        }
+        return IMPL.l1Norm(a, b);
+    }
+
+    /**
+     * Returns the sum of the absolute differences of the values of two byte vectors.
+     */
+    public static int l1Norm(byte[] a, byte[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("vector dimensions differ: " + a.length + "!=" + b.length);
+        }
+        return IMPL.l1Norm(a, b);
+    }
+
+    /**
+     * Widens the values of a byte vector into a float vector of the same dimensions.
+     */
+    public static void toFloats(byte[] vector, float[] floats) {
+        if (vector.length != floats.length) {
+            throw new IllegalArgumentException("vector dimensions differ: " + vector.length + "!=" + floats.length);
+        }
+        IMPL.toFloats(vector, floats);
+    }
+}
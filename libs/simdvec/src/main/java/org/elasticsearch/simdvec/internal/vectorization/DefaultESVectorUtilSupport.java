@@ -0,0 +1,40 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec.internal.vectorization;
+
+/**
+ * Scalar implementation, used when the Panama Vector API is not available.
+ */
+final class DefaultESVectorUtilSupport implements ESVectorUtilSupport {
+
+    @Override
+    public float l1Norm(float[] a, float[] b) {
+        float result = 0;
+        for (int i = 0; i < a.length; i++) {
+            result += Math.abs(a[i] - b[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public int l1Norm(byte[] a, byte[] b) {
+        int result = 0;
+        for (int i = 0; i < a.length; i++) {
+            result += Math.abs(a[i] - b[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public void toFloats(byte[] vector, float[] floats) {
+        for (int i = 0; i < vector.length; i++) {
+            floats[i] = vector[i];
+        }
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec.internal.vectorization;
+
+/**
+ * Implementation of the functions of {@link org.elasticsearch.simdvec.ESVectorUtil}, whose arguments are already validated.
+ */
+public interface ESVectorUtilSupport {
+
+    float l1Norm(float[] a, float[] b);
+
+    int l1Norm(byte[] a, byte[] b);
+
+    void toFloats(byte[] vector, float[] floats);
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec.internal.vectorization;
+
+import org.elasticsearch.logging.LogManager;
+import org.elasticsearch.logging.Logger;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+
+/**
+ * Picks the implementation of the vector functions once, depending on the runtime: the Panama implementation requires Java 21 and
+ * the {@code jdk.incubator.vector} module, which is only resolved when the JVM is started with
+ * {@code --add-modules=jdk.incubator.vector}.
+ */
+public final class ESVectorizationProvider {
+
+    private static final Logger logger = LogManager.getLogger(ESVectorizationProvider.class);
+
+    private static final String PANAMA_IMPL = "org.elasticsearch.simdvec.internal.vectorization.PanamaESVectorUtilSupport";
+
+    private final ESVectorUtilSupport vectorUtilSupport;
+
+    private ESVectorizationProvider(ESVectorUtilSupport vectorUtilSupport) {
+        this.vectorUtilSupport = vectorUtilSupport;
+    }
+
+    /**
+     * Get the one and only instance of {@link ESVectorizationProvider}.
+     */
+    public static ESVectorizationProvider getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public ESVectorUtilSupport getVectorUtilSupport() {
+        return vectorUtilSupport;
+    }
+
+    private static ESVectorUtilSupport lookupVectorUtilSupport() {
+        final int runtimeVersion = Runtime.version().feature();
+        if (runtimeVersion < 21) {
+            logger.debug("Java {} does not support vectorized functions, using scalar ones", runtimeVersion);
+            return new DefaultESVectorUtilSupport();
+        }
+        final Optional<Module> vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector");
+        if (vectorModule.isEmpty()) {
+            logger.debug("jdk.incubator.vector module is not present, using scalar vector functions");
+            return new DefaultESVectorUtilSupport();
+        }
+        // the module is in the boot layer but this module does not declare that it reads it
+        ESVectorizationProvider.class.getModule().addReads(vectorModule.get());
+        try {
+            var lookup = MethodHandles.lookup();
+            var clazz = lookup.findClass(PANAMA_IMPL);
+            var constructor = lookup.findConstructor(clazz, MethodType.methodType(void.class));
+            final ESVectorUtilSupport support;
+            try {
+                support = (ESVectorUtilSupport) constructor.invoke();
+            } catch (UnsupportedOperationException e) {
+                logger.debug("vectorized functions are not supported on this platform, using scalar ones: {}", e.getMessage());
+                return new DefaultESVectorUtilSupport();
+            } catch (Throwable t) {
+                throw new AssertionError(t);
+            }
+            logger.info("Using Panama vector API for vector functions: {}", support);
+            return support;
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new LinkageError("Vectorized functions for Java " + runtimeVersion + " have a bad constructor", e);
+        } catch (ClassNotFoundException e) {
+            throw new LinkageError("Vectorized functions are missing for Java " + runtimeVersion, e);
+        }
+    }
+
+    private static final class Holder {
+        private Holder() {}
+
+        static final ESVectorizationProvider INSTANCE = new ESVectorizationProvider(lookupVectorUtilSupport());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec.internal.vectorization;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of the vector functions with the preferred vector shape of the platform. Byte vectors are loaded 8 or 16 lanes
+ * at a time and widened to as many int or float lanes, split in two when the preferred shape has only 4 lanes.
+ */
+final class PanamaESVectorUtilSupport implements ESVectorUtilSupport {
+
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTE_SPECIES = INT_SPECIES.length() > 8 ? ByteVector.SPECIES_128 : ByteVector.SPECIES_64;
+    /**
+     * The number of int or float vectors that the lanes of a byte vector are widened into.
+     */
+    private static final int PARTS = BYTE_SPECIES.length() / INT_SPECIES.length();
+
+    PanamaESVectorUtilSupport() {
+        if (FLOAT_SPECIES.vectorBitSize() < 128) {
+            throw new UnsupportedOperationException("preferred vector size is only " + FLOAT_SPECIES.vectorBitSize() + " bits");
+        }
+    }
+
+    @Override
+    public float l1Norm(float[] a, float[] b) {
+        int i = 0;
+        float result = 0;
+        if (a.length >= FLOAT_SPECIES.length()) {
+            FloatVector acc = FloatVector.zero(FLOAT_SPECIES);
+            final int bound = FLOAT_SPECIES.loopBound(a.length);
+            for (; i < bound; i += FLOAT_SPECIES.length()) {
+                final FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, a, i);
+                final FloatVector vb = FloatVector.fromArray(FLOAT_SPECIES, b, i);
+                acc = acc.add(va.sub(vb).abs());
+            }
+            result = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < a.length; i++) {
+            result += Math.abs(a[i] - b[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public int l1Norm(byte[] a, byte[] b) {
+        int i = 0;
+        int result = 0;
+        if (a.length >= BYTE_SPECIES.length()) {
+            IntVector acc = IntVector.zero(INT_SPECIES);
+            final int bound = BYTE_SPECIES.loopBound(a.length);
+            for (; i < bound; i += BYTE_SPECIES.length()) {
+                final ByteVector va = ByteVector.fromArray(BYTE_SPECIES, a, i);
+                final ByteVector vb = ByteVector.fromArray(BYTE_SPECIES, b, i);
+                for (int part = 0; part < PARTS; part++) {
+                    final IntVector ia = (IntVector) va.convertShape(VectorOperators.B2I, INT_SPECIES, part);
+                    final IntVector ib = (IntVector) vb.convertShape(VectorOperators.B2I, INT_SPECIES, part);
+                    acc = acc.add(ia.sub(ib).abs());
+                }
+            }
+            result = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < a.length; i++) {
+            result += Math.abs(a[i] - b[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public void toFloats(byte[] vector, float[] floats) {
+        int i = 0;
+        final int bound = BYTE_SPECIES.loopBound(vector.length);
+        for (; i < bound; i += BYTE_SPECIES.length()) {
+            final ByteVector v = ByteVector.fromArray(BYTE_SPECIES, vector, i);
+            for (int part = 0; part < PARTS; part++) {
+                final FloatVector f = (FloatVector) v.convertShape(VectorOperators.B2F, FLOAT_SPECIES, part);
+                f.intoArray(floats, i + part * FLOAT_SPECIES.length());
+            }
+        }
+        for (; i < vector.length; i++) {
+            floats[i] = vector[i];
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PanamaESVectorUtilSupport(floatBitSize=" + FLOAT_SPECIES.vectorBitSize() + ")";
+    }
+}
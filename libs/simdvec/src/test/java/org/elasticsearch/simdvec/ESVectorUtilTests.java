@@ -0,0 +1,76 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec;
+
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.Arrays;
+
+public class ESVectorUtilTests extends ESTestCase {
+
+    public void testFloatL1Norm() {
+        for (int iter = 0; iter < 100; iter++) {
+            final int dims = randomIntBetween(1, 2048);
+            final float[] a = randomFloatVector(dims);
+            final float[] b = randomFloatVector(dims);
+            double expected = 0;
+            for (int i = 0; i < dims; i++) {
+                expected += Math.abs(a[i] - b[i]);
+            }
+            assertEquals(expected, ESVectorUtil.l1Norm(a, b), expected * 1e-5);
+        }
+    }
+
+    public void testByteL1Norm() {
+        for (int iter = 0; iter < 100; iter++) {
+            final int dims = randomIntBetween(1, 2048);
+            final byte[] a = randomByteArrayOfLength(dims);
+            final byte[] b = randomByteArrayOfLength(dims);
+            int expected = 0;
+            for (int i = 0; i < dims; i++) {
+                expected += Math.abs(a[i] - b[i]);
+            }
+            assertEquals(expected, ESVectorUtil.l1Norm(a, b));
+        }
+        final byte[] min = new byte[1024];
+        final byte[] max = new byte[1024];
+        Arrays.fill(min, Byte.MIN_VALUE);
+        Arrays.fill(max, Byte.MAX_VALUE);
+        assertEquals(1024 * 255, ESVectorUtil.l1Norm(min, max));
+    }
+
+    public void testToFloats() {
+        for (int iter = 0; iter < 100; iter++) {
+            final byte[] vector = randomByteArrayOfLength(randomIntBetween(1, 2048));
+            final float[] floats = new float[vector.length];
+            ESVectorUtil.toFloats(vector, floats);
+            for (int i = 0; i < vector.length; i++) {
+                assertEquals(vector[i], floats[i], 0f);
+            }
+        }
+    }
+
+    public void testDimensionsMismatch() {
+        final IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> ESVectorUtil.l1Norm(new float[3], new float[4])
+        );
+        assertEquals("vector dimensions differ: 3!=4", e.getMessage());
+        expectThrows(IllegalArgumentException.class, () -> ESVectorUtil.l1Norm(new byte[3], new byte[4]));
+        expectThrows(IllegalArgumentException.class, () -> ESVectorUtil.toFloats(new byte[3], new float[4]));
+    }
+
+    private static float[] randomFloatVector(int dims) {
+        final float[] vector = new float[dims];
+        for (int i = 0; i < dims; i++) {
+            vector[i] = randomFloat() * 2 - 1;
+        }
+        return vector;
+    }
+}
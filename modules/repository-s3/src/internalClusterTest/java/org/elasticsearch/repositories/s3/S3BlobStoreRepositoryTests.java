@@ -30,6 +30,7 @@ import org.elasticsearch.common.settings.MockSecureSettings;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
@@ -79,12 +80,14 @@ import java.util.stream.StreamSupport;
 
 import static org.elasticsearch.repositories.RepositoriesMetrics.METRIC_REQUESTS_TOTAL;
 import static org.elasticsearch.repositories.blobstore.BlobStoreTestUtil.randomNonDataPurpose;
+import static org.elasticsearch.repositories.blobstore.BlobStoreTestUtil.randomPurpose;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertHitCount;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
@@ -359,6 +362,46 @@ public class S3BlobStoreRepositoryTests extends ESMockAPIBasedRepositoryIntegTes
         });
     }
 
+    public void testConcurrentPartTransfers() throws IOException {
+        final String repoName = randomRepositoryName();
+        createRepository(
+            repoName,
+            Settings.builder()
+                .put(repositorySettings(repoName))
+                .put(S3Repository.BUFFER_SIZE_SETTING.getKey(), ByteSizeValue.ofMb(5))
+                .put(S3Repository.MAX_CONCURRENT_PART_UPLOADS_SETTING.getKey(), between(2, 4))
+                .put(S3Repository.MAX_CONCURRENT_PART_DOWNLOADS_SETTING.getKey(), between(2, 4))
+                .build(),
+            true
+        );
+        final RepositoriesService repositoriesService = internalCluster().getCurrentMasterNodeInstance(RepositoriesService.class);
+        final BlobStoreRepository repository = (BlobStoreRepository) repositoriesService.repository(repoName);
+        final BlobStore blobStore = repository.blobStore();
+        final BlobContainer blobContainer = blobStore.blobContainer(repository.basePath().add(randomAlphaOfLength(10)));
+        final String multipartUploads = S3BlobStore.Operation.PUT_MULTIPART_OBJECT.getKey();
+        final String getObjects = S3BlobStore.Operation.GET_OBJECT.getKey();
+
+        final int partSize = Math.toIntExact(ByteSizeUnit.MB.toBytes(5));
+        final int numberOfParts = between(2, 4);
+        final BytesArray blobContent = new BytesArray(randomByteArrayOfLength(partSize * (numberOfParts - 1) + between(1, partSize)));
+        final long multipartUploadsBefore = blobStore.stats().get(multipartUploads);
+        blobContainer.writeBlob(OperationPurpose.SNAPSHOT_DATA, "blob", blobContent, true);
+        assertThat(blobStore.stats().get(multipartUploads), greaterThanOrEqualTo(multipartUploadsBefore + numberOfParts + 2));
+
+        final long getObjectsBefore = blobStore.stats().get(getObjects);
+        try (InputStream is = blobContainer.readBlob(OperationPurpose.SNAPSHOT_DATA, "blob")) {
+            assertEquals(blobContent, new BytesArray(is.readAllBytes()));
+        }
+        assertThat(blobStore.stats().get(getObjects), greaterThanOrEqualTo(getObjectsBefore + numberOfParts));
+
+        final int position = between(0, blobContent.length() - partSize - 1);
+        final int length = between(partSize + 1, blobContent.length() - position);
+        try (InputStream is = blobContainer.readBlob(OperationPurpose.SNAPSHOT_DATA, "blob", position, length)) {
+            assertEquals(blobContent.slice(position, length), new BytesArray(is.readAllBytes()));
+        }
+        blobContainer.delete(randomPurpose());
+    }
+
     public void testEnforcedCooldownPeriod() throws IOException {
         final String repoName = randomRepositoryName();
         createRepository(
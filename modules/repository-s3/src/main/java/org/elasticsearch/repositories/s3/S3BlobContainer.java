@@ -31,6 +31,7 @@ import com.amazonaws.util.ValidationUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.util.SetOnce;
+import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.ActionRunnable;
 import org.elasticsearch.action.support.RefCountingListener;
@@ -48,8 +49,12 @@ import org.elasticsearch.common.blobstore.support.BlobContainerUtils;
 import org.elasticsearch.common.blobstore.support.BlobMetadata;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.collect.Iterators;
+import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.io.stream.ReleasableBytesStreamOutput;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.concurrent.AbstractRunnable;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.core.CheckedConsumer;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
@@ -62,13 +67,18 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -101,6 +111,19 @@ class S3BlobContainer extends AbstractBlobContainer {
 
     @Override
     public InputStream readBlob(OperationPurpose purpose, String blobName) throws IOException {
+        if (readsPartsConcurrently(purpose)) {
+            final long blobLength = getBlobLength(purpose, blobName);
+            if (blobLength > blobStore.bufferSizeInBytes()) {
+                return new S3ConcurrentRangeInputStream(
+                    purpose,
+                    blobStore,
+                    buildKey(blobName),
+                    0L,
+                    blobLength - 1,
+                    blobStore.maxConcurrentPartDownloads()
+                );
+            }
+        }
         return new S3RetryingInputStream(purpose, blobStore, buildKey(blobName));
     }
 
@@ -114,11 +137,45 @@ class S3BlobContainer extends AbstractBlobContainer {
         }
         if (length == 0) {
             return new ByteArrayInputStream(new byte[0]);
+        } else if (length > blobStore.bufferSizeInBytes() && readsPartsConcurrently(purpose)) {
+            return new S3ConcurrentRangeInputStream(
+                purpose,
+                blobStore,
+                buildKey(blobName),
+                position,
+                Math.addExact(position, length - 1),
+                blobStore.maxConcurrentPartDownloads()
+            );
         } else {
             return new S3RetryingInputStream(purpose, blobStore, buildKey(blobName), position, Math.addExact(position, length - 1));
         }
     }
 
+    /**
+     * Whether to read the data of snapshots in parts of {@link S3BlobStore#bufferSizeInBytes()} bytes concurrently, see
+     * {@link S3ConcurrentRangeInputStream}. Reading a whole blob this way costs an additional request for its length.
+     */
+    private boolean readsPartsConcurrently(OperationPurpose purpose) {
+        return purpose == OperationPurpose.SNAPSHOT_DATA
+            && blobStore.maxConcurrentPartDownloads() > 1
+            && blobStore.bufferSizeInBytes() <= Integer.MAX_VALUE;
+    }
+
+    private long getBlobLength(OperationPurpose purpose, String blobName) throws IOException {
+        final var getObjectMetadataRequest = new GetObjectMetadataRequest(blobStore.bucket(), buildKey(blobName));
+        S3BlobStore.configureRequestForMetrics(getObjectMetadataRequest, blobStore, Operation.HEAD_OBJECT, purpose);
+        try (AmazonS3Reference clientReference = blobStore.clientReference()) {
+            return SocketAccess.doPrivileged(() -> clientReference.client().getObjectMetadata(getObjectMetadataRequest)).getContentLength();
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                throw new NoSuchFileException("Blob object [" + blobName + "] not found: " + e.getMessage());
+            }
+            throw new IOException("Unable to get the length of blob [" + blobName + "]", e);
+        } catch (AmazonClientException e) {
+            throw new IOException("Unable to get the length of blob [" + blobName + "]", e);
+        }
+    }
+
     @Override
     public long readBlobPreferredLength() {
         // This container returns streams that must be fully consumed, so we tell consumers to make bounded requests.
@@ -252,6 +309,19 @@ class S3BlobContainer extends AbstractBlobContainer {
         String blobName,
         long size,
         boolean lastPart
+    ) {
+        return createPartUploadRequest(purpose, blobStore, stream, uploadId, number, blobName, size, lastPart);
+    }
+
+    private static UploadPartRequest createPartUploadRequest(
+        OperationPurpose purpose,
+        S3BlobStore blobStore,
+        InputStream stream,
+        String uploadId,
+        int number,
+        String blobName,
+        long size,
+        boolean lastPart
     ) {
         final UploadPartRequest uploadRequest = new UploadPartRequest();
         uploadRequest.setBucketName(blobStore.bucket());
@@ -498,24 +568,45 @@ class S3BlobContainer extends AbstractBlobContainer {
                 throw new IOException("Failed to initialize multipart upload " + blobName);
             }
 
-            final List<PartETag> parts = new ArrayList<>();
+            final List<PartETag> parts;
 
             long bytesCount = 0;
-            for (int i = 1; i <= nbParts; i++) {
-                final boolean lastPart = i == nbParts;
-                final UploadPartRequest uploadRequest = createPartUploadRequest(
+            final int maxConcurrentParts = s3BlobStore.maxConcurrentPartUploads();
+            if (maxConcurrentParts > 1 && nbParts > 1 && partSize <= Integer.MAX_VALUE) {
+                parts = uploadPartsConcurrently(
                     purpose,
-                    input,
-                    uploadId.get(),
-                    i,
+                    s3BlobStore,
+                    clientReference,
                     blobName,
-                    lastPart ? lastPartSize : partSize,
-                    lastPart
+                    uploadId.get(),
+                    input,
+                    nbParts,
+                    partSize,
+                    lastPartSize,
+                    maxConcurrentParts
                 );
-                bytesCount += uploadRequest.getPartSize();
+                bytesCount = blobSize;
+            } else {
+                parts = new ArrayList<>();
+                for (int i = 1; i <= nbParts; i++) {
+                    final boolean lastPart = i == nbParts;
+                    final UploadPartRequest uploadRequest = createPartUploadRequest(
+                        purpose,
+                        input,
+                        uploadId.get(),
+                        i,
+                        blobName,
+                        lastPart ? lastPartSize : partSize,
+                        lastPart
+                    );
+                    bytesCount += uploadRequest.getPartSize();
 
-                final UploadPartResult uploadResponse = SocketAccess.doPrivileged(() -> clientReference.client().uploadPart(uploadRequest));
-                parts.add(uploadResponse.getPartETag());
+                    final UploadPartResult uploadResponse = SocketAccess.doPrivileged(
+                        () -> clientReference.client().uploadPart(uploadRequest)
+                    );
+                    parts.add(uploadResponse.getPartETag());
+                    s3BlobStore.getS3RepositoriesMetrics().multipartUploadPartBytesCounter().incrementBy(uploadRequest.getPartSize());
+                }
             }
 
             if (bytesCount != blobSize) {
@@ -543,6 +634,203 @@ class S3BlobContainer extends AbstractBlobContainer {
         }
     }
 
+    /**
+     * Uploads the parts of a multipart upload with up to {@code maxConcurrentParts} concurrent requests, see
+     * {@link ConcurrentPartUploads}.
+     */
+    private static List<PartETag> uploadPartsConcurrently(
+        OperationPurpose purpose,
+        S3BlobStore s3BlobStore,
+        AmazonS3Reference clientReference,
+        String blobName,
+        String uploadId,
+        InputStream input,
+        int nbParts,
+        long partSize,
+        long lastPartSize,
+        int maxConcurrentParts
+    ) throws IOException {
+        return new ConcurrentPartUploads(purpose, s3BlobStore, clientReference, blobName, uploadId, nbParts, maxConcurrentParts).run(
+            input,
+            partSize,
+            lastPartSize
+        );
+    }
+
+    /**
+     * Uploads the parts of a single multipart upload concurrently. The calling thread reads the parts one after another. It buffers a
+     * part for a worker on the snapshot thread pool if fewer than {@code maxConcurrentParts - 1} parts of the upload are buffered and a
+     * permit of the node-wide {@link S3BlobStore#partTransferPermits()} is available. Otherwise it uploads a buffered part that no worker
+     * has picked up yet or, if there is none, streams the next part itself. Once all parts are read, it uploads the buffered parts that
+     * are left and then only waits for the uploads that workers are running, so it never waits for a task that is queued behind it on
+     * the snapshot thread pool. A failure stops reading further parts, and buffered parts are released without being uploaded.
+     */
+    private static class ConcurrentPartUploads {
+
+        private record BufferedPart(int number, boolean lastPart, ReleasableBytesStreamOutput buffer) {}
+
+        private final OperationPurpose purpose;
+        private final S3BlobStore blobStore;
+        private final AmazonS3Reference clientReference;
+        private final String blobName;
+        private final String uploadId;
+        private final PartETag[] partETags;
+        private final int maxBufferedParts;
+        private final Semaphore uploadPermits;
+        private final Semaphore nodePermits;
+        private final Queue<BufferedPart> bufferedParts = ConcurrentCollections.newQueue();
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        ConcurrentPartUploads(
+            OperationPurpose purpose,
+            S3BlobStore blobStore,
+            AmazonS3Reference clientReference,
+            String blobName,
+            String uploadId,
+            int nbParts,
+            int maxConcurrentParts
+        ) {
+            this.purpose = purpose;
+            this.blobStore = blobStore;
+            this.clientReference = clientReference;
+            this.blobName = blobName;
+            this.uploadId = uploadId;
+            this.partETags = new PartETag[nbParts];
+            // the calling thread uploads parts too, without buffering them
+            this.maxBufferedParts = maxConcurrentParts - 1;
+            this.uploadPermits = new Semaphore(maxBufferedParts);
+            this.nodePermits = blobStore.partTransferPermits();
+        }
+
+        List<PartETag> run(InputStream input, long partSize, long lastPartSize) throws IOException {
+            try {
+                for (int number = 1; number <= partETags.length && failure.get() == null; number++) {
+                    final boolean lastPart = number == partETags.length;
+                    final long size = lastPart ? lastPartSize : partSize;
+                    if (acquirePermits()) {
+                        bufferAndFork(input, number, size, lastPart);
+                    } else {
+                        uploadPart(number, size, lastPart, input);
+                    }
+                }
+            } catch (Exception e) {
+                onFailure(e);
+            } finally {
+                BufferedPart bufferedPart;
+                while ((bufferedPart = bufferedParts.poll()) != null) {
+                    upload(bufferedPart);
+                }
+                // wait for the uploads in flight, they use the client reference and the upload must not be completed or aborted before
+                uploadPermits.acquireUninterruptibly(maxBufferedParts);
+            }
+            final Exception e = failure.get();
+            if (e != null) {
+                if (e instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw ExceptionsHelper.convertToRuntime(e);
+            }
+            return Arrays.asList(partETags);
+        }
+
+        /**
+         * Acquires the permits to buffer another part. Uploads the buffered parts that no worker has picked up yet while the permits
+         * are exhausted, and returns {@code false} if the permits are still exhausted once there are none left.
+         */
+        private boolean acquirePermits() {
+            while (true) {
+                if (uploadPermits.tryAcquire()) {
+                    if (nodePermits.tryAcquire()) {
+                        return true;
+                    }
+                    uploadPermits.release();
+                }
+                final BufferedPart bufferedPart = bufferedParts.poll();
+                if (bufferedPart == null) {
+                    return false;
+                }
+                upload(bufferedPart);
+            }
+        }
+
+        private void releasePermits() {
+            nodePermits.release();
+            uploadPermits.release();
+        }
+
+        private void bufferAndFork(InputStream input, int number, long size, boolean lastPart) throws IOException {
+            final ReleasableBytesStreamOutput buffer = new ReleasableBytesStreamOutput(blobStore.bigArrays());
+            boolean buffered = false;
+            try {
+                Streams.limitStream(input, size).transferTo(buffer);
+                if (buffer.size() != size) {
+                    throw new IOException(
+                        "Failed to read part [" + number + "] of [" + blobName + "], expected " + size + "bytes but got " + buffer.size()
+                    );
+                }
+                bufferedParts.add(new BufferedPart(number, lastPart, buffer));
+                buffered = true;
+            } finally {
+                if (buffered == false) {
+                    buffer.close();
+                    releasePermits();
+                }
+            }
+            blobStore.getSnapshotExecutor().execute(new AbstractRunnable() {
+                @Override
+                protected void doRun() {
+                    final BufferedPart bufferedPart = bufferedParts.poll();
+                    if (bufferedPart != null) {
+                        upload(bufferedPart);
+                    }
+                }
+
+                @Override
+                public void onRejection(Exception e) {
+                    // the calling thread uploads the buffered part instead
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    ConcurrentPartUploads.this.onFailure(e);
+                }
+            });
+        }
+
+        private void upload(BufferedPart bufferedPart) {
+            try (ReleasableBytesStreamOutput buffer = bufferedPart.buffer()) {
+                if (failure.get() == null) {
+                    uploadPart(bufferedPart.number(), buffer.size(), bufferedPart.lastPart(), buffer.bytes().streamInput());
+                }
+            } catch (Exception e) {
+                onFailure(e);
+            } finally {
+                releasePermits();
+            }
+        }
+
+        private void uploadPart(int number, long size, boolean lastPart, InputStream stream) {
+            final UploadPartRequest uploadRequest = createPartUploadRequest(
+                purpose,
+                blobStore,
+                stream,
+                uploadId,
+                number,
+                blobName,
+                size,
+                lastPart
+            );
+            partETags[number - 1] = SocketAccess.doPrivileged(() -> clientReference.client().uploadPart(uploadRequest)).getPartETag();
+            blobStore.getS3RepositoriesMetrics().multipartUploadPartBytesCounter().incrementBy(size);
+        }
+
+        private void onFailure(Exception e) {
+            if (failure.compareAndSet(null, e) == false && failure.get() != e) {
+                failure.get().addSuppressed(e);
+            }
+        }
+    }
+
     // non-static, package private for testing
     void ensureMultiPartUploadSize(final long blobSize) {
         if (blobSize > MAX_FILE_SIZE_USING_MULTIPART.getBytes()) {
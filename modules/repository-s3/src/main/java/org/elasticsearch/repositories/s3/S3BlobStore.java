@@ -46,6 +46,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
@@ -73,6 +74,10 @@ class S3BlobStore implements BlobStore {
 
     private final ByteSizeValue bufferSize;
 
+    private final int maxConcurrentPartUploads;
+
+    private final int maxConcurrentPartDownloads;
+
     private final boolean serverSideEncryption;
 
     private final CannedAccessControlList cannedACL;
@@ -104,6 +109,8 @@ class S3BlobStore implements BlobStore {
         this.bucket = bucket;
         this.serverSideEncryption = serverSideEncryption;
         this.bufferSize = bufferSize;
+        this.maxConcurrentPartUploads = S3Repository.MAX_CONCURRENT_PART_UPLOADS_SETTING.get(repositoryMetadata.settings());
+        this.maxConcurrentPartDownloads = S3Repository.MAX_CONCURRENT_PART_DOWNLOADS_SETTING.get(repositoryMetadata.settings());
         this.cannedACL = initCannedACL(cannedACL);
         this.storageClass = initStorageClass(storageClass);
         this.repositoryMetadata = repositoryMetadata;
@@ -128,6 +135,14 @@ class S3BlobStore implements BlobStore {
         return service.compareAndExchangeAntiContentionDelay;
     }
 
+    /**
+     * The node-wide permits to buffer parts of blobs in memory to transfer them concurrently, see
+     * {@link S3Service#REPOSITORY_S3_MAX_CONCURRENT_PART_TRANSFERS_SETTING}.
+     */
+    public Semaphore partTransferPermits() {
+        return service.partTransferPermits;
+    }
+
     // metrics collector that ignores null responses that we interpret as the request not reaching the S3 endpoint due to a network
     // issue
     class IgnoreNoResponseMetricsCollector extends RequestMetricCollector {
@@ -292,6 +307,14 @@ class S3BlobStore implements BlobStore {
         return bufferSize.getBytes();
     }
 
+    public int maxConcurrentPartUploads() {
+        return maxConcurrentPartUploads;
+    }
+
+    public int maxConcurrentPartDownloads() {
+        return maxConcurrentPartDownloads;
+    }
+
     public RepositoryMetadata getRepositoryMetadata() {
         return repositoryMetadata;
     }
@@ -0,0 +1,271 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.repositories.s3;
+
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.action.support.SubscribableListener;
+import org.elasticsearch.common.blobstore.OperationPurpose;
+import org.elasticsearch.common.io.stream.ReleasableBytesStreamOutput;
+import org.elasticsearch.common.util.concurrent.AbstractRunnable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reads a range of a blob as consecutive parts of {@link S3BlobStore#bufferSizeInBytes()} bytes, each with its own ranged request. Up to
+ * {@code maxConcurrentParts - 1} parts after the part that is being read are fetched into memory on the snapshot thread pool, as long
+ * as permits of the node-wide {@link S3BlobStore#partTransferPermits()} are available. The reading thread fetches the parts that nobody
+ * fetched ahead itself, including those that no worker has started fetching yet, so it only ever waits for fetches that are running and
+ * never for a task that is queued behind it on the snapshot thread pool.
+ */
+class S3ConcurrentRangeInputStream extends InputStream {
+
+    private final OperationPurpose purpose;
+    private final S3BlobStore blobStore;
+    private final String blobKey;
+    private final long end;
+    private final long partSize;
+    private final int maxPartsAhead;
+    private final Semaphore nodePermits;
+    private final Deque<Part> partsAhead = new ArrayDeque<>();
+
+    private long nextPartStart;
+    private ReleasableBytesStreamOutput currentPart;
+    private InputStream currentStream = InputStream.nullInputStream();
+    private boolean failed;
+    private boolean closed;
+
+    // both start and end are inclusive bounds, following the definition in GetObjectRequest.setRange
+    S3ConcurrentRangeInputStream(
+        OperationPurpose purpose,
+        S3BlobStore blobStore,
+        String blobKey,
+        long start,
+        long end,
+        int maxConcurrentParts
+    ) {
+        if (start < 0L) {
+            throw new IllegalArgumentException("start must be non-negative");
+        }
+        if (end < start || end == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("end must be >= start and not Long.MAX_VALUE");
+        }
+        this.purpose = purpose;
+        this.blobStore = blobStore;
+        this.blobKey = blobKey;
+        this.end = end;
+        this.partSize = blobStore.bufferSizeInBytes();
+        assert partSize <= Integer.MAX_VALUE : partSize;
+        this.maxPartsAhead = maxConcurrentParts - 1;
+        this.nodePermits = blobStore.partTransferPermits();
+        this.nextPartStart = start;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        while (true) {
+            final int b = currentStream.read();
+            if (b >= 0 || nextPart() == false) {
+                return b;
+            }
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            final int read = currentStream.read(b, off, len);
+            if (read > 0 || nextPart() == false) {
+                return read;
+            }
+        }
+    }
+
+    /**
+     * Releases the part that was read and moves on to the next one, fetching it if nobody fetched it ahead. Returns {@code false} if
+     * the whole range was read.
+     */
+    private boolean nextPart() throws IOException {
+        releaseCurrentPart();
+        if (failed) {
+            throw new IOException("Failed to read [" + blobKey + "] before, bytes following the failed part cannot be read");
+        }
+        Part part = partsAhead.pollFirst();
+        if (part == null) {
+            if (nextPartStart > end) {
+                return false;
+            }
+            part = newPart(false);
+        }
+        try {
+            fetchAhead();
+            part.fetch();
+            currentPart = part.await();
+        } catch (Exception e) {
+            failed = true;
+            throw e;
+        } finally {
+            part.releasePermit();
+        }
+        currentStream = currentPart.bytes().streamInput();
+        return true;
+    }
+
+    private void fetchAhead() {
+        while (partsAhead.size() < maxPartsAhead && nextPartStart <= end && nodePermits.tryAcquire()) {
+            final Part part = newPart(true);
+            partsAhead.addLast(part);
+            blobStore.getSnapshotExecutor().execute(new AbstractRunnable() {
+                @Override
+                protected void doRun() {
+                    part.fetch();
+                }
+
+                @Override
+                public void onRejection(Exception e) {
+                    // the reading thread fetches the part instead
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    assert false : e;
+                }
+            });
+        }
+    }
+
+    private Part newPart(boolean holdsPermit) {
+        final long partStart = nextPartStart;
+        final long partEnd = Math.min(end, Math.addExact(partStart, partSize - 1));
+        nextPartStart = partEnd + 1;
+        return new Part(partStart, partEnd, holdsPermit);
+    }
+
+    private void releaseCurrentPart() {
+        if (currentPart != null) {
+            currentPart.close();
+            currentPart = null;
+        }
+        currentStream = InputStream.nullInputStream();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            assert false : "using S3ConcurrentRangeInputStream after close";
+            throw new IllegalStateException("using S3ConcurrentRangeInputStream after close");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        releaseCurrentPart();
+        Part part;
+        while ((part = partsAhead.pollFirst()) != null) {
+            part.discard();
+        }
+    }
+
+    /**
+     * A part of the range, which either a worker or the reading thread fetches, whichever starts first.
+     */
+    private class Part {
+
+        private final long start;
+        private final long end;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final SubscribableListener<ReleasableBytesStreamOutput> fetched = new SubscribableListener<>();
+        private final AtomicBoolean holdsPermit;
+
+        Part(long start, long end, boolean holdsPermit) {
+            this.start = start;
+            this.end = end;
+            this.holdsPermit = new AtomicBoolean(holdsPermit);
+        }
+
+        void fetch() {
+            if (started.compareAndSet(false, true)) {
+                ActionListener.completeWith(fetched, this::doFetch);
+            }
+        }
+
+        private ReleasableBytesStreamOutput doFetch() throws IOException {
+            final ReleasableBytesStreamOutput buffer = new ReleasableBytesStreamOutput(blobStore.bigArrays());
+            boolean success = false;
+            try (InputStream stream = new S3RetryingInputStream(purpose, blobStore, blobKey, start, end)) {
+                stream.transferTo(buffer);
+                final long expectedLength = end - start + 1;
+                if (buffer.size() != expectedLength) {
+                    throw new IOException(
+                        "Failed to read bytes [" + start + "-" + end + "] of [" + blobKey + "], got " + buffer.size() + " bytes"
+                    );
+                }
+                success = true;
+                return buffer;
+            } finally {
+                if (success == false) {
+                    buffer.close();
+                }
+            }
+        }
+
+        ReleasableBytesStreamOutput await() throws IOException {
+            final PlainActionFuture<ReleasableBytesStreamOutput> future = new PlainActionFuture<>();
+            fetched.addListener(future);
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading bytes [" + start + "-" + end + "] of [" + blobKey + "]", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw ExceptionsHelper.convertToRuntime((Exception) e.getCause());
+            }
+        }
+
+        /**
+         * Releases the part without reading it. A fetch that is running keeps holding its node-wide permit, since it still fills its
+         * buffer, and releases both its bytes and the permit once it completes.
+         */
+        void discard() {
+            if (started.compareAndSet(false, true)) {
+                releasePermit();
+            } else {
+                fetched.addListener(
+                    ActionListener.runAfter(ActionListener.wrap(ReleasableBytesStreamOutput::close, e -> {}), this::releasePermit)
+                );
+            }
+        }
+
+        void releasePermit() {
+            if (holdsPermit.compareAndSet(true, false)) {
+                nodePermits.release();
+            }
+        }
+    }
+}
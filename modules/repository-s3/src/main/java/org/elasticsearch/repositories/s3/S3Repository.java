@@ -125,6 +125,21 @@ class S3Repository extends MeteredBlobStoreRepository {
         MAX_PART_SIZE_USING_MULTIPART
     );
 
+    /**
+     * The maximum number of parts of a multipart upload that are uploaded concurrently. Parts are still read from the file one after
+     * another, but each part that is uploaded concurrently is held in memory, so an upload may buffer up to this many minus one times
+     * {@link #BUFFER_SIZE_SETTING} bytes, within the node-wide {@link S3Service#REPOSITORY_S3_MAX_CONCURRENT_PART_TRANSFERS_SETTING}.
+     * Defaults to 1, which uploads parts one after another without buffering them.
+     */
+    static final Setting<Integer> MAX_CONCURRENT_PART_UPLOADS_SETTING = Setting.intSetting("max_concurrent_part_uploads", 1, 1, 16);
+
+    /**
+     * The maximum number of parts of {@link #BUFFER_SIZE_SETTING} bytes that a read of snapshot data fetches concurrently, each with its
+     * own ranged request. The parts after the one that is being read are held in memory, within the node-wide
+     * {@link S3Service#REPOSITORY_S3_MAX_CONCURRENT_PART_TRANSFERS_SETTING}. Defaults to 1, which reads blobs with a single request.
+     */
+    static final Setting<Integer> MAX_CONCURRENT_PART_DOWNLOADS_SETTING = Setting.intSetting("max_concurrent_part_downloads", 1, 1, 16);
+
     /**
      * Big files can be broken down into chunks during snapshotting if needed. Defaults to 5tb.
      */
@@ -50,6 +50,7 @@ import java.time.Clock;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Semaphore;
 
 import static com.amazonaws.SDKGlobalConfiguration.AWS_ROLE_ARN_ENV_VAR;
 import static com.amazonaws.SDKGlobalConfiguration.AWS_ROLE_SESSION_NAME_ENV_VAR;
@@ -72,6 +73,19 @@ class S3Service implements Closeable {
         TimeValue.timeValueHours(24),
         Setting.Property.NodeScope
     );
+
+    /**
+     * The maximum number of parts that this node buffers in memory to transfer them concurrently with other parts of the same blob,
+     * across all S3 repositories. Once these are in use, the parts of further transfers are transferred one after another.
+     */
+    static final Setting<Integer> REPOSITORY_S3_MAX_CONCURRENT_PART_TRANSFERS_SETTING = Setting.intSetting(
+        "repository_s3.max_concurrent_part_transfers",
+        4,
+        1,
+        64,
+        Setting.Property.NodeScope
+    );
+
     private volatile Map<S3ClientSettings, AmazonS3Reference> clientsCache = emptyMap();
 
     /**
@@ -92,6 +106,7 @@ class S3Service implements Closeable {
 
     final TimeValue compareAndExchangeTimeToLive;
     final TimeValue compareAndExchangeAntiContentionDelay;
+    final Semaphore partTransferPermits;
 
     S3Service(Environment environment, Settings nodeSettings, ResourceWatcherService resourceWatcherService) {
         webIdentityTokenCredentialsProvider = new CustomWebIdentityTokenCredentialsProvider(
@@ -103,6 +118,7 @@ class S3Service implements Closeable {
         );
         compareAndExchangeTimeToLive = REPOSITORY_S3_CAS_TTL_SETTING.get(nodeSettings);
         compareAndExchangeAntiContentionDelay = REPOSITORY_S3_CAS_ANTI_CONTENTION_DELAY_SETTING.get(nodeSettings);
+        partTransferPermits = new Semaphore(REPOSITORY_S3_MAX_CONCURRENT_PART_TRANSFERS_SETTING.get(nodeSettings));
     }
 
     /**
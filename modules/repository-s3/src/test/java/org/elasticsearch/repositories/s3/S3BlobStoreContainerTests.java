@@ -26,16 +26,30 @@ import com.amazonaws.services.s3.model.UploadPartResult;
 
 import org.elasticsearch.common.blobstore.BlobPath;
 import org.elasticsearch.common.blobstore.BlobStoreException;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.MockBigArrays;
+import org.elasticsearch.common.util.MockPageCacheRecycler;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.core.Tuple;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
 import org.mockito.ArgumentCaptor;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -174,6 +188,7 @@ public class S3BlobStoreContainerTests extends ESTestCase {
         final S3BlobStore blobStore = mock(S3BlobStore.class);
         when(blobStore.bucket()).thenReturn(bucketName);
         when(blobStore.bufferSizeInBytes()).thenReturn(bufferSize);
+        when(blobStore.getS3RepositoriesMetrics()).thenReturn(S3RepositoriesMetrics.NOOP);
 
         final boolean serverSideEncryption = randomBoolean();
         when(blobStore.serverSideEncryption()).thenReturn(serverSideEncryption);
@@ -273,6 +288,7 @@ public class S3BlobStoreContainerTests extends ESTestCase {
         when(blobStore.bucket()).thenReturn(bucketName);
         when(blobStore.bufferSizeInBytes()).thenReturn(bufferSize);
         when(blobStore.getStorageClass()).thenReturn(randomFrom(StorageClass.values()));
+        when(blobStore.getS3RepositoriesMetrics()).thenReturn(S3RepositoriesMetrics.NOOP);
 
         final AmazonS3 client = mock(AmazonS3.class);
         final AmazonS3Reference clientReference = new AmazonS3Reference(client);
@@ -357,6 +373,168 @@ public class S3BlobStoreContainerTests extends ESTestCase {
         }
     }
 
+    public void testExecuteMultipartUploadWithConcurrentParts() throws IOException {
+        final String bucketName = randomAlphaOfLengthBetween(1, 10);
+        final String blobName = randomAlphaOfLengthBetween(1, 10);
+
+        final long bufferSize = ByteSizeUnit.MB.toBytes(5);
+        final byte[] blobContent = randomByteArrayOfLength(Math.toIntExact(bufferSize * between(2, 4) + between(0, 1024)));
+        final int maxConcurrentParts = between(2, 4);
+
+        final ThreadPool threadPool = new TestThreadPool(getTestName());
+        try {
+            final S3BlobStore blobStore = mock(S3BlobStore.class);
+            when(blobStore.bucket()).thenReturn(bucketName);
+            when(blobStore.bufferSizeInBytes()).thenReturn(bufferSize);
+            when(blobStore.maxConcurrentPartUploads()).thenReturn(maxConcurrentParts);
+            final BigArrays bigArrays = new MockBigArrays(new MockPageCacheRecycler(Settings.EMPTY), new NoneCircuitBreakerService());
+            when(blobStore.bigArrays()).thenReturn(bigArrays);
+            when(blobStore.getSnapshotExecutor()).thenReturn(threadPool.executor(ThreadPool.Names.SNAPSHOT));
+            final int nodePermitCount = between(1, 4);
+            final Semaphore nodePermits = new Semaphore(nodePermitCount);
+            when(blobStore.partTransferPermits()).thenReturn(nodePermits);
+            when(blobStore.getS3RepositoriesMetrics()).thenReturn(S3RepositoriesMetrics.NOOP);
+            when(blobStore.getStorageClass()).thenReturn(randomFrom(StorageClass.values()));
+
+            final AmazonS3 client = mock(AmazonS3.class);
+            final AmazonS3Reference clientReference = new AmazonS3Reference(client);
+            when(blobStore.clientReference()).thenReturn(clientReference);
+
+            final InitiateMultipartUploadResult initResult = new InitiateMultipartUploadResult();
+            initResult.setUploadId(randomAlphaOfLength(10));
+            when(client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initResult);
+
+            final Map<Integer, byte[]> uploadedParts = ConcurrentCollections.newConcurrentMap();
+            when(client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocationOnMock -> {
+                final UploadPartRequest request = (UploadPartRequest) invocationOnMock.getArguments()[0];
+                final byte[] partContent = request.getInputStream().readAllBytes();
+                assertEquals(request.getPartSize(), partContent.length);
+                assertNull(uploadedParts.put(request.getPartNumber(), partContent));
+                final UploadPartResult response = new UploadPartResult();
+                response.setPartNumber(request.getPartNumber());
+                response.setETag("etag-" + request.getPartNumber());
+                return response;
+            });
+
+            final ArgumentCaptor<CompleteMultipartUploadRequest> compArgCaptor = ArgumentCaptor.forClass(
+                CompleteMultipartUploadRequest.class
+            );
+            when(client.completeMultipartUpload(compArgCaptor.capture())).thenReturn(new CompleteMultipartUploadResult());
+
+            final S3BlobContainer blobContainer = new S3BlobContainer(BlobPath.EMPTY, blobStore);
+            blobContainer.executeMultipartUpload(
+                randomPurpose(),
+                blobStore,
+                blobName,
+                new ByteArrayInputStream(blobContent),
+                blobContent.length
+            );
+
+            final int numberOfParts = S3BlobContainer.numberOfMultiparts(blobContent.length, bufferSize).v1().intValue();
+            assertEquals(numberOfParts, uploadedParts.size());
+            final ByteArrayOutputStream uploadedContent = new ByteArrayOutputStream();
+            for (int i = 1; i <= numberOfParts; i++) {
+                uploadedContent.write(uploadedParts.get(i));
+            }
+            assertArrayEquals(blobContent, uploadedContent.toByteArray());
+
+            final List<PartETag> partETags = compArgCaptor.getValue().getPartETags();
+            assertEquals(numberOfParts, partETags.size());
+            for (int i = 0; i < numberOfParts; i++) {
+                assertEquals(i + 1, partETags.get(i).getPartNumber());
+                assertEquals("etag-" + (i + 1), partETags.get(i).getETag());
+            }
+            verify(client, times(0)).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+            assertEquals(nodePermitCount, nodePermits.availablePermits());
+        } finally {
+            ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+        }
+    }
+
+    public void testExecuteMultipartUploadWithConcurrentPartsAbortsAfterInFlightPartsOnFailure() {
+        final String bucketName = randomAlphaOfLengthBetween(1, 10);
+        final String blobName = randomAlphaOfLengthBetween(1, 10);
+
+        final long bufferSize = ByteSizeUnit.MB.toBytes(5);
+        final int maxConcurrentParts = between(3, 4);
+        final byte[] blobContent = randomByteArrayOfLength(Math.toIntExact(bufferSize * (maxConcurrentParts + between(1, 2))));
+
+        final ThreadPool threadPool = new TestThreadPool(getTestName());
+        try {
+            final S3BlobStore blobStore = mock(S3BlobStore.class);
+            when(blobStore.bucket()).thenReturn(bucketName);
+            when(blobStore.bufferSizeInBytes()).thenReturn(bufferSize);
+            when(blobStore.maxConcurrentPartUploads()).thenReturn(maxConcurrentParts);
+            final BigArrays bigArrays = new MockBigArrays(new MockPageCacheRecycler(Settings.EMPTY), new NoneCircuitBreakerService());
+            when(blobStore.bigArrays()).thenReturn(bigArrays);
+            when(blobStore.getSnapshotExecutor()).thenReturn(threadPool.executor(ThreadPool.Names.SNAPSHOT));
+            final Semaphore nodePermits = new Semaphore(maxConcurrentParts);
+            when(blobStore.partTransferPermits()).thenReturn(nodePermits);
+            when(blobStore.getS3RepositoriesMetrics()).thenReturn(S3RepositoriesMetrics.NOOP);
+            when(blobStore.getStorageClass()).thenReturn(randomFrom(StorageClass.values()));
+
+            final AmazonS3 client = mock(AmazonS3.class);
+            final AmazonS3Reference clientReference = new AmazonS3Reference(client);
+            when(blobStore.clientReference()).thenReturn(clientReference);
+
+            final InitiateMultipartUploadResult initResult = new InitiateMultipartUploadResult();
+            initResult.setUploadId(randomAlphaOfLength(10));
+            when(client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initResult);
+
+            // the first part fails once another part is in flight, and the other parts only complete after the first part failed
+            final CountDownLatch otherPartStarted = new CountDownLatch(1);
+            final CountDownLatch firstPartFailed = new CountDownLatch(1);
+            final AtomicInteger inFlightParts = new AtomicInteger();
+            when(client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocationOnMock -> {
+                final UploadPartRequest request = (UploadPartRequest) invocationOnMock.getArguments()[0];
+                inFlightParts.incrementAndGet();
+                try {
+                    request.getInputStream().readAllBytes();
+                    if (request.getPartNumber() == 1) {
+                        safeAwait(otherPartStarted);
+                        firstPartFailed.countDown();
+                        throw new AmazonClientException("simulated failure of part 1");
+                    }
+                    otherPartStarted.countDown();
+                    safeAwait(firstPartFailed);
+                    final UploadPartResult response = new UploadPartResult();
+                    response.setPartNumber(request.getPartNumber());
+                    response.setETag("etag-" + request.getPartNumber());
+                    return response;
+                } finally {
+                    inFlightParts.decrementAndGet();
+                }
+            });
+
+            final AtomicInteger inFlightPartsOnAbort = new AtomicInteger(-1);
+            doAnswer(invocation -> {
+                inFlightPartsOnAbort.set(inFlightParts.get());
+                return null;
+            }).when(client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+
+            final S3BlobContainer blobContainer = new S3BlobContainer(BlobPath.EMPTY, blobStore);
+            final IOException e = expectThrows(
+                IOException.class,
+                () -> blobContainer.executeMultipartUpload(
+                    randomPurpose(),
+                    blobStore,
+                    blobName,
+                    new ByteArrayInputStream(blobContent),
+                    blobContent.length
+                )
+            );
+            assertEquals("Unable to upload object [" + blobName + "] using multipart upload", e.getMessage());
+            assertEquals("simulated failure of part 1", e.getCause().getMessage());
+
+            verify(client, times(1)).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+            verify(client, times(0)).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+            assertEquals(0, inFlightPartsOnAbort.get());
+            assertEquals(maxConcurrentParts, nodePermits.availablePermits());
+        } finally {
+            ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+        }
+    }
+
     public void testNumberOfMultipartsWithZeroPartSize() {
         final IllegalArgumentException e = expectThrows(
             IllegalArgumentException.class,
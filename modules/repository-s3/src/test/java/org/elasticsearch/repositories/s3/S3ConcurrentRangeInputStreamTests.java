@@ -0,0 +1,212 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.repositories.s3;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+
+import org.apache.http.client.methods.HttpGet;
+import org.elasticsearch.cluster.metadata.RepositoryMetadata;
+import org.elasticsearch.common.blobstore.OperationPurpose;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.MockBigArrays;
+import org.elasticsearch.common.util.MockPageCacheRecycler;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.junit.After;
+import org.junit.Before;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class S3ConcurrentRangeInputStreamTests extends ESTestCase {
+
+    private ThreadPool threadPool;
+
+    @Before
+    public void createThreadPool() {
+        threadPool = new TestThreadPool(getTestName());
+    }
+
+    @After
+    public void terminateThreadPool() {
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    public void testReadsRangeInParts() throws IOException {
+        final int partSize = between(1, 64);
+        final byte[] data = randomByteArrayOfLength(partSize * between(2, 5) + between(0, partSize));
+        final int position = between(0, data.length - 1);
+        final int length = between(1, data.length - position);
+        final int nodePermitCount = between(1, 3);
+        final Semaphore nodePermits = new Semaphore(nodePermitCount);
+        final AtomicInteger requests = new AtomicInteger();
+        final S3BlobStore blobStore = mockBlobStore(data, partSize, nodePermits, requests, -1);
+
+        final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (S3ConcurrentRangeInputStream stream = createInputStream(OperationPurpose.SNAPSHOT_DATA, blobStore, position, length)) {
+            while (true) {
+                if (randomBoolean()) {
+                    final int b = stream.read();
+                    if (b == -1) {
+                        break;
+                    }
+                    read.write(b);
+                } else {
+                    final byte[] buffer = new byte[between(1, 2 * partSize)];
+                    final int n = stream.read(buffer, 0, buffer.length);
+                    if (n == -1) {
+                        break;
+                    }
+                    assertThat(n, greaterThan(0));
+                    read.write(buffer, 0, n);
+                }
+            }
+        }
+        assertArrayEquals(Arrays.copyOfRange(data, position, position + length), read.toByteArray());
+        assertThat(requests.get(), equalTo((length + partSize - 1) / partSize));
+        assertThat(nodePermits.availablePermits(), equalTo(nodePermitCount));
+    }
+
+    public void testFailsOnFailingPart() throws IOException {
+        final int partSize = between(1, 64);
+        final byte[] data = randomByteArrayOfLength(partSize * between(2, 5));
+        final int failingPart = between(0, data.length / partSize - 1);
+        final int nodePermitCount = between(1, 3);
+        final Semaphore nodePermits = new Semaphore(nodePermitCount);
+        final S3BlobStore blobStore = mockBlobStore(data, partSize, nodePermits, new AtomicInteger(), (long) failingPart * partSize);
+
+        // repository analysis reads do not retry
+        try (S3ConcurrentRangeInputStream stream = createInputStream(OperationPurpose.REPOSITORY_ANALYSIS, blobStore, 0, data.length)) {
+            final AmazonS3Exception e = expectThrows(AmazonS3Exception.class, stream::readAllBytes);
+            assertThat(e.getMessage(), containsString("simulated failure"));
+            final IOException ioException = expectThrows(IOException.class, stream::read);
+            assertThat(ioException.getMessage(), containsString("bytes following the failed part cannot be read"));
+        }
+        assertThat(nodePermits.availablePermits(), equalTo(nodePermitCount));
+    }
+
+    public void testReleasesPartsFetchedAheadOnClose() throws IOException {
+        final int partSize = between(1, 64);
+        final byte[] data = randomByteArrayOfLength(partSize * between(3, 5));
+        final int nodePermitCount = between(1, 3);
+        final Semaphore nodePermits = new Semaphore(nodePermitCount);
+        final S3BlobStore blobStore = mockBlobStore(data, partSize, nodePermits, new AtomicInteger(), -1);
+
+        final int length = between(1, partSize);
+        try (S3ConcurrentRangeInputStream stream = createInputStream(OperationPurpose.SNAPSHOT_DATA, blobStore, 0, data.length)) {
+            assertArrayEquals(Arrays.copyOf(data, length), stream.readNBytes(length));
+        }
+        assertThat(nodePermits.availablePermits(), equalTo(nodePermitCount));
+    }
+
+    public void testKeepsPermitsOfPartsInFlightAfterClose() throws Exception {
+        final int partSize = between(1, 64);
+        final byte[] data = randomByteArrayOfLength(partSize * between(3, 5));
+        final int nodePermitCount = between(1, 3);
+        final Semaphore nodePermits = new Semaphore(nodePermitCount);
+        final CountDownLatch partAheadStarted = new CountDownLatch(1);
+        final CountDownLatch completePartsAhead = new CountDownLatch(1);
+        final S3BlobStore blobStore = mockBlobStore(data, partSize, nodePermits, new AtomicInteger(), -1, range -> {
+            if (range[0] > 0) {
+                // the reading thread only reads the first part, the following ones are fetched ahead
+                partAheadStarted.countDown();
+                safeAwait(completePartsAhead);
+            }
+        });
+
+        final int length = between(1, partSize);
+        try (S3ConcurrentRangeInputStream stream = createInputStream(OperationPurpose.SNAPSHOT_DATA, blobStore, 0, data.length)) {
+            assertArrayEquals(Arrays.copyOf(data, length), stream.readNBytes(length));
+            safeAwait(partAheadStarted);
+        }
+        // the buffers of the parts that are still being fetched count towards the node-wide limit until the fetches complete
+        assertThat(nodePermits.availablePermits(), lessThan(nodePermitCount));
+        completePartsAhead.countDown();
+        assertBusy(() -> assertThat(nodePermits.availablePermits(), equalTo(nodePermitCount)));
+    }
+
+    private S3ConcurrentRangeInputStream createInputStream(OperationPurpose purpose, S3BlobStore blobStore, long position, long length) {
+        return new S3ConcurrentRangeInputStream(
+            purpose,
+            blobStore,
+            "_blob",
+            position,
+            Math.addExact(position, length - 1),
+            between(2, 4)
+        );
+    }
+
+    private S3BlobStore mockBlobStore(byte[] data, long partSize, Semaphore nodePermits, AtomicInteger requests, long failingPartStart) {
+        return mockBlobStore(data, partSize, nodePermits, requests, failingPartStart, range -> {});
+    }
+
+    private S3BlobStore mockBlobStore(
+        byte[] data,
+        long partSize,
+        Semaphore nodePermits,
+        AtomicInteger requests,
+        long failingPartStart,
+        Consumer<long[]> onRequest
+    ) {
+        final AmazonS3 client = mock(AmazonS3.class);
+        when(client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            final GetObjectRequest request = (GetObjectRequest) invocation.getArguments()[0];
+            final long[] range = request.getRange();
+            requests.incrementAndGet();
+            onRequest.accept(range);
+            if (range[0] == failingPartStart) {
+                final AmazonS3Exception e = new AmazonS3Exception("simulated failure");
+                e.setStatusCode(500);
+                throw e;
+            }
+            final int rangeLength = Math.toIntExact(range[1] - range[0] + 1);
+            final S3Object s3Object = new S3Object();
+            s3Object.getObjectMetadata().setContentLength(rangeLength);
+            s3Object.setObjectContent(
+                new S3ObjectInputStream(new ByteArrayInputStream(data, Math.toIntExact(range[0]), rangeLength), new HttpGet())
+            );
+            return s3Object;
+        });
+        final AmazonS3Reference clientReference = mock(AmazonS3Reference.class);
+        when(clientReference.client()).thenReturn(client);
+
+        final S3BlobStore blobStore = mock(S3BlobStore.class);
+        when(blobStore.clientReference()).thenReturn(clientReference);
+        when(blobStore.bufferSizeInBytes()).thenReturn(partSize);
+        when(blobStore.getS3RepositoriesMetrics()).thenReturn(S3RepositoriesMetrics.NOOP);
+        when(blobStore.getRepositoryMetadata()).thenReturn(new RepositoryMetadata("repository", S3Repository.TYPE, Settings.EMPTY));
+        final BigArrays bigArrays = new MockBigArrays(new MockPageCacheRecycler(Settings.EMPTY), new NoneCircuitBreakerService());
+        when(blobStore.bigArrays()).thenReturn(bigArrays);
+        when(blobStore.getSnapshotExecutor()).thenReturn(threadPool.executor(ThreadPool.Names.SNAPSHOT));
+        when(blobStore.partTransferPermits()).thenReturn(nodePermits);
+        return blobStore;
+    }
+}
@@ -25,6 +25,7 @@ module org.elasticsearch.server {
     requires org.elasticsearch.lz4;
     requires org.elasticsearch.pluginclassloader;
     requires org.elasticsearch.securesm;
+    requires org.elasticsearch.simdvec;
     requires org.elasticsearch.xcontent;
     requires org.elasticsearch.logging;
     requires org.elasticsearch.plugin;
@@ -427,10 +428,15 @@ module org.elasticsearch.server {
             org.elasticsearch.index.codec.bloomfilter.ES87BloomFilterPostingsFormat,
             org.elasticsearch.index.codec.postings.ES812PostingsFormat;
     provides org.apache.lucene.codecs.DocValuesFormat with ES87TSDBDocValuesFormat;
+    provides org.apache.lucene.codecs.Codec with org.elasticsearch.index.codec.zstd.Zstd814Codec;
     provides org.apache.lucene.codecs.KnnVectorsFormat
         with
             org.elasticsearch.index.codec.vectors.ES813FlatVectorFormat,
-            org.elasticsearch.index.codec.vectors.ES813Int8FlatVectorFormat;
+            org.elasticsearch.index.codec.vectors.ES813Int8FlatVectorFormat,
+            org.elasticsearch.index.codec.vectors.ES814Int4FlatVectorFormat,
+            org.elasticsearch.index.codec.vectors.ES814Int4HnswVectorFormat,
+            org.elasticsearch.index.codec.vectors.ES814BinaryFlatVectorFormat,
+            org.elasticsearch.index.codec.vectors.ES814BinaryHnswVectorFormat;
 
     exports org.elasticsearch.cluster.routing.allocation.shards
         to
@@ -139,6 +139,10 @@ public class TransportVersions {
     public static final TransportVersion ADD_FAILURE_STORE_INDICES_OPTIONS = def(8_599_00_0);
     public static final TransportVersion ESQL_ENRICH_OPERATOR_STATUS = def(8_600_00_0);
     public static final TransportVersion ESQL_SERIALIZE_ARRAY_VECTOR = def(8_601_00_0);
+    public static final TransportVersion MERGE_STATS_QUEUED_MERGES = def(8_602_00_0);
+    public static final TransportVersion KNN_FILTER_STRATEGIES_PROFILE = def(8_603_00_0);
+    public static final TransportVersion KNN_VECTOR_PAGE_FAULTS_PROFILE = def(8_604_00_0);
+    public static final TransportVersion CLUSTER_STATE_SERIALIZATION_TIME_STATS = def(8_605_00_0);
 
     /*
      * STOP! READ THIS FIRST! No, really,
@@ -15,7 +15,9 @@ import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.support.replication.ReplicationResponse;
 import org.elasticsearch.action.support.replication.TransportWriteAction;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.engine.Engine;
+import org.elasticsearch.index.mapper.PreParsedSourceToParse;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.translog.Translog;
 import org.elasticsearch.plugins.internal.DocumentSizeObserver;
@@ -64,10 +66,21 @@ class BulkPrimaryExecutionContext {
     private int updateRetryCounter;
     private long noopMappingUpdateRetryForMappingVersion;
     private DocumentSizeObserver documentSizeObserver = DocumentSizeObserver.EMPTY_INSTANCE;
+    @Nullable
+    private final PreParsedSourceToParse[] preParsedSources;
 
     BulkPrimaryExecutionContext(BulkShardRequest request, IndexShard primary) {
+        this(request, primary, null);
+    }
+
+    /**
+     * @param preParsedSources sources parsed ahead of execution, one per item of the request, see {@link TimeSeriesBulkItemSorter}
+     */
+    BulkPrimaryExecutionContext(BulkShardRequest request, IndexShard primary, @Nullable PreParsedSourceToParse[] preParsedSources) {
+        assert preParsedSources == null || preParsedSources.length == request.items().length;
         this.request = request;
         this.primary = primary;
+        this.preParsedSources = preParsedSources;
         advance();
     }
 
@@ -377,4 +390,21 @@ class BulkPrimaryExecutionContext {
     public DocumentSizeObserver getDocumentSizeObserver() {
         return documentSizeObserver;
     }
+
+    /**
+     * Returns the source of the current item if it was parsed ahead of execution with the current mapping, {@code null} otherwise.
+     * The source is only returned once so that the item is parsed again if it needs to be retried.
+     */
+    @Nullable
+    public PreParsedSourceToParse takePreParsedSource() {
+        if (preParsedSources == null) {
+            return null;
+        }
+        final PreParsedSourceToParse preParsed = preParsedSources[currentIndex];
+        preParsedSources[currentIndex] = null;
+        if (preParsed == null || preParsed.documentMapper() != primary.mapperService().documentMapper()) {
+            return null;
+        }
+        return preParsed;
+    }
 }
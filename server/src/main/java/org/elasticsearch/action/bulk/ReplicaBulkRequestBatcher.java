@@ -0,0 +1,267 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.action.bulk;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.action.support.replication.ReplicationOperation;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.index.seqno.SequenceNumbers;
+import org.elasticsearch.tasks.TaskId;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Pipelines and coalesces the replica requests of {@link TransportShardBulkAction} per replica shard copy.
+ * <p>
+ * Each replica copy accepts up to {@link #MAX_IN_FLIGHT_SETTING} concurrent replica requests. Requests that arrive while that many are
+ * in flight wait in a queue, and as soon as one of the in-flight requests completes the waiting requests are sent together as a single
+ * {@link BulkShardRequest}, ordered by sequence number. This keeps several batches in flight to replicas behind a high-latency link
+ * while turning many small consecutive replica requests into a few larger ones that the replica processes and fsyncs at once.
+ * <p>
+ * Coalescing does not weaken the replication guarantees: a coalesced request is only sent with the primary term of the requests it
+ * contains and the most recent global checkpoint and max sequence number of updates or deletes, which are both monotonic, and every
+ * original request completes with the response of (or the failure of) the coalesced request that carried it. Requests that ask for a
+ * refresh, or that are too large to be worth coalescing, are sent straight away.
+ * <p>
+ * A coalesced request can only be the child of a single task, so requests whose parent task can be cancelled are sent straight away
+ * too. All other requests that are coalesced have parents that are never cancelled, and the coalesced request is sent as a child of
+ * the parent of its first request.
+ */
+public final class ReplicaBulkRequestBatcher {
+
+    public static final Setting<Boolean> ENABLED_SETTING = Setting.boolSetting(
+        "indices.replication.bulk_batching.enabled",
+        false,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    /**
+     * The maximum number of bulk replica requests in flight to a single replica copy before subsequent requests are coalesced. The default
+     * of 4 overlaps the round-trips of a few replica requests, which is what hides the latency of a remote replica, while a copy that
+     * falls behind still makes the requests queue up and be coalesced after a handful of bulk requests rather than after many.
+     */
+    public static final Setting<Integer> MAX_IN_FLIGHT_SETTING = Setting.intSetting(
+        "indices.replication.bulk_batching.max_in_flight",
+        4,
+        1,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    /**
+     * The maximum size of a coalesced replica request. Requests larger than this are never coalesced.
+     */
+    public static final Setting<ByteSizeValue> MAX_BATCH_SIZE_SETTING = Setting.byteSizeSetting(
+        "indices.replication.bulk_batching.max_batch_size",
+        new ByteSizeValue(1, ByteSizeUnit.MB),
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    /**
+     * Sends a replica request to a replica copy, see {@link ReplicationOperation.Replicas#performOn}.
+     */
+    @FunctionalInterface
+    interface Sender {
+        void send(
+            ShardRouting replica,
+            BulkShardRequest request,
+            long primaryTerm,
+            long globalCheckpoint,
+            long maxSeqNoOfUpdatesOrDeletes,
+            ActionListener<ReplicationOperation.ReplicaResponse> listener
+        );
+    }
+
+    private final Map<String, ReplicaQueue> queues = new ConcurrentHashMap<>();
+
+    private final Predicate<TaskId> isCancellableTask;
+
+    private volatile boolean enabled;
+    private volatile int maxInFlight;
+    private volatile long maxBatchSizeInBytes;
+
+    ReplicaBulkRequestBatcher(Settings settings, ClusterSettings clusterSettings, Predicate<TaskId> isCancellableTask) {
+        this.isCancellableTask = isCancellableTask;
+        this.enabled = ENABLED_SETTING.get(settings);
+        this.maxInFlight = MAX_IN_FLIGHT_SETTING.get(settings);
+        this.maxBatchSizeInBytes = MAX_BATCH_SIZE_SETTING.get(settings).getBytes();
+        clusterSettings.addSettingsUpdateConsumer(ENABLED_SETTING, enabled -> this.enabled = enabled);
+        clusterSettings.addSettingsUpdateConsumer(MAX_IN_FLIGHT_SETTING, maxInFlight -> this.maxInFlight = maxInFlight);
+        clusterSettings.addSettingsUpdateConsumer(MAX_BATCH_SIZE_SETTING, size -> this.maxBatchSizeInBytes = size.getBytes());
+    }
+
+    void performOn(
+        ShardRouting replica,
+        BulkShardRequest request,
+        long primaryTerm,
+        long globalCheckpoint,
+        long maxSeqNoOfUpdatesOrDeletes,
+        ActionListener<ReplicationOperation.ReplicaResponse> listener,
+        Sender sender
+    ) {
+        if (enabled == false
+            || request.getRefreshPolicy() != RefreshPolicy.NONE
+            || request.ramBytesUsed() >= maxBatchSizeInBytes
+            || (request.getParentTask().isSet() && isCancellableTask.test(request.getParentTask()))) {
+            sender.send(replica, request, primaryTerm, globalCheckpoint, maxSeqNoOfUpdatesOrDeletes, listener);
+            return;
+        }
+        final String allocationId = replica.allocationId().getId();
+        final PendingRequest pending = new PendingRequest(request, primaryTerm, globalCheckpoint, maxSeqNoOfUpdatesOrDeletes, listener);
+        final boolean[] sendNow = new boolean[1];
+        queues.compute(allocationId, (id, queue) -> {
+            if (queue == null) {
+                queue = new ReplicaQueue();
+            }
+            if (queue.inFlight < maxInFlight) {
+                queue.inFlight++;
+                sendNow[0] = true;
+            } else {
+                queue.pending.add(pending);
+            }
+            return queue;
+        });
+        if (sendNow[0]) {
+            send(replica, List.of(pending), sender);
+        }
+    }
+
+    private void send(ShardRouting replica, List<PendingRequest> batch, Sender sender) {
+        final ActionListener<ReplicationOperation.ReplicaResponse> listener = ActionListener.runAfter(new ActionListener<>() {
+            @Override
+            public void onResponse(ReplicationOperation.ReplicaResponse response) {
+                ActionListener.onResponse(listeners(batch), response);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                ActionListener.onFailure(listeners(batch), e);
+            }
+        }, () -> onCompletion(replica, sender));
+        final PendingRequest first = batch.get(0);
+        if (batch.size() == 1) {
+            sender.send(
+                replica,
+                first.request(),
+                first.primaryTerm(),
+                first.globalCheckpoint(),
+                first.maxSeqNoOfUpdatesOrDeletes(),
+                listener
+            );
+            return;
+        }
+        long globalCheckpoint = SequenceNumbers.UNASSIGNED_SEQ_NO;
+        long maxSeqNoOfUpdatesOrDeletes = SequenceNumbers.UNASSIGNED_SEQ_NO;
+        final List<BulkItemRequest> items = new ArrayList<>();
+        for (PendingRequest pending : batch) {
+            assert pending.primaryTerm() == first.primaryTerm();
+            globalCheckpoint = Math.max(globalCheckpoint, pending.globalCheckpoint());
+            maxSeqNoOfUpdatesOrDeletes = Math.max(maxSeqNoOfUpdatesOrDeletes, pending.maxSeqNoOfUpdatesOrDeletes());
+            items.addAll(List.of(pending.request().items()));
+        }
+        final BulkShardRequest coalesced = new BulkShardRequest(
+            first.request().shardId(),
+            RefreshPolicy.NONE,
+            items.toArray(new BulkItemRequest[0])
+        );
+        coalesced.setParentTask(first.request().getParentTask());
+        sender.send(replica, coalesced, first.primaryTerm(), globalCheckpoint, maxSeqNoOfUpdatesOrDeletes, listener);
+    }
+
+    private static List<ActionListener<ReplicationOperation.ReplicaResponse>> listeners(List<PendingRequest> batch) {
+        return batch.stream().map(PendingRequest::listener).toList();
+    }
+
+    private void onCompletion(ShardRouting replica, Sender sender) {
+        final List<PendingRequest> batch = new ArrayList<>();
+        queues.computeIfPresent(replica.allocationId().getId(), (id, queue) -> {
+            queue.inFlight--;
+            final PendingRequest head = queue.pending.poll();
+            if (head != null) {
+                batch.add(head);
+                long batchSize = head.request().ramBytesUsed();
+                for (PendingRequest next = queue.pending.peek(); next != null; next = queue.pending.peek()) {
+                    final long nextSize = next.request().ramBytesUsed();
+                    if (next.primaryTerm() != head.primaryTerm() || batchSize + nextSize > maxBatchSizeInBytes) {
+                        break;
+                    }
+                    batch.add(queue.pending.poll());
+                    batchSize += nextSize;
+                }
+                queue.inFlight++;
+            }
+            return queue.inFlight == 0 ? null : queue;
+        });
+        if (batch.isEmpty() == false) {
+            batch.sort(Comparator.comparingLong(pending -> minSeqNo(pending.request())));
+            send(replica, batch, sender);
+        }
+    }
+
+    private static long minSeqNo(BulkShardRequest request) {
+        long minSeqNo = Long.MAX_VALUE;
+        for (BulkItemRequest item : request.items()) {
+            final BulkItemResponse response = item == null ? null : item.getPrimaryResponse();
+            if (response != null) {
+                final long seqNo = response.isFailed() ? response.getFailure().getSeqNo() : response.getResponse().getSeqNo();
+                if (seqNo != SequenceNumbers.UNASSIGNED_SEQ_NO) {
+                    minSeqNo = Math.min(minSeqNo, seqNo);
+                }
+            }
+        }
+        return minSeqNo;
+    }
+
+    // visible for testing
+    int pendingRequests(String allocationId) {
+        final int[] pending = new int[1];
+        queues.computeIfPresent(allocationId, (id, queue) -> {
+            pending[0] = queue.pending.size();
+            return queue;
+        });
+        return pending[0];
+    }
+
+    // visible for testing
+    boolean isIdle() {
+        return queues.isEmpty();
+    }
+
+    private record PendingRequest(
+        BulkShardRequest request,
+        long primaryTerm,
+        long globalCheckpoint,
+        long maxSeqNoOfUpdatesOrDeletes,
+        ActionListener<ReplicationOperation.ReplicaResponse> listener
+    ) {}
+
+    /**
+     * The replica requests in flight to and waiting for a replica copy, only accessed within {@link ConcurrentHashMap#compute}.
+     */
+    private static final class ReplicaQueue {
+        private final Queue<PendingRequest> pending = new ArrayDeque<>();
+        private int inFlight;
+    }
+}
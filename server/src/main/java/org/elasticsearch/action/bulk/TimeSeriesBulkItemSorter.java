@@ -0,0 +1,169 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.action.bulk;
+
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.index.IndexMode;
+import org.elasticsearch.index.IndexingPressure;
+import org.elasticsearch.index.mapper.DataStreamTimestampFieldMapper;
+import org.elasticsearch.index.mapper.DocumentMapper;
+import org.elasticsearch.index.mapper.LuceneDocument;
+import org.elasticsearch.index.mapper.ParsedDocument;
+import org.elasticsearch.index.mapper.PreParsedSourceToParse;
+import org.elasticsearch.index.mapper.SourceToParse;
+import org.elasticsearch.index.mapper.TimeSeriesIdFieldMapper;
+import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.plugins.internal.DocumentParsingProvider;
+import org.elasticsearch.plugins.internal.DocumentSizeObserver;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Reorders the items of a bulk shard request that targets a time series index into the sort order of the index, {@code _tsid}
+ * ascending then {@code @timestamp} descending, before the primary executes it.
+ * <p>
+ * Lucene sorts every segment of a sorted index when it is flushed. The sort is adaptive, so when the documents of the indexing buffer
+ * arrive as a few long sorted runs, one per bulk, instead of in random order, it takes a fraction of the comparisons, and when a
+ * buffer is fully sorted Lucene does not need to reorder the documents at all. The {@code _tsid} of a document is only known once it
+ * is parsed, so the documents are parsed up front and the parsed documents are handed to the execution of the items to avoid parsing
+ * them twice. Since the replica requests carry the reordered items too, the replicas flush mostly sorted segments as well.
+ * <p>
+ * The parsed documents are held on to until the bulk shard request completed on the primary, so they are accounted for as primary
+ * bytes in {@link IndexingPressure}, approximated by the size of their source. If the node does not have enough indexing memory left
+ * the items are still sorted, but the documents are dropped and parsed again when their item is executed.
+ * <p>
+ * Items are only reordered if they are all plain index operations, and the sort is stable so that operations on the same document,
+ * which share their {@code _tsid} and {@code @timestamp}, keep their relative order.
+ */
+final class TimeSeriesBulkItemSorter {
+
+    private TimeSeriesBulkItemSorter() {}
+
+    /**
+     * The sources of the sorted items that were parsed ahead of execution, along with the indexing memory they hold on to.
+     */
+    record SortedItems(PreParsedSourceToParse[] preParsedSources, Releasable indexingMemory) implements Releasable {
+        @Override
+        public void close() {
+            indexingMemory.close();
+        }
+    }
+
+    /**
+     * Sorts the items of the given request if it targets a time series index that enables
+     * {@link org.elasticsearch.index.IndexSettings#TIME_SERIES_PRESORT_BULK_ITEMS_SETTING}.
+     *
+     * @return the parsed sources of the items in their new order, {@code null} for items that must be parsed again on execution, or
+     *         {@code null} if the items were not sorted. The returned items must be closed once the request completed on the primary.
+     */
+    @Nullable
+    static SortedItems sortItems(
+        BulkShardRequest request,
+        IndexShard primary,
+        DocumentParsingProvider documentParsingProvider,
+        IndexingPressure indexingPressure
+    ) {
+        final BulkItemRequest[] items = request.items();
+        if (items.length < 2
+            || primary.indexSettings().getMode() != IndexMode.TIME_SERIES
+            || primary.indexSettings().isTimeSeriesPresortBulkItems() == false) {
+            return null;
+        }
+        for (BulkItemRequest item : items) {
+            if (item == null || item.getPrimaryResponse() != null || isIndexOperation(item.request()) == false) {
+                return null;
+            }
+        }
+        final DocumentMapper documentMapper = primary.mapperService().documentMapper();
+        if (documentMapper == null) {
+            return null;
+        }
+
+        final PreParsedSourceToParse[] parsed = new PreParsedSourceToParse[items.length];
+        final BytesRef[] tsids = new BytesRef[items.length];
+        final long[] timestamps = new long[items.length];
+        long parsedBytes = 0;
+        for (int i = 0; i < items.length; i++) {
+            final IndexRequest request = (IndexRequest) items[i].request();
+            final DocumentSizeObserver documentSizeObserver = TransportShardBulkAction.getDocumentSizeObserver(
+                documentParsingProvider,
+                request
+            );
+            final SourceToParse source = new SourceToParse(
+                request.id(),
+                request.source(),
+                request.getContentType(),
+                request.routing(),
+                request.getDynamicTemplates(),
+                documentSizeObserver
+            );
+            final ParsedDocument doc;
+            try {
+                doc = documentMapper.parse(source);
+            } catch (Exception e) {
+                // the failure is reported when the item is executed
+                continue;
+            }
+            final LuceneDocument rootDoc = doc.rootDoc();
+            final IndexableField tsid = rootDoc.getField(TimeSeriesIdFieldMapper.NAME);
+            tsids[i] = tsid == null ? null : tsid.binaryValue();
+            timestamps[i] = timestamp(rootDoc);
+            if (doc.dynamicMappingsUpdate() == null) {
+                parsed[i] = new PreParsedSourceToParse(source, doc, documentMapper);
+                parsedBytes += source.source().length();
+            }
+        }
+        Releasable indexingMemory;
+        try {
+            indexingMemory = indexingPressure.markPrimaryOperationStarted(0, parsedBytes, false);
+        } catch (EsRejectedExecutionException e) {
+            Arrays.fill(parsed, null);
+            indexingMemory = () -> {};
+        }
+
+        final Integer[] order = new Integer[items.length];
+        Arrays.setAll(order, i -> i);
+        // failed documents go first, their order does not matter
+        final Comparator<Integer> comparator = Comparator.<Integer, BytesRef>comparing(
+            i -> tsids[i],
+            Comparator.nullsFirst(Comparator.naturalOrder())
+        ).thenComparing(i -> timestamps[i], Comparator.reverseOrder());
+        Arrays.sort(order, comparator);
+
+        final BulkItemRequest[] originalItems = items.clone();
+        final PreParsedSourceToParse[] sorted = new PreParsedSourceToParse[items.length];
+        for (int i = 0; i < order.length; i++) {
+            items[i] = originalItems[order[i]];
+            sorted[i] = parsed[order[i]];
+        }
+        return new SortedItems(sorted, indexingMemory);
+    }
+
+    private static boolean isIndexOperation(DocWriteRequest<?> request) {
+        return request instanceof IndexRequest
+            && (request.opType() == DocWriteRequest.OpType.INDEX || request.opType() == DocWriteRequest.OpType.CREATE);
+    }
+
+    private static long timestamp(LuceneDocument doc) {
+        for (IndexableField field : doc.getFields(DataStreamTimestampFieldMapper.DEFAULT_PATH)) {
+            if (field.fieldType().docValuesType() == DocValuesType.SORTED_NUMERIC && field.numericValue() != null) {
+                return field.numericValue().longValue();
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+}
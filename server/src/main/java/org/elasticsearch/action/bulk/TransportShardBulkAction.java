@@ -23,6 +23,7 @@ import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.support.ActionFilters;
 import org.elasticsearch.action.support.replication.PostWriteRefresh;
+import org.elasticsearch.action.support.replication.ReplicationOperation;
 import org.elasticsearch.action.support.replication.TransportReplicationAction;
 import org.elasticsearch.action.support.replication.TransportWriteAction;
 import org.elasticsearch.action.update.UpdateHelper;
@@ -32,6 +33,7 @@ import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.ClusterStateObserver;
 import org.elasticsearch.cluster.action.index.MappingUpdatedAction;
 import org.elasticsearch.cluster.action.shard.ShardStateAction;
+import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.CompressedXContent;
@@ -61,6 +63,7 @@ import org.elasticsearch.node.NodeClosedException;
 import org.elasticsearch.plugins.internal.DocumentParsingProvider;
 import org.elasticsearch.plugins.internal.DocumentSizeObserver;
 import org.elasticsearch.plugins.internal.DocumentSizeReporter;
+import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.TransportRequestOptions;
 import org.elasticsearch.transport.TransportService;
@@ -88,6 +91,7 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
     private final Consumer<Runnable> postWriteAction;
 
     private final DocumentParsingProvider documentParsingProvider;
+    private final ReplicaBulkRequestBatcher replicaRequestBatcher;
 
     @Inject
     public TransportShardBulkAction(
@@ -124,6 +128,7 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         this.mappingUpdatedAction = mappingUpdatedAction;
         this.postWriteAction = WriteAckDelay.create(settings, threadPool);
         this.documentParsingProvider = documentParsingProvider;
+        this.replicaRequestBatcher = new ReplicaBulkRequestBatcher(settings, clusterService.getClusterSettings(), this::isCancellableTask);
     }
 
     private static final TransportRequestOptions TRANSPORT_REQUEST_OPTIONS = TransportRequestOptions.of(
@@ -136,6 +141,37 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         return TRANSPORT_REQUEST_OPTIONS;
     }
 
+    private boolean isCancellableTask(TaskId taskId) {
+        // tasks of other nodes are unknown here, treat them as cancellable
+        return taskId.getNodeId().equals(clusterService.localNode().getId()) == false
+            || taskManager.getCancellableTask(taskId.getId()) != null;
+    }
+
+    @Override
+    protected ReplicationOperation.Replicas<BulkShardRequest> newReplicasProxy() {
+        return new WriteActionReplicasProxy() {
+            @Override
+            public void performOn(
+                ShardRouting replica,
+                BulkShardRequest request,
+                long primaryTerm,
+                long globalCheckpoint,
+                long maxSeqNoOfUpdatesOrDeletes,
+                ActionListener<ReplicationOperation.ReplicaResponse> listener
+            ) {
+                replicaRequestBatcher.performOn(
+                    replica,
+                    request,
+                    primaryTerm,
+                    globalCheckpoint,
+                    maxSeqNoOfUpdatesOrDeletes,
+                    listener,
+                    super::performOn
+                );
+            }
+        };
+    }
+
     @Override
     protected BulkShardResponse newResponseInstance(StreamInput in) throws IOException {
         return new BulkShardResponse(in);
@@ -167,7 +203,7 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             public void onTimeout(TimeValue timeout) {
                 mappingUpdateListener.onFailure(new MapperException("timed out while waiting for a dynamic mapping update"));
             }
-        }), listener, threadPool, executor(primary), postWriteRefresh, postWriteAction, documentParsingProvider);
+        }), listener, threadPool, executor(primary), postWriteRefresh, postWriteAction, documentParsingProvider, indexingPressure);
     }
 
     @Override
@@ -203,7 +239,8 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             executorName,
             null,
             null,
-            DocumentParsingProvider.EMPTY_INSTANCE
+            DocumentParsingProvider.EMPTY_INSTANCE,
+            null
         );
     }
 
@@ -219,13 +256,22 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         String executorName,
         @Nullable PostWriteRefresh postWriteRefresh,
         @Nullable Consumer<Runnable> postWriteAction,
-        DocumentParsingProvider documentParsingProvider
+        DocumentParsingProvider documentParsingProvider,
+        @Nullable IndexingPressure indexingPressure
     ) {
-        new ActionRunnable<>(listener) {
+        // the items are only presorted if the memory of the documents parsed ahead of their execution can be accounted for
+        final TimeSeriesBulkItemSorter.SortedItems sortedItems = indexingPressure == null
+            ? null
+            : TimeSeriesBulkItemSorter.sortItems(request, primary, documentParsingProvider, indexingPressure);
+        new ActionRunnable<>(sortedItems == null ? listener : ActionListener.releaseAfter(listener, sortedItems)) {
 
             private final Executor executor = threadPool.executor(executorName);
 
-            private final BulkPrimaryExecutionContext context = new BulkPrimaryExecutionContext(request, primary);
+            private final BulkPrimaryExecutionContext context = new BulkPrimaryExecutionContext(
+                request,
+                primary,
+                sortedItems == null ? null : sortedItems.preParsedSources()
+            );
 
             final long startBulkTime = System.nanoTime();
 
@@ -364,17 +410,22 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             );
         } else {
             final IndexRequest request = context.getRequestToExecute();
-            DocumentSizeObserver documentSizeObserver = getDocumentSizeObserver(documentParsingProvider, request);
+            final SourceToParse preParsed = context.takePreParsedSource();
+            DocumentSizeObserver documentSizeObserver = preParsed != null
+                ? preParsed.getDocumentSizeObserver()
+                : getDocumentSizeObserver(documentParsingProvider, request);
 
             context.setDocumentSizeObserver(documentSizeObserver);
-            final SourceToParse sourceToParse = new SourceToParse(
-                request.id(),
-                request.source(),
-                request.getContentType(),
-                request.routing(),
-                request.getDynamicTemplates(),
-                documentSizeObserver
-            );
+            final SourceToParse sourceToParse = preParsed != null
+                ? preParsed
+                : new SourceToParse(
+                    request.id(),
+                    request.source(),
+                    request.getContentType(),
+                    request.routing(),
+                    request.getDynamicTemplates(),
+                    documentSizeObserver
+                );
             result = primary.applyIndexOperationOnPrimary(
                 version,
                 request.versionType(),
@@ -464,7 +515,7 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
      * or a noop instance if parsed bytes in IngestService/UpdateHelper was 0 (like when empty doc or script in update)
      * or return a new DocumentSizeObserver that will be used when parsing.
      */
-    private static DocumentSizeObserver getDocumentSizeObserver(DocumentParsingProvider documentParsingProvider, IndexRequest request) {
+    static DocumentSizeObserver getDocumentSizeObserver(DocumentParsingProvider documentParsingProvider, IndexRequest request) {
         if (request.getNormalisedBytesParsed() != -1) {
             return documentParsingProvider.newFixedSizeDocumentObserver(request.getNormalisedBytesParsed());
         } else if (request.getNormalisedBytesParsed() == 0) {
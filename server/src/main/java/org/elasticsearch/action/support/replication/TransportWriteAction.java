@@ -535,7 +535,7 @@ public abstract class TransportWriteAction<
      * This extends {@code TransportReplicationAction.ReplicasProxy} to do the
      * failing and stale-ing.
      */
-    class WriteActionReplicasProxy extends ReplicasProxy {
+    protected class WriteActionReplicasProxy extends ReplicasProxy {
 
         @Override
         public void failShardIfNeeded(
@@ -8,10 +8,12 @@
 
 package org.elasticsearch.cluster.coordination;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.xcontent.ToXContentObject;
 import org.elasticsearch.xcontent.XContentBuilder;
 
@@ -19,29 +21,35 @@ import java.io.IOException;
 
 public class ClusterStateSerializationStats implements Writeable, ToXContentObject {
 
-    public static final ClusterStateSerializationStats EMPTY = new ClusterStateSerializationStats(0L, 0L, 0L, 0L, 0L, 0L);
+    public static final ClusterStateSerializationStats EMPTY = new ClusterStateSerializationStats(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
 
     private final long fullStateCount;
     private final long totalUncompressedFullStateBytes;
     private final long totalCompressedFullStateBytes;
+    private final long totalFullStateSerializationTimeMillis;
     private final long diffCount;
     private final long totalUncompressedDiffBytes;
     private final long totalCompressedDiffBytes;
+    private final long totalDiffSerializationTimeMillis;
 
     public ClusterStateSerializationStats(
         long fullStateCount,
         long totalUncompressedFullStateBytes,
         long totalCompressedFullStateBytes,
+        long totalFullStateSerializationTimeMillis,
         long diffCount,
         long totalUncompressedDiffBytes,
-        long totalCompressedDiffBytes
+        long totalCompressedDiffBytes,
+        long totalDiffSerializationTimeMillis
     ) {
         this.fullStateCount = fullStateCount;
         this.totalUncompressedFullStateBytes = totalUncompressedFullStateBytes;
         this.totalCompressedFullStateBytes = totalCompressedFullStateBytes;
+        this.totalFullStateSerializationTimeMillis = totalFullStateSerializationTimeMillis;
         this.diffCount = diffCount;
         this.totalUncompressedDiffBytes = totalUncompressedDiffBytes;
         this.totalCompressedDiffBytes = totalCompressedDiffBytes;
+        this.totalDiffSerializationTimeMillis = totalDiffSerializationTimeMillis;
     }
 
     public ClusterStateSerializationStats(StreamInput in) throws IOException {
@@ -51,6 +59,13 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         this.diffCount = in.readVLong();
         this.totalUncompressedDiffBytes = in.readVLong();
         this.totalCompressedDiffBytes = in.readVLong();
+        if (in.getTransportVersion().onOrAfter(TransportVersions.CLUSTER_STATE_SERIALIZATION_TIME_STATS)) {
+            this.totalFullStateSerializationTimeMillis = in.readVLong();
+            this.totalDiffSerializationTimeMillis = in.readVLong();
+        } else {
+            this.totalFullStateSerializationTimeMillis = 0L;
+            this.totalDiffSerializationTimeMillis = 0L;
+        }
     }
 
     public long getFullStateCount() {
@@ -65,6 +80,10 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         return totalCompressedFullStateBytes;
     }
 
+    public long getTotalFullStateSerializationTimeMillis() {
+        return totalFullStateSerializationTimeMillis;
+    }
+
     public long getDiffCount() {
         return diffCount;
     }
@@ -77,6 +96,10 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         return totalCompressedDiffBytes;
     }
 
+    public long getTotalDiffSerializationTimeMillis() {
+        return totalDiffSerializationTimeMillis;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject();
@@ -88,11 +111,21 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
             ByteSizeValue.ofBytes(totalUncompressedFullStateBytes)
         );
         builder.humanReadableField("compressed_size_in_bytes", "compressed_size", ByteSizeValue.ofBytes(totalCompressedFullStateBytes));
+        builder.humanReadableField(
+            "serialization_time_millis",
+            "serialization_time",
+            TimeValue.timeValueMillis(totalFullStateSerializationTimeMillis)
+        );
         builder.endObject();
         builder.startObject("diffs");
         builder.field("count", diffCount);
         builder.humanReadableField("uncompressed_size_in_bytes", "uncompressed_size", ByteSizeValue.ofBytes(totalUncompressedDiffBytes));
         builder.humanReadableField("compressed_size_in_bytes", "compressed_size", ByteSizeValue.ofBytes(totalCompressedDiffBytes));
+        builder.humanReadableField(
+            "serialization_time_millis",
+            "serialization_time",
+            TimeValue.timeValueMillis(totalDiffSerializationTimeMillis)
+        );
         builder.endObject();
         builder.endObject();
         return builder;
@@ -106,6 +139,10 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         out.writeVLong(diffCount);
         out.writeVLong(totalUncompressedDiffBytes);
         out.writeVLong(totalCompressedDiffBytes);
+        if (out.getTransportVersion().onOrAfter(TransportVersions.CLUSTER_STATE_SERIALIZATION_TIME_STATS)) {
+            out.writeVLong(totalFullStateSerializationTimeMillis);
+            out.writeVLong(totalDiffSerializationTimeMillis);
+        }
     }
 
 }
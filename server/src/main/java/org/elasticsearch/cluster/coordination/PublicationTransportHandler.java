@@ -50,6 +50,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -231,6 +232,7 @@ public class PublicationTransportHandler {
     }
 
     private ReleasableBytesReference serializeFullClusterState(ClusterState clusterState, DiscoveryNode node, TransportVersion version) {
+        final long startTimeNanos = transportService.getThreadPool().rawRelativeTimeInNanos();
         final RecyclerBytesStreamOutput bytesStream = transportService.newNetworkBytesStream();
         boolean success = false;
         try {
@@ -248,7 +250,11 @@ public class PublicationTransportHandler {
                 throw new ElasticsearchException("failed to serialize cluster state for publishing to node {}", e, node);
             }
             final ReleasableBytesReference result = new ReleasableBytesReference(bytesStream.bytes(), bytesStream);
-            serializationStatsTracker.serializedFullState(uncompressedBytes, result.length());
+            serializationStatsTracker.serializedFullState(
+                uncompressedBytes,
+                result.length(),
+                transportService.getThreadPool().rawRelativeTimeInNanos() - startTimeNanos
+            );
             logger.trace(
                 "serialized full cluster state version [{}] using transport version [{}] with size [{}]",
                 clusterState.version(),
@@ -271,6 +277,7 @@ public class PublicationTransportHandler {
         TransportVersion version
     ) {
         final long clusterStateVersion = newState.version();
+        final long startTimeNanos = transportService.getThreadPool().rawRelativeTimeInNanos();
         final RecyclerBytesStreamOutput bytesStream = transportService.newNetworkBytesStream();
         boolean success = false;
         try {
@@ -292,7 +299,11 @@ public class PublicationTransportHandler {
                 throw new ElasticsearchException("failed to serialize cluster state diff for publishing to node {}", e, node);
             }
             final ReleasableBytesReference result = new ReleasableBytesReference(bytesStream.bytes(), bytesStream);
-            serializationStatsTracker.serializedDiff(uncompressedBytes, result.length());
+            serializationStatsTracker.serializedDiff(
+                uncompressedBytes,
+                result.length(),
+                transportService.getThreadPool().rawRelativeTimeInNanos() - startTimeNanos
+            );
             logger.trace(
                 "serialized cluster state diff for version [{}] using transport version [{}] with size [{}]",
                 clusterStateVersion,
@@ -517,21 +528,25 @@ public class PublicationTransportHandler {
         private long fullStateCount;
         private long totalUncompressedFullStateBytes;
         private long totalCompressedFullStateBytes;
+        private long totalFullStateSerializationTimeNanos;
 
         private long diffCount;
         private long totalUncompressedDiffBytes;
         private long totalCompressedDiffBytes;
+        private long totalDiffSerializationTimeNanos;
 
-        public synchronized void serializedFullState(long uncompressedBytes, int compressedBytes) {
+        public synchronized void serializedFullState(long uncompressedBytes, int compressedBytes, long serializationTimeNanos) {
             fullStateCount += 1;
             totalUncompressedFullStateBytes += uncompressedBytes;
             totalCompressedFullStateBytes += compressedBytes;
+            totalFullStateSerializationTimeNanos += serializationTimeNanos;
         }
 
-        public synchronized void serializedDiff(long uncompressedBytes, int compressedBytes) {
+        public synchronized void serializedDiff(long uncompressedBytes, int compressedBytes, long serializationTimeNanos) {
             diffCount += 1;
             totalUncompressedDiffBytes += uncompressedBytes;
             totalCompressedDiffBytes += compressedBytes;
+            totalDiffSerializationTimeNanos += serializationTimeNanos;
         }
 
         public synchronized ClusterStateSerializationStats getSerializationStats() {
@@ -539,9 +554,11 @@ public class PublicationTransportHandler {
                 fullStateCount,
                 totalUncompressedFullStateBytes,
                 totalCompressedFullStateBytes,
+                TimeUnit.NANOSECONDS.toMillis(totalFullStateSerializationTimeNanos),
                 diffCount,
                 totalUncompressedDiffBytes,
-                totalCompressedDiffBytes
+                totalCompressedDiffBytes,
+                TimeUnit.NANOSECONDS.toMillis(totalDiffSerializationTimeNanos)
             );
         }
     }
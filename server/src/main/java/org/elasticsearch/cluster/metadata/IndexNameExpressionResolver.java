@@ -1350,10 +1350,18 @@ public class IndexNameExpressionResolver {
         private static Stream<IndexAbstraction> matchResourcesToWildcard(Context context, String wildcardExpression) {
             assert isWildcard(wildcardExpression);
             final SortedMap<String, IndexAbstraction> indicesLookup = context.getState().getMetadata().getIndicesLookup();
+            final int firstWildcard = wildcardExpression.indexOf('*');
             Stream<IndexAbstraction> matchesStream;
-            if (Regex.isSuffixMatchPattern(wildcardExpression)) {
-                // this is an initial pre-filtering in the case where the expression is a common suffix wildcard, eg "test*"
-                matchesStream = filterIndicesLookupForSuffixWildcard(indicesLookup, wildcardExpression).values().stream();
+            if (firstWildcard > 0) {
+                // this is an initial pre-filtering on the literal prefix of the expression, eg "test" for "test*" or "logs-" for
+                // "logs-*-prod", so that only the resources that start with this prefix are matched against the expression
+                final String prefix = wildcardExpression.substring(0, firstWildcard);
+                matchesStream = filterIndicesLookupForPrefix(indicesLookup, prefix).values().stream();
+                if (Regex.isSuffixMatchPattern(wildcardExpression) == false) {
+                    matchesStream = matchesStream.filter(
+                        indexAbstraction -> Regex.simpleMatch(wildcardExpression, indexAbstraction.getName())
+                    );
+                }
             } else {
                 matchesStream = indicesLookup.values().stream();
                 if (Regex.isMatchAllPattern(wildcardExpression) == false) {
@@ -1391,12 +1399,11 @@ public class IndexNameExpressionResolver {
             return matchesStream;
         }
 
-        private static Map<String, IndexAbstraction> filterIndicesLookupForSuffixWildcard(
+        private static Map<String, IndexAbstraction> filterIndicesLookupForPrefix(
             SortedMap<String, IndexAbstraction> indicesLookup,
-            String suffixWildcardExpression
+            String fromPrefix
         ) {
-            assert Regex.isSuffixMatchPattern(suffixWildcardExpression);
-            String fromPrefix = suffixWildcardExpression.substring(0, suffixWildcardExpression.length() - 1);
+            assert fromPrefix.isEmpty() == false;
             char[] toPrefixCharArr = fromPrefix.toCharArray();
             toPrefixCharArr[toPrefixCharArr.length - 1]++;
             String toPrefix = new String(toPrefixCharArr);
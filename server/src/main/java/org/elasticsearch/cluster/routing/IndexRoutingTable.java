@@ -346,7 +346,54 @@ public class IndexRoutingTable implements SimpleDiffable<IndexRoutingTable> {
     }
 
     public static Diff<IndexRoutingTable> readDiffFrom(StreamInput in) throws IOException {
-        return SimpleDiffable.readDiffFrom(IndexRoutingTable::readFrom, in);
+        return new SharingDiff(SimpleDiffable.readDiffFrom(IndexRoutingTable::readFrom, in));
+    }
+
+    /**
+     * Returns an index routing table that is equal to this one but shares the routing tables of the shards that did not change with the
+     * given previous version of it, or the previous version itself if nothing changed. Consecutive cluster states then only hold a
+     * single copy of the routing of the shards that did not move, which is most of them in a large cluster.
+     */
+    IndexRoutingTable shareUnchangedShards(@Nullable IndexRoutingTable previous) {
+        if (previous == null || previous == this || index.equals(previous.index) == false || shards.length != previous.shards.length) {
+            return this;
+        }
+        IndexShardRoutingTable[] sharedShards = null;
+        boolean changed = false;
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i] == previous.shards[i]) {
+                continue;
+            }
+            if (shards[i].equals(previous.shards[i])) {
+                if (sharedShards == null) {
+                    sharedShards = shards.clone();
+                }
+                sharedShards[i] = previous.shards[i];
+            } else {
+                changed = true;
+            }
+        }
+        if (changed == false) {
+            return previous;
+        }
+        return sharedShards == null ? this : new IndexRoutingTable(index, sharedShards);
+    }
+
+    /**
+     * Sends the entire index routing table if it changed, like {@link SimpleDiffable}, but shares the routing tables of the shards that
+     * did not change with the version it is applied to.
+     */
+    private record SharingDiff(Diff<IndexRoutingTable> diff) implements Diff<IndexRoutingTable> {
+
+        @Override
+        public IndexRoutingTable apply(IndexRoutingTable part) {
+            return diff.apply(part).shareUnchangedShards(part);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            diff.writeTo(out);
+        }
     }
 
     @Override
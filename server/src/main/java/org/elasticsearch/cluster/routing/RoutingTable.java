@@ -383,6 +383,18 @@ public class RoutingTable implements Iterable<IndexRoutingTable>, Diffable<Routi
     }
 
     public static RoutingTable of(long version, RoutingNodes routingNodes) {
+        return of(version, routingNodes, null);
+    }
+
+    /**
+     * Builds the routing table of the given routing nodes, sharing the routing of the indices and shards that did not change with the
+     * previous routing table, so that consecutive cluster states do not each hold their own copy of the routing of every shard.
+     */
+    public static RoutingTable of(RoutingTable previousRoutingTable, RoutingNodes routingNodes) {
+        return of(previousRoutingTable.version(), routingNodes, previousRoutingTable);
+    }
+
+    private static RoutingTable of(long version, RoutingNodes routingNodes, @Nullable RoutingTable previousRoutingTable) {
         Map<String, IndexRoutingTable.Builder> indexRoutingTableBuilders = new HashMap<>();
         for (RoutingNode routingNode : routingNodes) {
             for (ShardRouting shardRoutingEntry : routingNode) {
@@ -400,10 +412,19 @@ public class RoutingTable implements Iterable<IndexRoutingTable>, Diffable<Routi
         }
 
         ImmutableOpenMap.Builder<String, IndexRoutingTable> indicesRouting = ImmutableOpenMap.builder(indexRoutingTableBuilders.size());
+        boolean changed = previousRoutingTable == null || previousRoutingTable.indicesRouting.size() != indexRoutingTableBuilders.size();
         for (IndexRoutingTable.Builder indexBuilder : indexRoutingTableBuilders.values()) {
             IndexRoutingTable indexRoutingTable = indexBuilder.build();
+            if (previousRoutingTable != null) {
+                final IndexRoutingTable previousIndexRoutingTable = previousRoutingTable.index(indexRoutingTable.getIndex().getName());
+                indexRoutingTable = indexRoutingTable.shareUnchangedShards(previousIndexRoutingTable);
+                changed |= indexRoutingTable != previousIndexRoutingTable;
+            }
             indicesRouting.put(indexRoutingTable.getIndex().getName(), indexRoutingTable);
         }
+        if (changed == false) {
+            return previousRoutingTable;
+        }
         return new RoutingTable(version, indicesRouting.build());
     }
 
@@ -421,7 +421,7 @@ public class RoutingAllocation {
             deciders,
             routingNodesChanged()
                 ? ClusterState.builder(clusterState)
-                    .routingTable(RoutingTable.of(clusterState.routingTable().version(), routingNodes))
+                    .routingTable(RoutingTable.of(clusterState.routingTable(), routingNodes))
                     .build()
                 : clusterState,
             clusterInfo,
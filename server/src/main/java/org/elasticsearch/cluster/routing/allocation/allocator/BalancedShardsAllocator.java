@@ -657,6 +657,12 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final ModelNode[] modelNodes = sorter.modelNodes;
             final float[] weights = sorter.weights;
             for (String index : buildWeightOrderedIndices()) {
+                final float localThreshold = weight.minWeightDelta(this, index) * threshold;
+                if (isBalanced(index, localThreshold)) {
+                    logger.trace("Skip balancing index [{}] whose weights are all within the threshold", index);
+                    continue;
+                }
+
                 IndexMetadata indexMetadata = metadata.index(index);
 
                 // find nodes that have a shard of this index or where shards of this index are allowed to be allocated to,
@@ -680,7 +686,6 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                 sorter.reset(index, 0, relevantNodes);
                 int lowIdx = 0;
                 int highIdx = relevantNodes - 1;
-                final float localThreshold = sorter.minWeightDelta() * threshold;
                 while (true) {
                     final ModelNode minNode = modelNodes[lowIdx];
                     final ModelNode maxNode = modelNodes[highIdx];
@@ -774,6 +779,23 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             }
         }
 
+        /**
+         * Returns {@code true} iff the weights of all nodes with respect to the given index are within the threshold of each other. The
+         * weights of the nodes that are relevant to the index are then within the threshold too, so {@link #balanceByWeights()} would not
+         * relocate any shard of this index. This only computes weights, which is much cheaper than asking the deciders which nodes are
+         * relevant to the index and sorting them, and in a large cluster most indices are balanced after any single shard event.
+         */
+        private boolean isBalanced(String index, float localThreshold) {
+            float minWeight = Float.POSITIVE_INFINITY;
+            float maxWeight = Float.NEGATIVE_INFINITY;
+            for (ModelNode node : sorter.modelNodes) {
+                final float nodeWeight = weight.weight(this, node, index);
+                minWeight = Math.min(minWeight, nodeWeight);
+                maxWeight = Math.max(maxWeight, nodeWeight);
+            }
+            return lessThan(maxWeight - minWeight, localThreshold);
+        }
+
         /**
          * This builds a initial index ordering where the indices are returned
          * in most unbalanced first. We need this in order to prevent over
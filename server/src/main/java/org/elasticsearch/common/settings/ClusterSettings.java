@@ -10,6 +10,7 @@ package org.elasticsearch.common.settings;
 import org.apache.logging.log4j.LogManager;
 import org.elasticsearch.action.admin.cluster.configuration.TransportAddVotingConfigExclusionsAction;
 import org.elasticsearch.action.admin.indices.close.TransportCloseIndexAction;
+import org.elasticsearch.action.bulk.ReplicaBulkRequestBatcher;
 import org.elasticsearch.action.bulk.WriteAckDelay;
 import org.elasticsearch.action.ingest.SimulatePipelineTransportAction;
 import org.elasticsearch.action.search.TransportSearchAction;
@@ -81,6 +82,7 @@ import org.elasticsearch.index.IndexModule;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.IndexingPressure;
 import org.elasticsearch.index.MergePolicyConfig;
+import org.elasticsearch.index.engine.NodeMergeCoordinator;
 import org.elasticsearch.indices.IndexingMemoryController;
 import org.elasticsearch.indices.IndicesQueryCache;
 import org.elasticsearch.indices.IndicesRequestCache;
@@ -242,6 +244,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         RecoverySettings.INDICES_RECOVERY_INTERNAL_LONG_ACTION_TIMEOUT_SETTING,
         RecoverySettings.INDICES_RECOVERY_INTERNAL_ACTION_RETRY_TIMEOUT_SETTING,
         RecoverySettings.INDICES_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS_SETTING,
+        RecoverySettings.INDICES_RECOVERY_MAX_ADAPTIVE_CONCURRENT_FILE_CHUNKS_SETTING,
         RecoverySettings.INDICES_RECOVERY_MAX_CONCURRENT_OPERATIONS_SETTING,
         RecoverySettings.INDICES_RECOVERY_USE_SNAPSHOTS_SETTING,
         RecoverySettings.INDICES_RECOVERY_MAX_CONCURRENT_SNAPSHOT_FILE_DOWNLOADS,
@@ -361,6 +364,9 @@ public final class ClusterSettings extends AbstractScopedSettings {
         HierarchyCircuitBreakerService.REQUEST_CIRCUIT_BREAKER_TYPE_SETTING,
         TransportReplicationAction.REPLICATION_INITIAL_RETRY_BACKOFF_BOUND,
         TransportReplicationAction.REPLICATION_RETRY_TIMEOUT,
+        ReplicaBulkRequestBatcher.ENABLED_SETTING,
+        ReplicaBulkRequestBatcher.MAX_IN_FLIGHT_SETTING,
+        ReplicaBulkRequestBatcher.MAX_BATCH_SIZE_SETTING,
         TransportSettings.HOST,
         TransportSettings.PUBLISH_HOST,
         TransportSettings.PUBLISH_HOST_PROFILE,
@@ -582,6 +588,10 @@ public final class ClusterSettings extends AbstractScopedSettings {
         IngestSettings.GROK_WATCHDOG_MAX_EXECUTION_TIME,
         TDigestExecutionHint.SETTING,
         MergePolicyConfig.DEFAULT_MAX_MERGED_SEGMENT_SETTING,
-        MergePolicyConfig.DEFAULT_MAX_TIME_BASED_MERGED_SEGMENT_SETTING
+        MergePolicyConfig.DEFAULT_MAX_TIME_BASED_MERGED_SEGMENT_SETTING,
+        NodeMergeCoordinator.ENABLED_SETTING,
+        NodeMergeCoordinator.MAX_CONCURRENT_MERGES_SETTING,
+        NodeMergeCoordinator.MAX_BYTES_PER_SEC_SETTING,
+        NodeMergeCoordinator.PRIORITY_SETTING
     ).filter(Objects::nonNull).collect(Collectors.toSet());
 }
@@ -109,6 +109,8 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
         IndexSettings.INDEX_WARMER_ENABLED_SETTING,
         IndexSettings.INDEX_REFRESH_INTERVAL_SETTING,
         IndexSettings.INDEX_FAST_REFRESH_SETTING,
+        IndexSettings.INDEX_REFRESH_ADAPTIVE_ENABLED_SETTING,
+        IndexSettings.INDEX_REFRESH_ADAPTIVE_MAX_INTERVAL_SETTING,
         IndexSettings.MAX_RESULT_WINDOW_SETTING,
         IndexSettings.MAX_INNER_RESULT_WINDOW_SETTING,
         IndexSettings.MAX_TOKEN_COUNT_SETTING,
@@ -141,6 +143,8 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
         IndexSettings.INDEX_TRANSLOG_FLUSH_THRESHOLD_SIZE_SETTING,
         IndexSettings.INDEX_TRANSLOG_FLUSH_THRESHOLD_AGE_SETTING,
         IndexSettings.INDEX_TRANSLOG_GENERATION_THRESHOLD_SIZE_SETTING,
+        IndexSettings.INDEX_TRANSLOG_COMPRESSION_SETTING,
+        IndexSettings.INDEX_TRANSLOG_REPLAY_THREADS_SETTING,
         IndexSettings.INDEX_TRANSLOG_RETENTION_AGE_SETTING,
         IndexSettings.INDEX_TRANSLOG_RETENTION_SIZE_SETTING,
         IndexSettings.INDEX_SEARCH_IDLE_AFTER,
@@ -159,6 +163,8 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
         BitsetFilterCache.INDEX_LOAD_RANDOM_ACCESS_FILTERS_EAGERLY_SETTING,
         IndexModule.INDEX_STORE_TYPE_SETTING,
         IndexModule.INDEX_STORE_PRE_LOAD_SETTING,
+        IndexModule.INDEX_STORE_PREFETCH_SETTING,
+        IndexModule.INDEX_STORE_PREFETCH_MAX_BYTES_SETTING,
         IndexModule.INDEX_RECOVERY_TYPE_SETTING,
         IndexModule.INDEX_QUERY_CACHE_ENABLED_SETTING,
         FsDirectoryFactory.INDEX_LOCK_FACTOR_SETTING,
@@ -196,6 +202,7 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
         IndexMetadata.INDEX_ROUTING_PATH,
         IndexSettings.TIME_SERIES_START_TIME,
         IndexSettings.TIME_SERIES_END_TIME,
+        IndexSettings.TIME_SERIES_PRESORT_BULK_ITEMS_SETTING,
 
         // Legacy index settings we must keep around for BWC from 7.x
         EngineConfig.INDEX_OPTIMIZE_AUTO_GENERATED_IDS,
@@ -29,6 +29,7 @@ import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.core.CheckedFunction;
@@ -43,6 +44,7 @@ import org.elasticsearch.index.cache.query.IndexQueryCache;
 import org.elasticsearch.index.cache.query.QueryCache;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.index.engine.EngineFactory;
+import org.elasticsearch.index.engine.NodeMergeCoordinator;
 import org.elasticsearch.index.mapper.IdFieldMapper;
 import org.elasticsearch.index.mapper.MapperRegistry;
 import org.elasticsearch.index.mapper.MapperService;
@@ -127,6 +129,26 @@ public final class IndexModule {
         Property.NodeScope
     );
 
+    /** On which extensions to advise the operating system to read data into the file-system cache upon opening of files.
+     *  Unlike {@link #INDEX_STORE_PRE_LOAD_SETTING} this does not block until the data is loaded, and it only has an
+     *  effect on Linux. */
+    public static final Setting<List<String>> INDEX_STORE_PREFETCH_SETTING = Setting.stringListSetting(
+        "index.store.prefetch",
+        Property.IndexScope,
+        Property.NodeScope
+    );
+
+    /** How many bytes from the start of each file matching {@link #INDEX_STORE_PREFETCH_SETTING} to advise the operating system to read,
+     *  so that prefetching large files does not evict the rest of the file-system cache. */
+    public static final Setting<ByteSizeValue> INDEX_STORE_PREFETCH_MAX_BYTES_SETTING = Setting.byteSizeSetting(
+        "index.store.prefetch_max_bytes",
+        ByteSizeValue.ofMb(16),
+        ByteSizeValue.ZERO,
+        ByteSizeValue.ofBytes(Long.MAX_VALUE),
+        Property.IndexScope,
+        Property.NodeScope
+    );
+
     public static final String SIMILARITY_SETTINGS_PREFIX = "index.similarity";
 
     // whether to use the query cache
@@ -177,6 +199,7 @@ public final class IndexModule {
     private final BooleanSupplier allowExpensiveQueries;
     private final Map<String, IndexStorePlugin.RecoveryStateFactory> recoveryStateFactories;
     private final SetOnce<Engine.IndexCommitListener> indexCommitListener = new SetOnce<>();
+    private final SetOnce<NodeMergeCoordinator> nodeMergeCoordinator = new SetOnce<>();
 
     /**
      * Construct the index module for the index with the specified index settings. The index module contains extension points for plugins
@@ -387,6 +410,15 @@ public final class IndexModule {
         this.indexCommitListener.set(Objects.requireNonNull(listener));
     }
 
+    /**
+     * Sets the node-wide coordinator that admits and throttles the merges of the shards of this index together with the merges of all
+     * other shards on the node.
+     */
+    public void setNodeMergeCoordinator(NodeMergeCoordinator coordinator) {
+        ensureNotFrozen();
+        this.nodeMergeCoordinator.set(Objects.requireNonNull(coordinator));
+    }
+
     IndexEventListener freeze() { // pkg private for testing
         if (this.frozen.compareAndSet(false, true)) {
             return new CompositeIndexEventListener(indexSettings, indexEventListeners);
@@ -535,7 +567,8 @@ public final class IndexModule {
                 recoveryStateFactory,
                 indexFoldersDeletionListener,
                 snapshotCommitSupplier,
-                indexCommitListener.get()
+                indexCommitListener.get(),
+                nodeMergeCoordinator.get()
             );
             success = true;
             return indexService;
@@ -293,6 +293,30 @@ public final class IndexSettings {
         return DEFAULT_REFRESH_INTERVAL;
     }, new RefreshIntervalValidator(), Property.Dynamic, Property.IndexScope, Property.ServerlessPublic);
 
+    /**
+     * Whether the scheduled refresh of the shards of this index adapts to the observed search and indexing load. When enabled,
+     * {@link #INDEX_REFRESH_INTERVAL_SETTING} acts as the lower bound of the effective refresh interval and
+     * {@link #INDEX_REFRESH_ADAPTIVE_MAX_INTERVAL_SETTING} as its upper bound.
+     */
+    public static final Setting<Boolean> INDEX_REFRESH_ADAPTIVE_ENABLED_SETTING = Setting.boolSetting(
+        "index.refresh.adaptive.enabled",
+        false,
+        Property.Dynamic,
+        Property.IndexScope
+    );
+
+    /**
+     * The upper bound of the effective refresh interval when {@link #INDEX_REFRESH_ADAPTIVE_ENABLED_SETTING} is enabled. Searches on a
+     * shard whose refresh is deferred may observe changes that are at most this old.
+     */
+    public static final Setting<TimeValue> INDEX_REFRESH_ADAPTIVE_MAX_INTERVAL_SETTING = Setting.timeSetting(
+        "index.refresh.adaptive.max_interval",
+        TimeValue.timeValueSeconds(30),
+        TimeValue.ZERO,
+        Property.Dynamic,
+        Property.IndexScope
+    );
+
     static class RefreshIntervalValidator implements Setting.Validator<TimeValue> {
         @Override
         public void validate(TimeValue value) {}
@@ -398,6 +422,31 @@ public final class IndexSettings {
         Property.IndexScope
     );
 
+    /**
+     * Whether translog operations are LZ4 compressed before they are written to disk. Operations are compressed one at a time so that
+     * each one can still be read back from its location, and small operations that don't compress well are written as is. Changes only
+     * apply to translog generations created after the update.
+     */
+    public static final Setting<Boolean> INDEX_TRANSLOG_COMPRESSION_SETTING = Setting.boolSetting(
+        "index.translog.compression.enabled",
+        false,
+        Property.Dynamic,
+        Property.IndexScope
+    );
+
+    /**
+     * The number of threads that replay the operations of the local translog when a shard is recovered from its own store. Operations
+     * are partitioned by their id so that all operations on a document are replayed in order by the same thread.
+     */
+    public static final Setting<Integer> INDEX_TRANSLOG_REPLAY_THREADS_SETTING = Setting.intSetting(
+        "index.translog.replay_threads",
+        1,
+        1,
+        16,
+        Property.Dynamic,
+        Property.IndexScope
+    );
+
     /**
      * Index setting to enable / disable deletes garbage collection.
      * This setting is realtime updateable
@@ -639,6 +688,25 @@ public final class IndexSettings {
         return es87TSDBCodecEnabled;
     }
 
+    /**
+     * In time series mode, whether the primary parses the documents of a bulk shard request up front and indexes them in index sort
+     * order, {@code _tsid} then {@code @timestamp}, so that the segments it flushes are mostly sorted already.
+     */
+    public static final Setting<Boolean> TIME_SERIES_PRESORT_BULK_ITEMS_SETTING = Setting.boolSetting(
+        "index.time_series.presort_bulk_items",
+        false,
+        Property.IndexScope,
+        Property.Dynamic
+    );
+
+    /**
+     * Returns <code>true</code> if the items of bulk shard requests are indexed in index sort order, see
+     * {@link #TIME_SERIES_PRESORT_BULK_ITEMS_SETTING}.
+     */
+    public boolean isTimeSeriesPresortBulkItems() {
+        return timeSeriesPresortBulkItems;
+    }
+
     /**
      * The {@link IndexMode "mode"} of the index.
      */
@@ -706,10 +774,14 @@ public final class IndexSettings {
     private volatile Translog.Durability durability;
     private volatile TimeValue syncInterval;
     private volatile TimeValue refreshInterval;
+    private volatile boolean adaptiveRefreshEnabled;
+    private volatile TimeValue adaptiveRefreshMaxInterval;
     private final boolean fastRefresh;
     private volatile ByteSizeValue flushThresholdSize;
     private volatile TimeValue flushThresholdAge;
     private volatile ByteSizeValue generationThresholdSize;
+    private volatile int translogReplayThreads;
+    private volatile boolean translogCompressionEnabled;
     private volatile ByteSizeValue flushAfterMergeThresholdSize;
     private final MergeSchedulerConfig mergeSchedulerConfig;
     private final MergePolicyConfig mergePolicyConfig;
@@ -719,6 +791,7 @@ public final class IndexSettings {
     private final boolean softDeleteEnabled;
     private volatile long softDeleteRetentionOperations;
     private final boolean es87TSDBCodecEnabled;
+    private volatile boolean timeSeriesPresortBulkItems;
 
     private volatile long retentionLeaseMillis;
 
@@ -859,6 +932,8 @@ public final class IndexSettings {
         syncInterval = INDEX_TRANSLOG_SYNC_INTERVAL_SETTING.get(settings);
         refreshInterval = scopedSettings.get(INDEX_REFRESH_INTERVAL_SETTING);
         fastRefresh = scopedSettings.get(INDEX_FAST_REFRESH_SETTING);
+        adaptiveRefreshEnabled = scopedSettings.get(INDEX_REFRESH_ADAPTIVE_ENABLED_SETTING);
+        adaptiveRefreshMaxInterval = scopedSettings.get(INDEX_REFRESH_ADAPTIVE_MAX_INTERVAL_SETTING);
         if (fastRefresh) {
             if (DiscoveryNode.isStateless(nodeSettings) == false) {
                 throw new IllegalArgumentException(INDEX_FAST_REFRESH_SETTING.getKey() + " is allowed only in stateless");
@@ -870,6 +945,8 @@ public final class IndexSettings {
         flushThresholdSize = scopedSettings.get(INDEX_TRANSLOG_FLUSH_THRESHOLD_SIZE_SETTING);
         flushThresholdAge = scopedSettings.get(INDEX_TRANSLOG_FLUSH_THRESHOLD_AGE_SETTING);
         generationThresholdSize = scopedSettings.get(INDEX_TRANSLOG_GENERATION_THRESHOLD_SIZE_SETTING);
+        translogReplayThreads = scopedSettings.get(INDEX_TRANSLOG_REPLAY_THREADS_SETTING);
+        translogCompressionEnabled = scopedSettings.get(INDEX_TRANSLOG_COMPRESSION_SETTING);
         flushAfterMergeThresholdSize = scopedSettings.get(INDEX_FLUSH_AFTER_MERGE_THRESHOLD_SIZE_SETTING);
         mergeSchedulerConfig = new MergeSchedulerConfig(this);
         gcDeletesInMillis = scopedSettings.get(INDEX_GC_DELETES_SETTING).getMillis();
@@ -905,6 +982,7 @@ public final class IndexSettings {
         mappingDimensionFieldsLimit = scopedSettings.get(INDEX_MAPPING_DIMENSION_FIELDS_LIMIT_SETTING);
         indexRouting = IndexRouting.fromIndexMetadata(indexMetadata);
         es87TSDBCodecEnabled = scopedSettings.get(TIME_SERIES_ES87TSDB_CODEC_ENABLED_SETTING);
+        timeSeriesPresortBulkItems = scopedSettings.get(TIME_SERIES_PRESORT_BULK_ITEMS_SETTING);
 
         scopedSettings.addSettingsUpdateConsumer(
             MergePolicyConfig.INDEX_COMPOUND_FORMAT_SETTING,
@@ -963,7 +1041,15 @@ public final class IndexSettings {
         scopedSettings.addSettingsUpdateConsumer(INDEX_TRANSLOG_FLUSH_THRESHOLD_AGE_SETTING, this::setTranslogFlushThresholdAge);
         scopedSettings.addSettingsUpdateConsumer(INDEX_FLUSH_AFTER_MERGE_THRESHOLD_SIZE_SETTING, this::setFlushAfterMergeThresholdSize);
         scopedSettings.addSettingsUpdateConsumer(INDEX_TRANSLOG_GENERATION_THRESHOLD_SIZE_SETTING, this::setGenerationThresholdSize);
+        scopedSettings.addSettingsUpdateConsumer(INDEX_TRANSLOG_REPLAY_THREADS_SETTING, this::setTranslogReplayThreads);
+        scopedSettings.addSettingsUpdateConsumer(INDEX_TRANSLOG_COMPRESSION_SETTING, this::setTranslogCompressionEnabled);
+        scopedSettings.addSettingsUpdateConsumer(
+            TIME_SERIES_PRESORT_BULK_ITEMS_SETTING,
+            presortBulkItems -> this.timeSeriesPresortBulkItems = presortBulkItems
+        );
         scopedSettings.addSettingsUpdateConsumer(INDEX_REFRESH_INTERVAL_SETTING, this::setRefreshInterval);
+        scopedSettings.addSettingsUpdateConsumer(INDEX_REFRESH_ADAPTIVE_ENABLED_SETTING, this::setAdaptiveRefreshEnabled);
+        scopedSettings.addSettingsUpdateConsumer(INDEX_REFRESH_ADAPTIVE_MAX_INTERVAL_SETTING, this::setAdaptiveRefreshMaxInterval);
         scopedSettings.addSettingsUpdateConsumer(MAX_REFRESH_LISTENERS_PER_SHARD, this::setMaxRefreshListeners);
         scopedSettings.addSettingsUpdateConsumer(MAX_ANALYZED_OFFSET_SETTING, this::setHighlightMaxAnalyzedOffset);
         scopedSettings.addSettingsUpdateConsumer(WEIGHT_MATCHES_MODE_ENABLED_SETTING, this::setWeightMatchesEnabled);
@@ -1009,6 +1095,14 @@ public final class IndexSettings {
         this.generationThresholdSize = generationThresholdSize;
     }
 
+    private void setTranslogReplayThreads(int translogReplayThreads) {
+        this.translogReplayThreads = translogReplayThreads;
+    }
+
+    private void setTranslogCompressionEnabled(boolean translogCompressionEnabled) {
+        this.translogCompressionEnabled = translogCompressionEnabled;
+    }
+
     private void setGCDeletes(TimeValue timeValue) {
         this.gcDeletesInMillis = timeValue.getMillis();
     }
@@ -1017,6 +1111,14 @@ public final class IndexSettings {
         this.refreshInterval = timeValue;
     }
 
+    private void setAdaptiveRefreshEnabled(boolean adaptiveRefreshEnabled) {
+        this.adaptiveRefreshEnabled = adaptiveRefreshEnabled;
+    }
+
+    private void setAdaptiveRefreshMaxInterval(TimeValue adaptiveRefreshMaxInterval) {
+        this.adaptiveRefreshMaxInterval = adaptiveRefreshMaxInterval;
+    }
+
     /**
      * Returns the settings for this index. These settings contain the node and index level settings where
      * settings that are specified on both index and node level are overwritten by the index settings.
@@ -1203,6 +1305,20 @@ public final class IndexSettings {
         return refreshInterval;
     }
 
+    /**
+     * Returns true iff the scheduled refresh adapts to the search and indexing load of each shard.
+     */
+    public boolean isAdaptiveRefreshEnabled() {
+        return adaptiveRefreshEnabled;
+    }
+
+    /**
+     * Returns the upper bound of the refresh interval used when adaptive refresh is enabled.
+     */
+    public TimeValue getAdaptiveRefreshMaxInterval() {
+        return adaptiveRefreshMaxInterval;
+    }
+
     /**
      * Only intended for stateless.
      */
@@ -1255,6 +1371,20 @@ public final class IndexSettings {
         return generationThresholdSize;
     }
 
+    /**
+     * Returns the number of threads that replay the local translog on recovery, see {@link #INDEX_TRANSLOG_REPLAY_THREADS_SETTING}.
+     */
+    public int getTranslogReplayThreads() {
+        return translogReplayThreads;
+    }
+
+    /**
+     * Returns <code>true</code> if new translog generations compress their operations, see {@link #INDEX_TRANSLOG_COMPRESSION_SETTING}.
+     */
+    public boolean isTranslogCompressionEnabled() {
+        return translogCompressionEnabled;
+    }
+
     /**
      * Returns the {@link MergeSchedulerConfig}
      */
@@ -0,0 +1,27 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.tsdb;
+
+import org.apache.lucene.index.NumericDocValues;
+
+import java.io.IOException;
+
+/**
+ * {@link NumericDocValues} of a field that has a value for every document, which can be read for a range of documents at once
+ * rather than one document at a time.
+ */
+public abstract class BulkNumericDocValues extends NumericDocValues {
+
+    /**
+     * Reads the values of the {@code count} documents starting at {@code fromDocID} into {@code values}, starting at index
+     * {@code offset}, and positions this iterator on the last of these documents. Like with {@link #advanceExact}, {@code fromDocID}
+     * must not be before the current document.
+     */
+    public abstract void readValues(int fromDocID, int count, long[] values, int offset) throws IOException;
+}
@@ -155,7 +155,7 @@ final class ES87TSDBDocValuesConsumer extends DocValuesConsumer {
                             if (maxOrd >= 0) {
                                 encoder.encodeOrdinals(buffer, data, bitsPerOrd);
                             } else {
-                                encoder.encode(buffer, data);
+                                encoder.encodeWithDecimalScaling(buffer, data);
                             }
                             bufferSize = 0;
                         }
@@ -168,7 +168,7 @@ final class ES87TSDBDocValuesConsumer extends DocValuesConsumer {
                     if (maxOrd >= 0) {
                         encoder.encodeOrdinals(buffer, data, bitsPerOrd);
                     } else {
-                        encoder.encode(buffer, data);
+                        encoder.encodeWithDecimalScaling(buffer, data);
                     }
                 }
             }
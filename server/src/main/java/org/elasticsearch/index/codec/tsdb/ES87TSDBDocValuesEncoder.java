@@ -8,9 +8,11 @@
 
 package org.elasticsearch.index.codec.tsdb;
 
+import org.apache.lucene.store.ByteBuffersDataOutput;
 import org.apache.lucene.store.DataInput;
 import org.apache.lucene.store.DataOutput;
 import org.apache.lucene.util.MathUtil;
+import org.apache.lucene.util.NumericUtils;
 import org.apache.lucene.util.packed.PackedInts;
 
 import java.io.IOException;
@@ -43,6 +45,13 @@ import java.util.Arrays;
  * </li>
  * </ul>
  *
+ * Doubles, which doc values store as sortable longs, rarely benefit from the schemes above unless they hold integers, since decimal
+ * numbers like {@code 12.34} have no exact binary representation and fill their mantissa. {@link #encodeWithDecimalScaling} therefore
+ * also tries decimal scaling, like ALP (Adaptive Lossless floating-Point compression) does: if every value of a block is a decimal
+ * number with at most {@code e} fractional digits, the block is stored as the integers {@code value * 10^e}, which the schemes above
+ * compress to a few bits per value for gauges with a limited precision. Decoding divides these integers by {@code 10^e}, and a block is
+ * only scaled when this division yields back exactly the original doubles. The encoding that produces the smaller block is used.
+ *
  * Notice that encoding and decoding are written in a nested way, for instance {@link ES87TSDBDocValuesEncoder#deltaEncode} calling
  * {@link ES87TSDBDocValuesEncoder#removeOffset} and so on. This allows us to easily introduce new encoding schemes or remove existing
  * (non-effective) encoding schemes in a backward-compatible way.
@@ -54,10 +63,32 @@ import java.util.Arrays;
  * Of course, decoding follows the opposite order with respect to encoding.
  */
 public class ES87TSDBDocValuesEncoder {
+    /**
+     * Token of blocks scaled by {@link #encodeWithDecimalScaling}. It uses 63 bits per value, which {@link DocValuesForUtil#roundBits}
+     * never produces, so it cannot be mistaken for the token of a block encoded with {@link #encode}.
+     */
+    private static final int DECIMAL_SCALING_TOKEN = 63 << 3;
+    private static final int MAX_DECIMAL_EXPONENT = 15;
+    private static final double MAX_SAFE_INTEGER = 1L << 53;
+    private static final double[] POWERS_OF_TEN = new double[MAX_DECIMAL_EXPONENT + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; ++i) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
     private final DocValuesForUtil forUtil;
+    private final long[] scaled;
+    private final ByteBuffersDataOutput scaledOut;
+    private final ByteBuffersDataOutput unscaledOut;
 
     public ES87TSDBDocValuesEncoder() {
         this.forUtil = new DocValuesForUtil();
+        this.scaled = new long[ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE];
+        this.scaledOut = ByteBuffersDataOutput.newResettableInstance();
+        this.unscaledOut = ByteBuffersDataOutput.newResettableInstance();
     }
 
     /**
@@ -172,12 +203,73 @@ public class ES87TSDBDocValuesEncoder {
     /**
      * Encode the given longs using a combination of delta-coding, GCD factorization and bit packing.
      */
-    void encode(long[] in, DataOutput out) throws IOException {
+    public void encode(long[] in, DataOutput out) throws IOException {
         assert in.length == ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE;
 
         deltaEncode(0, 0, in, out);
     }
 
+    /**
+     * Encode the given longs like {@link #encode}, unless they are sortable doubles that take fewer bytes when scaled to integers by a
+     * power of ten. Scaled blocks can only be decoded by readers of {@link ES87TSDBDocValuesFormat#VERSION_DECIMAL_SCALING} or later.
+     */
+    public void encodeWithDecimalScaling(long[] in, DataOutput out) throws IOException {
+        assert in.length == ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE;
+
+        final int exponent = decimalExponent(in);
+        if (exponent < 0) {
+            encode(in, out);
+            return;
+        }
+        final double multiplier = POWERS_OF_TEN[exponent];
+        for (int i = 0; i < ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE; ++i) {
+            scaled[i] = Math.round(NumericUtils.sortableLongToDouble(in[i]) * multiplier);
+        }
+        scaledOut.reset();
+        scaledOut.writeVInt(DECIMAL_SCALING_TOKEN);
+        scaledOut.writeByte((byte) exponent);
+        encode(scaled, scaledOut);
+        unscaledOut.reset();
+        encode(in, unscaledOut);
+        if (scaledOut.size() < unscaledOut.size()) {
+            scaledOut.copyTo(out);
+        } else {
+            unscaledOut.copyTo(out);
+        }
+    }
+
+    /**
+     * Returns the smallest exponent {@code e} such that all values are sortable doubles with at most {@code e} fractional digits, or
+     * {@code -1} if there is no such exponent.
+     */
+    private static int decimalExponent(long[] in) {
+        int exponent = 0;
+        for (long l : in) {
+            while (isDecimal(l, exponent) == false) {
+                if (++exponent > MAX_DECIMAL_EXPONENT) {
+                    return -1;
+                }
+            }
+        }
+        // values that were checked with a smaller exponent may no longer scale to safe integers
+        for (long l : in) {
+            if (isDecimal(l, exponent) == false) {
+                return -1;
+            }
+        }
+        return exponent;
+    }
+
+    private static boolean isDecimal(long sortableDouble, int exponent) {
+        final double scaled = NumericUtils.sortableLongToDouble(sortableDouble) * POWERS_OF_TEN[exponent];
+        if (Math.abs(scaled) > MAX_SAFE_INTEGER) {
+            // also rejects infinities, NaN is rejected below
+            return false;
+        }
+        // this also rejects -0.0, which would decode as 0.0
+        return NumericUtils.doubleToSortableLong(Math.round(scaled) / POWERS_OF_TEN[exponent]) == sortableDouble;
+    }
+
     /**
      * Optimizes for encoding sorted fields where we expect a block to mostly either be the same value
      * or to make a transition from one value to a second one.
@@ -290,11 +382,17 @@ public class ES87TSDBDocValuesEncoder {
         }
     }
 
-    /** Decode longs that have been encoded with {@link #encode}. */
-    void decode(DataInput in, long[] out) throws IOException {
+    /** Decode longs that have been encoded with {@link #encode} or {@link #encodeWithDecimalScaling}. */
+    public void decode(DataInput in, long[] out) throws IOException {
         assert out.length == ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE : out.length;
 
         final int token = in.readVInt();
+        if (token == DECIMAL_SCALING_TOKEN) {
+            final double divisor = POWERS_OF_TEN[in.readByte()];
+            decode(in, out);
+            unscale(out, divisor);
+            return;
+        }
         final int bitsPerValue = token >>> 3;
 
         if (bitsPerValue != 0) {
@@ -342,6 +440,12 @@ public class ES87TSDBDocValuesEncoder {
         }
     }
 
+    private static void unscale(long[] arr, double divisor) {
+        for (int i = 0; i < ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE; ++i) {
+            arr[i] = NumericUtils.doubleToSortableLong(arr[i] / divisor);
+        }
+    }
+
     private static void deltaDecode(long[] arr) {
         for (int i = 1; i < ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE; ++i) {
             arr[i] += arr[i - 1];
@@ -27,7 +27,9 @@ public class ES87TSDBDocValuesFormat extends org.apache.lucene.codecs.DocValuesF
     static final String META_CODEC = "ES87TSDBDocValuesMetadata";
     static final String META_EXTENSION = "dvm";
     static final int VERSION_START = 0;
-    static final int VERSION_CURRENT = VERSION_START;
+    /** Numeric blocks of doubles may be scaled to integers, see {@link ES87TSDBDocValuesEncoder#encodeWithDecimalScaling}. */
+    static final int VERSION_DECIMAL_SCALING = 1;
+    static final int VERSION_CURRENT = VERSION_DECIMAL_SCALING;
     static final byte NUMERIC = 0;
     static final byte BINARY = 1;
     static final byte SORTED = 2;
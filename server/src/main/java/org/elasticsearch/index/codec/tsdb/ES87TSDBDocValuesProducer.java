@@ -31,6 +31,7 @@ import org.apache.lucene.store.ChecksumIndexInput;
 import org.apache.lucene.store.DataInput;
 import org.apache.lucene.store.IndexInput;
 import org.apache.lucene.store.RandomAccessInput;
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.LongValues;
 import org.apache.lucene.util.compress.LZ4;
@@ -43,6 +44,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormat.TERMS_DICT_BLOCK_LZ4_SHIFT;
+import static org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormat.TERMS_DICT_BLOCK_LZ4_SIZE;
 
 public class ES87TSDBDocValuesProducer extends DocValuesProducer {
     private final Map<String, NumericEntry> numerics = new HashMap<>();
@@ -400,6 +402,12 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
         }
     }
 
+    /**
+     * Terms enum over a terms dictionary made of LZ4 compressed blocks of {@link ES87TSDBDocValuesFormat#TERMS_DICT_BLOCK_LZ4_SIZE}
+     * prefix-compressed terms. All the terms of a block are decoded at once when the enum moves to it, so that looking up any ordinal
+     * of the current block, in any order, is a copy rather than a scan from the start of the block. This makes resolving many
+     * ordinals, like the ordinals of a block of documents, cost one decompression per distinct terms block.
+     */
     private class TermsDict extends BaseTermsEnum {
         static final int LZ4_DECOMPRESSOR_PADDING = 7;
 
@@ -413,9 +421,12 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
         long ord = -1;
 
         BytesRef blockBuffer = null;
-        ByteArrayDataInput blockInput = null;
-        long currentCompressedBlockStart = -1;
-        long currentCompressedBlockEnd = -1;
+        final ByteArrayDataInput blockInput = new ByteArrayDataInput();
+
+        // the terms of the block at index decodedBlock, the term at index i of the block spans blockTermOffsets[i, i + 1)
+        long decodedBlock = -1;
+        byte[] blockTerms = BytesRef.EMPTY_BYTES;
+        final int[] blockTermOffsets = new int[TERMS_DICT_BLOCK_LZ4_SIZE + 1];
 
         TermsDict(TermsDictEntry entry, IndexInput data) throws IOException {
             this.entry = entry;
@@ -442,11 +453,40 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
             if (++ord >= entry.termsDictSize) {
                 return null;
             }
+            setTerm(ord);
+            return term;
+        }
 
-            if ((ord & blockMask) == 0L) {
-                decompressBlock();
-            } else {
-                DataInput input = blockInput;
+        @Override
+        public void seekExact(long ord) throws IOException {
+            if (ord < 0 || ord >= entry.termsDictSize) {
+                throw new IndexOutOfBoundsException();
+            }
+            this.ord = ord;
+            setTerm(ord);
+        }
+
+        private void setTerm(long ord) throws IOException {
+            final long blockIndex = ord >>> TERMS_DICT_BLOCK_LZ4_SHIFT;
+            if (blockIndex != decodedBlock) {
+                decodeBlock(blockIndex);
+            }
+            final int index = (int) (ord & blockMask);
+            final int start = blockTermOffsets[index];
+            term.length = blockTermOffsets[index + 1] - start;
+            System.arraycopy(blockTerms, start, term.bytes, 0, term.length);
+        }
+
+        private void decodeBlock(long blockIndex) throws IOException {
+            bytes.seek(blockAddresses.get(blockIndex));
+            decompressBlock();
+            final long firstOrd = blockIndex << TERMS_DICT_BLOCK_LZ4_SHIFT;
+            final int numTerms = (int) Math.min(TERMS_DICT_BLOCK_LZ4_SIZE, entry.termsDictSize - firstOrd);
+            blockTerms = ArrayUtil.grow(blockTerms, term.length);
+            System.arraycopy(term.bytes, 0, blockTerms, 0, term.length);
+            blockTermOffsets[1] = term.length;
+            for (int i = 1; i < numTerms; i++) {
+                final DataInput input = blockInput;
                 final int token = Byte.toUnsignedInt(input.readByte());
                 int prefixLength = token & 0x0F;
                 int suffixLength = 1 + (token >>> 4);
@@ -456,30 +496,14 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
                 if (suffixLength == 16) {
                     suffixLength += input.readVInt();
                 }
-                term.length = prefixLength + suffixLength;
-                input.readBytes(term.bytes, prefixLength, suffixLength);
-            }
-            return term;
-        }
-
-        @Override
-        public void seekExact(long ord) throws IOException {
-            if (ord < 0 || ord >= entry.termsDictSize) {
-                throw new IndexOutOfBoundsException();
-            }
-            // Signed shift since ord is -1 when the terms enum is not positioned
-            final long currentBlockIndex = this.ord >> TERMS_DICT_BLOCK_LZ4_SHIFT;
-            final long blockIndex = ord >> TERMS_DICT_BLOCK_LZ4_SHIFT;
-            if (ord < this.ord || blockIndex != currentBlockIndex) {
-                // The looked up ord is before the current ord or belongs to a different block, seek again
-                final long blockAddress = blockAddresses.get(blockIndex);
-                bytes.seek(blockAddress);
-                this.ord = (blockIndex << TERMS_DICT_BLOCK_LZ4_SHIFT) - 1;
-            }
-            // Scan to the looked up ord
-            while (this.ord < ord) {
-                next();
+                final int start = blockTermOffsets[i];
+                blockTerms = ArrayUtil.grow(blockTerms, start + prefixLength + suffixLength);
+                // the prefix is shared with the previous term
+                System.arraycopy(blockTerms, blockTermOffsets[i - 1], blockTerms, start, prefixLength);
+                input.readBytes(blockTerms, start + prefixLength, suffixLength);
+                blockTermOffsets[i + 1] = start + prefixLength + suffixLength;
             }
+            decodedBlock = blockIndex;
         }
 
         private BytesRef getTermFromIndex(long index) throws IOException {
@@ -563,10 +587,8 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
                     return SeekStatus.NOT_FOUND;
                 }
             }
-            final long blockAddress = blockAddresses.get(block);
             this.ord = block << TERMS_DICT_BLOCK_LZ4_SHIFT;
-            bytes.seek(blockAddress);
-            decompressBlock();
+            setTerm(this.ord);
 
             while (true) {
                 int cmp = term.compareTo(text);
@@ -588,22 +610,12 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
             bytes.readBytes(term.bytes, 0, term.length);
             long offset = bytes.getFilePointer();
             if (offset < entry.termsDataLength - 1) {
-                // Avoid decompress again if we are reading a same block.
-                if (currentCompressedBlockStart != offset) {
-                    blockBuffer.offset = term.length;
-                    blockBuffer.length = bytes.readVInt();
-                    // Decompress the remaining of current block, using the first term as a dictionary
-                    System.arraycopy(term.bytes, 0, blockBuffer.bytes, 0, blockBuffer.offset);
-                    LZ4.decompress(bytes, blockBuffer.length, blockBuffer.bytes, blockBuffer.offset);
-                    currentCompressedBlockStart = offset;
-                    currentCompressedBlockEnd = bytes.getFilePointer();
-                } else {
-                    // Skip decompression but need to re-seek to block end.
-                    bytes.seek(currentCompressedBlockEnd);
-                }
-
-                // Reset the buffer.
-                blockInput = new ByteArrayDataInput(blockBuffer.bytes, blockBuffer.offset, blockBuffer.length);
+                blockBuffer.offset = term.length;
+                blockBuffer.length = bytes.readVInt();
+                // Decompress the remaining of current block, using the first term as a dictionary
+                System.arraycopy(term.bytes, 0, blockBuffer.bytes, 0, blockBuffer.offset);
+                LZ4.decompress(bytes, blockBuffer.length, blockBuffer.bytes, blockBuffer.offset);
+                blockInput.reset(blockBuffer.bytes, blockBuffer.offset, blockBuffer.length);
             }
         }
 
@@ -968,7 +980,7 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
         final int bitsPerOrd = maxOrd >= 0 ? PackedInts.bitsRequired(maxOrd - 1) : -1;
         if (entry.docsWithFieldOffset == -1) {
             // dense
-            return new NumericDocValues() {
+            return new BulkNumericDocValues() {
 
                 private final int maxDoc = ES87TSDBDocValuesProducer.this.maxDoc;
                 private int doc = -1;
@@ -1010,6 +1022,27 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
                     final int index = doc;
                     final int blockIndex = index >>> ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SHIFT;
                     final int blockInIndex = index & ES87TSDBDocValuesFormat.NUMERIC_BLOCK_MASK;
+                    loadBlock(blockIndex);
+                    return currentBlock[blockInIndex];
+                }
+
+                @Override
+                public void readValues(int fromDocID, int count, long[] values, int offset) throws IOException {
+                    final int toDocID = fromDocID + count;
+                    assert fromDocID >= 0 && count > 0 && toDocID <= maxDoc : "invalid range [" + fromDocID + ", " + toDocID + ")";
+                    for (int index = fromDocID; index < toDocID;) {
+                        final int blockIndex = index >>> ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SHIFT;
+                        final int blockInIndex = index & ES87TSDBDocValuesFormat.NUMERIC_BLOCK_MASK;
+                        final int length = Math.min(toDocID - index, ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE - blockInIndex);
+                        loadBlock(blockIndex);
+                        System.arraycopy(currentBlock, blockInIndex, values, offset, length);
+                        offset += length;
+                        index += length;
+                    }
+                    doc = toDocID - 1;
+                }
+
+                private void loadBlock(int blockIndex) throws IOException {
                     if (blockIndex != currentBlockIndex) {
                         assert blockIndex > currentBlockIndex;
                         if (blockIndex - 1 > currentBlockIndex) {
@@ -1022,7 +1055,6 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
                             decoder.decode(valuesData, currentBlock);
                         }
                     }
-                    return currentBlock[blockInIndex];
                 }
             };
         } else {
@@ -0,0 +1,58 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.codecs.FlatVectorsFormat;
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.KnnVectorsReader;
+import org.apache.lucene.codecs.KnnVectorsWriter;
+import org.apache.lucene.index.SegmentReadState;
+import org.apache.lucene.index.SegmentWriteState;
+
+import java.io.IOException;
+
+/**
+ * Brute-force search over float vectors quantized to a single bit per dimension, see {@link ES814LowBitFlatVectorsFormat}. The best
+ * {@value #RESCORE_OVERSAMPLE} candidates per requested nearest neighbor are rescored with their float vectors.
+ */
+public class ES814BinaryFlatVectorFormat extends KnnVectorsFormat {
+
+    static final String NAME = "ES814BinaryFlatVectorFormat";
+
+    static final int RESCORE_OVERSAMPLE = 5;
+
+    private final FlatVectorsFormat format;
+
+    /**
+     * Sole constructor
+     */
+    public ES814BinaryFlatVectorFormat() {
+        super(NAME);
+        this.format = new ES814LowBitFlatVectorsFormat(LowBitVectorQuantizer.BINARY_BITS, null);
+    }
+
+    @Override
+    public KnnVectorsWriter fieldsWriter(SegmentWriteState state) throws IOException {
+        return new ES813Int8FlatVectorFormat.ES813FlatVectorWriter(format.fieldsWriter(state));
+    }
+
+    @Override
+    public KnnVectorsReader fieldsReader(SegmentReadState state) throws IOException {
+        return new RescoringKnnVectorsReader(
+            new ES813Int8FlatVectorFormat.ES813FlatVectorReader(format.fieldsReader(state)),
+            state.fieldInfos,
+            RESCORE_OVERSAMPLE
+        );
+    }
+
+    @Override
+    public String toString() {
+        return NAME + "(name=" + NAME + ", format=" + format + ")";
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.codecs.FlatVectorsFormat;
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.KnnVectorsReader;
+import org.apache.lucene.codecs.KnnVectorsWriter;
+import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsReader;
+import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsWriter;
+import org.apache.lucene.index.SegmentReadState;
+import org.apache.lucene.index.SegmentWriteState;
+
+import java.io.IOException;
+
+import static org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH;
+import static org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN;
+
+/**
+ * HNSW graph over float vectors quantized to a single bit per dimension, see {@link ES814LowBitFlatVectorsFormat}. The graph is built
+ * on the float vectors and searched on the quantized vectors, and the best {@value #RESCORE_OVERSAMPLE} candidates per requested
+ * nearest neighbor are rescored with their float vectors.
+ */
+public class ES814BinaryHnswVectorFormat extends KnnVectorsFormat {
+
+    static final String NAME = "ES814BinaryHnswVectorFormat";
+
+    static final int RESCORE_OVERSAMPLE = 5;
+
+    private final int maxConn;
+    private final int beamWidth;
+    private final FlatVectorsFormat flatVectorsFormat;
+
+    public ES814BinaryHnswVectorFormat() {
+        this(DEFAULT_MAX_CONN, DEFAULT_BEAM_WIDTH);
+    }
+
+    public ES814BinaryHnswVectorFormat(int maxConn, int beamWidth) {
+        super(NAME);
+        if (maxConn <= 0 || maxConn > Lucene99HnswVectorsFormat.MAXIMUM_MAX_CONN) {
+            throw new IllegalArgumentException(
+                "maxConn must be positive and less than or equal to " + Lucene99HnswVectorsFormat.MAXIMUM_MAX_CONN + "; maxConn=" + maxConn
+            );
+        }
+        if (beamWidth <= 0 || beamWidth > Lucene99HnswVectorsFormat.MAXIMUM_BEAM_WIDTH) {
+            throw new IllegalArgumentException(
+                "beamWidth must be positive and less than or equal to "
+                    + Lucene99HnswVectorsFormat.MAXIMUM_BEAM_WIDTH
+                    + "; beamWidth="
+                    + beamWidth
+            );
+        }
+        this.maxConn = maxConn;
+        this.beamWidth = beamWidth;
+        this.flatVectorsFormat = new ES814LowBitFlatVectorsFormat(LowBitVectorQuantizer.BINARY_BITS, null);
+    }
+
+    @Override
+    public KnnVectorsWriter fieldsWriter(SegmentWriteState state) throws IOException {
+        return new Lucene99HnswVectorsWriter(state, maxConn, beamWidth, flatVectorsFormat.fieldsWriter(state), 1, null);
+    }
+
+    @Override
+    public KnnVectorsReader fieldsReader(SegmentReadState state) throws IOException {
+        return new RescoringKnnVectorsReader(
+            new Lucene99HnswVectorsReader(state, flatVectorsFormat.fieldsReader(state)),
+            state.fieldInfos,
+            RESCORE_OVERSAMPLE
+        );
+    }
+
+    @Override
+    public String toString() {
+        return NAME
+            + "(name="
+            + NAME
+            + ", maxConn="
+            + maxConn
+            + ", beamWidth="
+            + beamWidth
+            + ", flatVectorFormat="
+            + flatVectorsFormat
+            + ")";
+    }
+}
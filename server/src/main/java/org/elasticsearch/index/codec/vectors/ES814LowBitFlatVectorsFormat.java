@@ -0,0 +1,79 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.codecs.FlatVectorsFormat;
+import org.apache.lucene.codecs.FlatVectorsReader;
+import org.apache.lucene.codecs.FlatVectorsWriter;
+import org.apache.lucene.codecs.lucene99.Lucene99FlatVectorsFormat;
+import org.apache.lucene.index.SegmentReadState;
+import org.apache.lucene.index.SegmentWriteState;
+
+import java.io.IOException;
+
+/**
+ * Flat vectors format that stores float vectors as is along with a copy quantized to 4 bits or to a single bit per dimension, see
+ * {@link LowBitVectorQuantizer}. Vectors are scored on their quantized copy, which is 8 to 32 times smaller than the float vectors,
+ * while the float vectors remain available through {@link FlatVectorsReader#getFloatVectorValues} to rescore the best candidates.
+ * Byte vectors are not quantized.
+ */
+public class ES814LowBitFlatVectorsFormat extends FlatVectorsFormat {
+
+    static final String META_CODEC_NAME = "ES814LowBitFlatVectorsFormatMeta";
+    static final String VECTOR_DATA_CODEC_NAME = "ES814LowBitFlatVectorsFormatData";
+    static final String META_EXTENSION = "vemlb";
+    static final String VECTOR_DATA_EXTENSION = "velb";
+
+    static final int VERSION_START = 0;
+    static final int VERSION_CURRENT = VERSION_START;
+
+    private final int bits;
+    private final Float confidenceInterval;
+    private final FlatVectorsFormat rawVectorFormat = new Lucene99FlatVectorsFormat();
+
+    /**
+     * @param bits the number of bits per dimension, either 4 or 1
+     * @param confidenceInterval the share of the values of a field between the bounds of 4 bits quantization, {@code null} to derive
+     *                           it from the number of dimensions
+     */
+    public ES814LowBitFlatVectorsFormat(int bits, Float confidenceInterval) {
+        if (bits != LowBitVectorQuantizer.INT4_BITS && bits != LowBitVectorQuantizer.BINARY_BITS) {
+            throw new IllegalArgumentException("bits must be 4 or 1; bits=" + bits);
+        }
+        if (confidenceInterval != null && (confidenceInterval < 0.9f || confidenceInterval > 1f)) {
+            throw new IllegalArgumentException("confidenceInterval must be between 0.9 and 1.0; confidenceInterval=" + confidenceInterval);
+        }
+        if (confidenceInterval != null && bits != LowBitVectorQuantizer.INT4_BITS) {
+            throw new IllegalArgumentException("confidenceInterval only applies to 4 bits quantization");
+        }
+        this.bits = bits;
+        this.confidenceInterval = confidenceInterval;
+    }
+
+    @Override
+    public FlatVectorsWriter fieldsWriter(SegmentWriteState state) throws IOException {
+        return new ES814LowBitFlatVectorsWriter(state, bits, confidenceInterval, rawVectorFormat.fieldsWriter(state));
+    }
+
+    @Override
+    public FlatVectorsReader fieldsReader(SegmentReadState state) throws IOException {
+        return new ES814LowBitFlatVectorsReader(state, rawVectorFormat.fieldsReader(state));
+    }
+
+    @Override
+    public String toString() {
+        return "ES814LowBitFlatVectorsFormat(bits="
+            + bits
+            + ", confidenceInterval="
+            + confidenceInterval
+            + ", rawVectorFormat="
+            + rawVectorFormat
+            + ")";
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.codecs.FlatVectorsReader;
+import org.apache.lucene.index.ByteVectorValues;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FieldInfos;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.SegmentReadState;
+import org.apache.lucene.store.ChecksumIndexInput;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.IOUtils;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.apache.lucene.util.hnsw.RandomVectorScorer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the files of {@link ES814LowBitFlatVectorsFormat}. Float vectors are scored on their quantized copy, while
+ * {@link #getFloatVectorValues} returns the float vectors as they were indexed.
+ */
+class ES814LowBitFlatVectorsReader extends FlatVectorsReader {
+
+    private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(ES814LowBitFlatVectorsReader.class);
+
+    private final Map<String, FieldEntry> fields = new HashMap<>();
+    private final FlatVectorsReader rawVectorsReader;
+    private final IndexInput vectorData;
+
+    ES814LowBitFlatVectorsReader(SegmentReadState state, FlatVectorsReader rawVectorsReader) throws IOException {
+        this.rawVectorsReader = rawVectorsReader;
+        final String metaFileName = IndexFileNames.segmentFileName(
+            state.segmentInfo.name,
+            state.segmentSuffix,
+            ES814LowBitFlatVectorsFormat.META_EXTENSION
+        );
+        int versionMeta = -1;
+        boolean success = false;
+        try {
+            try (ChecksumIndexInput meta = state.directory.openChecksumInput(metaFileName, state.context)) {
+                Throwable priorE = null;
+                try {
+                    versionMeta = CodecUtil.checkIndexHeader(
+                        meta,
+                        ES814LowBitFlatVectorsFormat.META_CODEC_NAME,
+                        ES814LowBitFlatVectorsFormat.VERSION_START,
+                        ES814LowBitFlatVectorsFormat.VERSION_CURRENT,
+                        state.segmentInfo.getId(),
+                        state.segmentSuffix
+                    );
+                    readFields(meta, state.fieldInfos);
+                } catch (Throwable exception) {
+                    priorE = exception;
+                } finally {
+                    CodecUtil.checkFooter(meta, priorE);
+                }
+            }
+            final String vectorDataFileName = IndexFileNames.segmentFileName(
+                state.segmentInfo.name,
+                state.segmentSuffix,
+                ES814LowBitFlatVectorsFormat.VECTOR_DATA_EXTENSION
+            );
+            vectorData = state.directory.openInput(vectorDataFileName, state.context);
+            final int versionVectorData = CodecUtil.checkIndexHeader(
+                vectorData,
+                ES814LowBitFlatVectorsFormat.VECTOR_DATA_CODEC_NAME,
+                ES814LowBitFlatVectorsFormat.VERSION_START,
+                ES814LowBitFlatVectorsFormat.VERSION_CURRENT,
+                state.segmentInfo.getId(),
+                state.segmentSuffix
+            );
+            if (versionMeta != versionVectorData) {
+                throw new CorruptIndexException(
+                    "Format versions mismatch: meta=" + versionMeta + ", " + vectorDataFileName + "=" + versionVectorData,
+                    vectorData
+                );
+            }
+            CodecUtil.retrieveChecksum(vectorData);
+            success = true;
+        } finally {
+            if (success == false) {
+                IOUtils.closeWhileHandlingException(this);
+            }
+        }
+    }
+
+    private void readFields(ChecksumIndexInput meta, FieldInfos infos) throws IOException {
+        for (int fieldNumber = meta.readInt(); fieldNumber != -1; fieldNumber = meta.readInt()) {
+            final FieldInfo info = infos.fieldInfo(fieldNumber);
+            if (info == null) {
+                throw new CorruptIndexException("Invalid field number: " + fieldNumber, meta);
+            }
+            final LowBitVectorQuantizer quantizer = LowBitVectorQuantizer.readFrom(
+                meta,
+                info.getVectorDimension(),
+                info.getVectorSimilarityFunction()
+            );
+            final int size = meta.readInt();
+            final long vectorDataOffset = meta.readVLong();
+            final long vectorDataLength = meta.readVLong();
+            final int recordLength = quantizer.codeLength() + (quantizer.hasCorrection() ? Float.BYTES : 0);
+            if ((long) size * recordLength != vectorDataLength) {
+                throw new CorruptIndexException(
+                    "Vector data length " + vectorDataLength + " not matching size=" + size + " * record length=" + recordLength,
+                    meta
+                );
+            }
+            fields.put(info.name, new FieldEntry(quantizer, recordLength, vectorDataOffset, vectorDataLength));
+        }
+    }
+
+    @Override
+    public RandomVectorScorer getRandomVectorScorer(String field, float[] target) throws IOException {
+        final RandomVectorScorer rawScorer = rawVectorsReader.getRandomVectorScorer(field, target);
+        final FieldEntry fieldEntry = fields.get(field);
+        if (rawScorer == null || fieldEntry == null) {
+            return rawScorer;
+        }
+        final byte[] query = new byte[fieldEntry.quantizer.codeLength()];
+        final float queryCorrection = fieldEntry.quantizer.quantize(target, query);
+        final IndexInput slice = vectorData.slice("quantized-vector-data", fieldEntry.vectorDataOffset, fieldEntry.vectorDataLength);
+        return new QuantizedVectorScorer(rawScorer, fieldEntry, slice, query, queryCorrection);
+    }
+
+    @Override
+    public RandomVectorScorer getRandomVectorScorer(String field, byte[] target) throws IOException {
+        return rawVectorsReader.getRandomVectorScorer(field, target);
+    }
+
+    @Override
+    public void checkIntegrity() throws IOException {
+        rawVectorsReader.checkIntegrity();
+        CodecUtil.checksumEntireFile(vectorData);
+    }
+
+    @Override
+    public FloatVectorValues getFloatVectorValues(String field) throws IOException {
+        return rawVectorsReader.getFloatVectorValues(field);
+    }
+
+    @Override
+    public ByteVectorValues getByteVectorValues(String field) throws IOException {
+        return rawVectorsReader.getByteVectorValues(field);
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOUtils.close(vectorData, rawVectorsReader);
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return SHALLOW_SIZE + RamUsageEstimator.sizeOfMap(fields, RamUsageEstimator.shallowSizeOfInstance(FieldEntry.class))
+            + rawVectorsReader.ramBytesUsed();
+    }
+
+    private record FieldEntry(LowBitVectorQuantizer quantizer, int recordLength, long vectorDataOffset, long vectorDataLength) {}
+
+    /**
+     * Scores the quantized vectors against a quantized query. The mapping between ordinals and doc ids is the one of the raw vectors
+     * since both are written in the same order.
+     */
+    private static class QuantizedVectorScorer implements RandomVectorScorer {
+        private final RandomVectorScorer rawScorer;
+        private final LowBitVectorQuantizer quantizer;
+        private final int recordLength;
+        private final IndexInput vectorData;
+        private final byte[] query;
+        private final float queryCorrection;
+        private final byte[] vector;
+
+        QuantizedVectorScorer(RandomVectorScorer rawScorer, FieldEntry fieldEntry, IndexInput vectorData, byte[] query, float correction) {
+            this.rawScorer = rawScorer;
+            this.quantizer = fieldEntry.quantizer;
+            this.recordLength = fieldEntry.recordLength;
+            this.vectorData = vectorData;
+            this.query = query;
+            this.queryCorrection = correction;
+            this.vector = new byte[quantizer.codeLength()];
+        }
+
+        @Override
+        public float score(int node) throws IOException {
+            vectorData.seek((long) node * recordLength);
+            vectorData.readBytes(vector, 0, vector.length);
+            final float vectorCorrection = quantizer.hasCorrection() ? Float.intBitsToFloat(vectorData.readInt()) : 0f;
+            return quantizer.score(query, queryCorrection, vector, vectorCorrection);
+        }
+
+        @Override
+        public int maxOrd() {
+            return rawScorer.maxOrd();
+        }
+
+        @Override
+        public int ordToDoc(int ord) {
+            return rawScorer.ordToDoc(ord);
+        }
+
+        @Override
+        public Bits getAcceptOrds(Bits acceptDocs) {
+            return rawScorer.getAcceptOrds(acceptDocs);
+        }
+    }
+}
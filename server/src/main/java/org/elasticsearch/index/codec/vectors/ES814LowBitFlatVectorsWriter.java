@@ -0,0 +1,323 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.codecs.FlatFieldVectorsWriter;
+import org.apache.lucene.codecs.FlatVectorsWriter;
+import org.apache.lucene.codecs.KnnFieldVectorsWriter;
+import org.apache.lucene.codecs.KnnVectorsWriter;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.MergeState;
+import org.apache.lucene.index.SegmentWriteState;
+import org.apache.lucene.index.Sorter;
+import org.apache.lucene.index.VectorEncoding;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.IOSupplier;
+import org.apache.lucene.util.IOUtils;
+import org.apache.lucene.util.IntroSorter;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.apache.lucene.util.hnsw.CloseableRandomVectorScorerSupplier;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes float vectors through a raw {@link FlatVectorsWriter} and their quantized copy to its own files. The raw writer is
+ * responsible for the graph, if any, which is built on the float vectors for accuracy.
+ */
+class ES814LowBitFlatVectorsWriter extends FlatVectorsWriter {
+
+    private static final long SHALLOW_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(ES814LowBitFlatVectorsWriter.class);
+
+    private final int bits;
+    private final Float confidenceInterval;
+    private final FlatVectorsWriter rawVectorDelegate;
+    private final List<FieldWriter> fields = new ArrayList<>();
+    private final IndexOutput meta;
+    private final IndexOutput vectorData;
+    private boolean finished;
+
+    ES814LowBitFlatVectorsWriter(SegmentWriteState state, int bits, Float confidenceInterval, FlatVectorsWriter rawVectorDelegate)
+        throws IOException {
+        this.bits = bits;
+        this.confidenceInterval = confidenceInterval;
+        this.rawVectorDelegate = rawVectorDelegate;
+        final String metaFileName = IndexFileNames.segmentFileName(
+            state.segmentInfo.name,
+            state.segmentSuffix,
+            ES814LowBitFlatVectorsFormat.META_EXTENSION
+        );
+        final String vectorDataFileName = IndexFileNames.segmentFileName(
+            state.segmentInfo.name,
+            state.segmentSuffix,
+            ES814LowBitFlatVectorsFormat.VECTOR_DATA_EXTENSION
+        );
+        boolean success = false;
+        try {
+            meta = state.directory.createOutput(metaFileName, state.context);
+            vectorData = state.directory.createOutput(vectorDataFileName, state.context);
+            CodecUtil.writeIndexHeader(
+                meta,
+                ES814LowBitFlatVectorsFormat.META_CODEC_NAME,
+                ES814LowBitFlatVectorsFormat.VERSION_CURRENT,
+                state.segmentInfo.getId(),
+                state.segmentSuffix
+            );
+            CodecUtil.writeIndexHeader(
+                vectorData,
+                ES814LowBitFlatVectorsFormat.VECTOR_DATA_CODEC_NAME,
+                ES814LowBitFlatVectorsFormat.VERSION_CURRENT,
+                state.segmentInfo.getId(),
+                state.segmentSuffix
+            );
+            success = true;
+        } finally {
+            if (success == false) {
+                IOUtils.closeWhileHandlingException(this);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FlatFieldVectorsWriter<?> addField(FieldInfo fieldInfo, KnnFieldVectorsWriter<?> indexWriter) throws IOException {
+        if (fieldInfo.getVectorEncoding() == VectorEncoding.FLOAT32) {
+            final FieldWriter fieldWriter = new FieldWriter(fieldInfo, (KnnFieldVectorsWriter<float[]>) indexWriter);
+            fields.add(fieldWriter);
+            indexWriter = fieldWriter;
+        }
+        return rawVectorDelegate.addField(fieldInfo, indexWriter);
+    }
+
+    @Override
+    public void flush(int maxDoc, Sorter.DocMap sortMap) throws IOException {
+        rawVectorDelegate.flush(maxDoc, sortMap);
+        for (FieldWriter field : fields) {
+            final int[] ords = field.ordsInDocOrder(sortMap);
+            final int[] docIds = field.docIds(ords, sortMap);
+            final IOSupplier<FloatVectorValues> vectors = () -> new BufferedFloatVectorValues(field.fieldInfo, field.vectors, ords, docIds);
+            writeField(field.fieldInfo, vectors);
+        }
+    }
+
+    @Override
+    public CloseableRandomVectorScorerSupplier mergeOneFieldToIndex(FieldInfo fieldInfo, MergeState mergeState) throws IOException {
+        final CloseableRandomVectorScorerSupplier rawScorerSupplier = rawVectorDelegate.mergeOneFieldToIndex(fieldInfo, mergeState);
+        if (fieldInfo.getVectorEncoding() == VectorEncoding.FLOAT32) {
+            boolean success = false;
+            try {
+                writeField(fieldInfo, () -> KnnVectorsWriter.MergedVectorValues.mergeFloatVectorValues(fieldInfo, mergeState));
+                success = true;
+            } finally {
+                if (success == false) {
+                    IOUtils.closeWhileHandlingException(rawScorerSupplier);
+                }
+            }
+        }
+        // the graph is built on the float vectors
+        return rawScorerSupplier;
+    }
+
+    private void writeField(FieldInfo fieldInfo, IOSupplier<FloatVectorValues> vectors) throws IOException {
+        final LowBitVectorQuantizer quantizer = LowBitVectorQuantizer.fromVectors(
+            bits,
+            fieldInfo.getVectorDimension(),
+            fieldInfo.getVectorSimilarityFunction(),
+            confidenceInterval,
+            vectors
+        );
+        final long vectorDataOffset = vectorData.getFilePointer();
+        final byte[] code = new byte[quantizer.codeLength()];
+        final FloatVectorValues values = vectors.get();
+        int count = 0;
+        for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
+            final float correction = quantizer.quantize(values.vectorValue(), code);
+            vectorData.writeBytes(code, code.length);
+            if (quantizer.hasCorrection()) {
+                vectorData.writeInt(Float.floatToIntBits(correction));
+            }
+            count++;
+        }
+        meta.writeInt(fieldInfo.number);
+        quantizer.writeTo(meta);
+        meta.writeInt(count);
+        meta.writeVLong(vectorDataOffset);
+        meta.writeVLong(vectorData.getFilePointer() - vectorDataOffset);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (finished) {
+            throw new IllegalStateException("already finished");
+        }
+        finished = true;
+        rawVectorDelegate.finish();
+        meta.writeInt(-1);
+        CodecUtil.writeFooter(meta);
+        CodecUtil.writeFooter(vectorData);
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        long total = SHALLOW_RAM_BYTES_USED + rawVectorDelegate.ramBytesUsed();
+        for (FieldWriter field : fields) {
+            total += field.ramBytesUsed();
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOUtils.close(meta, vectorData, rawVectorDelegate);
+    }
+
+    /**
+     * Keeps a reference to the float vectors of a field, which the raw vectors writer already copied, until they are quantized on
+     * flush, and forwards them to the graph writer.
+     */
+    private static class FieldWriter extends FlatFieldVectorsWriter<float[]> {
+        private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(FieldWriter.class);
+
+        private final FieldInfo fieldInfo;
+        private final List<float[]> vectors = new ArrayList<>();
+        private int[] docs = new int[0];
+
+        FieldWriter(FieldInfo fieldInfo, KnnFieldVectorsWriter<float[]> indexWriter) {
+            super(indexWriter);
+            this.fieldInfo = fieldInfo;
+        }
+
+        @Override
+        public void addValue(int docID, float[] vectorValue) throws IOException {
+            docs = ArrayUtil.grow(docs, vectors.size() + 1);
+            docs[vectors.size()] = docID;
+            vectors.add(vectorValue);
+            if (indexingDelegate != null) {
+                indexingDelegate.addValue(docID, vectorValue);
+            }
+        }
+
+        @Override
+        public float[] copyValue(float[] vectorValue) {
+            return ArrayUtil.copyOfSubArray(vectorValue, 0, vectorValue.length);
+        }
+
+        /**
+         * The ordinals of the buffered vectors in the order of the documents of the flushed segment.
+         */
+        int[] ordsInDocOrder(Sorter.DocMap sortMap) {
+            final int[] ords = new int[vectors.size()];
+            for (int i = 0; i < ords.length; i++) {
+                ords[i] = i;
+            }
+            if (sortMap != null) {
+                new IntroSorter() {
+                    private int pivot;
+
+                    @Override
+                    protected void setPivot(int i) {
+                        pivot = sortMap.oldToNew(docs[ords[i]]);
+                    }
+
+                    @Override
+                    protected int comparePivot(int j) {
+                        return Integer.compare(pivot, sortMap.oldToNew(docs[ords[j]]));
+                    }
+
+                    @Override
+                    protected void swap(int i, int j) {
+                        final int tmp = ords[i];
+                        ords[i] = ords[j];
+                        ords[j] = tmp;
+                    }
+                }.sort(0, ords.length);
+            }
+            return ords;
+        }
+
+        /**
+         * The doc ids in the flushed segment of the buffered vectors with the given ordinals.
+         */
+        int[] docIds(int[] ords, Sorter.DocMap sortMap) {
+            final int[] docIds = new int[ords.length];
+            for (int i = 0; i < ords.length; i++) {
+                docIds[i] = sortMap == null ? docs[ords[i]] : sortMap.oldToNew(docs[ords[i]]);
+            }
+            return docIds;
+        }
+
+        @Override
+        public long ramBytesUsed() {
+            long size = SHALLOW_SIZE + RamUsageEstimator.sizeOf(docs) + (long) vectors.size() * RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+            if (indexingDelegate != null) {
+                size += indexingDelegate.ramBytesUsed();
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Iterates over buffered float vectors in the order of the documents of the flushed segment.
+     */
+    private static class BufferedFloatVectorValues extends FloatVectorValues {
+        private final FieldInfo fieldInfo;
+        private final List<float[]> vectors;
+        private final int[] ords;
+        private final int[] docIds;
+        private int index = -1;
+
+        BufferedFloatVectorValues(FieldInfo fieldInfo, List<float[]> vectors, int[] ords, int[] docIds) {
+            assert ords.length == docIds.length;
+            this.fieldInfo = fieldInfo;
+            this.vectors = vectors;
+            this.ords = ords;
+            this.docIds = docIds;
+        }
+
+        @Override
+        public int dimension() {
+            return fieldInfo.getVectorDimension();
+        }
+
+        @Override
+        public int size() {
+            return ords.length;
+        }
+
+        @Override
+        public float[] vectorValue() {
+            return vectors.get(ords[index]);
+        }
+
+        @Override
+        public int docID() {
+            if (index < 0) {
+                return -1;
+            }
+            return index < docIds.length ? docIds[index] : NO_MORE_DOCS;
+        }
+
+        @Override
+        public int nextDoc() {
+            index++;
+            return docID();
+        }
+
+        @Override
+        public int advance(int target) throws IOException {
+            return slowAdvance(target);
+        }
+    }
+}
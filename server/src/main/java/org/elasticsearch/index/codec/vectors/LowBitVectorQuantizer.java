@@ -0,0 +1,259 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.store.DataInput;
+import org.apache.lucene.store.DataOutput;
+import org.apache.lucene.util.BitUtil;
+import org.apache.lucene.util.IOSupplier;
+import org.apache.lucene.util.VectorUtil;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Quantizes the float vectors of a field to 4 bits or to a single bit per dimension.
+ * <ul>
+ *     <li>With 4 bits every dimension is mapped linearly to one of 16 buckets between a lower and an upper quantile of the values of
+ *     the field, and two dimensions are packed per byte. The similarity of two quantized vectors is computed on the bucket numbers
+ *     and corrected with a per vector offset so that it approximates the similarity of the float vectors.</li>
+ *     <li>With a single bit every dimension is compared to the centroid of the field, and the similarity of two quantized vectors is
+ *     the share of dimensions that are on the same side of the centroid. This is only good enough to select candidates that are then
+ *     scored on their float vectors.</li>
+ * </ul>
+ * Vectors of {@link VectorSimilarityFunction#COSINE} fields are normalized before they are quantized.
+ */
+final class LowBitVectorQuantizer {
+
+    static final int INT4_BITS = 4;
+    static final int BINARY_BITS = 1;
+
+    /**
+     * The maximum number of vectors whose values are sampled to compute the quantiles of 4 bits quantization.
+     */
+    private static final int MAX_SAMPLED_VECTORS = 1000;
+    private static final int INT4_MAX_VALUE = (1 << INT4_BITS) - 1;
+
+    private final int bits;
+    private final int dims;
+    private final VectorSimilarityFunction similarityFunction;
+    private final float lowerQuantile;
+    private final float upperQuantile;
+    private final float[] centroid;
+
+    private LowBitVectorQuantizer(
+        int bits,
+        int dims,
+        VectorSimilarityFunction similarityFunction,
+        float lowerQuantile,
+        float upperQuantile,
+        float[] centroid
+    ) {
+        this.bits = bits;
+        this.dims = dims;
+        this.similarityFunction = similarityFunction;
+        this.lowerQuantile = lowerQuantile;
+        this.upperQuantile = upperQuantile;
+        this.centroid = centroid;
+    }
+
+    /**
+     * Computes the quantization parameters of the given vectors, which are iterated once for 4 bits and twice for a single bit.
+     *
+     * @param confidenceInterval the share of the values between the quantiles of 4 bits quantization, {@code null} to derive it from
+     *                           the number of dimensions
+     */
+    static LowBitVectorQuantizer fromVectors(
+        int bits,
+        int dims,
+        VectorSimilarityFunction similarityFunction,
+        Float confidenceInterval,
+        IOSupplier<FloatVectorValues> vectors
+    ) throws IOException {
+        if (bits == INT4_BITS) {
+            final FloatVectorValues values = vectors.get();
+            final int stride = Math.max(1, (values.size() + MAX_SAMPLED_VECTORS - 1) / MAX_SAMPLED_VECTORS);
+            float[] sample = new float[Math.min(values.size(), MAX_SAMPLED_VECTORS) * dims];
+            int sampleSize = 0;
+            int ord = 0;
+            for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc(), ord++) {
+                if (ord % stride == 0 && sampleSize < sample.length) {
+                    final float[] vector = normalizeIfCosine(similarityFunction, values.vectorValue());
+                    System.arraycopy(vector, 0, sample, sampleSize, dims);
+                    sampleSize += dims;
+                }
+            }
+            if (sampleSize == 0) {
+                return new LowBitVectorQuantizer(bits, dims, similarityFunction, 0f, 0f, null);
+            }
+            sample = Arrays.copyOf(sample, sampleSize);
+            Arrays.sort(sample);
+            final float interval = confidenceInterval == null ? 1f - 1f / (dims + 1) : confidenceInterval;
+            final int lowerIndex = (int) ((sample.length - 1) * (1f - interval) / 2);
+            return new LowBitVectorQuantizer(
+                bits,
+                dims,
+                similarityFunction,
+                sample[lowerIndex],
+                sample[sample.length - 1 - lowerIndex],
+                null
+            );
+        } else if (bits == BINARY_BITS) {
+            final double[] sum = new double[dims];
+            final FloatVectorValues values = vectors.get();
+            int count = 0;
+            for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
+                final float[] vector = normalizeIfCosine(similarityFunction, values.vectorValue());
+                for (int i = 0; i < dims; i++) {
+                    sum[i] += vector[i];
+                }
+                count++;
+            }
+            final float[] centroid = new float[dims];
+            for (int i = 0; i < dims && count > 0; i++) {
+                centroid[i] = (float) (sum[i] / count);
+            }
+            return new LowBitVectorQuantizer(bits, dims, similarityFunction, 0f, 0f, centroid);
+        }
+        throw new IllegalArgumentException("unsupported number of bits [" + bits + "]");
+    }
+
+    static LowBitVectorQuantizer readFrom(DataInput in, int dims, VectorSimilarityFunction similarityFunction) throws IOException {
+        final int bits = in.readByte();
+        if (bits == INT4_BITS) {
+            final float lowerQuantile = Float.intBitsToFloat(in.readInt());
+            final float upperQuantile = Float.intBitsToFloat(in.readInt());
+            return new LowBitVectorQuantizer(bits, dims, similarityFunction, lowerQuantile, upperQuantile, null);
+        } else if (bits == BINARY_BITS) {
+            final float[] centroid = new float[dims];
+            for (int i = 0; i < dims; i++) {
+                centroid[i] = Float.intBitsToFloat(in.readInt());
+            }
+            return new LowBitVectorQuantizer(bits, dims, similarityFunction, 0f, 0f, centroid);
+        }
+        throw new IOException("unsupported number of bits [" + bits + "]");
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeByte((byte) bits);
+        if (bits == INT4_BITS) {
+            out.writeInt(Float.floatToIntBits(lowerQuantile));
+            out.writeInt(Float.floatToIntBits(upperQuantile));
+        } else {
+            for (float value : centroid) {
+                out.writeInt(Float.floatToIntBits(value));
+            }
+        }
+    }
+
+    /**
+     * The number of bytes of a quantized vector.
+     */
+    int codeLength() {
+        return bits == INT4_BITS ? (dims + 1) / 2 : (dims + 7) / 8;
+    }
+
+    /**
+     * Whether quantized vectors come with a correction that must be stored along with them.
+     */
+    boolean hasCorrection() {
+        return bits == INT4_BITS;
+    }
+
+    /**
+     * Quantizes the given vector into {@code code}.
+     *
+     * @return the correction to pass to {@link #score} along with the quantized vector
+     */
+    float quantize(float[] vector, byte[] code) {
+        assert code.length == codeLength();
+        Arrays.fill(code, (byte) 0);
+        vector = normalizeIfCosine(similarityFunction, vector);
+        if (bits == BINARY_BITS) {
+            for (int i = 0; i < dims; i++) {
+                if (vector[i] > centroid[i]) {
+                    code[i >> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            return 0f;
+        }
+        final float step = (upperQuantile - lowerQuantile) / INT4_MAX_VALUE;
+        final float inverseStep = step == 0f ? 0f : 1f / step;
+        int sum = 0;
+        for (int i = 0; i < dims; i++) {
+            final float value = Math.min(Math.max(vector[i], lowerQuantile), upperQuantile);
+            final int bucket = Math.min(INT4_MAX_VALUE, Math.round((value - lowerQuantile) * inverseStep));
+            code[i >> 1] |= (byte) (bucket << ((i & 1) << 2));
+            sum += bucket;
+        }
+        if (similarityFunction == VectorSimilarityFunction.EUCLIDEAN) {
+            return 0f;
+        }
+        // the dot product of two dequantized vectors is the sum of both corrections and of the dot product of their buckets
+        return lowerQuantile * step * sum + dims * lowerQuantile * lowerQuantile / 2;
+    }
+
+    /**
+     * Approximates the similarity of two vectors from their quantized form.
+     */
+    float score(byte[] query, float queryCorrection, byte[] vector, float vectorCorrection) {
+        if (bits == BINARY_BITS) {
+            return (float) (dims - hammingDistance(query, vector)) / dims;
+        }
+        final float step = (upperQuantile - lowerQuantile) / INT4_MAX_VALUE;
+        if (similarityFunction == VectorSimilarityFunction.EUCLIDEAN) {
+            int squareDistance = 0;
+            for (int i = 0; i < query.length; i++) {
+                final int low = (query[i] & 0x0F) - (vector[i] & 0x0F);
+                final int high = ((query[i] >> 4) & 0x0F) - ((vector[i] >> 4) & 0x0F);
+                squareDistance += low * low + high * high;
+            }
+            return 1f / (1f + step * step * squareDistance);
+        }
+        int dotProduct = 0;
+        for (int i = 0; i < query.length; i++) {
+            dotProduct += (query[i] & 0x0F) * (vector[i] & 0x0F) + ((query[i] >> 4) & 0x0F) * ((vector[i] >> 4) & 0x0F);
+        }
+        final float similarity = step * step * dotProduct + queryCorrection + vectorCorrection;
+        if (similarityFunction == VectorSimilarityFunction.MAXIMUM_INNER_PRODUCT) {
+            return VectorUtil.scaleMaxInnerProductScore(similarity);
+        }
+        return Math.max((1f + similarity) / 2f, 0f);
+    }
+
+    private static int hammingDistance(byte[] a, byte[] b) {
+        int distance = 0;
+        int i = 0;
+        for (; i + Long.BYTES <= a.length; i += Long.BYTES) {
+            distance += Long.bitCount((long) BitUtil.VH_LE_LONG.get(a, i) ^ (long) BitUtil.VH_LE_LONG.get(b, i));
+        }
+        for (; i < a.length; i++) {
+            distance += Integer.bitCount((a[i] ^ b[i]) & 0xFF);
+        }
+        return distance;
+    }
+
+    private static float[] normalizeIfCosine(VectorSimilarityFunction similarityFunction, float[] vector) {
+        if (similarityFunction != VectorSimilarityFunction.COSINE) {
+            return vector;
+        }
+        final float norm = (float) Math.sqrt(VectorUtil.dotProduct(vector, vector));
+        if (norm == 0f) {
+            return vector;
+        }
+        final float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] / norm;
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.codecs.KnnVectorsReader;
+import org.apache.lucene.index.ByteVectorValues;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FieldInfos;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.search.KnnCollector;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopKnnCollector;
+import org.apache.lucene.util.Bits;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Searches float vectors with a reader that scores approximately, on quantized vectors, for more candidates than requested and
+ * rescores these candidates with the similarity of their float vectors. This makes up for most of the recall that coarse
+ * quantization loses while only the candidates' float vectors need to be read.
+ */
+class RescoringKnnVectorsReader extends KnnVectorsReader {
+
+    private final KnnVectorsReader delegate;
+    private final FieldInfos fieldInfos;
+    private final int oversample;
+
+    /**
+     * @param oversample how many more candidates than requested to rescore
+     */
+    RescoringKnnVectorsReader(KnnVectorsReader delegate, FieldInfos fieldInfos, int oversample) {
+        this.delegate = delegate;
+        this.fieldInfos = fieldInfos;
+        this.oversample = oversample;
+    }
+
+    @Override
+    public void checkIntegrity() throws IOException {
+        delegate.checkIntegrity();
+    }
+
+    @Override
+    public FloatVectorValues getFloatVectorValues(String field) throws IOException {
+        return delegate.getFloatVectorValues(field);
+    }
+
+    @Override
+    public ByteVectorValues getByteVectorValues(String field) throws IOException {
+        return delegate.getByteVectorValues(field);
+    }
+
+    @Override
+    public void search(String field, float[] target, KnnCollector knnCollector, Bits acceptDocs) throws IOException {
+        final FieldInfo fieldInfo = fieldInfos.fieldInfo(field);
+        final FloatVectorValues vectors = delegate.getFloatVectorValues(field);
+        if (fieldInfo == null || vectors == null || vectors.size() == 0) {
+            delegate.search(field, target, knnCollector, acceptDocs);
+            return;
+        }
+        final int candidates = (int) Math.min((long) knnCollector.k() * oversample, vectors.size());
+        final CandidateCollector candidateCollector = new CandidateCollector(knnCollector, candidates);
+        delegate.search(field, target, candidateCollector, acceptDocs);
+
+        final ScoreDoc[] scoreDocs = candidateCollector.topDocs().scoreDocs;
+        // vector values only move forward
+        Arrays.sort(scoreDocs, Comparator.comparingInt(scoreDoc -> scoreDoc.doc));
+        for (ScoreDoc scoreDoc : scoreDocs) {
+            if (vectors.advance(scoreDoc.doc) == scoreDoc.doc) {
+                knnCollector.collect(scoreDoc.doc, fieldInfo.getVectorSimilarityFunction().compare(target, vectors.vectorValue()));
+            }
+        }
+    }
+
+    @Override
+    public void search(String field, byte[] target, KnnCollector knnCollector, Bits acceptDocs) throws IOException {
+        delegate.search(field, target, knnCollector, acceptDocs);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return delegate.ramBytesUsed();
+    }
+
+    /**
+     * Collects the candidates to rescore for the given collector. The visited vectors count towards the visit limit of the given
+     * collector, but only the candidates collected so far decide which vectors are competitive.
+     */
+    private static class CandidateCollector implements KnnCollector {
+        private final KnnCollector in;
+        private final TopKnnCollector candidates;
+
+        CandidateCollector(KnnCollector in, int candidates) {
+            this.in = in;
+            // the visit limit is enforced by the given collector
+            this.candidates = new TopKnnCollector(candidates, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean earlyTerminated() {
+            return in.earlyTerminated();
+        }
+
+        @Override
+        public void incVisitedCount(int count) {
+            in.incVisitedCount(count);
+        }
+
+        @Override
+        public long visitedCount() {
+            return in.visitedCount();
+        }
+
+        @Override
+        public long visitLimit() {
+            return in.visitLimit();
+        }
+
+        @Override
+        public int k() {
+            return candidates.k();
+        }
+
+        @Override
+        public boolean collect(int docId, float similarity) {
+            return candidates.collect(docId, similarity);
+        }
+
+        @Override
+        public float minCompetitiveSimilarity() {
+            // the given collector holds rescored float similarities that are not comparable with the approximate similarities of the
+            // candidates, so pruning on them would drop candidates that rescore well
+            return candidates.minCompetitiveSimilarity();
+        }
+
+        @Override
+        public TopDocs topDocs() {
+            return candidates.topDocs();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.zstd;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.FilterCodec;
+import org.apache.lucene.codecs.StoredFieldsFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+
+/**
+ * Codec that stores fields with {@link Zstd814StoredFieldsFormat} and delegates all other formats. Segments are read back with the
+ * default Lucene codec as delegate, which resolves per field formats from the segment.
+ */
+public final class Zstd814Codec extends FilterCodec {
+
+    public static final String NAME = "Zstd814";
+
+    private final StoredFieldsFormat storedFieldsFormat;
+
+    /**
+     * Public no-arg constructor, needed for SPI loading at read-time.
+     */
+    public Zstd814Codec() {
+        this(new Lucene99Codec());
+    }
+
+    /**
+     * @param delegate the codec that provides all formats but the stored fields format
+     */
+    public Zstd814Codec(Codec delegate) {
+        super(NAME, delegate);
+        this.storedFieldsFormat = new Zstd814StoredFieldsFormat();
+    }
+
+    @Override
+    public StoredFieldsFormat storedFieldsFormat() {
+        return storedFieldsFormat;
+    }
+}
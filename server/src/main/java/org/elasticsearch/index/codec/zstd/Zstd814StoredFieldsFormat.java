@@ -0,0 +1,248 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.zstd;
+
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.codecs.StoredFieldsFormat;
+import org.apache.lucene.codecs.StoredFieldsReader;
+import org.apache.lucene.codecs.StoredFieldsWriter;
+import org.apache.lucene.codecs.compressing.CompressionMode;
+import org.apache.lucene.codecs.compressing.Compressor;
+import org.apache.lucene.codecs.compressing.Decompressor;
+import org.apache.lucene.codecs.lucene90.compressing.Lucene90CompressingStoredFieldsFormat;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.FieldInfos;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.SegmentInfo;
+import org.apache.lucene.index.StoredFieldVisitor;
+import org.apache.lucene.store.ChecksumIndexInput;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.util.IOUtils;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.nativeaccess.NativeAccess;
+import org.elasticsearch.nativeaccess.Zstd;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Stored fields format that compresses blocks of documents with zstd and a dictionary that is trained per segment, when it is flushed
+ * or merged, on samples of its first block. The dictionary lets blocks be small, so that reading a document decompresses little more
+ * than the document, while retaining compression ratios that are close to those of large blocks.
+ * <p>
+ * Compressing with zstd requires libzstd to be on the library path, see {@link org.elasticsearch.nativeaccess.NativeAccess#getZstd()}.
+ * Without it, blocks are compressed with DEFLATE and a preset dictionary that is sampled the same way. Any node can read segments that
+ * were compressed with either algorithm: nodes without libzstd decompress zstd blocks with {@link ZstdDecoder}, which is slower.
+ */
+public final class Zstd814StoredFieldsFormat extends StoredFieldsFormat {
+
+    static final String FORMAT_NAME = "Zstd814StoredFields";
+    static final String DICTIONARY_CODEC_NAME = "Zstd814StoredFieldsDictionary";
+    static final String DICTIONARY_EXTENSION = "fdz";
+
+    static final int VERSION_START = 0;
+    static final int VERSION_CURRENT = VERSION_START;
+
+    // small blocks, like those of BEST_SPEED, since the dictionary makes up for the compression ratio
+    static final int CHUNK_SIZE = 64 * 1024;
+    static final int MAX_DOCS_PER_CHUNK = 1024;
+    static final int BLOCK_SHIFT = 10;
+
+    private final Supplier<Zstd> zstdSupplier;
+
+    public Zstd814StoredFieldsFormat() {
+        // codecs are loaded through SPI, possibly before native access is initialized
+        this(() -> NativeAccess.instance().getZstd());
+    }
+
+    /**
+     * @param zstdSupplier supplies the native zstd library, or {@code null} to compress with DEFLATE and decompress zstd in Java
+     */
+    Zstd814StoredFieldsFormat(Supplier<Zstd> zstdSupplier) {
+        this.zstdSupplier = zstdSupplier;
+    }
+
+    @Override
+    public StoredFieldsReader fieldsReader(Directory directory, SegmentInfo si, FieldInfos fn, IOContext context) throws IOException {
+        final Zstd zstd = zstdSupplier.get();
+        final String dictionaryFileName = IndexFileNames.segmentFileName(si.name, "", DICTIONARY_EXTENSION);
+        ZstdDictionaryCompressor.Algorithm algorithm = null;
+        byte[] dictionary = null;
+        try (ChecksumIndexInput in = directory.openChecksumInput(dictionaryFileName, context)) {
+            Throwable priorE = null;
+            try {
+                CodecUtil.checkIndexHeader(in, DICTIONARY_CODEC_NAME, VERSION_START, VERSION_CURRENT, si.getId(), "");
+                algorithm = ZstdDictionaryCompressor.Algorithm.readFrom(in);
+                dictionary = new byte[in.readVInt()];
+                in.readBytes(dictionary, 0, dictionary.length);
+            } catch (Throwable exception) {
+                priorE = exception;
+            } finally {
+                CodecUtil.checkFooter(in, priorE);
+            }
+        }
+        final ZstdDictionaryDecompressor.SegmentDictionary segmentDictionary;
+        try {
+            segmentDictionary = new ZstdDictionaryDecompressor.SegmentDictionary(zstd, algorithm, dictionary);
+        } catch (IllegalArgumentException e) {
+            throw new CorruptIndexException("invalid dictionary: " + e.getMessage(), dictionaryFileName, e);
+        }
+        boolean success = false;
+        try {
+            // a new compression mode per segment also prevents merges from copying blocks that depend on another segment's dictionary
+            final StoredFieldsReader reader = new Lucene90CompressingStoredFieldsFormat(
+                FORMAT_NAME,
+                new ReadCompressionMode(segmentDictionary),
+                CHUNK_SIZE,
+                MAX_DOCS_PER_CHUNK,
+                BLOCK_SHIFT
+            ).fieldsReader(directory, si, fn, context);
+            success = true;
+            return segmentDictionary.hasNativeResources() ? new DictionaryStoredFieldsReader(reader, segmentDictionary) : reader;
+        } finally {
+            if (success == false) {
+                segmentDictionary.close();
+            }
+        }
+    }
+
+    @Override
+    public StoredFieldsWriter fieldsWriter(Directory directory, SegmentInfo si, IOContext context) throws IOException {
+        final String dictionaryFileName = IndexFileNames.segmentFileName(si.name, "", DICTIONARY_EXTENSION);
+        final IndexOutput dictionaryOutput = directory.createOutput(dictionaryFileName, context);
+        boolean success = false;
+        try {
+            CodecUtil.writeIndexHeader(dictionaryOutput, DICTIONARY_CODEC_NAME, VERSION_CURRENT, si.getId(), "");
+            final StoredFieldsWriter writer = new Lucene90CompressingStoredFieldsFormat(
+                FORMAT_NAME,
+                new WriteCompressionMode(zstdSupplier.get(), dictionaryOutput),
+                CHUNK_SIZE,
+                MAX_DOCS_PER_CHUNK,
+                BLOCK_SHIFT
+            ).fieldsWriter(directory, si, context);
+            success = true;
+            return writer;
+        } finally {
+            if (success == false) {
+                IOUtils.closeWhileHandlingException(dictionaryOutput);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Zstd814StoredFieldsFormat(chunkSize=" + CHUNK_SIZE + ", maxDocsPerChunk=" + MAX_DOCS_PER_CHUNK + ")";
+    }
+
+    /**
+     * Compression mode of a segment that is being written. The stored fields writer creates a single compressor, which trains the
+     * dictionary of the segment and writes it to the dictionary file when it is closed.
+     */
+    private static class WriteCompressionMode extends CompressionMode {
+        private final Zstd zstd;
+        private final IndexOutput dictionaryOutput;
+
+        WriteCompressionMode(Zstd zstd, IndexOutput dictionaryOutput) {
+            this.zstd = zstd;
+            this.dictionaryOutput = dictionaryOutput;
+        }
+
+        @Override
+        public Compressor newCompressor() {
+            return new ZstdDictionaryCompressor(zstd, dictionaryOutput);
+        }
+
+        @Override
+        public Decompressor newDecompressor() {
+            throw new UnsupportedOperationException("the dictionary of a segment is only known once it is written");
+        }
+
+        @Override
+        public String toString() {
+            return "ZstdDictionaryWrite";
+        }
+    }
+
+    /**
+     * Compression mode of a segment that is being read, with its dictionary.
+     */
+    private static class ReadCompressionMode extends CompressionMode {
+        private final ZstdDictionaryDecompressor.SegmentDictionary dictionary;
+
+        ReadCompressionMode(ZstdDictionaryDecompressor.SegmentDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public Compressor newCompressor() {
+            throw new UnsupportedOperationException("segments are written with a new compression mode");
+        }
+
+        @Override
+        public Decompressor newDecompressor() {
+            return new ZstdDictionaryDecompressor(dictionary);
+        }
+
+        @Override
+        public String toString() {
+            return "ZstdDictionaryRead(" + dictionary + ")";
+        }
+    }
+
+    /**
+     * Releases the native dictionary of a segment when its stored fields reader is closed. Clones and merge instances share the
+     * dictionary, and leave it to the reader they were created from.
+     */
+    private static class DictionaryStoredFieldsReader extends StoredFieldsReader {
+        private final StoredFieldsReader in;
+        private final Releasable dictionary;
+
+        DictionaryStoredFieldsReader(StoredFieldsReader in, Releasable dictionary) {
+            this.in = in;
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public void document(int docID, StoredFieldVisitor visitor) throws IOException {
+            in.document(docID, visitor);
+        }
+
+        @Override
+        public StoredFieldsReader clone() {
+            return new DictionaryStoredFieldsReader(in.clone(), null);
+        }
+
+        @Override
+        public StoredFieldsReader getMergeInstance() {
+            return new DictionaryStoredFieldsReader(in.getMergeInstance(), null);
+        }
+
+        @Override
+        public void checkIntegrity() throws IOException {
+            in.checkIntegrity();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                in.close();
+            } finally {
+                Releasables.close(dictionary);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return in.toString();
+        }
+    }
+}
@@ -0,0 +1,840 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.zstd;
+
+import java.util.Arrays;
+
+/**
+ * Decompresses zstd frames in Java, so that nodes without libzstd can read segments whose stored fields were compressed with zstd.
+ * It implements the decoding side of the <a href="https://www.rfc-editor.org/rfc/rfc8878">zstd format</a> for frames that are
+ * decompressed at once, optionally with a dictionary. Skippable frames and content checksums are not verified, blocks are. Invalid
+ * input fails with an {@link IllegalArgumentException}.
+ * <p>
+ * Instances hold the tables of the frame that is being decompressed and are not thread-safe, a {@link Dictionary} can be shared.
+ */
+final class ZstdDecoder {
+
+    private static final int MAGIC = 0xFD2FB528;
+    private static final int DICTIONARY_MAGIC = 0xEC30A437;
+    private static final int MAX_BLOCK_SIZE = 128 * 1024;
+
+    private static final int BLOCK_RAW = 0;
+    private static final int BLOCK_RLE = 1;
+    private static final int BLOCK_COMPRESSED = 2;
+
+    private static final int LITERALS_RAW = 0;
+    private static final int LITERALS_RLE = 1;
+    private static final int LITERALS_COMPRESSED = 2;
+
+    private static final int MODE_PREDEFINED = 0;
+    private static final int MODE_RLE = 1;
+    private static final int MODE_FSE = 2;
+
+    private static final int MAX_HUFFMAN_BITS = 11;
+    private static final int MAX_WEIGHTS_LOG = 6;
+    private static final int MAX_LITERALS_LENGTH_LOG = 9;
+    private static final int MAX_MATCH_LENGTH_LOG = 9;
+    private static final int MAX_OFFSET_LOG = 8;
+    private static final int MAX_LITERALS_LENGTH_CODE = 35;
+    private static final int MAX_MATCH_LENGTH_CODE = 52;
+    private static final int MAX_OFFSET_CODE = 31;
+
+    private static final int[] LITERALS_LENGTH_BASE = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 18, 20, 22, 24, 28, 32, 40, 48, 64, 128, 256, 512, 1024, 2048, 4096,
+        8192, 16384, 32768, 65536 };
+    private static final int[] LITERALS_LENGTH_BITS = {
+        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 3, 3, 4, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 };
+    private static final int[] MATCH_LENGTH_BASE = {
+        3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34, 35, 37,
+        39, 41, 43, 47, 51, 59, 67, 83, 99, 131, 259, 515, 1027, 2051, 4099, 8195, 16387, 32771, 65539 };
+    private static final int[] MATCH_LENGTH_BITS = {
+        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 3, 3, 4, 4, 5,
+        7, 8, 9, 10, 11, 12, 13, 14, 15, 16 };
+
+    private static final FseTable DEFAULT_LITERALS_LENGTH_TABLE = FseTable.build(
+        new short[] { 4, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 3, 2, 1, 1, 1, 1, 1, -1, -1, -1, -1 },
+        6
+    );
+    private static final FseTable DEFAULT_MATCH_LENGTH_TABLE = FseTable.build(
+        new short[] {
+            1, 4, 3, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+            1, 1, 1, 1, -1, -1, -1, -1, -1, -1, -1 },
+        6
+    );
+    private static final FseTable DEFAULT_OFFSET_TABLE = FseTable.build(
+        new short[] { 1, 1, 1, 1, 1, 1, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, -1, -1, -1, -1, -1 },
+        5
+    );
+
+    private final Dictionary dictionary;
+
+    private final FseTable literalsLengthScratch = new FseTable(MAX_LITERALS_LENGTH_LOG);
+    private final FseTable matchLengthScratch = new FseTable(MAX_MATCH_LENGTH_LOG);
+    private final FseTable offsetScratch = new FseTable(MAX_OFFSET_LOG);
+    private final FseTable weightsScratch = new FseTable(MAX_WEIGHTS_LOG);
+    private final HuffmanTable huffmanScratch = new HuffmanTable();
+    private final int[] repeatOffsets = new int[3];
+    private byte[] literals = new byte[0];
+
+    // the tables of the frame that is being decompressed, which blocks may repeat
+    private FseTable literalsLengthTable;
+    private FseTable matchLengthTable;
+    private FseTable offsetTable;
+    private HuffmanTable huffmanTable;
+    private int position;
+
+    /**
+     * @param dictionary the dictionary that frames were compressed with, or {@code null}
+     */
+    ZstdDecoder(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Decompresses the frame in {@code src[srcOffset:srcOffset+srcLength]} into {@code dst}, starting at {@code dstOffset}.
+     *
+     * @return the number of decompressed bytes
+     */
+    int decompress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength) {
+        checkBounds(src, srcOffset, srcLength);
+        checkBounds(dst, dstOffset, dstLength);
+        final int srcEnd = srcOffset + srcLength;
+        position = srcOffset;
+        require(srcLength >= 6, "frame is truncated");
+        require(readInt(src, position) == MAGIC, "unknown frame magic number");
+        position += 4;
+        final int descriptor = src[position++] & 0xFF;
+        final int contentSizeFlag = descriptor >>> 6;
+        final boolean singleSegment = (descriptor & 0x20) != 0;
+        require((descriptor & 0x08) == 0, "reserved bit of frame header is set");
+        final boolean hasChecksum = (descriptor & 0x04) != 0;
+        final int dictionaryIdSize = (1 << (descriptor & 0x03)) >> 1;
+        final int contentSizeSize = contentSizeFlag == 0 ? (singleSegment ? 1 : 0) : 1 << contentSizeFlag;
+        // the window size only matters to decoders that stream, this one decompresses the whole frame at once
+        final int windowDescriptorSize = singleSegment ? 0 : 1;
+        require(position + windowDescriptorSize + dictionaryIdSize + contentSizeSize <= srcEnd, "frame header is truncated");
+        position += windowDescriptorSize;
+        final long dictionaryId = readLong(src, position, Math.min(dictionaryIdSize, 4)) & 0xFFFFFFFFL;
+        position += dictionaryIdSize;
+        long contentSize = -1;
+        if (contentSizeSize > 0) {
+            contentSize = readLong(src, position, contentSizeSize) + (contentSizeSize == 2 ? 256 : 0);
+            position += contentSizeSize;
+        }
+        if (dictionaryId != 0) {
+            require(dictionary != null, "frame requires a dictionary");
+            require(dictionary.id == 0 || dictionary.id == dictionaryId, "frame requires another dictionary");
+        }
+        startFrame();
+
+        final int dstEnd = dstOffset + dstLength;
+        int op = dstOffset;
+        boolean lastBlock;
+        do {
+            require(position + 3 <= srcEnd, "block header is truncated");
+            final int header = (src[position] & 0xFF) | (src[position + 1] & 0xFF) << 8 | (src[position + 2] & 0xFF) << 16;
+            position += 3;
+            lastBlock = (header & 1) != 0;
+            final int blockType = (header >>> 1) & 3;
+            final int blockSize = header >>> 3;
+            require(blockSize <= MAX_BLOCK_SIZE, "block is too large");
+            switch (blockType) {
+                case BLOCK_RAW -> {
+                    require(position + blockSize <= srcEnd, "block is truncated");
+                    require(op + blockSize <= dstEnd, "destination is too small");
+                    System.arraycopy(src, position, dst, op, blockSize);
+                    position += blockSize;
+                    op += blockSize;
+                }
+                case BLOCK_RLE -> {
+                    require(position + 1 <= srcEnd, "block is truncated");
+                    require(op + blockSize <= dstEnd, "destination is too small");
+                    Arrays.fill(dst, op, op + blockSize, src[position]);
+                    position += 1;
+                    op += blockSize;
+                }
+                case BLOCK_COMPRESSED -> {
+                    require(position + blockSize <= srcEnd, "block is truncated");
+                    final int blockEnd = position + blockSize;
+                    op = decompressBlock(src, blockEnd, dst, dstOffset, op, dstEnd);
+                    position = blockEnd;
+                }
+                default -> throw new IllegalArgumentException("reserved block type");
+            }
+        } while (lastBlock == false);
+        if (hasChecksum) {
+            require(position + 4 <= srcEnd, "checksum is truncated");
+            position += 4;
+        }
+        final int decompressedLength = op - dstOffset;
+        require(contentSize < 0 || contentSize == decompressedLength, "frame content size does not match its blocks");
+        return decompressedLength;
+    }
+
+    private void startFrame() {
+        if (dictionary == null) {
+            repeatOffsets[0] = 1;
+            repeatOffsets[1] = 4;
+            repeatOffsets[2] = 8;
+            literalsLengthTable = null;
+            matchLengthTable = null;
+            offsetTable = null;
+            huffmanTable = null;
+        } else {
+            System.arraycopy(dictionary.repeatOffsets, 0, repeatOffsets, 0, 3);
+            literalsLengthTable = dictionary.literalsLengthTable;
+            matchLengthTable = dictionary.matchLengthTable;
+            offsetTable = dictionary.offsetTable;
+            huffmanTable = dictionary.huffmanTable;
+        }
+    }
+
+    private int decompressBlock(byte[] src, int blockEnd, byte[] dst, int frameStart, int op, int dstEnd) {
+        // literals section
+        require(position < blockEnd, "literals header is truncated");
+        final int literalsHeader = src[position] & 0xFF;
+        final int literalsType = literalsHeader & 3;
+        final int sizeFormat = (literalsHeader >>> 2) & 3;
+        final byte[] literalsSource;
+        int literalsStart;
+        final int blockLiteralsLength;
+        if (literalsType == LITERALS_RAW || literalsType == LITERALS_RLE) {
+            final int headerSize = (sizeFormat & 1) == 0 ? 1 : (sizeFormat == 1 ? 2 : 3);
+            require(position + headerSize <= blockEnd, "literals header is truncated");
+            blockLiteralsLength = switch (headerSize) {
+                case 1 -> literalsHeader >>> 3;
+                case 2 -> (literalsHeader >>> 4) | (src[position + 1] & 0xFF) << 4;
+                default -> (literalsHeader >>> 4) | (src[position + 1] & 0xFF) << 4 | (src[position + 2] & 0xFF) << 12;
+            };
+            require(blockLiteralsLength <= MAX_BLOCK_SIZE, "literals are too large");
+            position += headerSize;
+            if (literalsType == LITERALS_RAW) {
+                require(position + blockLiteralsLength <= blockEnd, "literals are truncated");
+                literalsSource = src;
+                literalsStart = position;
+                position += blockLiteralsLength;
+            } else {
+                require(position + 1 <= blockEnd, "literals are truncated");
+                literalsSource = literalsBuffer(blockLiteralsLength);
+                Arrays.fill(literalsSource, 0, blockLiteralsLength, src[position]);
+                literalsStart = 0;
+                position += 1;
+            }
+        } else {
+            final int headerSize = sizeFormat < 2 ? 3 : sizeFormat + 2;
+            require(position + headerSize <= blockEnd, "literals header is truncated");
+            final long header = readLong(src, position, headerSize);
+            final int sizeBits = headerSize * 4 - 2;
+            blockLiteralsLength = (int) (header >>> 4) & ((1 << sizeBits) - 1);
+            final int compressedSize = (int) (header >>> (4 + sizeBits)) & ((1 << sizeBits) - 1);
+            require(blockLiteralsLength <= MAX_BLOCK_SIZE, "literals are too large");
+            position += headerSize;
+            final int compressedEnd = position + compressedSize;
+            require(compressedEnd <= blockEnd, "literals are truncated");
+            if (literalsType == LITERALS_COMPRESSED) {
+                position = huffmanScratch.read(src, position, compressedEnd, weightsScratch);
+                huffmanTable = huffmanScratch;
+            } else {
+                require(huffmanTable != null, "literals repeat a Huffman table that does not exist");
+            }
+            literalsSource = literalsBuffer(blockLiteralsLength);
+            literalsStart = 0;
+            decodeLiterals(src, position, compressedEnd, sizeFormat == 0 ? 1 : 4, blockLiteralsLength);
+            position = compressedEnd;
+        }
+        final int literalsEnd = literalsStart + blockLiteralsLength;
+
+        // sequences section
+        require(position < blockEnd, "sequences are truncated");
+        int numSequences = src[position++] & 0xFF;
+        if (numSequences >= 128) {
+            if (numSequences < 255) {
+                require(position + 1 <= blockEnd, "sequences are truncated");
+                numSequences = ((numSequences - 128) << 8) + (src[position++] & 0xFF);
+            } else {
+                require(position + 2 <= blockEnd, "sequences are truncated");
+                numSequences = (src[position] & 0xFF) + ((src[position + 1] & 0xFF) << 8) + 0x7F00;
+                position += 2;
+            }
+        }
+        if (numSequences == 0) {
+            require(position == blockEnd, "block has trailing bytes");
+            require(op + blockLiteralsLength <= dstEnd, "destination is too small");
+            System.arraycopy(literalsSource, literalsStart, dst, op, blockLiteralsLength);
+            return op + blockLiteralsLength;
+        }
+        require(position < blockEnd, "sequences are truncated");
+        final int modes = src[position++] & 0xFF;
+        require((modes & 3) == 0, "reserved bits of sequences are set");
+        literalsLengthTable = selectTable(
+            modes >>> 6,
+            src,
+            blockEnd,
+            literalsLengthTable,
+            DEFAULT_LITERALS_LENGTH_TABLE,
+            literalsLengthScratch,
+            MAX_LITERALS_LENGTH_LOG,
+            MAX_LITERALS_LENGTH_CODE
+        );
+        offsetTable = selectTable(
+            (modes >>> 4) & 3,
+            src,
+            blockEnd,
+            offsetTable,
+            DEFAULT_OFFSET_TABLE,
+            offsetScratch,
+            MAX_OFFSET_LOG,
+            MAX_OFFSET_CODE
+        );
+        matchLengthTable = selectTable(
+            (modes >>> 2) & 3,
+            src,
+            blockEnd,
+            matchLengthTable,
+            DEFAULT_MATCH_LENGTH_TABLE,
+            matchLengthScratch,
+            MAX_MATCH_LENGTH_LOG,
+            MAX_MATCH_LENGTH_CODE
+        );
+
+        final BackwardBitReader bits = new BackwardBitReader(src, position, blockEnd);
+        int literalsLengthState = (int) bits.read(literalsLengthTable.log);
+        int offsetState = (int) bits.read(offsetTable.log);
+        int matchLengthState = (int) bits.read(matchLengthTable.log);
+        final byte[] dictionaryContent = dictionary == null ? null : dictionary.content;
+        final int dictionaryContentStart = dictionary == null ? 0 : dictionary.contentStart;
+        for (int i = 0; i < numSequences; i++) {
+            final int offsetCode = offsetTable.symbols[offsetState];
+            final int matchLengthCode = matchLengthTable.symbols[matchLengthState];
+            final int literalsLengthCode = literalsLengthTable.symbols[literalsLengthState];
+            final long offsetValue = (1L << offsetCode) + bits.read(offsetCode);
+            int matchLength = MATCH_LENGTH_BASE[matchLengthCode] + (int) bits.read(MATCH_LENGTH_BITS[matchLengthCode]);
+            final int literalsLength = LITERALS_LENGTH_BASE[literalsLengthCode] + (int) bits.read(
+                LITERALS_LENGTH_BITS[literalsLengthCode]
+            );
+            if (i + 1 < numSequences) {
+                literalsLengthState = literalsLengthTable.nextState(literalsLengthState, bits);
+                matchLengthState = matchLengthTable.nextState(matchLengthState, bits);
+                offsetState = offsetTable.nextState(offsetState, bits);
+            }
+
+            require(literalsStart + literalsLength <= literalsEnd, "sequence has more literals than the block");
+            require(op + literalsLength + matchLength <= dstEnd, "destination is too small");
+            System.arraycopy(literalsSource, literalsStart, dst, op, literalsLength);
+            literalsStart += literalsLength;
+            op += literalsLength;
+
+            final long offset = offset(offsetValue, literalsLength);
+            final int produced = op - frameStart;
+            if (offset > produced) {
+                // the match starts in the content of the dictionary and may continue in the frame
+                final long fromDictionary = offset - produced;
+                require(
+                    dictionaryContent != null && fromDictionary <= dictionaryContent.length - dictionaryContentStart,
+                    "match offset is out of bounds"
+                );
+                final int length = (int) Math.min(fromDictionary, matchLength);
+                System.arraycopy(dictionaryContent, dictionaryContent.length - (int) fromDictionary, dst, op, length);
+                op += length;
+                matchLength -= length;
+            }
+            int from = op - (int) Math.min(offset, op - frameStart);
+            if (op - from >= matchLength) {
+                System.arraycopy(dst, from, dst, op, matchLength);
+                op += matchLength;
+            } else {
+                // the match overlaps with its own output
+                for (int j = 0; j < matchLength; j++) {
+                    dst[op++] = dst[from++];
+                }
+            }
+        }
+        require(bits.isFullyConsumed(), "sequences bitstream has trailing bits");
+        final int remainingLiterals = literalsEnd - literalsStart;
+        require(op + remainingLiterals <= dstEnd, "destination is too small");
+        System.arraycopy(literalsSource, literalsStart, dst, op, remainingLiterals);
+        return op + remainingLiterals;
+    }
+
+    /**
+     * Resolves the offset of a sequence from its offset value, which may refer to the offsets of previous sequences.
+     */
+    private long offset(long offsetValue, int literalsLength) {
+        final long offset;
+        final boolean shiftsAll;
+        if (offsetValue > 3) {
+            offset = offsetValue - 3;
+            shiftsAll = true;
+        } else {
+            final int index = (int) offsetValue - (literalsLength == 0 ? 0 : 1);
+            if (index == 0) {
+                return repeatOffsets[0];
+            }
+            offset = index < 3 ? repeatOffsets[index] : repeatOffsets[0] - 1L;
+            require(offset > 0, "match offset is zero");
+            shiftsAll = index > 1;
+        }
+        require(offset <= Integer.MAX_VALUE, "match offset is too large");
+        // the offset moves to the front of the history, the offsets before its previous place in the history move back
+        if (shiftsAll) {
+            repeatOffsets[2] = repeatOffsets[1];
+        }
+        repeatOffsets[1] = repeatOffsets[0];
+        repeatOffsets[0] = (int) offset;
+        return offset;
+    }
+
+    private FseTable selectTable(
+        int mode,
+        byte[] src,
+        int blockEnd,
+        FseTable previous,
+        FseTable defaultTable,
+        FseTable scratch,
+        int maxLog,
+        int maxSymbol
+    ) {
+        switch (mode) {
+            case MODE_PREDEFINED:
+                return defaultTable;
+            case MODE_RLE:
+                require(position < blockEnd, "sequences are truncated");
+                final int symbol = src[position++] & 0xFF;
+                require(symbol <= maxSymbol, "symbol is out of range");
+                scratch.setRle(symbol);
+                return scratch;
+            case MODE_FSE:
+                position = scratch.read(src, position, blockEnd, maxLog, maxSymbol);
+                return scratch;
+            default:
+                require(previous != null, "sequences repeat a table that does not exist");
+                return previous;
+        }
+    }
+
+    private byte[] literalsBuffer(int length) {
+        if (literals.length < length) {
+            literals = new byte[Math.max(length, Math.min(MAX_BLOCK_SIZE, literals.length << 1))];
+        }
+        return literals;
+    }
+
+    private void decodeLiterals(byte[] src, int start, int end, int numStreams, int length) {
+        if (numStreams == 1) {
+            huffmanTable.decodeStream(src, start, end, literals, 0, length);
+            return;
+        }
+        require(start + 6 <= end, "literals jump table is truncated");
+        final int size1 = (src[start] & 0xFF) | (src[start + 1] & 0xFF) << 8;
+        final int size2 = (src[start + 2] & 0xFF) | (src[start + 3] & 0xFF) << 8;
+        final int size3 = (src[start + 4] & 0xFF) | (src[start + 5] & 0xFF) << 8;
+        final int start1 = start + 6;
+        final int start2 = start1 + size1;
+        final int start3 = start2 + size2;
+        final int start4 = start3 + size3;
+        require(start4 < end, "literals streams are truncated");
+        final int streamLength = (length + 3) / 4;
+        require(3 * streamLength <= length, "literals are too short for four streams");
+        huffmanTable.decodeStream(src, start1, start2, literals, 0, streamLength);
+        huffmanTable.decodeStream(src, start2, start3, literals, streamLength, streamLength);
+        huffmanTable.decodeStream(src, start3, start4, literals, 2 * streamLength, streamLength);
+        huffmanTable.decodeStream(src, start4, end, literals, 3 * streamLength, length - 3 * streamLength);
+    }
+
+    /**
+     * A dictionary that frames were compressed with: either a zstd dictionary with entropy tables and content, or raw content.
+     * Dictionaries are immutable and can be shared by decoders.
+     */
+    static final class Dictionary {
+        private final long id;
+        private final byte[] content;
+        private final int contentStart;
+        private final int[] repeatOffsets;
+        private final HuffmanTable huffmanTable;
+        private final FseTable offsetTable;
+        private final FseTable matchLengthTable;
+        private final FseTable literalsLengthTable;
+
+        Dictionary(byte[] dictionary) {
+            this.content = dictionary;
+            if (dictionary.length < 8 || readInt(dictionary, 0) != DICTIONARY_MAGIC) {
+                this.id = 0;
+                this.contentStart = 0;
+                this.repeatOffsets = new int[] { 1, 4, 8 };
+                this.huffmanTable = null;
+                this.offsetTable = null;
+                this.matchLengthTable = null;
+                this.literalsLengthTable = null;
+                return;
+            }
+            this.id = readInt(dictionary, 4) & 0xFFFFFFFFL;
+            this.huffmanTable = new HuffmanTable();
+            int position = huffmanTable.read(dictionary, 8, dictionary.length, new FseTable(MAX_WEIGHTS_LOG));
+            this.offsetTable = new FseTable(MAX_OFFSET_LOG);
+            position = offsetTable.read(dictionary, position, dictionary.length, MAX_OFFSET_LOG, MAX_OFFSET_CODE);
+            this.matchLengthTable = new FseTable(MAX_MATCH_LENGTH_LOG);
+            position = matchLengthTable.read(dictionary, position, dictionary.length, MAX_MATCH_LENGTH_LOG, MAX_MATCH_LENGTH_CODE);
+            this.literalsLengthTable = new FseTable(MAX_LITERALS_LENGTH_LOG);
+            position = literalsLengthTable.read(
+                dictionary,
+                position,
+                dictionary.length,
+                MAX_LITERALS_LENGTH_LOG,
+                MAX_LITERALS_LENGTH_CODE
+            );
+            require(position + 12 <= dictionary.length, "dictionary is truncated");
+            this.repeatOffsets = new int[3];
+            for (int i = 0; i < 3; i++) {
+                repeatOffsets[i] = readInt(dictionary, position + 4 * i);
+                require(repeatOffsets[i] > 0, "dictionary has an invalid repeat offset");
+            }
+            this.contentStart = position + 12;
+        }
+    }
+
+    /**
+     * A finite state entropy decoding table, which maps every state to a symbol and how to get to the next state.
+     */
+    private static final class FseTable {
+        private int log;
+        private final byte[] symbols;
+        private final byte[] numBits;
+        private final int[] baselines;
+        private final short[] distribution = new short[256];
+        private final int[] nextStates = new int[256];
+
+        FseTable(int maxLog) {
+            this.symbols = new byte[1 << maxLog];
+            this.numBits = new byte[1 << maxLog];
+            this.baselines = new int[1 << maxLog];
+        }
+
+        static FseTable build(short[] distribution, int log) {
+            final FseTable table = new FseTable(log);
+            System.arraycopy(distribution, 0, table.distribution, 0, distribution.length);
+            table.build(distribution.length, log);
+            return table;
+        }
+
+        int nextState(int state, BackwardBitReader bits) {
+            return baselines[state] + (int) bits.read(numBits[state]);
+        }
+
+        void setRle(int symbol) {
+            log = 0;
+            symbols[0] = (byte) symbol;
+            numBits[0] = 0;
+            baselines[0] = 0;
+        }
+
+        /**
+         * Reads the description of a table from {@code src[start:end]}.
+         *
+         * @return the position after the description
+         */
+        int read(byte[] src, int start, int end, int maxLog, int maxSymbol) {
+            final ForwardBitReader bits = new ForwardBitReader(src, start, end);
+            final int log = (int) bits.read(4) + 5;
+            require(log <= maxLog, "table accuracy is too large");
+            int remaining = (1 << log) + 1;
+            int symbol = 0;
+            while (remaining > 1 && symbol <= maxSymbol) {
+                final int maxBits = 32 - Integer.numberOfLeadingZeros(remaining);
+                final int threshold = (1 << maxBits) - 1 - remaining;
+                final int lowerMask = (1 << (maxBits - 1)) - 1;
+                int value = (int) bits.read(maxBits);
+                if ((value & lowerMask) < threshold) {
+                    bits.rewind(1);
+                    value &= lowerMask;
+                } else if (value > lowerMask) {
+                    value -= threshold;
+                }
+                final int probability = value - 1;
+                remaining -= Math.abs(probability);
+                distribution[symbol++] = (short) probability;
+                if (probability == 0) {
+                    int repeat;
+                    do {
+                        repeat = (int) bits.read(2);
+                        for (int i = 0; i < repeat && symbol <= maxSymbol; i++) {
+                            distribution[symbol++] = 0;
+                        }
+                    } while (repeat == 3);
+                }
+            }
+            require(remaining == 1, "table distribution does not add up");
+            require(bits.position() <= end, "table description is truncated");
+            build(symbol, log);
+            return bits.position();
+        }
+
+        private void build(int numSymbols, int log) {
+            final int size = 1 << log;
+            final int mask = size - 1;
+            int highThreshold = size;
+            for (int s = 0; s < numSymbols; s++) {
+                if (distribution[s] == -1) {
+                    symbols[--highThreshold] = (byte) s;
+                    nextStates[s] = 1;
+                } else {
+                    nextStates[s] = distribution[s];
+                }
+            }
+            final int step = (size >>> 1) + (size >>> 3) + 3;
+            int position = 0;
+            for (int s = 0; s < numSymbols; s++) {
+                for (int i = 0; i < distribution[s]; i++) {
+                    symbols[position] = (byte) s;
+                    do {
+                        position = (position + step) & mask;
+                    } while (position >= highThreshold);
+                }
+            }
+            require(position == 0, "table distribution is invalid");
+            for (int i = 0; i < size; i++) {
+                final int nextState = nextStates[symbols[i] & 0xFF]++;
+                final int bits = log - (31 - Integer.numberOfLeadingZeros(nextState));
+                numBits[i] = (byte) bits;
+                baselines[i] = (nextState << bits) - size;
+            }
+            this.log = log;
+        }
+    }
+
+    /**
+     * A Huffman decoding table for literals, which maps the next {@code maxBits} bits of a stream to a symbol and its length.
+     */
+    private static final class HuffmanTable {
+        private final byte[] symbols = new byte[1 << MAX_HUFFMAN_BITS];
+        private final byte[] numBits = new byte[1 << MAX_HUFFMAN_BITS];
+        private final byte[] weights = new byte[256];
+        private final int[] rankStarts = new int[MAX_HUFFMAN_BITS + 2];
+        private int maxBits;
+
+        /**
+         * Reads the description of a table from {@code src[start:end]}.
+         *
+         * @return the position after the description
+         */
+        int read(byte[] src, int start, int end, FseTable weightsTable) {
+            require(start < end, "Huffman table is truncated");
+            final int header = src[start] & 0xFF;
+            int position = start + 1;
+            int numWeights;
+            if (header >= 128) {
+                numWeights = header - 127;
+                final int size = (numWeights + 1) / 2;
+                require(position + size <= end, "Huffman table is truncated");
+                for (int i = 0; i < numWeights; i++) {
+                    final int b = src[position + i / 2] & 0xFF;
+                    weights[i] = (byte) ((i & 1) == 0 ? b >>> 4 : b & 0x0F);
+                }
+                position += size;
+            } else {
+                final int compressedEnd = position + header;
+                require(compressedEnd <= end, "Huffman table is truncated");
+                final int streamStart = weightsTable.read(src, position, compressedEnd, MAX_WEIGHTS_LOG, 255);
+                final BackwardBitReader bits = new BackwardBitReader(src, streamStart, compressedEnd);
+                // two interleaved states that share the bitstream, until it is exhausted
+                int state1 = (int) bits.read(weightsTable.log);
+                int state2 = (int) bits.read(weightsTable.log);
+                numWeights = 0;
+                while (true) {
+                    require(numWeights < 255, "Huffman table has too many weights");
+                    weights[numWeights++] = weightsTable.symbols[state1];
+                    state1 = weightsTable.nextState(state1, bits);
+                    if (bits.isOverflowed()) {
+                        require(numWeights < 255, "Huffman table has too many weights");
+                        weights[numWeights++] = weightsTable.symbols[state2];
+                        break;
+                    }
+                    require(numWeights < 255, "Huffman table has too many weights");
+                    weights[numWeights++] = weightsTable.symbols[state2];
+                    state2 = weightsTable.nextState(state2, bits);
+                    if (bits.isOverflowed()) {
+                        require(numWeights < 255, "Huffman table has too many weights");
+                        weights[numWeights++] = weightsTable.symbols[state1];
+                        break;
+                    }
+                }
+                position = compressedEnd;
+            }
+            build(numWeights);
+            return position;
+        }
+
+        private void build(int numWeights) {
+            long weightSum = 0;
+            for (int i = 0; i < numWeights; i++) {
+                require(weights[i] <= MAX_HUFFMAN_BITS, "Huffman weight is too large");
+                if (weights[i] > 0) {
+                    weightSum += 1L << (weights[i] - 1);
+                }
+            }
+            require(weightSum > 0, "Huffman table is empty");
+            final int maxBits = 64 - Long.numberOfLeadingZeros(weightSum);
+            require(maxBits <= MAX_HUFFMAN_BITS, "Huffman table is too deep");
+            final long leftOver = (1L << maxBits) - weightSum;
+            require((leftOver & (leftOver - 1)) == 0, "Huffman weights do not add up");
+            // the weight of the last symbol is implied by the others
+            weights[numWeights] = (byte) (64 - Long.numberOfLeadingZeros(leftOver));
+            final int numSymbols = numWeights + 1;
+
+            Arrays.fill(rankStarts, 0);
+            for (int s = 0; s < numSymbols; s++) {
+                if (weights[s] > 0) {
+                    rankStarts[maxBits + 1 - weights[s]]++;
+                }
+            }
+            // symbols with fewer bits take up more of the table and come first
+            int start = 0;
+            for (int bits = maxBits; bits >= 1; bits--) {
+                final int count = rankStarts[bits];
+                rankStarts[bits] = start;
+                start += count << (maxBits - bits);
+                Arrays.fill(numBits, rankStarts[bits], start, (byte) bits);
+            }
+            require(start == 1 << maxBits, "Huffman weights do not add up");
+            for (int s = 0; s < numSymbols; s++) {
+                if (weights[s] > 0) {
+                    final int bits = maxBits + 1 - weights[s];
+                    final int length = 1 << (maxBits - bits);
+                    final int code = rankStarts[bits];
+                    Arrays.fill(symbols, code, code + length, (byte) s);
+                    rankStarts[bits] = code + length;
+                }
+            }
+            this.maxBits = maxBits;
+        }
+
+        void decodeStream(byte[] src, int start, int end, byte[] dst, int dstOffset, int length) {
+            final BackwardBitReader bits = new BackwardBitReader(src, start, end);
+            final int mask = (1 << maxBits) - 1;
+            int state = (int) bits.read(maxBits);
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = symbols[state];
+                final int n = numBits[state];
+                state = ((state << n) | (int) bits.read(n)) & mask;
+            }
+            require(bits.bitOffset == -maxBits, "literals stream has trailing bits");
+        }
+    }
+
+    /**
+     * Reads a bitstream that is written forward, from the lowest bit of its first byte.
+     */
+    private static final class ForwardBitReader {
+        private final byte[] src;
+        private final int start;
+        private final int end;
+        private long bitOffset;
+
+        ForwardBitReader(byte[] src, int start, int end) {
+            this.src = src;
+            this.start = start;
+            this.end = end;
+        }
+
+        long read(int numBits) {
+            final long value = readBits(src, start, end, bitOffset, numBits);
+            bitOffset += numBits;
+            return value;
+        }
+
+        void rewind(int numBits) {
+            bitOffset -= numBits;
+        }
+
+        int position() {
+            return (int) (start + (bitOffset + 7) / 8);
+        }
+    }
+
+    /**
+     * Reads a bitstream that is written backward, from the highest bit of its last byte, which is followed by a padding bit. Bits
+     * that are read past the start of the stream are zeros.
+     */
+    private static final class BackwardBitReader {
+        private final byte[] src;
+        private final int start;
+        private final int end;
+        private long bitOffset;
+
+        BackwardBitReader(byte[] src, int start, int end) {
+            require(start < end, "bitstream is empty");
+            final int last = src[end - 1] & 0xFF;
+            require(last != 0, "bitstream has no padding");
+            this.src = src;
+            this.start = start;
+            this.end = end;
+            this.bitOffset = (end - 1 - start) * 8L + 31 - Integer.numberOfLeadingZeros(last);
+        }
+
+        long read(int numBits) {
+            bitOffset -= numBits;
+            if (bitOffset >= 0) {
+                return readBits(src, start, end, bitOffset, numBits);
+            }
+            if (bitOffset + numBits <= 0) {
+                return 0;
+            }
+            // the lowest bits are past the start of the stream
+            return readBits(src, start, end, 0, (int) (bitOffset + numBits)) << -bitOffset;
+        }
+
+        boolean isOverflowed() {
+            return bitOffset < 0;
+        }
+
+        boolean isFullyConsumed() {
+            return bitOffset == 0;
+        }
+    }
+
+    /**
+     * Reads {@code numBits} bits, at most 32, starting at the given bit of {@code src[start:end]}. Bytes past the end read as zeros.
+     */
+    private static long readBits(byte[] src, int start, int end, long bitOffset, int numBits) {
+        if (numBits == 0) {
+            return 0;
+        }
+        final int first = start + (int) (bitOffset >>> 3);
+        final int shift = (int) (bitOffset & 7);
+        final int last = Math.min(end, start + (int) ((bitOffset + numBits + 7) >>> 3));
+        long value = 0;
+        for (int i = first; i < last; i++) {
+            value |= (src[i] & 0xFFL) << ((i - first) << 3);
+        }
+        return (value >>> shift) & ((1L << numBits) - 1);
+    }
+
+    private static int readInt(byte[] src, int offset) {
+        return (int) readLong(src, offset, 4);
+    }
+
+    private static long readLong(byte[] src, int offset, int numBytes) {
+        long value = 0;
+        for (int i = 0; i < numBytes; i++) {
+            value |= (src[offset + i] & 0xFFL) << (i << 3);
+        }
+        return value;
+    }
+
+    private static void checkBounds(byte[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > array.length) {
+            throw new IndexOutOfBoundsException("range [" + offset + ", " + (offset + length) + ") of array of length " + array.length);
+        }
+    }
+
+    private static void require(boolean condition, String message) {
+        if (condition == false) {
+            throw new IllegalArgumentException("corrupted zstd data: " + message);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.zstd;
+
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.codecs.compressing.Compressor;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.store.ByteBuffersDataInput;
+import org.apache.lucene.store.DataInput;
+import org.apache.lucene.store.DataOutput;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.nativeaccess.Zstd;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the blocks of a segment with a dictionary that is trained on samples of the first block, and writes the dictionary to
+ * its own file when it is closed. Every block is written as its compressed length followed by the compressed bytes.
+ */
+final class ZstdDictionaryCompressor extends Compressor {
+
+    /**
+     * The algorithm that blocks of a segment are compressed with.
+     */
+    enum Algorithm {
+        ZSTD,
+        DEFLATE;
+
+        static Algorithm readFrom(DataInput in) throws IOException {
+            final int ordinal = in.readByte();
+            if (ordinal < 0 || ordinal >= values().length) {
+                throw new CorruptIndexException("unknown compression algorithm [" + ordinal + "]", in);
+            }
+            return values()[ordinal];
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeByte((byte) ordinal());
+        }
+    }
+
+    static final int DICTIONARY_SIZE = 8 * 1024;
+    /**
+     * The size of the samples that dictionaries are trained on. zstd learns which sequences are common across samples, so these
+     * should be about as large as documents.
+     */
+    static final int SAMPLE_SIZE = 1024;
+    /**
+     * Blocks that are smaller than this are too small to train a useful dictionary on, in which case the segment has none.
+     */
+    static final int MIN_TRAINING_SIZE = 4 * DICTIONARY_SIZE;
+    static final int ZSTD_LEVEL = 3;
+    static final int DEFLATE_LEVEL = 6;
+
+    private final Zstd zstd;
+    private final Algorithm algorithm;
+    private final IndexOutput dictionaryOutput;
+    private final Deflater deflater;
+    private byte[] dictionary;
+    private byte[] buffer = BytesRef.EMPTY_BYTES;
+    private byte[] compressed = BytesRef.EMPTY_BYTES;
+    private Zstd.CompressionContext compressionContext;
+    private boolean closed;
+
+    /**
+     * @param zstd the native zstd library, or {@code null} to compress with DEFLATE
+     */
+    ZstdDictionaryCompressor(Zstd zstd, IndexOutput dictionaryOutput) {
+        this.zstd = zstd;
+        this.algorithm = zstd == null ? Algorithm.DEFLATE : Algorithm.ZSTD;
+        this.dictionaryOutput = dictionaryOutput;
+        this.deflater = algorithm == Algorithm.DEFLATE ? new Deflater(DEFLATE_LEVEL, true) : null;
+    }
+
+    @Override
+    public void compress(ByteBuffersDataInput buffersInput, DataOutput out) throws IOException {
+        final int len = (int) (buffersInput.size() - buffersInput.position());
+        buffer = ArrayUtil.grow(buffer, len);
+        buffersInput.readBytes(buffer, 0, len);
+        if (dictionary == null) {
+            dictionary = len < MIN_TRAINING_SIZE ? BytesRef.EMPTY_BYTES : trainDictionary(len);
+        }
+        switch (algorithm) {
+            case ZSTD -> compressZstd(len, out);
+            case DEFLATE -> compressDeflate(len, out);
+        }
+    }
+
+    private byte[] trainDictionary(int len) {
+        if (algorithm == Algorithm.DEFLATE) {
+            // DEFLATE can't learn a dictionary, but matches sequences of a preset dictionary, so spread samples over the block
+            final byte[] samples = new byte[DICTIONARY_SIZE];
+            final int numSamples = DICTIONARY_SIZE / SAMPLE_SIZE;
+            final int stride = len / numSamples;
+            for (int i = 0; i < numSamples; i++) {
+                System.arraycopy(buffer, i * stride, samples, i * SAMPLE_SIZE, SAMPLE_SIZE);
+            }
+            return samples;
+        }
+        final int[] sampleSizes = new int[(len + SAMPLE_SIZE - 1) / SAMPLE_SIZE];
+        for (int i = 0; i < sampleSizes.length; i++) {
+            sampleSizes[i] = Math.min(SAMPLE_SIZE, len - i * SAMPLE_SIZE);
+        }
+        try {
+            return zstd.trainDictionary(buffer, sampleSizes, DICTIONARY_SIZE);
+        } catch (IllegalArgumentException e) {
+            // training fails when samples have too little in common, the segment then goes without a dictionary
+            return BytesRef.EMPTY_BYTES;
+        }
+    }
+
+    private void compressZstd(int len, DataOutput out) throws IOException {
+        if (compressionContext == null) {
+            // the dictionary is digested once, and the context is reused for all blocks of the segment
+            compressionContext = zstd.newCompressionContext(dictionary, ZSTD_LEVEL);
+        }
+        compressed = ArrayUtil.grow(compressed, zstd.compressBound(len));
+        final int compressedLength = compressionContext.compress(compressed, 0, compressed.length, buffer, 0, len);
+        out.writeVInt(compressedLength);
+        out.writeBytes(compressed, compressedLength);
+    }
+
+    private void compressDeflate(int len, DataOutput out) throws IOException {
+        deflater.reset();
+        if (dictionary.length > 0) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(buffer, 0, len);
+        deflater.finish();
+        if (compressed.length == 0) {
+            compressed = new byte[64];
+        }
+        int compressedLength = 0;
+        while (true) {
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+            if (deflater.finished()) {
+                break;
+            }
+            compressed = ArrayUtil.grow(compressed);
+        }
+        out.writeVInt(compressedLength);
+        out.writeBytes(compressed, compressedLength);
+    }
+
+    /**
+     * Writes the dictionary of the segment, which is empty if no block was large enough to train it.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            final byte[] dictionary = this.dictionary == null ? BytesRef.EMPTY_BYTES : this.dictionary;
+            algorithm.writeTo(dictionaryOutput);
+            dictionaryOutput.writeVInt(dictionary.length);
+            dictionaryOutput.writeBytes(dictionary, dictionary.length);
+            CodecUtil.writeFooter(dictionaryOutput);
+        } finally {
+            try {
+                dictionaryOutput.close();
+            } finally {
+                if (deflater != null) {
+                    deflater.end();
+                }
+                Releasables.close(compressionContext);
+            }
+        }
+    }
+}
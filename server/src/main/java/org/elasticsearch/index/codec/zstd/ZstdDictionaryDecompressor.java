@@ -0,0 +1,161 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.zstd;
+
+import org.apache.lucene.codecs.compressing.Decompressor;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.store.DataInput;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.nativeaccess.Zstd;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decompresses the blocks that {@link ZstdDictionaryCompressor} wrote, with the dictionary of their segment. Blocks that were
+ * compressed with zstd are decompressed with libzstd if it is available, and in Java otherwise.
+ */
+final class ZstdDictionaryDecompressor extends Decompressor {
+
+    /**
+     * The dictionary of a segment, which all decompressors of the segment share. It holds a native dictionary when the segment is
+     * compressed with zstd and libzstd is available, which must be released when the segment is closed.
+     */
+    static final class SegmentDictionary implements Releasable {
+        private final ZstdDictionaryCompressor.Algorithm algorithm;
+        private final byte[] bytes;
+        private final Zstd zstd;
+        private final Zstd.DecompressionDictionary nativeDictionary;
+        private final ZstdDecoder.Dictionary javaDictionary;
+
+        /**
+         * @param zstd the native zstd library, or {@code null} to decompress zstd in Java
+         */
+        SegmentDictionary(Zstd zstd, ZstdDictionaryCompressor.Algorithm algorithm, byte[] bytes) {
+            this.algorithm = algorithm;
+            this.bytes = bytes;
+            final boolean useNative = algorithm == ZstdDictionaryCompressor.Algorithm.ZSTD && zstd != null;
+            this.zstd = useNative ? zstd : null;
+            this.nativeDictionary = useNative && bytes.length > 0 ? zstd.newDecompressionDictionary(bytes) : null;
+            this.javaDictionary = algorithm == ZstdDictionaryCompressor.Algorithm.ZSTD && useNative == false && bytes.length > 0
+                ? new ZstdDecoder.Dictionary(bytes)
+                : null;
+        }
+
+        boolean hasNativeResources() {
+            return nativeDictionary != null;
+        }
+
+        @Override
+        public void close() {
+            Releasables.close(nativeDictionary);
+        }
+
+        @Override
+        public String toString() {
+            return "algorithm=" + algorithm + ", dictionary=" + bytes.length + ", native=" + (zstd != null);
+        }
+    }
+
+    private final SegmentDictionary dictionary;
+    private final Inflater inflater;
+    private byte[] compressed = BytesRef.EMPTY_BYTES;
+    private ZstdDecoder decoder;
+
+    ZstdDictionaryDecompressor(SegmentDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.inflater = dictionary.algorithm == ZstdDictionaryCompressor.Algorithm.DEFLATE ? new Inflater(true) : null;
+    }
+
+    @Override
+    public void decompress(DataInput in, int originalLength, int offset, int length, BytesRef bytes) throws IOException {
+        assert offset + length <= originalLength;
+        final int compressedLength = in.readVInt();
+        if (length == 0) {
+            in.skipBytes(compressedLength);
+            bytes.length = 0;
+            return;
+        }
+        // one more byte for the dummy byte that inflating without a zlib header needs
+        compressed = ArrayUtil.grow(compressed, compressedLength + 1);
+        in.readBytes(compressed, 0, compressedLength);
+        switch (dictionary.algorithm) {
+            case ZSTD -> decompressZstd(in, compressedLength, originalLength, offset, length, bytes);
+            case DEFLATE -> decompressDeflate(in, compressedLength, originalLength, offset, length, bytes);
+        }
+    }
+
+    private void decompressZstd(DataInput in, int compressedLength, int originalLength, int offset, int length, BytesRef bytes)
+        throws IOException {
+        bytes.bytes = ArrayUtil.grow(bytes.bytes, originalLength);
+        final int decompressedLength;
+        try {
+            if (dictionary.zstd != null) {
+                decompressedLength = dictionary.zstd.decompress(
+                    bytes.bytes,
+                    0,
+                    originalLength,
+                    compressed,
+                    0,
+                    compressedLength,
+                    dictionary.nativeDictionary
+                );
+            } else {
+                if (decoder == null) {
+                    decoder = new ZstdDecoder(dictionary.javaDictionary);
+                }
+                decompressedLength = decoder.decompress(compressed, 0, compressedLength, bytes.bytes, 0, originalLength);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new CorruptIndexException("failed to decompress block: " + e.getMessage(), in, e);
+        }
+        if (decompressedLength != originalLength) {
+            throw new CorruptIndexException("expected " + originalLength + " bytes but decompressed " + decompressedLength, in);
+        }
+        bytes.offset = offset;
+        bytes.length = length;
+    }
+
+    private void decompressDeflate(DataInput in, int compressedLength, int originalLength, int offset, int length, BytesRef bytes)
+        throws IOException {
+        inflater.reset();
+        if (dictionary.bytes.length > 0) {
+            inflater.setDictionary(dictionary.bytes);
+        }
+        compressed[compressedLength] = 0;
+        inflater.setInput(compressed, 0, compressedLength + 1);
+        bytes.bytes = ArrayUtil.grow(bytes.bytes, originalLength);
+        int decompressedLength = 0;
+        try {
+            while (decompressedLength < originalLength) {
+                final int count = inflater.inflate(bytes.bytes, decompressedLength, originalLength - decompressedLength);
+                if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                decompressedLength += count;
+            }
+        } catch (DataFormatException e) {
+            throw new CorruptIndexException("failed to decompress block", in, e);
+        }
+        if (decompressedLength != originalLength) {
+            throw new CorruptIndexException("expected " + originalLength + " bytes but decompressed " + decompressedLength, in);
+        }
+        bytes.offset = offset;
+        bytes.length = length;
+    }
+
+    @Override
+    public Decompressor clone() {
+        return new ZstdDictionaryDecompressor(dictionary);
+    }
+}
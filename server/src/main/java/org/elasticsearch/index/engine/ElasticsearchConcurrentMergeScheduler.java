@@ -12,6 +12,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.lucene.index.ConcurrentMergeScheduler;
 import org.apache.lucene.index.MergePolicy;
 import org.apache.lucene.index.MergeScheduler;
+import org.apache.lucene.store.Directory;
 import org.elasticsearch.common.logging.Loggers;
 import org.elasticsearch.common.metrics.CounterMetric;
 import org.elasticsearch.common.metrics.MeanMetric;
@@ -19,6 +20,8 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.MergeSchedulerConfig;
@@ -53,10 +56,17 @@ class ElasticsearchConcurrentMergeScheduler extends ConcurrentMergeScheduler {
     private final Set<OnGoingMerge> onGoingMerges = ConcurrentCollections.newConcurrentSet();
     private final Set<OnGoingMerge> readOnlyOnGoingMerges = Collections.unmodifiableSet(onGoingMerges);
     private final MergeSchedulerConfig config;
-
-    ElasticsearchConcurrentMergeScheduler(ShardId shardId, IndexSettings indexSettings) {
+    @Nullable
+    private final NodeMergeCoordinator nodeMergeCoordinator;
+
+    ElasticsearchConcurrentMergeScheduler(
+        ShardId shardId,
+        IndexSettings indexSettings,
+        @Nullable NodeMergeCoordinator nodeMergeCoordinator
+    ) {
         this.config = indexSettings.getMergeSchedulerConfig();
         this.shardId = shardId;
+        this.nodeMergeCoordinator = nodeMergeCoordinator;
         this.indexSettings = indexSettings.getSettings();
         this.logger = Loggers.getLogger(getClass(), shardId);
         refreshConfig();
@@ -114,13 +124,19 @@ class ElasticsearchConcurrentMergeScheduler extends ConcurrentMergeScheduler {
             );
         }
         try {
+            // merges waiting for the node to admit them count as in flight so that indexing is throttled if they pile up
             beforeMerge(onGoingMerge);
-            super.doMerge(mergeSource, merge);
+            try (Releasable ignored = acquireNodeMergeSlot(merge)) {
+                // don't account the time spent waiting for the node to admit this merge as merge time
+                timeNS = System.nanoTime();
+                super.doMerge(mergeSource, merge);
+            } finally {
+                afterMerge(onGoingMerge);
+            }
         } finally {
             long tookMS = TimeValue.nsecToMSec(System.nanoTime() - timeNS);
 
             onGoingMerges.remove(onGoingMerge);
-            afterMerge(onGoingMerge);
 
             currentMerges.dec();
             currentMergesNumDocs.dec(totalNumDocs);
@@ -157,6 +173,19 @@ class ElasticsearchConcurrentMergeScheduler extends ConcurrentMergeScheduler {
         }
     }
 
+    private Releasable acquireNodeMergeSlot(MergePolicy.OneMerge merge) {
+        if (nodeMergeCoordinator == null) {
+            return () -> {};
+        }
+        return nodeMergeCoordinator.acquire(shardId, merge);
+    }
+
+    @Override
+    public Directory wrapForMerge(MergePolicy.OneMerge merge, Directory in) {
+        final Directory wrapped = super.wrapForMerge(merge, in);
+        return nodeMergeCoordinator == null ? wrapped : nodeMergeCoordinator.wrapForMerge(wrapped);
+    }
+
     /**
      * A callback allowing for custom logic before an actual merge starts.
      */
@@ -203,6 +232,10 @@ class ElasticsearchConcurrentMergeScheduler extends ConcurrentMergeScheduler {
             totalMergeThrottledTime.count(),
             config.isAutoThrottle() ? getIORateLimitMBPerSec() : Double.POSITIVE_INFINITY
         );
+        if (nodeMergeCoordinator != null) {
+            final NodeMergeCoordinator.MergeBacklog backlog = nodeMergeCoordinator.backlog(shardId);
+            mergeStats.addQueued(backlog.count(), backlog.sizeInBytes());
+        }
         return mergeStats;
     }
 
@@ -97,12 +97,13 @@ public final class EngineConfig {
         switch (s) {
             case "default":
             case "best_compression":
+            case "zstd":
             case "lucene_default":
                 return s;
             default:
                 if (Codec.availableCodecs().contains(s) == false) { // we don't error message the not officially supported ones
                     throw new IllegalArgumentException(
-                        "unknown value for [index.codec] must be one of [default, best_compression] but was: " + s
+                        "unknown value for [index.codec] must be one of [default, best_compression, zstd] but was: " + s
                     );
                 }
                 return s;
@@ -134,6 +135,9 @@ public final class EngineConfig {
 
     private final boolean promotableToPrimary;
 
+    @Nullable
+    private final NodeMergeCoordinator nodeMergeCoordinator;
+
     /**
      * Creates a new {@link org.elasticsearch.index.engine.EngineConfig}
      */
@@ -163,7 +167,8 @@ public final class EngineConfig {
         Comparator<LeafReader> leafSorter,
         LongSupplier relativeTimeInNanosSupplier,
         Engine.IndexCommitListener indexCommitListener,
-        boolean promotableToPrimary
+        boolean promotableToPrimary,
+        @Nullable NodeMergeCoordinator nodeMergeCoordinator
     ) {
         this.shardId = shardId;
         this.indexSettings = indexSettings;
@@ -206,6 +211,7 @@ public final class EngineConfig {
         this.relativeTimeInNanosSupplier = relativeTimeInNanosSupplier;
         this.indexCommitListener = indexCommitListener;
         this.promotableToPrimary = promotableToPrimary;
+        this.nodeMergeCoordinator = nodeMergeCoordinator;
         // always use compound on flush - reduces # of file-handles on refresh
         this.useCompoundFile = indexSettings.getSettings().getAsBoolean(USE_COMPOUND_FILE, true);
     }
@@ -430,6 +436,15 @@ public final class EngineConfig {
         return promotableToPrimary;
     }
 
+    /**
+     * Returns the node-wide coordinator that admits and throttles the merges of all shards, or {@code null} if merges are only scheduled
+     * per shard.
+     */
+    @Nullable
+    public NodeMergeCoordinator getNodeMergeCoordinator() {
+        return nodeMergeCoordinator;
+    }
+
     /**
      * @return whether the Engine's index writer should pack newly written segments in a compound file. Default is true.
      */
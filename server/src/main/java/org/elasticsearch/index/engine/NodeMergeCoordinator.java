@@ -0,0 +1,277 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.engine;
+
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.store.RateLimitedIndexOutput;
+import org.apache.lucene.store.RateLimiter;
+import org.apache.lucene.store.RateLimiter.SimpleRateLimiter;
+import org.apache.lucene.util.ThreadInterruptedException;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.index.shard.ShardId;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Coordinates the merges of all the shards on a node. Each shard still runs its merges on the threads of its own
+ * {@link ElasticsearchConcurrentMergeScheduler}, but a merge thread must be admitted by this coordinator before it starts writing. Pending
+ * merges of all shards wait in a single priority queue, at most {@link #MAX_CONCURRENT_MERGES_SETTING} merges run at the same time on the
+ * node, and the bytes they write are throttled by a single rate limiter shared by all shards so that a merge storm on many shards does not
+ * oversubscribe the disk.
+ */
+public class NodeMergeCoordinator {
+
+    /**
+     * The order in which pending merges are admitted.
+     */
+    public enum Priority {
+        /**
+         * Admit the merge with the fewest input bytes first, so that small merges do not queue behind large ones.
+         */
+        SMALLEST_FIRST,
+        /**
+         * Admit the merge with the highest ratio of deleted documents first, ties broken by size, so that merges reclaiming the most disk
+         * space and search overhead run first.
+         */
+        MOST_DELETES_FIRST
+    }
+
+    public static final Setting<Boolean> ENABLED_SETTING = Setting.boolSetting(
+        "indices.merge.coordinator.enabled",
+        false,
+        Property.NodeScope
+    );
+
+    public static final Setting<Integer> MAX_CONCURRENT_MERGES_SETTING = new Setting<>(
+        "indices.merge.coordinator.max_concurrent_merges",
+        (s) -> Integer.toString(Math.max(1, Math.min(4, EsExecutors.allocatedProcessors(s) / 2))),
+        (s) -> Setting.parseInt(s, 1, "indices.merge.coordinator.max_concurrent_merges"),
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    /**
+     * The maximum number of bytes per second that the merges of all shards on the node write together, {@code 0} disables throttling.
+     */
+    public static final Setting<ByteSizeValue> MAX_BYTES_PER_SEC_SETTING = Setting.byteSizeSetting(
+        "indices.merge.coordinator.max_bytes_per_sec",
+        ByteSizeValue.ZERO,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    public static final Setting<Priority> PRIORITY_SETTING = Setting.enumSetting(
+        Priority.class,
+        "indices.merge.coordinator.priority",
+        Priority.SMALLEST_FIRST,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    /**
+     * How often a waiting merge thread checks whether its merge was aborted, e.g. because the shard is closing.
+     */
+    private static final long ABORT_CHECK_INTERVAL_MILLIS = 100;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition admissionChanged = lock.newCondition();
+    private PriorityQueue<PendingMerge> pendingMerges;
+    private long pendingMergesSeqNo;
+    private int runningMerges;
+
+    private volatile int maxConcurrentMerges;
+    private volatile SimpleRateLimiter rateLimiter;
+
+    public NodeMergeCoordinator(Settings settings, ClusterSettings clusterSettings) {
+        this.maxConcurrentMerges = MAX_CONCURRENT_MERGES_SETTING.get(settings);
+        this.pendingMerges = new PriorityQueue<>(comparator(PRIORITY_SETTING.get(settings)));
+        setMaxBytesPerSec(MAX_BYTES_PER_SEC_SETTING.get(settings));
+        clusterSettings.addSettingsUpdateConsumer(MAX_CONCURRENT_MERGES_SETTING, this::setMaxConcurrentMerges);
+        clusterSettings.addSettingsUpdateConsumer(MAX_BYTES_PER_SEC_SETTING, this::setMaxBytesPerSec);
+        clusterSettings.addSettingsUpdateConsumer(PRIORITY_SETTING, this::setPriority);
+    }
+
+    private void setMaxConcurrentMerges(int maxConcurrentMerges) {
+        lock.lock();
+        try {
+            this.maxConcurrentMerges = maxConcurrentMerges;
+            admissionChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void setPriority(Priority priority) {
+        lock.lock();
+        try {
+            final PriorityQueue<PendingMerge> reordered = new PriorityQueue<>(comparator(priority));
+            reordered.addAll(pendingMerges);
+            pendingMerges = reordered;
+            admissionChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void setMaxBytesPerSec(ByteSizeValue maxBytesPerSec) {
+        if (maxBytesPerSec.getBytes() <= 0) {
+            rateLimiter = null;
+        } else if (rateLimiter != null) {
+            rateLimiter.setMBPerSec(maxBytesPerSec.getMbFrac());
+        } else {
+            rateLimiter = new SimpleRateLimiter(maxBytesPerSec.getMbFrac());
+        }
+    }
+
+    /**
+     * Blocks the calling merge thread until the given merge may run. The returned {@link Releasable} must be closed once the merge
+     * completed. If the merge is aborted while it waits it is returned without holding a slot so that it can abort promptly.
+     */
+    public Releasable acquire(ShardId shardId, MergePolicy.OneMerge merge) {
+        long maxDoc = 0;
+        long deletedDocs = 0;
+        for (SegmentCommitInfo info : merge.segments) {
+            maxDoc += info.info.maxDoc();
+            deletedDocs += info.getDelCount() + info.getSoftDelCount();
+        }
+        final double deletesRatio = maxDoc == 0 ? 0.0 : (double) deletedDocs / maxDoc;
+        return acquire(shardId, merge.totalBytesSize(), deletesRatio, merge::isAborted);
+    }
+
+    // package-private for testing
+    Releasable acquire(ShardId shardId, long sizeInBytes, double deletesRatio, BooleanSupplier isAborted) {
+        lock.lock();
+        try {
+            final PendingMerge pendingMerge = new PendingMerge(shardId, sizeInBytes, deletesRatio, pendingMergesSeqNo++);
+            pendingMerges.add(pendingMerge);
+            try {
+                while (true) {
+                    if (isAborted.getAsBoolean()) {
+                        pendingMerges.remove(pendingMerge);
+                        admissionChanged.signalAll();
+                        return () -> {};
+                    }
+                    if (runningMerges < maxConcurrentMerges && pendingMerges.peek() == pendingMerge) {
+                        pendingMerges.poll();
+                        runningMerges++;
+                        // the next pending merge may be admissible too
+                        admissionChanged.signalAll();
+                        return new RunningMerge();
+                    }
+                    admissionChanged.await(ABORT_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                pendingMerges.remove(pendingMerge);
+                admissionChanged.signalAll();
+                throw new ThreadInterruptedException(e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wraps the directory that a merge writes to so that its output is throttled by the node-wide merge rate limit.
+     */
+    public Directory wrapForMerge(Directory in) {
+        return new FilterDirectory(in) {
+            @Override
+            public IndexOutput createOutput(String name, IOContext context) throws IOException {
+                final IndexOutput output = in.createOutput(name, context);
+                final RateLimiter limiter = rateLimiter;
+                return limiter == null ? output : new RateLimitedIndexOutput(limiter, output);
+            }
+        };
+    }
+
+    /**
+     * Returns the number of merges of the given shard that wait to be admitted and the total size of their input segments in bytes.
+     */
+    public MergeBacklog backlog(ShardId shardId) {
+        lock.lock();
+        try {
+            long count = 0;
+            long sizeInBytes = 0;
+            for (PendingMerge pendingMerge : pendingMerges) {
+                if (pendingMerge.shardId().equals(shardId)) {
+                    count++;
+                    sizeInBytes += pendingMerge.sizeInBytes();
+                }
+            }
+            return new MergeBacklog(count, sizeInBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // visible for testing
+    int runningMerges() {
+        lock.lock();
+        try {
+            return runningMerges;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // visible for testing
+    @Nullable
+    RateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    public record MergeBacklog(long count, long sizeInBytes) {}
+
+    private static Comparator<PendingMerge> comparator(Priority priority) {
+        final Comparator<PendingMerge> bySize = Comparator.comparingLong(PendingMerge::sizeInBytes);
+        final Comparator<PendingMerge> byPriority = switch (priority) {
+            case SMALLEST_FIRST -> bySize;
+            case MOST_DELETES_FIRST -> Comparator.comparingDouble(PendingMerge::deletesRatio).reversed().thenComparing(bySize);
+        };
+        return byPriority.thenComparingLong(PendingMerge::seqNo);
+    }
+
+    private record PendingMerge(ShardId shardId, long sizeInBytes, double deletesRatio, long seqNo) {}
+
+    private final class RunningMerge implements Releasable {
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                lock.lock();
+                try {
+                    runningMerges--;
+                    admissionChanged.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
@@ -32,7 +32,7 @@ public abstract class StoredFieldLoader {
      * Return a {@link LeafStoredFieldLoader} for the given segment and document set
      *
      * The loader will use an internal lucene merge reader if the document set is of
-     * sufficient size and is contiguous.  Callers may pass {@code null} if the set
+     * sufficient size and is dense.  Callers may pass {@code null} if the set
      * is not known up front or if the merge reader optimisation will not apply.
      */
     public abstract LeafStoredFieldLoader getLoader(LeafReaderContext ctx, int[] docs) throws IOException;
@@ -130,7 +130,7 @@ public abstract class StoredFieldLoader {
 
     private static CheckedBiConsumer<Integer, FieldsVisitor, IOException> reader(LeafReaderContext ctx, int[] docs) throws IOException {
         LeafReader leafReader = ctx.reader();
-        if (docs != null && docs.length > 10 && hasSequentialDocs(docs)) {
+        if (docs != null && docs.length > 10 && hasDenseDocs(docs)) {
             return sequentialReader(ctx);
         }
         StoredFields storedFields = leafReader.storedFields();
@@ -156,8 +156,24 @@ public abstract class StoredFieldLoader {
         return fieldsToLoad.stream().sorted().toList();
     }
 
-    private static boolean hasSequentialDocs(int[] docs) {
-        return docs.length > 0 && docs[docs.length - 1] - docs[0] == docs.length - 1;
+    /**
+     * Whether the documents are in order and make up at least half of the range of documents that they span. Stored fields are
+     * compressed in blocks of documents, and the random access reader decompresses part of a block for every document it reads,
+     * while the merge reader decompresses every block it reads once and keeps it for the next documents. The latter is cheaper as
+     * soon as documents are read in order and share blocks, like when synthetic source is built for many hits of a leaf, even if
+     * some of the documents in between are not read.
+     */
+    static boolean hasDenseDocs(int[] docs) {
+        if (docs.length == 0) {
+            return false;
+        }
+        for (int i = 1; i < docs.length; i++) {
+            if (docs[i] <= docs[i - 1]) {
+                return false;
+            }
+        }
+        long range = (long) docs[docs.length - 1] - docs[0] + 1;
+        return range <= 2L * docs.length;
     }
 
     private static class EmptyStoredFieldLoader implements LeafStoredFieldLoader {
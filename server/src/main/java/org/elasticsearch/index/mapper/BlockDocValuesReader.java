@@ -17,6 +17,7 @@ import org.apache.lucene.index.SortedNumericDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.io.stream.ByteArrayStreamInput;
+import org.elasticsearch.index.codec.tsdb.BulkNumericDocValues;
 import org.elasticsearch.index.mapper.BlockLoader.BlockFactory;
 import org.elasticsearch.index.mapper.BlockLoader.BooleanBuilder;
 import org.elasticsearch.index.mapper.BlockLoader.Builder;
@@ -33,6 +34,11 @@ import java.io.IOException;
  * A reader that supports reading doc-values from a Lucene segment in Block fashion.
  */
 public abstract class BlockDocValuesReader implements BlockLoader.AllReader {
+    /**
+     * The number of values read at once from {@link BulkNumericDocValues}.
+     */
+    private static final int BULK_READ_SIZE = 512;
+
     private final Thread creationThread;
 
     public BlockDocValuesReader() {
@@ -52,6 +58,19 @@ public abstract class BlockDocValuesReader implements BlockLoader.AllReader {
     @Override
     public abstract String toString();
 
+    /**
+     * Checks if the given docs are a range of consecutive doc ids, which {@link BulkNumericDocValues} can read at once.
+     */
+    static boolean isContiguous(Docs docs) {
+        final int first = docs.get(0);
+        for (int i = 1; i < docs.count(); i++) {
+            if (docs.get(i) != first + i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public abstract static class DocValuesBlockLoader implements BlockLoader {
         public abstract AllReader reader(LeafReaderContext context) throws IOException;
 
@@ -113,6 +132,7 @@ public abstract class BlockDocValuesReader implements BlockLoader.AllReader {
 
     private static class SingletonLongs extends BlockDocValuesReader {
         private final NumericDocValues numericDocValues;
+        private long[] bulkValues;
 
         SingletonLongs(NumericDocValues numericDocValues) {
             this.numericDocValues = numericDocValues;
@@ -121,6 +141,19 @@ public abstract class BlockDocValuesReader implements BlockLoader.AllReader {
         @Override
         public BlockLoader.Block read(BlockFactory factory, Docs docs) throws IOException {
             try (BlockLoader.LongBuilder builder = factory.longsFromDocValues(docs.count())) {
+                if (docs.count() > 1 && numericDocValues instanceof BulkNumericDocValues bulk && isContiguous(docs)) {
+                    if (bulkValues == null) {
+                        bulkValues = new long[BULK_READ_SIZE];
+                    }
+                    for (int i = 0; i < docs.count(); i += BULK_READ_SIZE) {
+                        final int count = Math.min(BULK_READ_SIZE, docs.count() - i);
+                        bulk.readValues(docs.get(i), count, bulkValues, 0);
+                        for (int v = 0; v < count; v++) {
+                            builder.appendLong(bulkValues[v]);
+                        }
+                    }
+                    return builder.build();
+                }
                 int lastDoc = -1;
                 for (int i = 0; i < docs.count(); i++) {
                     int doc = docs.get(i);
@@ -396,6 +429,7 @@ public abstract class BlockDocValuesReader implements BlockLoader.AllReader {
         private final NumericDocValues docValues;
         private final ToDouble toDouble;
         private int docID = -1;
+        private long[] bulkValues;
 
         SingletonDoubles(NumericDocValues docValues, ToDouble toDouble) {
             this.docValues = docValues;
@@ -405,6 +439,20 @@ public abstract class BlockDocValuesReader implements BlockLoader.AllReader {
         @Override
         public BlockLoader.Block read(BlockFactory factory, Docs docs) throws IOException {
             try (BlockLoader.DoubleBuilder builder = factory.doublesFromDocValues(docs.count())) {
+                if (docs.count() > 1 && docValues instanceof BulkNumericDocValues bulk && isContiguous(docs)) {
+                    if (bulkValues == null) {
+                        bulkValues = new long[BULK_READ_SIZE];
+                    }
+                    for (int i = 0; i < docs.count(); i += BULK_READ_SIZE) {
+                        final int count = Math.min(BULK_READ_SIZE, docs.count() - i);
+                        bulk.readValues(docs.get(i), count, bulkValues, 0);
+                        for (int v = 0; v < count; v++) {
+                            builder.appendDouble(toDouble.convert(bulkValues[v]));
+                        }
+                    }
+                    this.docID = docs.get(docs.count() - 1);
+                    return builder.build();
+                }
                 int lastDoc = -1;
                 for (int i = 0; i < docs.count(); i++) {
                     int doc = docs.get(i);
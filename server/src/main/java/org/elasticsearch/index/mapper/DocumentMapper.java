@@ -36,13 +36,17 @@ public class DocumentMapper {
     }
 
     DocumentMapper(DocumentParser documentParser, Mapping mapping, CompressedXContent source, IndexVersion version) {
+        this(documentParser, MappingLookup.fromMapping(mapping), source, version);
+    }
+
+    DocumentMapper(DocumentParser documentParser, MappingLookup mappingLookup, CompressedXContent source, IndexVersion version) {
         this.documentParser = documentParser;
-        this.type = mapping.getRoot().name();
-        this.mappingLookup = MappingLookup.fromMapping(mapping);
+        this.type = mappingLookup.getMapping().getRoot().name();
+        this.mappingLookup = mappingLookup;
         this.mappingSource = source;
 
-        assert mapping.toCompressedXContent().equals(source) || isSyntheticSourceMalformed(source, version)
-            : "provided source [" + source + "] differs from mapping [" + mapping.toCompressedXContent() + "]";
+        assert mappingLookup.getMapping().toCompressedXContent().equals(source) || isSyntheticSourceMalformed(source, version)
+            : "provided source [" + source + "] differs from mapping [" + mappingLookup.getMapping().toCompressedXContent() + "]";
     }
 
     /**
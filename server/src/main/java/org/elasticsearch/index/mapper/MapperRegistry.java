@@ -30,6 +30,7 @@ public final class MapperRegistry {
     private final Map<String, MetadataFieldMapper.TypeParser> metadataMapperParsers6x;
     private final Map<String, MetadataFieldMapper.TypeParser> metadataMapperParsers5x;
     private final Function<String, Predicate<String>> fieldFilter;
+    private final MappingLookupDeduplicator mappingLookupDeduplicator = new MappingLookupDeduplicator();
 
     public MapperRegistry(
         Map<String, Mapper.TypeParser> mapperParsers,
@@ -95,4 +96,11 @@ public final class MapperRegistry {
     public Function<String, Predicate<String>> getFieldFilter() {
         return fieldFilter;
     }
+
+    /**
+     * Returns the lookups of the mappings parsed with the mappers of this registry, which indices with identical mappings share.
+     */
+    MappingLookupDeduplicator getMappingLookupDeduplicator() {
+        return mappingLookupDeduplicator;
+    }
 }
@@ -46,6 +46,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -152,8 +153,12 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
     private final IndexVersion indexVersionCreated;
     private final MapperRegistry mapperRegistry;
     private final Supplier<MappingParserContext> mappingParserContextSupplier;
+    private final Function<Runnable, MappingParserContext> indexIndependentParserContextFactory;
+    private final MappingLookupDeduplicator mappingLookupDeduplicator;
 
     private volatile DocumentMapper mapper;
+    // whether the mappers of the current mapper were parsed without the state of this index and may be shared with other indices
+    private volatile boolean mappersShareable;
     private volatile long mappingVersion;
 
     public MapperService(
@@ -208,6 +213,25 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
             indexSettings,
             idFieldMapper
         );
+        this.indexIndependentParserContextFactory = onIndexStateLookup -> new MappingParserContext(
+            name -> {
+                onIndexStateLookup.run();
+                return null;
+            },
+            type -> mapperRegistry.getMapperParser(type, indexVersionCreated),
+            mapperRegistry.getRuntimeFieldParsers()::get,
+            indexVersionCreated,
+            clusterTransportVersion,
+            () -> {
+                throw new IllegalStateException("mappings that are shared between indices have no search execution context");
+            },
+            scriptCompiler,
+            MappingLookupDeduplicator.indexIndependentAnalyzers(onIndexStateLookup),
+            indexSettings,
+            idFieldMapper,
+            onIndexStateLookup
+        );
+        this.mappingLookupDeduplicator = mapperRegistry.getMappingLookupDeduplicator();
         this.documentParser = new DocumentParser(parserConfiguration, this.mappingParserContextSupplier.get());
         Map<String, MetadataFieldMapper.TypeParser> metadataMapperParsers = mapperRegistry.getMetadataMapperParsers(
             indexSettings.getIndexVersionCreated()
@@ -241,8 +265,13 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
     }
 
     Map<Class<? extends MetadataFieldMapper>, MetadataFieldMapper> getMetadataMappers() {
-        final MappingParserContext mappingParserContext = parserContext();
-        final DocumentMapper existingMapper = mapper;
+        return getMetadataMappers(parserContext(), mapper);
+    }
+
+    private Map<Class<? extends MetadataFieldMapper>, MetadataFieldMapper> getMetadataMappers(
+        MappingParserContext mappingParserContext,
+        DocumentMapper existingMapper
+    ) {
         final Map<String, MetadataFieldMapper.TypeParser> metadataMapperParsers = mapperRegistry.getMetadataMapperParsers(
             indexSettings.getIndexVersionCreated()
         );
@@ -310,12 +339,33 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
         if (newMappingMetadata != null) {
             String type = newMappingMetadata.type();
             CompressedXContent incomingMappingSource = newMappingMetadata.source();
-            Mapping incomingMapping = parseMapping(type, incomingMappingSource);
+            final MappingLookupDeduplicator.Key sharingKey = MappingLookupDeduplicator.key(incomingMappingSource, indexSettings);
+            final MappingLookup sharedMappingLookup = mappingLookupDeduplicator.get(sharingKey);
+            final boolean tryToShare = sharedMappingLookup == null && mappingLookupDeduplicator.isKnownUnshareable(sharingKey) == false;
+            final Mapping shareableMapping = tryToShare ? parseIndexIndependentMapping(type, incomingMappingSource) : null;
+            final Mapping incomingMapping;
+            if (sharedMappingLookup != null) {
+                incomingMapping = sharedMappingLookup.getMapping();
+            } else if (shareableMapping != null) {
+                incomingMapping = shareableMapping;
+            } else {
+                incomingMapping = parseMapping(type, incomingMappingSource);
+            }
             DocumentMapper previousMapper;
             synchronized (this) {
                 previousMapper = this.mapper;
                 assert assertRefreshIsNotNeeded(previousMapper, type, incomingMapping);
-                this.mapper = newDocumentMapper(incomingMapping, MergeReason.MAPPING_RECOVERY, incomingMappingSource);
+                if (sharedMappingLookup == null) {
+                    this.mapper = newDocumentMapper(incomingMapping, MergeReason.MAPPING_RECOVERY, incomingMappingSource);
+                    if (shareableMapping != null) {
+                        mappingLookupDeduplicator.add(sharingKey, this.mapper.mappers());
+                    } else {
+                        mappingLookupDeduplicator.addUnshareable(sharingKey, this.mapper.mappers());
+                    }
+                } else {
+                    this.mapper = newDocumentMapper(sharedMappingLookup, MergeReason.MAPPING_RECOVERY, incomingMappingSource);
+                }
+                this.mappersShareable = sharedMappingLookup != null || shareableMapping != null;
                 this.mappingVersion = newIndexMetadata.getMappingVersion();
             }
             String op = previousMapper != null ? "updated" : "added";
@@ -329,6 +379,29 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
         }
     }
 
+    /**
+     * Parses a mapping so that it can be shared with other indices, see {@link MappingLookupDeduplicator}. Returns {@code null} if a
+     * mapper looked up any analyzer, similarity or the search execution context of this index, since it then depends on this index.
+     */
+    private Mapping parseIndexIndependentMapping(String type, CompressedXContent mappingSource) {
+        final AtomicBoolean indexStateLookedUp = new AtomicBoolean();
+        final MappingParserContext mappingParserContext = indexIndependentParserContextFactory.apply(() -> indexStateLookedUp.set(true));
+        final MappingParser indexIndependentMappingParser = new MappingParser(
+            () -> mappingParserContext,
+            mapperRegistry.getMetadataMapperParsers(indexVersionCreated),
+            () -> getMetadataMappers(mappingParserContext, null),
+            this::resolveDocumentType
+        );
+        final Mapping mapping;
+        try {
+            mapping = indexIndependentMappingParser.parse(type, mappingSource);
+        } catch (Exception e) {
+            // mappers may fail without the analyzers they looked up, parsing the mapping for this index reports any actual error
+            return null;
+        }
+        return indexStateLookedUp.get() ? null : mapping;
+    }
+
     private boolean assertRefreshIsNotNeeded(DocumentMapper currentMapper, String type, Mapping incomingMapping) {
         Mapping mergedMapping = mergeMappings(currentMapper, incomingMapping, MergeReason.MAPPING_RECOVERY, indexSettings);
         // skip the runtime section or removed runtime fields will make the assertion fail
@@ -534,6 +607,16 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
 
     private synchronized DocumentMapper doMerge(String type, MergeReason reason, Map<String, Object> mappingSourceAsMap) {
         Mapping incomingMapping = parseMapping(type, mappingSourceAsMap);
+        if (mappersShareable) {
+            // the builders of shared mappers can not look up the analyzers and similarities of this index, so bind them to it first
+            final DocumentMapper currentMapper = this.mapper;
+            this.mapper = newDocumentMapper(
+                parseMapping(currentMapper.type(), currentMapper.mappingSource()),
+                MergeReason.MAPPING_RECOVERY,
+                currentMapper.mappingSource()
+            );
+            this.mappersShareable = false;
+        }
         Mapping mapping = mergeMappings(this.mapper, incomingMapping, reason, this.indexSettings);
         // TODO: In many cases the source here is equal to mappingSource so we need not serialize again.
         // We should identify these cases reliably and save expensive serialization here
@@ -547,7 +630,11 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
     }
 
     private DocumentMapper newDocumentMapper(Mapping mapping, MergeReason reason, CompressedXContent mappingSource) {
-        DocumentMapper newMapper = new DocumentMapper(documentParser, mapping, mappingSource, indexVersionCreated);
+        return newDocumentMapper(MappingLookup.fromMapping(mapping), reason, mappingSource);
+    }
+
+    private DocumentMapper newDocumentMapper(MappingLookup mappingLookup, MergeReason reason, CompressedXContent mappingSource) {
+        DocumentMapper newMapper = new DocumentMapper(documentParser, mappingLookup, mappingSource, indexVersionCreated);
         newMapper.validate(indexSettings, reason != MergeReason.MAPPING_RECOVERY);
         return newMapper;
     }
@@ -0,0 +1,108 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.common.compress.CompressedXContent;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.IndexVersion;
+import org.elasticsearch.index.analysis.IndexAnalyzers;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares the {@link MappingLookup} of identical mappings between the indices of a node, so that indices with the same mappings, like the
+ * backing indices of a data stream, only parse their mappings once and hold a single copy of the parsed mappers.
+ * <p>
+ * Lookups are only shared between indices created on the same version and with the same settings, ignoring settings that identify an
+ * index or that only control where its shards are allocated. Shared lookups must not hold on to any state of the index that parsed them,
+ * so they are parsed with {@link #indexIndependentAnalyzers} and without the similarities and search execution context of the index,
+ * and only shared if parsing them did not look any of those up. Lookups are weakly referenced since we can not tie into the lifecycle of
+ * the indices that use them, and are collected once no index uses them anymore.
+ */
+final class MappingLookupDeduplicator {
+
+    /**
+     * Settings that differ between indices with the same mappings but that are not used to parse mappings.
+     */
+    private static final Set<String> IGNORED_SETTINGS = Set.of(
+        IndexMetadata.SETTING_INDEX_UUID,
+        IndexMetadata.SETTING_HISTORY_UUID,
+        IndexMetadata.SETTING_INDEX_PROVIDED_NAME,
+        IndexMetadata.SETTING_CREATION_DATE,
+        IndexMetadata.SETTING_NUMBER_OF_REPLICAS,
+        IndexMetadata.SETTING_AUTO_EXPAND_REPLICAS,
+        IndexMetadata.SETTING_PRIORITY,
+        IndexSettings.TIME_SERIES_START_TIME.getKey(),
+        IndexSettings.TIME_SERIES_END_TIME.getKey()
+    );
+    private static final Set<String> IGNORED_SETTINGS_PREFIXES = Set.of("index.routing.", "index.blocks.", "index.lifecycle.");
+
+    private final Map<Key, WeakReference<MappingLookup>> lookups = new ConcurrentHashMap<>();
+    // lookups of mappings that depend on the index they were parsed for, so that they are not parsed for sharing again and again
+    private final Map<Key, WeakReference<MappingLookup>> unshareableLookups = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the lookup of an identical mapping of another index, or {@code null} if there is none.
+     */
+    MappingLookup get(Key key) {
+        final WeakReference<MappingLookup> reference = lookups.get(key);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Whether an index that is still in use found that the mapping with the given key depends on the state of its index.
+     */
+    boolean isKnownUnshareable(Key key) {
+        final WeakReference<MappingLookup> reference = unshareableLookups.get(key);
+        return reference != null && reference.get() != null;
+    }
+
+    /**
+     * Makes the given lookup, which holds no state of the index that parsed it, available to other indices with an identical mapping.
+     */
+    void add(Key key, MappingLookup mappingLookup) {
+        lookups.values().removeIf(reference -> reference.get() == null);
+        lookups.put(key, new WeakReference<>(mappingLookup));
+    }
+
+    /**
+     * Records that the mapping with the given key depends on the state of the index that parsed it into the given lookup.
+     */
+    void addUnshareable(Key key, MappingLookup mappingLookup) {
+        unshareableLookups.values().removeIf(reference -> reference.get() == null);
+        unshareableLookups.put(key, new WeakReference<>(mappingLookup));
+    }
+
+    static Key key(CompressedXContent mappingSource, IndexSettings indexSettings) {
+        final Settings settings = indexSettings.getSettings()
+            .filter(
+                setting -> IGNORED_SETTINGS.contains(setting) == false
+                    && IGNORED_SETTINGS_PREFIXES.stream().noneMatch(setting::startsWith)
+            );
+        return new Key(mappingSource, indexSettings.getIndexVersionCreated(), settings);
+    }
+
+    /**
+     * Returns analyzers to parse mappings that may be shared with other indices. They contain no analyzer at all and call
+     * {@code onLookup} whenever a mapper looks one up, since the mapper then depends on the analyzers of its index.
+     */
+    static IndexAnalyzers indexIndependentAnalyzers(Runnable onLookup) {
+        return (type, name) -> {
+            onLookup.run();
+            return null;
+        };
+    }
+
+    record Key(CompressedXContent mappingSource, IndexVersion indexVersionCreated, Settings settings) {}
+}
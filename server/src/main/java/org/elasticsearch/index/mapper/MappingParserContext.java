@@ -37,6 +37,7 @@ public class MappingParserContext {
     private final IndexAnalyzers indexAnalyzers;
     private final IndexSettings indexSettings;
     private final IdFieldMapper idFieldMapper;
+    private final Runnable onSearchExecutionContextRequested;
     private final long mappingObjectDepthLimit;
     private long mappingObjectDepth = 0;
 
@@ -51,6 +52,38 @@ public class MappingParserContext {
         IndexAnalyzers indexAnalyzers,
         IndexSettings indexSettings,
         IdFieldMapper idFieldMapper
+    ) {
+        this(
+            similarityLookupService,
+            typeParsers,
+            runtimeFieldParsers,
+            indexVersionCreated,
+            clusterTransportVersion,
+            searchExecutionContextSupplier,
+            scriptCompiler,
+            indexAnalyzers,
+            indexSettings,
+            idFieldMapper,
+            () -> {}
+        );
+    }
+
+    /**
+     * @param onSearchExecutionContextRequested called whenever a mapper requests the {@link SearchExecutionContext} of the index, which
+     *                                          binds the parsed mappers to this index
+     */
+    public MappingParserContext(
+        Function<String, SimilarityProvider> similarityLookupService,
+        Function<String, Mapper.TypeParser> typeParsers,
+        Function<String, RuntimeField.Parser> runtimeFieldParsers,
+        IndexVersion indexVersionCreated,
+        Supplier<TransportVersion> clusterTransportVersion,
+        Supplier<SearchExecutionContext> searchExecutionContextSupplier,
+        ScriptCompiler scriptCompiler,
+        IndexAnalyzers indexAnalyzers,
+        IndexSettings indexSettings,
+        IdFieldMapper idFieldMapper,
+        Runnable onSearchExecutionContextRequested
     ) {
         this.similarityLookupService = similarityLookupService;
         this.typeParsers = typeParsers;
@@ -62,6 +95,7 @@ public class MappingParserContext {
         this.indexAnalyzers = indexAnalyzers;
         this.indexSettings = indexSettings;
         this.idFieldMapper = idFieldMapper;
+        this.onSearchExecutionContextRequested = onSearchExecutionContextRequested;
         this.mappingObjectDepthLimit = indexSettings.getMappingDepthLimit();
     }
 
@@ -102,6 +136,7 @@ public class MappingParserContext {
     }
 
     public Supplier<SearchExecutionContext> searchExecutionContext() {
+        onSearchExecutionContextRequested.run();
         return searchExecutionContextSupplier;
     }
 
@@ -159,7 +194,8 @@ public class MappingParserContext {
                 in.scriptCompiler,
                 in.indexAnalyzers,
                 in.indexSettings,
-                in.idFieldMapper
+                in.idFieldMapper,
+                in.onSearchExecutionContextRequested
             );
         }
 
@@ -188,7 +224,8 @@ public class MappingParserContext {
                 in.scriptCompiler,
                 in.indexAnalyzers,
                 in.indexSettings,
-                in.idFieldMapper
+                in.idFieldMapper,
+                in.onSearchExecutionContextRequested
             );
             this.dateFormatter = dateFormatter;
         }
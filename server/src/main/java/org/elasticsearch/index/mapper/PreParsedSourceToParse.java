@@ -0,0 +1,41 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+/**
+ * A {@link SourceToParse} that was already parsed with the given {@link DocumentMapper}. The primary shard indexes the parsed document
+ * instead of parsing the source again, unless the mapping changed since.
+ */
+public final class PreParsedSourceToParse extends SourceToParse {
+
+    private final ParsedDocument parsedDocument;
+    private final DocumentMapper documentMapper;
+
+    public PreParsedSourceToParse(SourceToParse source, ParsedDocument parsedDocument, DocumentMapper documentMapper) {
+        super(
+            source.id(),
+            source.source(),
+            source.getXContentType(),
+            source.routing(),
+            source.dynamicTemplates(),
+            source.getDocumentSizeObserver()
+        );
+        assert parsedDocument.dynamicMappingsUpdate() == null : "pre-parsed document requires a mapping update";
+        this.parsedDocument = parsedDocument;
+        this.documentMapper = documentMapper;
+    }
+
+    public ParsedDocument parsedDocument() {
+        return parsedDocument;
+    }
+
+    public DocumentMapper documentMapper() {
+        return documentMapper;
+    }
+}
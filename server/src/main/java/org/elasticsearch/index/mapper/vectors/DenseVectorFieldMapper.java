@@ -48,6 +48,10 @@ import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.IndexVersions;
 import org.elasticsearch.index.codec.vectors.ES813FlatVectorFormat;
 import org.elasticsearch.index.codec.vectors.ES813Int8FlatVectorFormat;
+import org.elasticsearch.index.codec.vectors.ES814BinaryFlatVectorFormat;
+import org.elasticsearch.index.codec.vectors.ES814BinaryHnswVectorFormat;
+import org.elasticsearch.index.codec.vectors.ES814Int4FlatVectorFormat;
+import org.elasticsearch.index.codec.vectors.ES814Int4HnswVectorFormat;
 import org.elasticsearch.index.fielddata.FieldDataContext;
 import org.elasticsearch.index.fielddata.IndexFieldData;
 import org.elasticsearch.index.mapper.ArraySourceValueFetcher;
@@ -847,6 +851,60 @@ public class DenseVectorFieldMapper extends FieldMapper {
                 MappingParser.checkNoRemainingFields(fieldName, indexOptionsMap);
                 return new Int8FlatIndexOption(confidenceInterval);
             }
+        },
+        INT4_HNSW("int4_hnsw") {
+            @Override
+            public IndexOptions parseIndexOptions(String fieldName, Map<String, ?> indexOptionsMap) {
+                Object mNode = indexOptionsMap.remove("m");
+                Object efConstructionNode = indexOptionsMap.remove("ef_construction");
+                Object confidenceIntervalNode = indexOptionsMap.remove("confidence_interval");
+                if (mNode == null) {
+                    mNode = Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN;
+                }
+                if (efConstructionNode == null) {
+                    efConstructionNode = Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH;
+                }
+                int m = XContentMapValues.nodeIntegerValue(mNode);
+                int efConstruction = XContentMapValues.nodeIntegerValue(efConstructionNode);
+                Float confidenceInterval = parseInt4ConfidenceInterval(fieldName, confidenceIntervalNode);
+                MappingParser.checkNoRemainingFields(fieldName, indexOptionsMap);
+                return new Int4HnswIndexOptions(m, efConstruction, confidenceInterval);
+            }
+        },
+        INT4_FLAT("int4_flat") {
+            @Override
+            public IndexOptions parseIndexOptions(String fieldName, Map<String, ?> indexOptionsMap) {
+                Object confidenceIntervalNode = indexOptionsMap.remove("confidence_interval");
+                Float confidenceInterval = parseInt4ConfidenceInterval(fieldName, confidenceIntervalNode);
+                MappingParser.checkNoRemainingFields(fieldName, indexOptionsMap);
+                return new Int4FlatIndexOptions(confidenceInterval);
+            }
+        },
+        BINARY_HNSW("binary_hnsw") {
+            @Override
+            public IndexOptions parseIndexOptions(String fieldName, Map<String, ?> indexOptionsMap) {
+                Object mNode = indexOptionsMap.remove("m");
+                Object efConstructionNode = indexOptionsMap.remove("ef_construction");
+                if (mNode == null) {
+                    mNode = Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN;
+                }
+                if (efConstructionNode == null) {
+                    efConstructionNode = Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH;
+                }
+                int m = XContentMapValues.nodeIntegerValue(mNode);
+                int efConstruction = XContentMapValues.nodeIntegerValue(efConstructionNode);
+                rejectConfidenceInterval(fieldName, "binary_hnsw", indexOptionsMap);
+                MappingParser.checkNoRemainingFields(fieldName, indexOptionsMap);
+                return new BinaryHnswIndexOptions(m, efConstruction);
+            }
+        },
+        BINARY_FLAT("binary_flat") {
+            @Override
+            public IndexOptions parseIndexOptions(String fieldName, Map<String, ?> indexOptionsMap) {
+                rejectConfidenceInterval(fieldName, "binary_flat", indexOptionsMap);
+                MappingParser.checkNoRemainingFields(fieldName, indexOptionsMap);
+                return new BinaryFlatIndexOptions();
+            }
         };
 
         static Optional<VectorIndexType> fromString(String type) {
@@ -860,6 +918,30 @@ public class DenseVectorFieldMapper extends FieldMapper {
         }
 
         abstract IndexOptions parseIndexOptions(String fieldName, Map<String, ?> indexOptionsMap);
+
+        /**
+         * Parses the confidence interval of int4 quantization here since the vectors format only checks it when a segment is written.
+         */
+        private static Float parseInt4ConfidenceInterval(String fieldName, Object confidenceIntervalNode) {
+            if (confidenceIntervalNode == null) {
+                return null;
+            }
+            float confidenceInterval = (float) XContentMapValues.nodeDoubleValue(confidenceIntervalNode);
+            if (confidenceInterval < 0.9f || confidenceInterval > 1f) {
+                throw new MapperParsingException(
+                    "[confidence_interval] must be between 0.9 and 1.0 for field [" + fieldName + "] but was [" + confidenceInterval + "]"
+                );
+            }
+            return confidenceInterval;
+        }
+
+        private static void rejectConfidenceInterval(String fieldName, String type, Map<String, ?> indexOptionsMap) {
+            if (indexOptionsMap.containsKey("confidence_interval")) {
+                throw new MapperParsingException(
+                    "[confidence_interval] cannot be set for field [" + fieldName + "] when using index type [" + type + "]"
+                );
+            }
+        }
     }
 
     private static class Int8FlatIndexOption extends IndexOptions {
@@ -905,6 +987,85 @@ public class DenseVectorFieldMapper extends FieldMapper {
         }
     }
 
+    private static class Int4FlatIndexOptions extends IndexOptions {
+        private final Float confidenceInterval;
+
+        Int4FlatIndexOptions(Float confidenceInterval) {
+            super("int4_flat");
+            this.confidenceInterval = confidenceInterval;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("type", type);
+            if (confidenceInterval != null) {
+                builder.field("confidence_interval", confidenceInterval);
+            }
+            builder.endObject();
+            return builder;
+        }
+
+        @Override
+        KnnVectorsFormat getVectorsFormat() {
+            return new ES814Int4FlatVectorFormat(confidenceInterval);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Int4FlatIndexOptions that = (Int4FlatIndexOptions) o;
+            return Objects.equals(confidenceInterval, that.confidenceInterval);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(confidenceInterval);
+        }
+
+        @Override
+        boolean supportsElementType(ElementType elementType) {
+            return elementType != ElementType.BYTE;
+        }
+    }
+
+    private static class BinaryFlatIndexOptions extends IndexOptions {
+
+        BinaryFlatIndexOptions() {
+            super("binary_flat");
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("type", type);
+            builder.endObject();
+            return builder;
+        }
+
+        @Override
+        KnnVectorsFormat getVectorsFormat() {
+            return new ES814BinaryFlatVectorFormat();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            return o != null && getClass() == o.getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type);
+        }
+
+        @Override
+        boolean supportsElementType(ElementType elementType) {
+            return elementType != ElementType.BYTE;
+        }
+    }
+
     private static class FlatIndexOptions extends IndexOptions {
 
         FlatIndexOptions() {
@@ -998,6 +1159,117 @@ public class DenseVectorFieldMapper extends FieldMapper {
         }
     }
 
+    private static class Int4HnswIndexOptions extends IndexOptions {
+        private final int m;
+        private final int efConstruction;
+        private final Float confidenceInterval;
+
+        private Int4HnswIndexOptions(int m, int efConstruction, Float confidenceInterval) {
+            super("int4_hnsw");
+            this.m = m;
+            this.efConstruction = efConstruction;
+            this.confidenceInterval = confidenceInterval;
+        }
+
+        @Override
+        public KnnVectorsFormat getVectorsFormat() {
+            return new ES814Int4HnswVectorFormat(m, efConstruction, confidenceInterval);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("type", type);
+            builder.field("m", m);
+            builder.field("ef_construction", efConstruction);
+            if (confidenceInterval != null) {
+                builder.field("confidence_interval", confidenceInterval);
+            }
+            builder.endObject();
+            return builder;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Int4HnswIndexOptions that = (Int4HnswIndexOptions) o;
+            return m == that.m && efConstruction == that.efConstruction && Objects.equals(confidenceInterval, that.confidenceInterval);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(m, efConstruction, confidenceInterval);
+        }
+
+        @Override
+        public String toString() {
+            return "{type="
+                + type
+                + ", m="
+                + m
+                + ", ef_construction="
+                + efConstruction
+                + ", confidence_interval="
+                + confidenceInterval
+                + "}";
+        }
+
+        @Override
+        boolean supportsElementType(ElementType elementType) {
+            return elementType != ElementType.BYTE;
+        }
+    }
+
+    private static class BinaryHnswIndexOptions extends IndexOptions {
+        private final int m;
+        private final int efConstruction;
+
+        private BinaryHnswIndexOptions(int m, int efConstruction) {
+            super("binary_hnsw");
+            this.m = m;
+            this.efConstruction = efConstruction;
+        }
+
+        @Override
+        public KnnVectorsFormat getVectorsFormat() {
+            return new ES814BinaryHnswVectorFormat(m, efConstruction);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("type", type);
+            builder.field("m", m);
+            builder.field("ef_construction", efConstruction);
+            builder.endObject();
+            return builder;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            BinaryHnswIndexOptions that = (BinaryHnswIndexOptions) o;
+            return m == that.m && efConstruction == that.efConstruction;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, m, efConstruction);
+        }
+
+        @Override
+        public String toString() {
+            return "{type=" + type + ", m=" + m + ", ef_construction=" + efConstruction + "}";
+        }
+
+        @Override
+        boolean supportsElementType(ElementType elementType) {
+            return elementType != ElementType.BYTE;
+        }
+    }
+
     private static class HnswIndexOptions extends IndexOptions {
         private final int m;
         private final int efConstruction;
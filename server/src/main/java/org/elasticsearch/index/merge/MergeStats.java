@@ -8,6 +8,7 @@
 
 package org.elasticsearch.index.merge;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
@@ -37,6 +38,10 @@ public class MergeStats implements Writeable, ToXContentFragment {
 
     private long totalBytesPerSecAutoThrottle;
 
+    /** Merges that wait to be admitted by the node-wide merge coordinator. */
+    private long queued;
+    private long queuedSizeInBytes;
+
     public MergeStats() {
 
     }
@@ -53,6 +58,10 @@ public class MergeStats implements Writeable, ToXContentFragment {
         totalStoppedTimeInMillis = in.readVLong();
         totalThrottledTimeInMillis = in.readVLong();
         totalBytesPerSecAutoThrottle = in.readVLong();
+        if (in.getTransportVersion().onOrAfter(TransportVersions.MERGE_STATS_QUEUED_MERGES)) {
+            queued = in.readVLong();
+            queuedSizeInBytes = in.readVLong();
+        }
     }
 
     @Override
@@ -69,7 +78,9 @@ public class MergeStats implements Writeable, ToXContentFragment {
             && currentSizeInBytes == that.currentSizeInBytes
             && totalStoppedTimeInMillis == that.totalStoppedTimeInMillis
             && totalThrottledTimeInMillis == that.totalThrottledTimeInMillis
-            && totalBytesPerSecAutoThrottle == that.totalBytesPerSecAutoThrottle;
+            && totalBytesPerSecAutoThrottle == that.totalBytesPerSecAutoThrottle
+            && queued == that.queued
+            && queuedSizeInBytes == that.queuedSizeInBytes;
     }
 
     @Override
@@ -84,7 +95,9 @@ public class MergeStats implements Writeable, ToXContentFragment {
             currentSizeInBytes,
             totalStoppedTimeInMillis,
             totalThrottledTimeInMillis,
-            totalBytesPerSecAutoThrottle
+            totalBytesPerSecAutoThrottle,
+            queued,
+            queuedSizeInBytes
         );
     }
 
@@ -117,6 +130,11 @@ public class MergeStats implements Writeable, ToXContentFragment {
         }
     }
 
+    public void addQueued(long queuedMerges, long queuedSizeInBytes) {
+        this.queued += queuedMerges;
+        this.queuedSizeInBytes += queuedSizeInBytes;
+    }
+
     public void add(MergeStats mergeStats) {
         if (mergeStats == null) {
             return;
@@ -124,6 +142,8 @@ public class MergeStats implements Writeable, ToXContentFragment {
         this.current += mergeStats.current;
         this.currentNumDocs += mergeStats.currentNumDocs;
         this.currentSizeInBytes += mergeStats.currentSizeInBytes;
+        this.queued += mergeStats.queued;
+        this.queuedSizeInBytes += mergeStats.queuedSizeInBytes;
 
         addTotals(mergeStats);
     }
@@ -229,12 +249,30 @@ public class MergeStats implements Writeable, ToXContentFragment {
         return ByteSizeValue.ofBytes(currentSizeInBytes);
     }
 
+    /**
+     * The current number of merges waiting to be admitted by the node-wide merge coordinator. These are also counted in
+     * {@link #getCurrent()}.
+     */
+    public long getQueued() {
+        return this.queued;
+    }
+
+    public long getQueuedSizeInBytes() {
+        return this.queuedSizeInBytes;
+    }
+
+    public ByteSizeValue getQueuedSize() {
+        return ByteSizeValue.ofBytes(queuedSizeInBytes);
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject(Fields.MERGES);
         builder.field(Fields.CURRENT, current);
         builder.field(Fields.CURRENT_DOCS, currentNumDocs);
         builder.humanReadableField(Fields.CURRENT_SIZE_IN_BYTES, Fields.CURRENT_SIZE, getCurrentSize());
+        builder.field(Fields.QUEUED, queued);
+        builder.humanReadableField(Fields.QUEUED_SIZE_IN_BYTES, Fields.QUEUED_SIZE, getQueuedSize());
         builder.field(Fields.TOTAL, total);
         builder.humanReadableField(Fields.TOTAL_TIME_IN_MILLIS, Fields.TOTAL_TIME, getTotalTime());
         builder.field(Fields.TOTAL_DOCS, totalNumDocs);
@@ -255,6 +293,9 @@ public class MergeStats implements Writeable, ToXContentFragment {
         static final String CURRENT_DOCS = "current_docs";
         static final String CURRENT_SIZE = "current_size";
         static final String CURRENT_SIZE_IN_BYTES = "current_size_in_bytes";
+        static final String QUEUED = "queued";
+        static final String QUEUED_SIZE = "queued_size";
+        static final String QUEUED_SIZE_IN_BYTES = "queued_size_in_bytes";
         static final String TOTAL = "total";
         static final String TOTAL_TIME = "total_time";
         static final String TOTAL_TIME_IN_MILLIS = "total_time_in_millis";
@@ -282,5 +323,9 @@ public class MergeStats implements Writeable, ToXContentFragment {
         out.writeVLong(totalStoppedTimeInMillis);
         out.writeVLong(totalThrottledTimeInMillis);
         out.writeVLong(totalBytesPerSecAutoThrottle);
+        if (out.getTransportVersion().onOrAfter(TransportVersions.MERGE_STATS_QUEUED_MERGES)) {
+            out.writeVLong(queued);
+            out.writeVLong(queuedSizeInBytes);
+        }
     }
 }
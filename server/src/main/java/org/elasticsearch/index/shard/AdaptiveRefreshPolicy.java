@@ -0,0 +1,95 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.shard;
+
+import org.elasticsearch.common.ExponentiallyWeightedMovingAverage;
+import org.elasticsearch.core.TimeValue;
+
+/**
+ * Sizes the scheduled refresh interval of a shard from its recent search arrival rate, indexing rate and segment count.
+ * <p>
+ * Shards that receive more searches than writes keep refreshing at the configured {@code index.refresh_interval}. Shards that receive
+ * more writes than searches do not refresh more often than searches arrive, since a refresh that no search observes only produces a
+ * small segment that needs to be merged away later. That interval is further stretched when the shard already has many segments, and
+ * is always kept within {@code [index.refresh_interval, index.refresh.adaptive.max_interval]}.
+ */
+final class AdaptiveRefreshPolicy {
+
+    /**
+     * Weight of the most recent sample in the search and indexing rate averages.
+     */
+    static final double RATE_EWMA_ALPHA = 0.3;
+
+    /**
+     * Number of segments beyond which the refresh interval is stretched proportionally to the segment count.
+     */
+    static final int SEGMENT_COUNT_TARGET = 20;
+
+    private final ExponentiallyWeightedMovingAverage searchRate = new ExponentiallyWeightedMovingAverage(RATE_EWMA_ALPHA, 0);
+    private final ExponentiallyWeightedMovingAverage indexingRate = new ExponentiallyWeightedMovingAverage(RATE_EWMA_ALPHA, 0);
+
+    private long lastSampleMillis = -1;
+    private long lastSearchCount;
+    private long lastIndexingCount;
+    private long lastRefreshMillis;
+
+    AdaptiveRefreshPolicy(long nowMillis) {
+        this.lastRefreshMillis = nowMillis;
+    }
+
+    /**
+     * Records the cumulative number of searches and indexing operations the shard has seen so far.
+     */
+    synchronized void sample(long nowMillis, long searchCount, long indexingCount) {
+        if (lastSampleMillis >= 0 && nowMillis > lastSampleMillis) {
+            final double elapsedSeconds = (nowMillis - lastSampleMillis) / 1000.0;
+            searchRate.addValue(Math.max(0L, searchCount - lastSearchCount) / elapsedSeconds);
+            indexingRate.addValue(Math.max(0L, indexingCount - lastIndexingCount) / elapsedSeconds);
+        }
+        lastSampleMillis = nowMillis;
+        lastSearchCount = searchCount;
+        lastIndexingCount = indexingCount;
+    }
+
+    /**
+     * Returns the refresh interval the shard should currently use given its number of segments.
+     */
+    TimeValue refreshInterval(TimeValue minInterval, TimeValue maxInterval, int segmentCount) {
+        final long minMillis = Math.max(0L, minInterval.millis());
+        final long maxMillis = Math.max(minMillis, maxInterval.millis());
+        final double searchesPerSecond = searchRate.getAverage();
+        if (searchesPerSecond >= indexingRate.getAverage()) {
+            return TimeValue.timeValueMillis(minMillis);
+        }
+        double intervalMillis = searchesPerSecond > 0 ? 1000.0 / searchesPerSecond : maxMillis;
+        if (segmentCount > SEGMENT_COUNT_TARGET) {
+            intervalMillis *= (double) segmentCount / SEGMENT_COUNT_TARGET;
+        }
+        return TimeValue.timeValueMillis(Math.max(minMillis, Math.min(maxMillis, (long) intervalMillis)));
+    }
+
+    /**
+     * Returns whether a scheduled refresh should be skipped because the adaptive interval has not elapsed since the last refresh.
+     */
+    synchronized boolean shouldDeferRefresh(long nowMillis, TimeValue minInterval, TimeValue maxInterval, int segmentCount) {
+        return nowMillis - lastRefreshMillis < refreshInterval(minInterval, maxInterval, segmentCount).millis();
+    }
+
+    synchronized void onRefresh(long nowMillis) {
+        lastRefreshMillis = nowMillis;
+    }
+
+    double searchRate() {
+        return searchRate.getAverage();
+    }
+
+    double indexingRate() {
+        return indexingRate.getAverage();
+    }
+}
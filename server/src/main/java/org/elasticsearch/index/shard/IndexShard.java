@@ -89,6 +89,7 @@ import org.elasticsearch.index.engine.Engine.GetResult;
 import org.elasticsearch.index.engine.EngineConfig;
 import org.elasticsearch.index.engine.EngineException;
 import org.elasticsearch.index.engine.EngineFactory;
+import org.elasticsearch.index.engine.NodeMergeCoordinator;
 import org.elasticsearch.index.engine.ReadOnlyEngine;
 import org.elasticsearch.index.engine.RefreshFailedEngineException;
 import org.elasticsearch.index.engine.SafeCommitInfo;
@@ -107,6 +108,7 @@ import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.index.mapper.Mapping;
 import org.elasticsearch.index.mapper.MappingLookup;
 import org.elasticsearch.index.mapper.ParsedDocument;
+import org.elasticsearch.index.mapper.PreParsedSourceToParse;
 import org.elasticsearch.index.mapper.SourceToParse;
 import org.elasticsearch.index.mapper.Uid;
 import org.elasticsearch.index.merge.MergeStats;
@@ -168,6 +170,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
@@ -225,6 +229,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     private final ReplicationTracker replicationTracker;
     private final IndexStorePlugin.SnapshotCommitSupplier snapshotCommitSupplier;
     private final Engine.IndexCommitListener indexCommitListener;
+    @Nullable
+    private final NodeMergeCoordinator nodeMergeCoordinator;
     private FieldInfos fieldInfos;
     // sys prop to disable the field has value feature, defaults to true (enabled) if set to false (disabled) the
     // field caps always returns empty fields ignoring the value of the query param `field_caps_empty_fields_filter`.
@@ -274,6 +280,12 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         IndexShardState.STARTED
     );
 
+    /**
+     * The number of operations that may be queued for each thread that replays the translog, see {@link #runConcurrentTranslogRecovery}.
+     */
+    private static final int TRANSLOG_REPLAY_QUEUE_SIZE = 1024;
+    private static final Translog.Operation END_OF_TRANSLOG_REPLAY = new Translog.NoOp(0, 0, "end of translog replay");
+
     private final CheckedFunction<DirectoryReader, DirectoryReader, IOException> readerWrapper;
 
     /**
@@ -288,6 +300,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
 
     private final AtomicLong lastSearcherAccess = new AtomicLong();
     private final AtomicReference<Translog.Location> pendingRefreshLocation = new AtomicReference<>();
+    private final AdaptiveRefreshPolicy adaptiveRefreshPolicy;
     private final RefreshPendingLocationListener refreshPendingLocationListener;
     private final RefreshFieldHasValueListener refreshFieldHasValueListener;
     private volatile boolean useRetentionLeasesInPeerRecovery;
@@ -322,7 +335,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         final CircuitBreakerService circuitBreakerService,
         final IndexStorePlugin.SnapshotCommitSupplier snapshotCommitSupplier,
         final LongSupplier relativeTimeInNanosSupplier,
-        final Engine.IndexCommitListener indexCommitListener
+        final Engine.IndexCommitListener indexCommitListener,
+        @Nullable final NodeMergeCoordinator nodeMergeCoordinator
     ) throws IOException {
         super(shardRouting.shardId(), indexSettings);
         assert shardRouting.initializing();
@@ -402,12 +416,14 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             externalRefreshMetric
         );
         lastSearcherAccess.set(threadPool.relativeTimeInMillis());
+        this.adaptiveRefreshPolicy = new AdaptiveRefreshPolicy(threadPool.relativeTimeInMillis());
         persistMetadata(path, indexSettings, shardRouting, null, logger);
         this.useRetentionLeasesInPeerRecovery = replicationTracker.hasAllPeerRecoveryRetentionLeases();
         this.refreshPendingLocationListener = new RefreshPendingLocationListener();
         this.refreshFieldHasValueListener = new RefreshFieldHasValueListener();
         this.relativeTimeInNanosSupplier = relativeTimeInNanosSupplier;
         this.indexCommitListener = indexCommitListener;
+        this.nodeMergeCoordinator = nodeMergeCoordinator;
         this.fieldInfos = FieldInfos.EMPTY;
     }
 
@@ -968,20 +984,36 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         ensureWriteAllowed(origin);
         Engine.Index operation;
         try {
-            operation = prepareIndex(
-                mapperService,
-                sourceToParse,
-                seqNo,
-                opPrimaryTerm,
-                version,
-                versionType,
-                origin,
-                autoGeneratedTimeStamp,
-                isRetry,
-                ifSeqNo,
-                ifPrimaryTerm,
-                getRelativeTimeInNanos()
-            );
+            if (sourceToParse instanceof PreParsedSourceToParse preParsed && preParsed.documentMapper() == mapperService.documentMapper()) {
+                operation = newIndexOperation(
+                    preParsed.parsedDocument(),
+                    seqNo,
+                    opPrimaryTerm,
+                    version,
+                    versionType,
+                    origin,
+                    autoGeneratedTimeStamp,
+                    isRetry,
+                    ifSeqNo,
+                    ifPrimaryTerm,
+                    getRelativeTimeInNanos()
+                );
+            } else {
+                operation = prepareIndex(
+                    mapperService,
+                    sourceToParse,
+                    seqNo,
+                    opPrimaryTerm,
+                    version,
+                    versionType,
+                    origin,
+                    autoGeneratedTimeStamp,
+                    isRetry,
+                    ifSeqNo,
+                    ifPrimaryTerm,
+                    getRelativeTimeInNanos()
+                );
+            }
             Mapping update = operation.parsedDoc().dynamicMappingsUpdate();
             if (update != null) {
                 return new Engine.IndexResult(update, operation.parsedDoc().id());
@@ -1035,6 +1067,34 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             // whether mappings were provided or not.
             doc.addDynamicMappingsUpdate(mapping);
         }
+        return newIndexOperation(
+            doc,
+            seqNo,
+            primaryTerm,
+            version,
+            versionType,
+            origin,
+            autoGeneratedIdTimestamp,
+            isRetry,
+            ifSeqNo,
+            ifPrimaryTerm,
+            startTimeInNanos
+        );
+    }
+
+    private static Engine.Index newIndexOperation(
+        ParsedDocument doc,
+        long seqNo,
+        long primaryTerm,
+        long version,
+        VersionType versionType,
+        Engine.Operation.Origin origin,
+        long autoGeneratedIdTimestamp,
+        boolean isRetry,
+        long ifSeqNo,
+        long ifPrimaryTerm,
+        long startTimeInNanos
+    ) {
         Term uid = new Term(IdFieldMapper.NAME, Uid.encodeId(doc.id()));
         return new Engine.Index(
             uid,
@@ -1990,38 +2050,162 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
      */
     int runTranslogRecovery(Engine engine, Translog.Snapshot snapshot, Engine.Operation.Origin origin, Runnable onOperationRecovered)
         throws IOException {
+        final int replayThreads = indexSettings.getTranslogReplayThreads();
+        if (origin == Engine.Operation.Origin.LOCAL_TRANSLOG_RECOVERY && replayThreads > 1) {
+            return runConcurrentTranslogRecovery(engine, snapshot, origin, onOperationRecovered, replayThreads);
+        }
         int opsRecovered = 0;
         Translog.Operation operation;
         while ((operation = snapshot.next()) != null) {
-            try {
-                logger.trace("[translog] recover op {}", operation);
-                Engine.Result result = applyTranslogOperation(engine, operation, origin);
-                switch (result.getResultType()) {
-                    case FAILURE:
-                        throw result.getFailure();
-                    case MAPPING_UPDATE_REQUIRED:
-                        throw new IllegalArgumentException("unexpected mapping update: " + result.getRequiredMappingUpdate());
-                    case SUCCESS:
-                        break;
-                    default:
-                        throw new AssertionError("Unknown result type [" + result.getResultType() + "]");
-                }
-
+            if (recoverTranslogOperation(engine, operation, origin)) {
                 opsRecovered++;
                 onOperationRecovered.run();
-            } catch (Exception e) {
-                // TODO: Don't enable this leniency unless users explicitly opt-in
-                if (origin == Engine.Operation.Origin.LOCAL_TRANSLOG_RECOVERY && ExceptionsHelper.status(e) == RestStatus.BAD_REQUEST) {
-                    // mainly for MapperParsingException and Failure to detect xcontent
-                    logger.info("ignoring recovery of a corrupt translog entry", e);
-                } else {
-                    throw ExceptionsHelper.convertToRuntime(e);
-                }
             }
         }
         return opsRecovered;
     }
 
+    /**
+     * Replays translog operations like {@link #runTranslogRecovery} but on {@code replayThreads} threads of the generic thread pool. The
+     * calling thread reads the snapshot and hands each operation to the thread that its id is assigned to, so that the operations on a
+     * document are still applied in translog order. Operations on different documents may be applied out of order, which the engine
+     * handles like it does for replicas: the local checkpoint only advances once all operations below it are processed.
+     */
+    private int runConcurrentTranslogRecovery(
+        Engine engine,
+        Translog.Snapshot snapshot,
+        Engine.Operation.Origin origin,
+        Runnable onOperationRecovered,
+        int replayThreads
+    ) throws IOException {
+        final List<BlockingQueue<Translog.Operation>> queues = new ArrayList<>(replayThreads);
+        // the queues of the replaying threads that started, each of them only completes once it took the end of the replay
+        final List<BlockingQueue<Translog.Operation>> startedQueues = new ArrayList<>(replayThreads);
+        final AtomicInteger opsRecovered = new AtomicInteger();
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final CountDownLatch replayersDone = new CountDownLatch(replayThreads);
+        for (int i = 0; i < replayThreads; i++) {
+            final BlockingQueue<Translog.Operation> queue = new ArrayBlockingQueue<>(TRANSLOG_REPLAY_QUEUE_SIZE);
+            final AtomicBoolean rejected = new AtomicBoolean();
+            queues.add(queue);
+            threadPool.generic().execute(new AbstractRunnable() {
+                @Override
+                protected void doRun() throws Exception {
+                    Translog.Operation operation;
+                    while ((operation = queue.take()) != END_OF_TRANSLOG_REPLAY) {
+                        // keep draining the queue after a failure so that the reading thread never blocks on it
+                        if (failure.get() == null) {
+                            try {
+                                if (recoverTranslogOperation(engine, operation, origin)) {
+                                    opsRecovered.incrementAndGet();
+                                    onOperationRecovered.run();
+                                }
+                            } catch (Exception e) {
+                                onFailure(e);
+                            }
+                        }
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    if (failure.compareAndSet(null, e) == false) {
+                        failure.get().addSuppressed(e);
+                    }
+                }
+
+                @Override
+                public void onRejection(Exception e) {
+                    // rejections are handled on the calling thread, which then neither reads operations nor waits for this thread
+                    rejected.set(true);
+                    onFailure(e);
+                }
+
+                @Override
+                public void onAfter() {
+                    replayersDone.countDown();
+                }
+            });
+            if (rejected.get() == false) {
+                startedQueues.add(queue);
+            }
+        }
+        try {
+            try {
+                Translog.Operation operation;
+                while (failure.get() == null && (operation = snapshot.next()) != null) {
+                    offerTranslogOperation(queues.get(translogReplayPartition(operation, replayThreads)), operation, failure);
+                }
+            } finally {
+                // replaying threads keep taking operations after a failure, so this never blocks for long
+                for (BlockingQueue<Translog.Operation> queue : startedQueues) {
+                    queue.put(END_OF_TRANSLOG_REPLAY);
+                }
+                replayersDone.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ThreadInterruptedException(e);
+        }
+        if (failure.get() != null) {
+            throw ExceptionsHelper.convertToRuntime(failure.get());
+        }
+        return opsRecovered.get();
+    }
+
+    /**
+     * Queues an operation for a replaying thread, or drops it once replaying failed since the operation will not be applied anyway.
+     */
+    private static void offerTranslogOperation(
+        BlockingQueue<Translog.Operation> queue,
+        Translog.Operation operation,
+        AtomicReference<Exception> failure
+    ) throws InterruptedException {
+        while (queue.offer(operation, 100, TimeUnit.MILLISECONDS) == false) {
+            if (failure.get() != null) {
+                return;
+            }
+        }
+    }
+
+    private static int translogReplayPartition(Translog.Operation operation, int partitions) {
+        return switch (operation.opType()) {
+            case INDEX -> Math.floorMod(((Translog.Index) operation).id().hashCode(), partitions);
+            case DELETE -> Math.floorMod(((Translog.Delete) operation).id().hashCode(), partitions);
+            case CREATE, NO_OP -> Math.floorMod(Long.hashCode(operation.seqNo()), partitions);
+        };
+    }
+
+    /**
+     * Replays a single translog operation, returns {@code false} if the operation was skipped because it is corrupt.
+     */
+    private boolean recoverTranslogOperation(Engine engine, Translog.Operation operation, Engine.Operation.Origin origin) {
+        try {
+            logger.trace("[translog] recover op {}", operation);
+            Engine.Result result = applyTranslogOperation(engine, operation, origin);
+            switch (result.getResultType()) {
+                case FAILURE:
+                    throw result.getFailure();
+                case MAPPING_UPDATE_REQUIRED:
+                    throw new IllegalArgumentException("unexpected mapping update: " + result.getRequiredMappingUpdate());
+                case SUCCESS:
+                    break;
+                default:
+                    throw new AssertionError("Unknown result type [" + result.getResultType() + "]");
+            }
+            return true;
+        } catch (Exception e) {
+            // TODO: Don't enable this leniency unless users explicitly opt-in
+            if (origin == Engine.Operation.Origin.LOCAL_TRANSLOG_RECOVERY && ExceptionsHelper.status(e) == RestStatus.BAD_REQUEST) {
+                // mainly for MapperParsingException and Failure to detect xcontent
+                logger.info("ignoring recovery of a corrupt translog entry", e);
+                return false;
+            } else {
+                throw ExceptionsHelper.convertToRuntime(e);
+            }
+        }
+    }
+
     private void loadGlobalCheckpointToReplicationTracker() throws IOException {
         if (shardRouting.isPromotableToPrimary()) {
             // we have to set it before we open an engine and recover from the translog because
@@ -3462,7 +3646,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             isTimeBasedIndex ? TIMESERIES_LEAF_READERS_SORTER : null,
             relativeTimeInNanosSupplier,
             indexCommitListener,
-            routingEntry().isPromotableToPrimary()
+            routingEntry().isPromotableToPrimary(),
+            nodeMergeCoordinator
         );
     }
 
@@ -3916,6 +4101,13 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             verifyNotClosed();
             boolean listenerNeedsRefresh = refreshListeners.refreshNeeded();
             final Engine engine = getEngine();
+            if (indexSettings.isAdaptiveRefreshEnabled()) {
+                adaptiveRefreshPolicy.sample(
+                    threadPool.relativeTimeInMillis(),
+                    searchStats.stats().getTotal().getQueryCount(),
+                    internalIndexingStats.totalOperations()
+                );
+            }
             if (isReadAllowed() && (listenerNeedsRefresh || engine.refreshNeeded())) {
                 if (listenerNeedsRefresh == false // if we have a listener that is waiting for a refresh we need to force it
                     && engine.allowSearchIdleOptimization()
@@ -3930,8 +4122,17 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
                     setRefreshPending(engine);
                     l.onResponse(false);
                     return;
+                } else if (listenerNeedsRefresh == false && shouldDeferScheduledRefresh(engine)) {
+                    // the shard is written to much more often than it is searched, refreshing now would only create a small segment
+                    // that no search observes. Unlike the search-idle case we don't register a pending refresh since searches are
+                    // allowed to observe changes that are up to index.refresh.adaptive.max_interval old.
+                    logger.trace("scheduledRefresh: adaptive refresh interval not elapsed, skipping refresh");
+                    engine.maybePruneDeletes(); // try to prune the deletes in the engine if we accumulated some
+                    l.onResponse(false);
+                    return;
                 } else {
                     logger.trace("scheduledRefresh: refresh with source [schedule]");
+                    adaptiveRefreshPolicy.onRefresh(threadPool.relativeTimeInMillis());
                     engine.maybeRefresh("schedule", l.map(Engine.RefreshResult::refreshed));
                     return;
                 }
@@ -3942,6 +4143,31 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         });
     }
 
+    /**
+     * Returns true if adaptive refresh is enabled and the interval derived from the recent search and indexing rates and the segment
+     * count of the current reader of this shard has not elapsed since the last scheduled refresh.
+     */
+    private boolean shouldDeferScheduledRefresh(Engine engine) {
+        if (indexSettings.isAdaptiveRefreshEnabled() == false) {
+            return false;
+        }
+        return adaptiveRefreshPolicy.shouldDeferRefresh(
+            threadPool.relativeTimeInMillis(),
+            indexSettings.getRefreshInterval(),
+            indexSettings.getAdaptiveRefreshMaxInterval(),
+            segmentCount(engine)
+        );
+    }
+
+    /**
+     * Returns the number of segments of the internal reader, which includes the segments of refreshes since the last commit.
+     */
+    private static int segmentCount(Engine engine) {
+        try (Engine.Searcher searcher = engine.acquireSearcher("adaptive_refresh", Engine.SearcherScope.INTERNAL)) {
+            return searcher.getIndexReader().leaves().size();
+        }
+    }
+
     /**
      * Returns true if this shards is search idle
      */
@@ -46,6 +46,13 @@ final class InternalIndexingStats implements IndexingOperationListener {
         return totalStats.indexMetric.sum();
     }
 
+    /**
+     * Returns the number of index and delete operations that completed on this shard.
+     */
+    long totalOperations() {
+        return totalStats.indexMetric.count() + totalStats.deleteMetric.count();
+    }
+
     @Override
     public Engine.Index preIndex(ShardId shardId, Engine.Index operation) {
         if (operation.origin().isRecovery() == false) {
@@ -25,6 +25,7 @@ import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.index.IndexModule;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.shard.ShardPath;
+import org.elasticsearch.nativeaccess.NativeAccess;
 import org.elasticsearch.plugins.IndexStorePlugin;
 
 import java.io.IOException;
@@ -61,17 +62,27 @@ public class FsDirectoryFactory implements IndexStorePlugin.DirectoryFactory {
             type = IndexModule.Type.fromSettingsKey(storeType);
         }
         Set<String> preLoadExtensions = new HashSet<>(indexSettings.getValue(IndexModule.INDEX_STORE_PRE_LOAD_SETTING));
+        Set<String> prefetchExtensions = new HashSet<>(indexSettings.getValue(IndexModule.INDEX_STORE_PREFETCH_SETTING));
+        long prefetchMaxBytes = indexSettings.getValue(IndexModule.INDEX_STORE_PREFETCH_MAX_BYTES_SETTING).getBytes();
         switch (type) {
             case HYBRIDFS:
                 // Use Lucene defaults
                 final FSDirectory primaryDirectory = FSDirectory.open(location, lockFactory);
                 if (primaryDirectory instanceof MMapDirectory mMapDirectory) {
-                    return new HybridDirectory(lockFactory, setPreload(mMapDirectory, lockFactory, preLoadExtensions));
+                    return setPrefetch(
+                        new HybridDirectory(lockFactory, setPreload(mMapDirectory, lockFactory, preLoadExtensions)),
+                        prefetchExtensions,
+                        prefetchMaxBytes
+                    );
                 } else {
                     return primaryDirectory;
                 }
             case MMAPFS:
-                return setPreload(new MMapDirectory(location, lockFactory), lockFactory, preLoadExtensions);
+                return setPrefetch(
+                    setPreload(new MMapDirectory(location, lockFactory), lockFactory, preLoadExtensions),
+                    prefetchExtensions,
+                    prefetchMaxBytes
+                );
             case SIMPLEFS:
             case NIOFS:
                 return new NIOFSDirectory(location, lockFactory);
@@ -93,6 +104,13 @@ public class FsDirectoryFactory implements IndexStorePlugin.DirectoryFactory {
         return mMapDirectory;
     }
 
+    static Directory setPrefetch(FSDirectory directory, Set<String> prefetchExtensions, long prefetchMaxBytes) {
+        if (prefetchExtensions.isEmpty() || prefetchMaxBytes == 0) {
+            return directory;
+        }
+        return new PrefetchDirectory(directory, prefetchExtensions, prefetchMaxBytes);
+    }
+
     /**
      * Returns true iff the directory is a hybrid fs directory
      */
@@ -207,4 +225,45 @@ public class FsDirectoryFactory implements IndexStorePlugin.DirectoryFactory {
             return delegate;
         }
     }
+
+    /**
+     * Advises the operating system to read the first bytes of files with the given extensions into the file-system cache when they are
+     * opened, which avoids the page faults that random reads of memory mapped files, like the graph traversal of vector searches, would
+     * otherwise take one page at a time. Unlike preloading, this returns immediately and leaves the reads to the operating system. Only
+     * up to {@code prefetchMaxBytes} of each file are advised so that files larger than the file-system cache do not evict hot pages.
+     */
+    static final class PrefetchDirectory extends FilterDirectory {
+        private final Path location;
+        private final Set<String> prefetchExtensions;
+        private final long prefetchMaxBytes;
+
+        PrefetchDirectory(FSDirectory delegate, Set<String> prefetchExtensions, long prefetchMaxBytes) {
+            super(delegate);
+            this.location = delegate.getDirectory();
+            this.prefetchExtensions = prefetchExtensions;
+            this.prefetchMaxBytes = prefetchMaxBytes;
+        }
+
+        @Override
+        public IndexInput openInput(String name, IOContext context) throws IOException {
+            final IndexInput input = super.openInput(name, context);
+            if (usePrefetch(name, context)) {
+                NativeAccess.instance().prefetch(location.resolve(name), 0, prefetchLength(input.length()));
+            }
+            return input;
+        }
+
+        long prefetchLength(long fileLength) {
+            return Math.min(fileLength, prefetchMaxBytes);
+        }
+
+        boolean usePrefetch(String name, IOContext context) {
+            if (context == Store.READONCE_CHECKSUM) {
+                // only the footer is read
+                return false;
+            }
+            final String extension = FileSwitchDirectory.getExtension(name);
+            return prefetchExtensions.contains("*") || prefetchExtensions.contains(extension);
+        }
+    }
 }
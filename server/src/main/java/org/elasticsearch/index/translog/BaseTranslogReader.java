@@ -58,6 +58,13 @@ public abstract class BaseTranslogReader implements Comparable<BaseTranslogReade
         return header.getPrimaryTerm();
     }
 
+    /**
+     * Returns whether the operations of this translog file are compressed, see {@link TranslogHeader#compressesOperations()}.
+     */
+    public final boolean compressesOperations() {
+        return header.compressesOperations();
+    }
+
     /** read the size of the op (i.e., number of bytes, including the op size) written at the given position */
     protected final int readSize(ByteBuffer reusableBuffer, long position) throws IOException {
         // read op size from disk
@@ -107,7 +114,7 @@ public abstract class BaseTranslogReader implements Comparable<BaseTranslogReade
     }
 
     protected Translog.Operation read(BufferedChecksumStreamInput inStream) throws IOException {
-        final Translog.Operation op = Translog.readOperation(inStream);
+        final Translog.Operation op = Translog.readOperation(inStream, header.compressesOperations());
         if (op.primaryTerm() > getPrimaryTerm() && getPrimaryTerm() != SequenceNumbers.UNASSIGNED_PRIMARY_TERM) {
             throw new TranslogCorruptedException(
                 path.toString(),
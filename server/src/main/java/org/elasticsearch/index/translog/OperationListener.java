@@ -16,6 +16,8 @@ public interface OperationListener {
     /**
      * This method is called when a new operation is added to the translog. The BytesReference is a releasable
      * instance, so it should not be retained beyond the scope of this method.
+     * The data is in the operation format of the translog generation it was added to, which may be compressed, see
+     * {@link TranslogHeader#compressesOperations()}.
      *
      * @param data a releasable bytes reference of the data add
      * @param seqNo the sequence number of the operation
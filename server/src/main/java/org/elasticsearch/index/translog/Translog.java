@@ -8,7 +8,10 @@
 
 package org.elasticsearch.index.translog;
 
+import net.jpountz.lz4.LZ4Exception;
+
 import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.UUIDs;
@@ -34,6 +37,8 @@ import org.elasticsearch.index.seqno.SequenceNumbers;
 import org.elasticsearch.index.shard.AbstractIndexShardComponent;
 import org.elasticsearch.index.shard.IndexShardComponent;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.lz4.ESLZ4Compressor;
+import org.elasticsearch.lz4.ESLZ4Decompressor;
 
 import java.io.Closeable;
 import java.io.EOFException;
@@ -105,6 +110,22 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
     static final Pattern PARSE_STRICT_ID_PATTERN = Pattern.compile("^" + TRANSLOG_FILE_PREFIX + "(\\d+)(\\.tlog)$");
     public static final int DEFAULT_HEADER_SIZE_IN_BYTES = TranslogHeader.headerSizeInBytes(UUIDs.randomBase64UUID());
 
+    /**
+     * Codecs of the operations of translog generations that compress their operations, see {@link #writeCompressedOperationWithSize}.
+     */
+    static final byte OPERATION_UNCOMPRESSED = 0;
+    static final byte OPERATION_LZ4 = 1;
+
+    /**
+     * Operations smaller than this are not worth compressing.
+     */
+    static final int MIN_COMPRESSED_OPERATION_SIZE = 256;
+
+    /**
+     * LZ4 can not compress data by more than this factor, a larger uncompressed length of an operation indicates corruption.
+     */
+    static final int MAX_LZ4_COMPRESSION_RATIO = 255;
+
     // the list of translog readers is guaranteed to be in order of translog generation
     private final List<TranslogReader> readers = new ArrayList<>();
     private final BigArrays bigArrays;
@@ -556,7 +577,8 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
                 persistedSequenceNumberConsumer,
                 bigArrays,
                 diskIoBufferPool,
-                operationListener
+                operationListener,
+                indexSettings.isTranslogCompressionEnabled()
             );
         } catch (final IOException e) {
             throw new TranslogException(shardId, "failed to create new translog file", e);
@@ -594,6 +616,12 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
                             + "]"
                     );
                 }
+                if (current.compressesOperations()) {
+                    try (ReleasableBytesStreamOutput compressed = new ReleasableBytesStreamOutput(bigArrays)) {
+                        writeCompressedOperationWithSize(compressed, bytes);
+                        return current.add(compressed.bytes(), operation.seqNo());
+                    }
+                }
                 return current.add(bytes, operation.seqNo());
             }
         } catch (final AlreadyClosedException | IOException ex) {
@@ -1516,6 +1544,14 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
     }
 
     public static Translog.Operation readOperation(BufferedChecksumStreamInput in) throws IOException {
+        return readOperation(in, false);
+    }
+
+    /**
+     * Reads an operation written with {@link #writeOperationWithSize}, or with {@link #writeCompressedOperationWithSize} if
+     * {@code compressedFormat} is set, see {@link TranslogHeader#compressesOperations()}.
+     */
+    static Translog.Operation readOperation(BufferedChecksumStreamInput in, boolean compressedFormat) throws IOException {
         final Translog.Operation operation;
         try {
             final int opSize = in.readInt();
@@ -1533,7 +1569,7 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
                 verifyChecksum(in);
                 in.reset();
             }
-            operation = Translog.Operation.readOperation(in);
+            operation = compressedFormat ? readCompressedOperation(in, opSize) : Translog.Operation.readOperation(in);
             verifyChecksum(in);
         } catch (EOFException e) {
             throw new TruncatedTranslogException(in.getSource(), "reached premature end of file, translog is truncated", e);
@@ -1593,6 +1629,74 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
         out.seek(end);
     }
 
+    /**
+     * Rewrites an operation serialized by {@link #writeOperationWithSize} into the format of translog generations that compress their
+     * operations: {@code [int size][byte codec][payload][int checksum]}. The payload of an {@link #OPERATION_LZ4} operation is its
+     * uncompressed length, its compressed length and the LZ4 compressed operation; operations that are too small or don't compress
+     * well are stored as is with the {@link #OPERATION_UNCOMPRESSED} codec. As before, the checksum covers everything but the size, so
+     * each operation is compressed and checksummed on its own and remains readable from its {@link Location}.
+     */
+    static void writeCompressedOperationWithSize(BytesStreamOutput out, BytesReference operationWithSize) throws IOException {
+        final int operationLength = operationWithSize.getInt(0) - Integer.BYTES; // without the checksum
+        final BytesReference operation = operationWithSize.slice(Integer.BYTES, operationLength);
+        final long start = out.position();
+        out.skip(Integer.BYTES);
+        final BufferedChecksumStreamOutput checksumOut = new BufferedChecksumStreamOutput(out);
+        byte[] compressed = null;
+        int compressedLength = 0;
+        if (operationLength >= MIN_COMPRESSED_OPERATION_SIZE) {
+            final BytesRef raw = operation.toBytesRef();
+            compressed = new byte[ESLZ4Compressor.INSTANCE.maxCompressedLength(raw.length)];
+            compressedLength = ESLZ4Compressor.INSTANCE.compress(raw.bytes, raw.offset, raw.length, compressed, 0, compressed.length);
+        }
+        // the two vints describing the compressed payload take at most 10 bytes
+        if (compressed != null && compressedLength + 10 < operationLength) {
+            checksumOut.writeByte(OPERATION_LZ4);
+            checksumOut.writeVInt(operationLength);
+            checksumOut.writeVInt(compressedLength);
+            checksumOut.writeBytes(compressed, 0, compressedLength);
+        } else {
+            checksumOut.writeByte(OPERATION_UNCOMPRESSED);
+            operation.writeTo(checksumOut);
+        }
+        checksumOut.writeInt((int) checksumOut.getChecksum());
+        final long end = out.position();
+        out.seek(start);
+        out.writeInt((int) (end - Integer.BYTES - start));
+        out.seek(end);
+    }
+
+    private static Translog.Operation readCompressedOperation(BufferedChecksumStreamInput in, int opSize) throws IOException {
+        final byte codec = in.readByte();
+        switch (codec) {
+            case OPERATION_UNCOMPRESSED:
+                return Translog.Operation.readOperation(in);
+            case OPERATION_LZ4:
+                final int operationLength = in.readVInt();
+                final int compressedLength = in.readVInt();
+                if (compressedLength < 0
+                    || compressedLength > opSize
+                    || operationLength < 0
+                    || operationLength > (long) compressedLength * MAX_LZ4_COMPRESSION_RATIO) {
+                    throw new TranslogCorruptedException(
+                        in.getSource(),
+                        "invalid compressed operation lengths [" + compressedLength + "/" + operationLength + "] for size " + opSize
+                    );
+                }
+                final byte[] compressed = new byte[compressedLength];
+                in.readBytes(compressed, 0, compressedLength);
+                final byte[] operation = new byte[operationLength];
+                try {
+                    ESLZ4Decompressor.INSTANCE.decompress(compressed, 0, operation, 0, operationLength);
+                } catch (LZ4Exception e) {
+                    throw new TranslogCorruptedException(in.getSource(), "failed to decompress operation", e);
+                }
+                return Translog.Operation.readOperation(StreamInput.wrap(operation));
+            default:
+                throw new TranslogCorruptedException(in.getSource(), "unknown operation codec [" + codec + "]");
+        }
+    }
+
     /**
      * Gets the minimum generation that could contain any sequence number after the specified sequence number, or the current generation if
      * there is no generation that could any such sequence number.
@@ -1929,7 +2033,8 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
             },
             BigArrays.NON_RECYCLING_INSTANCE,
             DiskIoBufferPool.INSTANCE,
-            (d, s, l) -> {}
+            (d, s, l) -> {},
+            false
         );
         writer.close();
         return uuid;
@@ -36,10 +36,12 @@ final class TranslogHeader {
     public static final String TRANSLOG_CODEC = "translog";
 
     public static final int VERSION_PRIMARY_TERM = 3; // with: checksums, checkpoints and primary term
-    public static final int CURRENT_VERSION = VERSION_PRIMARY_TERM;
+    public static final int VERSION_COMPRESSED_OPERATIONS = 4; // operations framed with a codec byte, optionally LZ4 compressed
+    public static final int CURRENT_VERSION = VERSION_COMPRESSED_OPERATIONS;
 
     private final String translogUUID;
     private final long primaryTerm;
+    private final int version;
     private final int headerSizeInBytes;
 
     /**
@@ -51,13 +53,30 @@ final class TranslogHeader {
      *                     All operations' terms in this translog file are enforced to be at most this term.
      */
     TranslogHeader(String translogUUID, long primaryTerm) {
-        this(translogUUID, primaryTerm, headerSizeInBytes(translogUUID));
+        this(translogUUID, primaryTerm, false);
+    }
+
+    /**
+     * Creates a new translog header with the given uuid and primary term.
+     *
+     * @param compressOperations whether the operations of this translog file are written in the
+     *                           {@link #VERSION_COMPRESSED_OPERATIONS} format. Files that don't compress their operations keep the
+     *                           {@link #VERSION_PRIMARY_TERM} format.
+     */
+    TranslogHeader(String translogUUID, long primaryTerm, boolean compressOperations) {
+        this(
+            translogUUID,
+            primaryTerm,
+            compressOperations ? VERSION_COMPRESSED_OPERATIONS : VERSION_PRIMARY_TERM,
+            headerSizeInBytes(translogUUID)
+        );
         assert primaryTerm >= 0 : "Primary term must be non-negative; term [" + primaryTerm + "]";
     }
 
-    private TranslogHeader(String translogUUID, long primaryTerm, int headerSizeInBytes) {
+    private TranslogHeader(String translogUUID, long primaryTerm, int version, int headerSizeInBytes) {
         this.translogUUID = translogUUID;
         this.primaryTerm = primaryTerm;
+        this.version = version;
         this.headerSizeInBytes = headerSizeInBytes;
     }
 
@@ -73,6 +92,14 @@ final class TranslogHeader {
         return primaryTerm;
     }
 
+    /**
+     * Returns true if the operations of this translog file are written in the {@link #VERSION_COMPRESSED_OPERATIONS} format, see
+     * {@link Translog#writeCompressedOperationWithSize}.
+     */
+    public boolean compressesOperations() {
+        return version >= VERSION_COMPRESSED_OPERATIONS;
+    }
+
     /**
      * Returns the header size in bytes. This value can be used as the offset of the first translog operation.
      * See {@link BaseTranslogReader#getFirstOperationOffset()}
@@ -98,7 +125,7 @@ final class TranslogHeader {
     static int readHeaderVersion(final Path path, final FileChannel channel, final StreamInput in) throws IOException {
         final int version;
         try {
-            version = CodecUtil.checkHeader(new InputStreamDataInput(in), TRANSLOG_CODEC, VERSION_PRIMARY_TERM, VERSION_PRIMARY_TERM);
+            version = CodecUtil.checkHeader(new InputStreamDataInput(in), TRANSLOG_CODEC, VERSION_PRIMARY_TERM, CURRENT_VERSION);
         } catch (CorruptIndexException | IndexFormatTooOldException | IndexFormatTooNewException e) {
             throw new TranslogCorruptedException(path.toString(), "translog header corrupted", e);
         }
@@ -128,7 +155,7 @@ final class TranslogHeader {
             uuid.length = uuidLen;
             in.read(uuid.bytes, uuid.offset, uuid.length);
             // Read the primary term
-            assert version == VERSION_PRIMARY_TERM;
+            assert version == VERSION_PRIMARY_TERM || version == VERSION_COMPRESSED_OPERATIONS : version;
             final long primaryTerm = in.readLong();
             // Verify the checksum
             Translog.verifyChecksum(in);
@@ -147,29 +174,32 @@ final class TranslogHeader {
                 );
             }
 
-            return new TranslogHeader(translogUUID, primaryTerm, headerSizeInBytes);
+            return new TranslogHeader(translogUUID, primaryTerm, version, headerSizeInBytes);
         } catch (EOFException e) {
             throw new TranslogCorruptedException(path.toString(), "translog header truncated", e);
         }
     }
 
-    private static final byte[] TRANSLOG_HEADER;
+    private static final byte[] TRANSLOG_HEADER = codecHeader(VERSION_PRIMARY_TERM);
+    private static final byte[] TRANSLOG_HEADER_COMPRESSED_OPERATIONS = codecHeader(VERSION_COMPRESSED_OPERATIONS);
 
-    static {
+    private static byte[] codecHeader(int version) {
         var out = new ByteArrayOutputStream();
         try {
-            CodecUtil.writeHeader(new OutputStreamDataOutput(out), TRANSLOG_CODEC, CURRENT_VERSION);
-            TRANSLOG_HEADER = out.toByteArray();
+            CodecUtil.writeHeader(new OutputStreamDataOutput(out), TRANSLOG_CODEC, version);
+            return out.toByteArray();
         } catch (IOException e) {
             throw new AssertionError(e);
         }
     }
 
     /**
-     * Writes this header with the latest format into the file channel
+     * Writes this header into the file channel
      */
     void write(final FileChannel channel) throws IOException {
-        final byte[] buffer = Arrays.copyOf(TRANSLOG_HEADER, headerSizeInBytes);
+        final byte[] codecHeader = compressesOperations() ? TRANSLOG_HEADER_COMPRESSED_OPERATIONS : TRANSLOG_HEADER;
+        assert codecHeader.length == TRANSLOG_HEADER.length;
+        final byte[] buffer = Arrays.copyOf(codecHeader, headerSizeInBytes);
         // Write uuid and leave 4 bytes for its length
         final int uuidOffset = TRANSLOG_HEADER.length + Integer.BYTES;
         int offset = UnicodeUtil.UTF16toUTF8(translogUUID, 0, translogUUID.length(), buffer, uuidOffset);
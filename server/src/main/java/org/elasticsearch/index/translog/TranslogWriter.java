@@ -152,8 +152,8 @@ public class TranslogWriter extends BaseTranslogReader implements Closeable {
         final LongConsumer persistedSequenceNumberConsumer,
         final BigArrays bigArrays,
         DiskIoBufferPool diskIoBufferPool,
-        final OperationListener operationListener
-
+        final OperationListener operationListener,
+        final boolean compressOperations
     ) throws IOException {
         final Path checkpointFile = file.getParent().resolve(Translog.CHECKPOINT_FILE_NAME);
 
@@ -161,7 +161,7 @@ public class TranslogWriter extends BaseTranslogReader implements Closeable {
         FileChannel checkpointChannel = null;
         try {
             checkpointChannel = channelFactory.open(checkpointFile, StandardOpenOption.WRITE);
-            final TranslogHeader header = new TranslogHeader(translogUUID, primaryTerm);
+            final TranslogHeader header = new TranslogHeader(translogUUID, primaryTerm, compressOperations);
             header.write(channel);
             final Checkpoint checkpoint = Checkpoint.emptyTranslogCheckpoint(
                 header.sizeInBytes(),
@@ -267,9 +267,13 @@ public class TranslogWriter extends BaseTranslogReader implements Closeable {
         } else if (seenSequenceNumbers.containsKey(seqNo)) {
             final Tuple<BytesReference, Exception> previous = seenSequenceNumbers.get(seqNo);
             if (previous.v1().equals(data) == false) {
-                Translog.Operation newOp = Translog.readOperation(new BufferedChecksumStreamInput(data.streamInput(), "assertion"));
+                Translog.Operation newOp = Translog.readOperation(
+                    new BufferedChecksumStreamInput(data.streamInput(), "assertion"),
+                    header.compressesOperations()
+                );
                 Translog.Operation prvOp = Translog.readOperation(
-                    new BufferedChecksumStreamInput(previous.v1().streamInput(), "assertion")
+                    new BufferedChecksumStreamInput(previous.v1().streamInput(), "assertion"),
+                    header.compressesOperations()
                 );
                 // TODO: We haven't had timestamp for Index operations in Lucene yet, we need to loosen this check without timestamp.
                 final boolean sameOp;
@@ -317,7 +321,10 @@ public class TranslogWriter extends BaseTranslogReader implements Closeable {
         seenSequenceNumbers.entrySet().stream().filter(e -> e.getKey().longValue() > aboveSeqNo).forEach(e -> {
             final Translog.Operation op;
             try {
-                op = Translog.readOperation(new BufferedChecksumStreamInput(e.getValue().v1().streamInput(), "assertion"));
+                op = Translog.readOperation(
+                    new BufferedChecksumStreamInput(e.getValue().v1().streamInput(), "assertion"),
+                    header.compressesOperations()
+                );
             } catch (IOException ex) {
                 throw new RuntimeException(ex);
             }
@@ -0,0 +1,86 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.indices.recovery;
+
+/**
+ * Adjusts the number of file chunk requests that a recovery source keeps in flight to the round-trip times of these requests. On a link
+ * with a high bandwidth-delay product a few outstanding chunks can not keep the link busy, so the number of outstanding chunks grows by
+ * one for every window of chunks that is acknowledged without queueing. When the round-trip time of a chunk grows well beyond the lowest
+ * round-trip time seen recently, requests are queueing up somewhere (the network or the target's disk), and the number of outstanding
+ * chunks is halved. It never drops below the configured {@code indices.recovery.max_concurrent_file_chunks}.
+ * <p>
+ * Only chunks of the full chunk size are taken into account, since the round-trip time of a request depends on its size and the
+ * smallest files are sent first. The lowest round-trip time is taken over the last {@link #BASELINE_WINDOW} to twice as many chunks, so
+ * that it follows changes of the link rather than sticking to a single fast round trip.
+ */
+final class AdaptiveChunkConcurrency {
+
+    /**
+     * A round-trip time this many times the lowest round-trip time indicates that requests are queueing.
+     */
+    static final int QUEUEING_FACTOR = 2;
+
+    /**
+     * The number of chunks after which the lowest round-trip time seen before is forgotten.
+     */
+    static final int BASELINE_WINDOW = 64;
+
+    private final int chunkSizeInBytes;
+    private final int minConcurrentChunks;
+    private final int maxConcurrentChunks;
+
+    private volatile int concurrentChunks;
+    private long previousMinRoundTripNanos = Long.MAX_VALUE;
+    private long currentMinRoundTripNanos = Long.MAX_VALUE;
+    private int currentWindowChunks;
+    private int acknowledgedChunks;
+
+    AdaptiveChunkConcurrency(int chunkSizeInBytes, int minConcurrentChunks, int maxConcurrentChunks) {
+        if (minConcurrentChunks < 1 || maxConcurrentChunks < minConcurrentChunks) {
+            throw new IllegalArgumentException(
+                "invalid concurrent chunks bounds [" + minConcurrentChunks + ", " + maxConcurrentChunks + "]"
+            );
+        }
+        this.chunkSizeInBytes = chunkSizeInBytes;
+        this.minConcurrentChunks = minConcurrentChunks;
+        this.maxConcurrentChunks = maxConcurrentChunks;
+        this.concurrentChunks = minConcurrentChunks;
+    }
+
+    /**
+     * @return the number of chunk requests that may currently be outstanding
+     */
+    int concurrentChunks() {
+        return concurrentChunks;
+    }
+
+    /**
+     * Records that a chunk request of the given size was acknowledged after the given round-trip time, which must not include the time
+     * that the request was held back by the recovery rate limiter.
+     */
+    synchronized void onChunkAcknowledged(long roundTripNanos, int chunkBytes) {
+        if (minConcurrentChunks == maxConcurrentChunks || chunkBytes < chunkSizeInBytes) {
+            return;
+        }
+        if (currentWindowChunks++ == BASELINE_WINDOW) {
+            previousMinRoundTripNanos = currentMinRoundTripNanos;
+            currentMinRoundTripNanos = Long.MAX_VALUE;
+            currentWindowChunks = 1;
+        }
+        currentMinRoundTripNanos = Math.min(currentMinRoundTripNanos, roundTripNanos);
+        final long minRoundTripNanos = Math.min(previousMinRoundTripNanos, currentMinRoundTripNanos);
+        if (roundTripNanos > minRoundTripNanos * QUEUEING_FACTOR) {
+            concurrentChunks = Math.max(minConcurrentChunks, concurrentChunks / 2);
+            acknowledgedChunks = 0;
+        } else if (++acknowledgedChunks >= concurrentChunks) {
+            concurrentChunks = Math.min(maxConcurrentChunks, concurrentChunks + 1);
+            acknowledgedChunks = 0;
+        }
+    }
+}
@@ -104,7 +104,9 @@ public abstract class MultiChunkTransfer<Source, Request extends MultiChunkTrans
                     throw resp.failure;
                 }
             }
-            while (requestSeqIdTracker.getMaxSeqNo() - requestSeqIdTracker.getProcessedCheckpoint() < maxConcurrentChunks) {
+            final int concurrentChunks = concurrentChunks();
+            assert 0 < concurrentChunks && concurrentChunks <= maxConcurrentChunks : concurrentChunks + " vs " + maxConcurrentChunks;
+            while (requestSeqIdTracker.getMaxSeqNo() - requestSeqIdTracker.getProcessedCheckpoint() < concurrentChunks) {
                 final Tuple<Source, Request> request = readAheadRequest != null ? readAheadRequest : getNextRequest();
                 readAheadRequest = null;
                 if (request == null) {
@@ -130,6 +132,14 @@ public abstract class MultiChunkTransfer<Source, Request extends MultiChunkTrans
         }
     }
 
+    /**
+     * The number of chunk requests that may currently be outstanding, between one and the {@code maxConcurrentChunks} this transfer was
+     * created with. Subclasses may override this method to adjust the number of outstanding requests while the transfer is in progress.
+     */
+    protected int concurrentChunks() {
+        return maxConcurrentChunks;
+    }
+
     protected boolean assertOnSuccess() {
         return true;
     }
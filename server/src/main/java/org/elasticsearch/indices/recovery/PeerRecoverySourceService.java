@@ -376,6 +376,7 @@ public class PeerRecoverySourceService extends AbstractLifecycleComponent implem
                     request,
                     Math.toIntExact(recoverySettings.getChunkSize().getBytes()),
                     recoverySettings.getMaxConcurrentFileChunks(),
+                    recoverySettings.getMaxAdaptiveConcurrentFileChunks(),
                     recoverySettings.getMaxConcurrentOperations(),
                     recoverySettings.getMaxConcurrentSnapshotFileDownloads(),
                     recoverySettings.getUseSnapshotsDuringRecovery(),
@@ -249,6 +249,20 @@ public class RecoverySettings {
         Property.NodeScope
     );
 
+    /**
+     * Controls up to how many file chunk requests may be sent concurrently from the source node to the target node if the round-trip
+     * times of these requests show that {@link #INDICES_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS_SETTING} requests can not keep the
+     * connection busy, e.g. on high latency links between nodes. Values that do not exceed that setting disable the adaptation.
+     */
+    public static final Setting<Integer> INDICES_RECOVERY_MAX_ADAPTIVE_CONCURRENT_FILE_CHUNKS_SETTING = Setting.intSetting(
+        "indices.recovery.max_adaptive_concurrent_file_chunks",
+        0,
+        0,
+        32,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
     /**
      * Controls the maximum number of operation chunk requests that can be sent concurrently from the source node to the target node.
      */
@@ -384,6 +398,7 @@ public class RecoverySettings {
 
     private volatile ByteSizeValue maxBytesPerSec;
     private volatile int maxConcurrentFileChunks;
+    private volatile int maxAdaptiveConcurrentFileChunks;
     private volatile int maxConcurrentOperations;
     private volatile SimpleRateLimiter rateLimiter;
     private volatile TimeValue retryDelayStateSync;
@@ -410,6 +425,7 @@ public class RecoverySettings {
     public RecoverySettings(Settings settings, ClusterSettings clusterSettings) {
         this.retryDelayStateSync = INDICES_RECOVERY_RETRY_DELAY_STATE_SYNC_SETTING.get(settings);
         this.maxConcurrentFileChunks = INDICES_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS_SETTING.get(settings);
+        this.maxAdaptiveConcurrentFileChunks = INDICES_RECOVERY_MAX_ADAPTIVE_CONCURRENT_FILE_CHUNKS_SETTING.get(settings);
         this.maxConcurrentOperations = INDICES_RECOVERY_MAX_CONCURRENT_OPERATIONS_SETTING.get(settings);
         // doesn't have to be fast as nodes are reconnected every 10s by default (see InternalClusterService.ReconnectToNodes)
         // and we want to give the master time to remove a faulty node
@@ -450,6 +466,10 @@ public class RecoverySettings {
             );
         }
         clusterSettings.addSettingsUpdateConsumer(INDICES_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS_SETTING, this::setMaxConcurrentFileChunks);
+        clusterSettings.addSettingsUpdateConsumer(
+            INDICES_RECOVERY_MAX_ADAPTIVE_CONCURRENT_FILE_CHUNKS_SETTING,
+            this::setMaxAdaptiveConcurrentFileChunks
+        );
         clusterSettings.addSettingsUpdateConsumer(INDICES_RECOVERY_MAX_CONCURRENT_OPERATIONS_SETTING, this::setMaxConcurrentOperations);
         clusterSettings.addSettingsUpdateConsumer(INDICES_RECOVERY_RETRY_DELAY_STATE_SYNC_SETTING, this::setRetryDelayStateSync);
         clusterSettings.addSettingsUpdateConsumer(INDICES_RECOVERY_RETRY_DELAY_NETWORK_SETTING, this::setRetryDelayNetwork);
@@ -634,6 +654,14 @@ public class RecoverySettings {
         this.maxConcurrentFileChunks = maxConcurrentFileChunks;
     }
 
+    public int getMaxAdaptiveConcurrentFileChunks() {
+        return maxAdaptiveConcurrentFileChunks;
+    }
+
+    private void setMaxAdaptiveConcurrentFileChunks(int maxAdaptiveConcurrentFileChunks) {
+        this.maxAdaptiveConcurrentFileChunks = maxAdaptiveConcurrentFileChunks;
+    }
+
     public int getMaxConcurrentOperations() {
         return maxConcurrentOperations;
     }
@@ -110,6 +110,7 @@ public class RecoverySourceHandler {
     private final int chunkSizeInBytes;
     private final RecoveryTargetHandler recoveryTarget;
     private final int maxConcurrentFileChunks;
+    private final int maxAdaptiveConcurrentFileChunks;
     private final int maxConcurrentOperations;
     private final int maxConcurrentSnapshotFileDownloads;
     private final boolean useSnapshots;
@@ -130,6 +131,39 @@ public class RecoverySourceHandler {
         int maxConcurrentSnapshotFileDownloads,
         boolean useSnapshots,
         RecoveryPlannerService recoveryPlannerService
+    ) {
+        this(
+            shard,
+            recoveryTarget,
+            threadPool,
+            request,
+            fileChunkSizeInBytes,
+            maxConcurrentFileChunks,
+            maxConcurrentFileChunks,
+            maxConcurrentOperations,
+            maxConcurrentSnapshotFileDownloads,
+            useSnapshots,
+            recoveryPlannerService
+        );
+    }
+
+    /**
+     * @param maxAdaptiveConcurrentFileChunks up to how many file chunk requests may be sent concurrently if the round-trip times of the
+     *                                        requests show that more than {@code maxConcurrentFileChunks} requests are needed to keep
+     *                                        the connection to the target busy
+     */
+    public RecoverySourceHandler(
+        IndexShard shard,
+        RecoveryTargetHandler recoveryTarget,
+        ThreadPool threadPool,
+        StartRecoveryRequest request,
+        int fileChunkSizeInBytes,
+        int maxConcurrentFileChunks,
+        int maxAdaptiveConcurrentFileChunks,
+        int maxConcurrentOperations,
+        int maxConcurrentSnapshotFileDownloads,
+        boolean useSnapshots,
+        RecoveryPlannerService recoveryPlannerService
     ) {
         this.shard = shard;
         this.recoveryTarget = recoveryTarget;
@@ -139,6 +173,7 @@ public class RecoverySourceHandler {
         this.logger = Loggers.getLogger(getClass(), request.shardId(), "recover to " + request.targetNode().getName());
         this.chunkSizeInBytes = fileChunkSizeInBytes;
         this.maxConcurrentFileChunks = maxConcurrentFileChunks;
+        this.maxAdaptiveConcurrentFileChunks = Math.max(maxConcurrentFileChunks, maxAdaptiveConcurrentFileChunks);
         this.maxConcurrentOperations = maxConcurrentOperations;
         this.maxConcurrentSnapshotFileDownloads = maxConcurrentSnapshotFileDownloads;
         this.useSnapshots = useSnapshots;
@@ -1347,6 +1382,11 @@ public class RecoverySourceHandler {
         ArrayUtil.timSort(files, Comparator.comparingLong(StoreFileMetadata::length)); // send smallest first
         // use a smaller buffer than the configured chunk size if we only have files smaller than the chunk size
         final int bufferSize = files.length == 0 ? 0 : (int) Math.min(chunkSizeInBytes, files[files.length - 1].length());
+        final AdaptiveChunkConcurrency chunkConcurrency = new AdaptiveChunkConcurrency(
+            chunkSizeInBytes,
+            maxConcurrentFileChunks,
+            maxAdaptiveConcurrentFileChunks
+        );
         Releasable temporaryStoreRef = acquireStore(store);
         try {
             final Releasable storeRef = temporaryStoreRef;
@@ -1354,7 +1394,7 @@ public class RecoverySourceHandler {
                 logger,
                 threadPool.getThreadContext(),
                 listener,
-                maxConcurrentFileChunks,
+                maxAdaptiveConcurrentFileChunks,
                 Arrays.asList(files)
             ) {
 
@@ -1401,14 +1441,30 @@ public class RecoverySourceHandler {
                 protected void executeChunkRequest(FileChunk request, ActionListener<Void> listener) {
                     cancellableThreads.checkForCancel();
                     final ReleasableBytesReference content = new ReleasableBytesReference(request.content, request);
+                    final int chunkBytes = content.length();
+                    // the target handler may hold the request back to respect the recovery rate limit before sending it, so the round
+                    // trip starts once it returns; acknowledgements that arrive before then are not timed
+                    final AtomicLong sentNanos = new AtomicLong(Long.MIN_VALUE);
                     recoveryTarget.writeFileChunk(
                         request.md,
                         request.position,
                         content,
                         request.lastChunk,
                         translogOps.getAsInt(),
-                        ActionListener.runBefore(listener, content::close)
+                        ActionListener.runBefore(listener, () -> {
+                            content.close();
+                            final long sentAtNanos = sentNanos.getAndSet(Long.MAX_VALUE);
+                            if (sentAtNanos != Long.MIN_VALUE) {
+                                chunkConcurrency.onChunkAcknowledged(System.nanoTime() - sentAtNanos, chunkBytes);
+                            }
+                        })
                     );
+                    sentNanos.compareAndSet(Long.MIN_VALUE, System.nanoTime());
+                }
+
+                @Override
+                protected int concurrentChunks() {
+                    return chunkConcurrency.concurrentChunks();
                 }
 
                 @Override
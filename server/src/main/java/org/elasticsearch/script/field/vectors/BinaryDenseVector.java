@@ -12,6 +12,7 @@ import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.VectorUtil;
 import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.mapper.vectors.VectorEncoderDecoder;
+import org.elasticsearch.simdvec.ESVectorUtil;
 
 import java.util.List;
 
@@ -67,11 +68,7 @@ public class BinaryDenseVector implements DenseVector {
 
     @Override
     public double l1Norm(float[] queryVector) {
-        double l1norm = 0;
-        for (int i = 0; i < queryVector.length; i++) {
-            l1norm += Math.abs(queryVector[i] - decodedDocVector[i]);
-        }
-        return l1norm;
+        return ESVectorUtil.l1Norm(queryVector, decodedDocVector);
     }
 
     @Override
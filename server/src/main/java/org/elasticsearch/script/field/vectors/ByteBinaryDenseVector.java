@@ -11,6 +11,7 @@ package org.elasticsearch.script.field.vectors;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.VectorUtil;
 import org.elasticsearch.core.SuppressForbidden;
+import org.elasticsearch.simdvec.ESVectorUtil;
 
 import java.nio.ByteBuffer;
 import java.util.List;
@@ -37,9 +38,7 @@ public class ByteBinaryDenseVector implements DenseVector {
     public float[] getVector() {
         if (floatDocVector == null) {
             floatDocVector = new float[dims];
-            for (int i = 0; i < dims; i++) {
-                floatDocVector[i] = vectorValue[i];
-            }
+            ESVectorUtil.toFloats(vectorValue, floatDocVector);
         }
         return floatDocVector;
     }
@@ -79,11 +78,7 @@ public class ByteBinaryDenseVector implements DenseVector {
 
     @Override
     public int l1Norm(byte[] queryVector) {
-        int result = 0;
-        for (int i = 0; i < queryVector.length; i++) {
-            result += abs(vectorValue[i] - queryVector[i]);
-        }
-        return result;
+        return ESVectorUtil.l1Norm(vectorValue, queryVector);
     }
 
     @Override
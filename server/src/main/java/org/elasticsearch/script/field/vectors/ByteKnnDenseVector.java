@@ -10,6 +10,7 @@ package org.elasticsearch.script.field.vectors;
 
 import org.apache.lucene.util.VectorUtil;
 import org.elasticsearch.core.SuppressForbidden;
+import org.elasticsearch.simdvec.ESVectorUtil;
 
 import java.util.List;
 
@@ -30,11 +31,7 @@ public class ByteKnnDenseVector implements DenseVector {
         // TODO it would be really nice if we didn't transform the `byte[]` arrays to `float[]`
         if (floatDocVector == null) {
             floatDocVector = new float[docVector.length];
-            int i = 0;
-            while (i < docVector.length) {
-                floatDocVector[i] = docVector[i];
-                i++;
-            }
+            ESVectorUtil.toFloats(docVector, floatDocVector);
         }
         return floatDocVector;
     }
@@ -76,13 +73,7 @@ public class ByteKnnDenseVector implements DenseVector {
 
     @Override
     public int l1Norm(byte[] queryVector) {
-        int result = 0;
-        int i = 0;
-        while (i < docVector.length) {
-            result += abs(docVector[i] - queryVector[i]);
-            i++;
-        }
-        return result;
+        return ESVectorUtil.l1Norm(docVector, queryVector);
     }
 
     @Override
@@ -219,6 +219,9 @@ public class DfsPhase {
                 topDocsCollectorManager,
                 CollectorResult.REASON_SEARCH_TOP_HITS
             );
+            if (knnQuery instanceof ProfilingQuery profilingQuery) {
+                profilingQuery.startProfiling();
+            }
             topDocs = searcher.search(knnQuery, ipcm);
 
             if (knnQuery instanceof ProfilingQuery profilingQuery) {
@@ -66,6 +66,8 @@ public final class Profilers {
             queryProfiler.getTree(),
             queryProfiler.getRewriteTime(),
             queryProfiler.getCollectorResult(),
+            null,
+            null,
             null
         );
         AggregationProfileShardResult aggResults = new AggregationProfileShardResult(aggProfiler.getTree());
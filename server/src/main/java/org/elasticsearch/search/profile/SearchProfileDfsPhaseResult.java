@@ -149,6 +149,8 @@ public class SearchProfileDfsPhaseResult implements Writeable, ToXContentObject
             profileResults,
             totalRewriteTime,
             new CollectorResult("KnnQueryCollector", CollectorResult.REASON_SEARCH_MULTI, totalCollectionTime, subCollectorResults),
+            null,
+            null,
             null
         );
     }
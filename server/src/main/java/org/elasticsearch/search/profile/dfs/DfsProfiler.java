@@ -72,7 +72,9 @@ public class DfsProfiler extends AbstractProfileBreakdown<DfsTimingType> {
                         queryProfiler.getTree(),
                         queryProfiler.getRewriteTime(),
                         queryProfiler.getCollectorResult(),
-                        queryProfiler.getVectorOpsCount()
+                        queryProfiler.getVectorOpsCount(),
+                        queryProfiler.getKnnFilterStrategies(),
+                        queryProfiler.getVectorMajorPageFaults()
                     )
                 );
             }
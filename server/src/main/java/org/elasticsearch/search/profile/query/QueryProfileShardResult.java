@@ -22,7 +22,9 @@ import org.elasticsearch.xcontent.XContentParser;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.elasticsearch.common.xcontent.XContentParserUtils.ensureExpectedToken;
@@ -38,6 +40,8 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
     public static final String QUERY_ARRAY = "query";
 
     public static final String VECTOR_OPERATIONS_COUNT = "vector_operations_count";
+    public static final String KNN_FILTER_STRATEGIES = "knn_filter_strategies";
+    public static final String VECTOR_MAJOR_PAGE_FAULTS = "vector_major_page_faults";
 
     private final List<ProfileResult> queryProfileResults;
 
@@ -47,17 +51,25 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
 
     private final Long vectorOperationsCount;
 
+    private final Map<String, Integer> knnFilterStrategies;
+
+    private final Long vectorMajorPageFaults;
+
     public QueryProfileShardResult(
         List<ProfileResult> queryProfileResults,
         long rewriteTime,
         CollectorResult profileCollector,
-        @Nullable Long vectorOperationsCount
+        @Nullable Long vectorOperationsCount,
+        @Nullable Map<String, Integer> knnFilterStrategies,
+        @Nullable Long vectorMajorPageFaults
     ) {
         assert (profileCollector != null);
         this.queryProfileResults = queryProfileResults;
         this.profileCollector = profileCollector;
         this.rewriteTime = rewriteTime;
         this.vectorOperationsCount = vectorOperationsCount;
+        this.knnFilterStrategies = knnFilterStrategies;
+        this.vectorMajorPageFaults = vectorMajorPageFaults;
     }
 
     /**
@@ -73,6 +85,14 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         profileCollector = new CollectorResult(in);
         rewriteTime = in.readLong();
         vectorOperationsCount = (in.getTransportVersion().onOrAfter(TransportVersions.V_8_12_0)) ? in.readOptionalLong() : null;
+        if (in.getTransportVersion().onOrAfter(TransportVersions.KNN_FILTER_STRATEGIES_PROFILE) && in.readBoolean()) {
+            knnFilterStrategies = in.readOrderedMap(StreamInput::readString, StreamInput::readVInt);
+        } else {
+            knnFilterStrategies = null;
+        }
+        vectorMajorPageFaults = in.getTransportVersion().onOrAfter(TransportVersions.KNN_VECTOR_PAGE_FAULTS_PROFILE)
+            ? in.readOptionalVLong()
+            : null;
     }
 
     @Override
@@ -86,6 +106,15 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         if (out.getTransportVersion().onOrAfter(TransportVersions.V_8_12_0)) {
             out.writeOptionalLong(vectorOperationsCount);
         }
+        if (out.getTransportVersion().onOrAfter(TransportVersions.KNN_FILTER_STRATEGIES_PROFILE)) {
+            out.writeBoolean(knnFilterStrategies != null);
+            if (knnFilterStrategies != null) {
+                out.writeMap(knnFilterStrategies, StreamOutput::writeVInt);
+            }
+        }
+        if (out.getTransportVersion().onOrAfter(TransportVersions.KNN_VECTOR_PAGE_FAULTS_PROFILE)) {
+            out.writeOptionalVLong(vectorMajorPageFaults);
+        }
     }
 
     public List<ProfileResult> getQueryResults() {
@@ -100,12 +129,36 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         return profileCollector;
     }
 
+    /**
+     * The number of segments that a filtered kNN query searched with each strategy, or {@code null} if this is not the profile of a
+     * filtered kNN query.
+     */
+    @Nullable
+    public Map<String, Integer> getKnnFilterStrategies() {
+        return knnFilterStrategies;
+    }
+
+    /**
+     * The number of major page faults taken while a kNN query searched vectors, or {@code null} if this is not the profile of a kNN
+     * query or if page faults cannot be measured on this platform.
+     */
+    @Nullable
+    public Long getVectorMajorPageFaults() {
+        return vectorMajorPageFaults;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject();
         if (vectorOperationsCount != null) {
             builder.field(VECTOR_OPERATIONS_COUNT, vectorOperationsCount);
         }
+        if (knnFilterStrategies != null) {
+            builder.field(KNN_FILTER_STRATEGIES, knnFilterStrategies);
+        }
+        if (vectorMajorPageFaults != null) {
+            builder.field(VECTOR_MAJOR_PAGE_FAULTS, vectorMajorPageFaults);
+        }
         builder.startArray(QUERY_ARRAY);
         for (ProfileResult p : queryProfileResults) {
             p.toXContent(builder, params);
@@ -147,6 +200,8 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         List<ProfileResult> queryProfileResults = new ArrayList<>();
         long rewriteTime = 0;
         Long vectorOperationsCount = null;
+        Map<String, Integer> knnFilterStrategies = null;
+        Long vectorMajorPageFaults = null;
         CollectorResult collector = null;
         while ((token = parser.nextToken()) != XContentParser.Token.END_OBJECT) {
             if (token == XContentParser.Token.FIELD_NAME) {
@@ -156,6 +211,8 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
                     rewriteTime = parser.longValue();
                 } else if (VECTOR_OPERATIONS_COUNT.equals(currentFieldName)) {
                     vectorOperationsCount = parser.longValue();
+                } else if (VECTOR_MAJOR_PAGE_FAULTS.equals(currentFieldName)) {
+                    vectorMajorPageFaults = parser.longValue();
                 } else {
                     parser.skipChildren();
                 }
@@ -171,10 +228,19 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
                 } else {
                     parser.skipChildren();
                 }
+            } else if (token == XContentParser.Token.START_OBJECT && KNN_FILTER_STRATEGIES.equals(currentFieldName)) {
+                knnFilterStrategies = parser.map(LinkedHashMap::new, XContentParser::intValue);
             } else {
                 parser.skipChildren();
             }
         }
-        return new QueryProfileShardResult(queryProfileResults, rewriteTime, collector, vectorOperationsCount);
+        return new QueryProfileShardResult(
+            queryProfileResults,
+            rewriteTime,
+            collector,
+            vectorOperationsCount,
+            knnFilterStrategies,
+            vectorMajorPageFaults
+        );
     }
 }
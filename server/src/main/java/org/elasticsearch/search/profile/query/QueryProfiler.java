@@ -9,9 +9,12 @@
 package org.elasticsearch.search.profile.query;
 
 import org.apache.lucene.search.Query;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.search.profile.AbstractProfiler;
 import org.elasticsearch.search.profile.Timer;
 
+import java.util.Map;
+
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -34,6 +37,10 @@ public final class QueryProfiler extends AbstractProfiler<QueryProfileBreakdown,
 
     private long vectorOpsCount;
 
+    private Map<String, Integer> knnFilterStrategies;
+
+    private Long vectorMajorPageFaults;
+
     public QueryProfiler() {
         super(new InternalQueryProfileTree());
     }
@@ -46,6 +53,30 @@ public final class QueryProfiler extends AbstractProfiler<QueryProfileBreakdown,
         return this.vectorOpsCount;
     }
 
+    /**
+     * Set the number of segments that a filtered kNN query searched with each strategy.
+     */
+    public void setKnnFilterStrategies(Map<String, Integer> knnFilterStrategies) {
+        this.knnFilterStrategies = knnFilterStrategies;
+    }
+
+    @Nullable
+    public Map<String, Integer> getKnnFilterStrategies() {
+        return this.knnFilterStrategies;
+    }
+
+    /**
+     * Set the number of major page faults that the searching threads took while a kNN query searched vectors.
+     */
+    public void setVectorMajorPageFaults(long vectorMajorPageFaults) {
+        this.vectorMajorPageFaults = vectorMajorPageFaults;
+    }
+
+    @Nullable
+    public Long getVectorMajorPageFaults() {
+        return this.vectorMajorPageFaults;
+    }
+
     /** Set the collector result that is associated with this profiler. */
     public void setCollectorResult(CollectorResult collectorResult) {
         if (this.collectorResult != null) {
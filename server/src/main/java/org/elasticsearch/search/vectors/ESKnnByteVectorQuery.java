@@ -8,17 +8,63 @@
 
 package org.elasticsearch.search.vectors;
 
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.KnnByteVectorQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.knn.KnnCollectorManager;
+import org.apache.lucene.util.BitSet;
+import org.apache.lucene.util.Bits;
 import org.elasticsearch.search.profile.query.QueryProfiler;
 
-public class ESKnnByteVectorQuery extends KnnByteVectorQuery implements ProfilingQuery {
+import java.io.IOException;
 
+public class ESKnnByteVectorQuery extends KnnByteVectorQuery implements ProfilingQuery {
+    private final byte[] target;
+    private final KnnFilterStrategy.Counts filterStrategies = new KnnFilterStrategy.Counts();
+    private final VectorPageFaults pageFaults = new VectorPageFaults();
     private long vectorOpsCount;
 
     public ESKnnByteVectorQuery(String field, byte[] target, int k, Query filter) {
         super(field, target, k, filter);
+        this.target = target;
+    }
+
+    @Override
+    protected TopDocs approximateSearch(LeafReaderContext context, Bits acceptDocs, int visitedLimit, KnnCollectorManager collectorManager)
+        throws IOException {
+        return pageFaults.measure(() -> searchWithFilterStrategy(context, acceptDocs, visitedLimit, collectorManager));
+    }
+
+    private TopDocs searchWithFilterStrategy(
+        LeafReaderContext context,
+        Bits acceptDocs,
+        int visitedLimit,
+        KnnCollectorManager collectorManager
+    ) throws IOException {
+        // without a filter, or if it could not be turned into a bit set, there is no strategy to choose
+        if (getFilter() == null || acceptDocs instanceof BitSet == false) {
+            return super.approximateSearch(context, acceptDocs, visitedLimit, collectorManager);
+        }
+        final var vectorValues = context.reader().getByteVectorValues(field);
+        return KnnFilterStrategy.search(
+            context,
+            k,
+            (BitSet) acceptDocs,
+            vectorValues == null ? 0 : vectorValues.size(),
+            visitedLimit,
+            collectorManager,
+            (collector, liveDocs) -> context.reader().searchNearestVectors(field, target, collector, liveDocs),
+            limit -> super.approximateSearch(context, acceptDocs, limit, collectorManager),
+            filterStrategies
+        );
+    }
+
+    @Override
+    protected TopDocs exactSearch(LeafReaderContext context, DocIdSetIterator acceptIterator) throws IOException {
+        filterStrategies.increment(KnnFilterStrategy.EXACT);
+        return pageFaults.measure(() -> super.exactSearch(context, acceptIterator));
     }
 
     @Override
@@ -28,8 +74,20 @@ public class ESKnnByteVectorQuery extends KnnByteVectorQuery implements Profilin
         return topK;
     }
 
+    @Override
+    public void startProfiling() {
+        pageFaults.enable();
+    }
+
     @Override
     public void profile(QueryProfiler queryProfiler) {
         queryProfiler.setVectorOpsCount(vectorOpsCount);
+        if (getFilter() != null) {
+            queryProfiler.setKnnFilterStrategies(filterStrategies.toMap());
+        }
+        final Long majorPageFaults = pageFaults.total();
+        if (majorPageFaults != null) {
+            queryProfiler.setVectorMajorPageFaults(majorPageFaults);
+        }
     }
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.KnnCollector;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopKnnCollector;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.knn.KnnCollectorManager;
+import org.apache.lucene.util.BitSet;
+import org.apache.lucene.util.Bits;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * How a segment is searched for the nearest vectors that match the filter of a kNN query. The strategy is chosen per segment from
+ * the number of documents that match the filter, so that segments where the filter is restrictive are searched exactly instead of
+ * exploring a large part of the graph, while segments where it matches most documents search the graph without the filter.
+ */
+enum KnnFilterStrategy {
+    /**
+     * Computes the similarity of every document that matches the filter.
+     */
+    EXACT,
+    /**
+     * Searches the graph and only collects the documents that match the filter.
+     */
+    FILTERED_HNSW,
+    /**
+     * Searches the graph for more candidates than requested without the filter, and then drops those that do not match it.
+     */
+    POST_FILTER;
+
+    /**
+     * The minimum share of the vectors of a segment that must match the filter to search the graph without it. This bounds the
+     * number of candidates to fetch to twice the number of requested ones.
+     */
+    static final double POST_FILTER_MIN_SELECTIVITY = 0.5;
+
+    /**
+     * Chooses how to search a segment.
+     *
+     * @param k the number of nearest vectors to find
+     * @param filterCardinality the number of documents of the segment that match the filter
+     * @param numVectors the number of vectors of the segment
+     */
+    static KnnFilterStrategy select(int k, int filterCardinality, int numVectors) {
+        if (filterCardinality <= k || numVectors <= k) {
+            return EXACT;
+        }
+        final double selectivity = Math.min(1d, (double) filterCardinality / numVectors);
+        // a graph search visits a number of vectors that grows with the log of the graph size, and that a filter multiplies by the
+        // inverse of its selectivity since vectors that don't match it are visited but not collected
+        final double expectedVisits = k * (Math.log(numVectors) / Math.log(2)) / selectivity;
+        if (expectedVisits >= filterCardinality) {
+            return EXACT;
+        }
+        return selectivity >= POST_FILTER_MIN_SELECTIVITY ? POST_FILTER : FILTERED_HNSW;
+    }
+
+    /**
+     * The number of candidates to fetch without the filter so that {@code k} of them are expected to match it.
+     */
+    static int postFilterCandidates(int k, int filterCardinality, int numVectors) {
+        return (int) Math.min(numVectors, Math.ceil((double) k * numVectors / filterCardinality));
+    }
+
+    /**
+     * Searches a segment for the {@code k} nearest vectors that match a filter with the strategy that suits the filter.
+     *
+     * @param context the segment to search
+     * @param k the number of nearest vectors to find
+     * @param filter the documents of the segment that match the filter
+     * @param numVectors the number of vectors of the segment
+     * @param visitedLimit the maximum number of vectors that the search is allowed to visit
+     * @param collectorManager creates the collector of the segment, which may share state with the collectors of other segments
+     * @param graphSearch searches the graph of the segment without the filter
+     * @param filteredSearch searches the graph of the segment with the filter
+     * @param counts counts the segments searched with each strategy
+     * @return the nearest vectors, with a total hits relation other than {@link TotalHits.Relation#EQUAL_TO} if the results are
+     *         incomplete and the segment must be searched exactly
+     */
+    static TopDocs search(
+        LeafReaderContext context,
+        int k,
+        BitSet filter,
+        int numVectors,
+        int visitedLimit,
+        KnnCollectorManager collectorManager,
+        GraphSearch graphSearch,
+        FilteredSearch filteredSearch,
+        Counts counts
+    ) throws IOException {
+        final int filterCardinality = filter.cardinality();
+        switch (select(k, filterCardinality, numVectors)) {
+            case EXACT -> {
+                // incomplete results make the query fall back to an exact search over the filter
+                return new TopDocs(new TotalHits(0, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO), new ScoreDoc[0]);
+            }
+            case POST_FILTER -> {
+                final PostFilterCollector collector = new PostFilterCollector(
+                    collectorManager.newCollector(visitedLimit, context),
+                    filter,
+                    postFilterCandidates(k, filterCardinality, numVectors)
+                );
+                graphSearch.search(collector, context.reader().getLiveDocs());
+                final TopDocs results = collector.topDocs();
+                if (results.scoreDocs.length == k && results.totalHits.relation == TotalHits.Relation.EQUAL_TO) {
+                    counts.increment(POST_FILTER);
+                    return results;
+                }
+                if (collector.earlyTerminated()) {
+                    return results;
+                }
+                // too few candidates matched the filter, search the graph again with it and what is left of the visit limit
+                visitedLimit = (int) (visitedLimit - collector.visitedCount());
+            }
+            case FILTERED_HNSW -> {}
+        }
+        final TopDocs results = filteredSearch.search(visitedLimit);
+        if (results.totalHits.relation == TotalHits.Relation.EQUAL_TO) {
+            counts.increment(FILTERED_HNSW);
+        }
+        return results;
+    }
+
+    /**
+     * Searches the graph of a segment without a filter.
+     */
+    @FunctionalInterface
+    interface GraphSearch {
+        void search(KnnCollector collector, Bits acceptDocs) throws IOException;
+    }
+
+    /**
+     * Searches the graph of a segment with a filter.
+     */
+    @FunctionalInterface
+    interface FilteredSearch {
+        TopDocs search(int visitedLimit) throws IOException;
+    }
+
+    /**
+     * Collects candidates of a graph search without the filter, and passes those that match the filter on to the collector of the
+     * segment. The search ends once enough candidates were found for {@code k} of them to be expected to match the filter, while
+     * the visit limit and the minimum competitive similarity of the collector of the segment, which may be shared with other
+     * segments, still apply.
+     */
+    static final class PostFilterCollector implements KnnCollector {
+        private final KnnCollector in;
+        private final Bits filter;
+        private final TopKnnCollector candidates;
+
+        PostFilterCollector(KnnCollector in, Bits filter, int candidates) {
+            this.in = in;
+            this.filter = filter;
+            // the visit limit is enforced by the collector of the segment
+            this.candidates = new TopKnnCollector(candidates, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean earlyTerminated() {
+            return in.earlyTerminated();
+        }
+
+        @Override
+        public void incVisitedCount(int count) {
+            in.incVisitedCount(count);
+        }
+
+        @Override
+        public long visitedCount() {
+            return in.visitedCount();
+        }
+
+        @Override
+        public long visitLimit() {
+            return in.visitLimit();
+        }
+
+        @Override
+        public int k() {
+            return candidates.k();
+        }
+
+        @Override
+        public boolean collect(int docId, float similarity) {
+            final boolean competitive = candidates.collect(docId, similarity);
+            if (filter.get(docId)) {
+                return in.collect(docId, similarity) || competitive;
+            }
+            return competitive;
+        }
+
+        @Override
+        public float minCompetitiveSimilarity() {
+            final float minCompetitiveSimilarity = candidates.minCompetitiveSimilarity();
+            if (minCompetitiveSimilarity == Float.NEGATIVE_INFINITY) {
+                return minCompetitiveSimilarity;
+            }
+            return Math.max(minCompetitiveSimilarity, in.minCompetitiveSimilarity());
+        }
+
+        /**
+         * The candidates that match the filter.
+         */
+        @Override
+        public TopDocs topDocs() {
+            return in.topDocs();
+        }
+    }
+
+    /**
+     * The name of the strategy in the profile output.
+     */
+    String displayName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Counts the segments searched with each strategy. Segments may be searched concurrently.
+     */
+    static final class Counts {
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(values().length);
+
+        void increment(KnnFilterStrategy strategy) {
+            counts.incrementAndGet(strategy.ordinal());
+        }
+
+        /**
+         * The number of segments per strategy, leaving out strategies that were not used.
+         */
+        Map<String, Integer> toMap() {
+            final Map<String, Integer> map = new LinkedHashMap<>();
+            for (KnnFilterStrategy strategy : values()) {
+                final int count = counts.get(strategy.ordinal());
+                if (count > 0) {
+                    map.put(strategy.displayName(), count);
+                }
+            }
+            return map;
+        }
+    }
+}
@@ -24,4 +24,10 @@ public interface ProfilingQuery {
      * @param queryProfiler an instance of  {@link KnnFloatVectorField}.
      */
     void profile(QueryProfiler queryProfiler);
+
+    /**
+     * Called before a profiled query is executed, so that it can gather profiling information that is too costly to gather for every
+     * search.
+     */
+    default void startProfiling() {}
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.util.IOSupplier;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.nativeaccess.NativeAccess;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the major page faults that the threads searching the vectors of a kNN query take. Each of them is a read from disk, so
+ * that a high number for a shard means that its vectors and graphs do not fit in the page cache. Counting takes two system calls
+ * per searched segment, so it only happens once {@link #enable() enabled}, which profiled queries do.
+ */
+final class VectorPageFaults {
+
+    private final LongAdder majorPageFaults = new LongAdder();
+    private volatile boolean enabled;
+    private volatile boolean measured;
+
+    /**
+     * Counts the major page faults of the searches that start from now on.
+     */
+    void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Runs the search of a segment and, if enabled, counts the major page faults that the current thread takes meanwhile.
+     */
+    <T> T measure(IOSupplier<T> search) throws IOException {
+        if (enabled == false) {
+            return search.get();
+        }
+        final NativeAccess nativeAccess = NativeAccess.instance();
+        final long before = nativeAccess.currentThreadMajorPageFaults();
+        try {
+            return search.get();
+        } finally {
+            if (before >= 0) {
+                final long after = nativeAccess.currentThreadMajorPageFaults();
+                if (after >= before) {
+                    majorPageFaults.add(after - before);
+                    measured = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * The number of major page faults taken by all searched segments, or {@code null} if they were not counted or cannot be
+     * measured on this platform.
+     */
+    @Nullable
+    Long total() {
+        return measured ? majorPageFaults.sum() : null;
+    }
+}
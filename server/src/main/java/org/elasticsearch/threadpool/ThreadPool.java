@@ -436,7 +436,16 @@ public class ThreadPool implements ReportingService<ThreadPoolInfo>, Scheduler {
      * sensible.
      */
     public long rawRelativeTimeInMillis() {
-        return TimeValue.nsecToMSec(System.nanoTime());
+        return TimeValue.nsecToMSec(rawRelativeTimeInNanos());
+    }
+
+    /**
+     * Returns a value of nanoseconds that may be used for relative time calculations. Similar to {@link #relativeTimeInNanos()} except
+     * that this method is more expensive: the return value is computed directly from {@link System#nanoTime} and is not cached. Use it
+     * to time operations that are too short for the cached clock, for instance to sum up many of them.
+     */
+    public long rawRelativeTimeInNanos() {
+        return System.nanoTime();
     }
 
     /**
@@ -344,6 +344,14 @@ public class NodeStatsTests extends ESTestCase {
                             publishStats.getIncompatibleClusterStateDiffReceivedCount(),
                             deserializedPublishStats.getIncompatibleClusterStateDiffReceivedCount()
                         );
+                        assertEquals(
+                            publishStats.getClusterStateSerializationStats().getTotalFullStateSerializationTimeMillis(),
+                            deserializedPublishStats.getClusterStateSerializationStats().getTotalFullStateSerializationTimeMillis()
+                        );
+                        assertEquals(
+                            publishStats.getClusterStateSerializationStats().getTotalDiffSerializationTimeMillis(),
+                            deserializedPublishStats.getClusterStateSerializationStats().getTotalDiffSerializationTimeMillis()
+                        );
                     }
 
                     final ClusterStateUpdateStats clusterStateUpdateStats = discoveryStats.getClusterStateUpdateStats();
@@ -917,6 +925,8 @@ public class NodeStatsTests extends ESTestCase {
                             randomNonNegativeLong(),
                             randomNonNegativeLong(),
                             randomNonNegativeLong(),
+                            randomNonNegativeLong(),
+                            randomNonNegativeLong(),
                             randomNonNegativeLong()
                         )
                     )
@@ -0,0 +1,197 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.action.bulk;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.action.support.replication.ReplicationOperation;
+import org.elasticsearch.action.support.replication.TransportReplicationAction;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.cluster.routing.ShardRoutingState;
+import org.elasticsearch.cluster.routing.TestShardRouting;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.tasks.TaskId;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ReplicaBulkRequestBatcherTests extends ESTestCase {
+
+    private static final ShardId SHARD_ID = new ShardId("index", "_na_", 0);
+    private static final ShardRouting REPLICA = TestShardRouting.newShardRouting(SHARD_ID, "node", false, ShardRoutingState.STARTED);
+
+    private static final TaskId CANCELLABLE_PARENT_TASK = new TaskId("node", 1);
+
+    private final List<SentRequest> sent = new ArrayList<>();
+
+    public void testDisabledSendsEveryRequest() {
+        final ReplicaBulkRequestBatcher batcher = newBatcher(Settings.EMPTY);
+        for (int i = 0; i < 10; i++) {
+            batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, i), 1, i, i, ActionListener.noop(), this::send);
+        }
+        assertThat(sent, hasSize(10));
+        assertTrue(batcher.isIdle());
+    }
+
+    public void testCoalescesRequestsWaitingForInFlightRequest() {
+        final ReplicaBulkRequestBatcher batcher = newBatcher(enabledWithOneInFlight());
+        final PlainActionFuture<ReplicationOperation.ReplicaResponse> first = new PlainActionFuture<>();
+        final PlainActionFuture<ReplicationOperation.ReplicaResponse> second = new PlainActionFuture<>();
+        final PlainActionFuture<ReplicationOperation.ReplicaResponse> third = new PlainActionFuture<>();
+        batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, 0), 1, 0, 0, first, this::send);
+        batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, 5), 1, 2, 5, second, this::send);
+        batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, 3, 4), 1, 1, 4, third, this::send);
+        assertThat(sent, hasSize(1));
+        assertThat(batcher.pendingRequests(REPLICA.allocationId().getId()), equalTo(2));
+
+        final ReplicationOperation.ReplicaResponse firstResponse = new TransportReplicationAction.ReplicaResponse(0, 0);
+        sent.get(0).listener().onResponse(firstResponse);
+        assertThat(first.actionGet(), sameInstance(firstResponse));
+        assertFalse(second.isDone());
+
+        assertThat(sent, hasSize(2));
+        final SentRequest coalesced = sent.get(1);
+        assertThat(seqNos(coalesced.request()), contains(3L, 4L, 5L));
+        assertThat(coalesced.primaryTerm(), equalTo(1L));
+        assertThat(coalesced.globalCheckpoint(), equalTo(2L));
+        assertThat(coalesced.maxSeqNoOfUpdatesOrDeletes(), equalTo(5L));
+
+        final ReplicationOperation.ReplicaResponse response = new TransportReplicationAction.ReplicaResponse(5, 2);
+        coalesced.listener().onResponse(response);
+        assertThat(second.actionGet(), sameInstance(response));
+        assertThat(third.actionGet(), sameInstance(response));
+        assertTrue(batcher.isIdle());
+    }
+
+    public void testFailureOfCoalescedRequestFailsAllRequests() {
+        final ReplicaBulkRequestBatcher batcher = newBatcher(enabledWithOneInFlight());
+        final List<PlainActionFuture<ReplicationOperation.ReplicaResponse>> futures = new ArrayList<>();
+        final int requests = between(2, 10);
+        for (int i = 0; i < requests; i++) {
+            final PlainActionFuture<ReplicationOperation.ReplicaResponse> future = new PlainActionFuture<>();
+            futures.add(future);
+            batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, i), 1, i, i, future, this::send);
+        }
+        sent.get(0).listener().onResponse(new TransportReplicationAction.ReplicaResponse(0, 0));
+        assertThat(sent, hasSize(2));
+        assertThat(sent.get(1).request().items().length, equalTo(requests - 1));
+        final IllegalStateException failure = new IllegalStateException("boom");
+        sent.get(1).listener().onFailure(failure);
+        for (PlainActionFuture<ReplicationOperation.ReplicaResponse> future : futures.subList(1, requests)) {
+            assertThat(expectThrows(IllegalStateException.class, future::actionGet), sameInstance(failure));
+        }
+        assertTrue(batcher.isIdle());
+    }
+
+    public void testDoesNotCoalesceAcrossPrimaryTerms() {
+        final ReplicaBulkRequestBatcher batcher = newBatcher(enabledWithOneInFlight());
+        batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, 0), 1, 0, 0, ActionListener.noop(), this::send);
+        batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, 1), 1, 0, 0, ActionListener.noop(), this::send);
+        batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, 2), 2, 0, 0, ActionListener.noop(), this::send);
+        sent.get(0).listener().onResponse(new TransportReplicationAction.ReplicaResponse(0, 0));
+        assertThat(sent, hasSize(2));
+        assertThat(seqNos(sent.get(1).request()), contains(1L));
+        sent.get(1).listener().onResponse(new TransportReplicationAction.ReplicaResponse(1, 0));
+        assertThat(sent, hasSize(3));
+        assertThat(seqNos(sent.get(2).request()), contains(2L));
+        assertThat(sent.get(2).primaryTerm(), equalTo(2L));
+        sent.get(2).listener().onResponse(new TransportReplicationAction.ReplicaResponse(2, 0));
+        assertTrue(batcher.isIdle());
+    }
+
+    public void testRequestsWithRefreshAreNotQueued() {
+        final ReplicaBulkRequestBatcher batcher = newBatcher(enabledWithOneInFlight());
+        batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, 0), 1, 0, 0, ActionListener.noop(), this::send);
+        final RefreshPolicy refreshPolicy = randomFrom(RefreshPolicy.IMMEDIATE, RefreshPolicy.WAIT_UNTIL);
+        batcher.performOn(REPLICA, bulkShardRequest(refreshPolicy, 1), 1, 0, 0, ActionListener.noop(), this::send);
+        assertThat(sent, hasSize(2));
+        assertThat(batcher.pendingRequests(REPLICA.allocationId().getId()), equalTo(0));
+    }
+
+    public void testRequestsWithCancellableParentAreNotQueued() {
+        final ReplicaBulkRequestBatcher batcher = newBatcher(enabledWithOneInFlight());
+        batcher.performOn(REPLICA, bulkShardRequest(RefreshPolicy.NONE, 0), 1, 0, 0, ActionListener.noop(), this::send);
+        final BulkShardRequest cancellable = bulkShardRequest(RefreshPolicy.NONE, 1);
+        cancellable.setParentTask(CANCELLABLE_PARENT_TASK);
+        batcher.performOn(REPLICA, cancellable, 1, 0, 0, ActionListener.noop(), this::send);
+        assertThat(sent, hasSize(2));
+        assertThat(sent.get(1).request(), sameInstance(cancellable));
+        assertThat(batcher.pendingRequests(REPLICA.allocationId().getId()), equalTo(0));
+
+        final BulkShardRequest notCancellable = bulkShardRequest(RefreshPolicy.NONE, 2);
+        notCancellable.setParentTask(new TaskId("node", 2));
+        batcher.performOn(REPLICA, notCancellable, 1, 0, 0, ActionListener.noop(), this::send);
+        assertThat(sent, hasSize(2));
+        assertThat(batcher.pendingRequests(REPLICA.allocationId().getId()), equalTo(1));
+    }
+
+    private void send(
+        ShardRouting replica,
+        BulkShardRequest request,
+        long primaryTerm,
+        long globalCheckpoint,
+        long maxSeqNoOfUpdatesOrDeletes,
+        ActionListener<ReplicationOperation.ReplicaResponse> listener
+    ) {
+        assertThat(replica, sameInstance(REPLICA));
+        sent.add(new SentRequest(request, primaryTerm, globalCheckpoint, maxSeqNoOfUpdatesOrDeletes, listener));
+    }
+
+    private static Settings enabledWithOneInFlight() {
+        return Settings.builder()
+            .put(ReplicaBulkRequestBatcher.ENABLED_SETTING.getKey(), true)
+            .put(ReplicaBulkRequestBatcher.MAX_IN_FLIGHT_SETTING.getKey(), 1)
+            .build();
+    }
+
+    private static ReplicaBulkRequestBatcher newBatcher(Settings settings) {
+        return new ReplicaBulkRequestBatcher(
+            settings,
+            new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
+            taskId -> taskId.equals(CANCELLABLE_PARENT_TASK)
+        );
+    }
+
+    private static BulkShardRequest bulkShardRequest(RefreshPolicy refreshPolicy, long... seqNos) {
+        final BulkItemRequest[] items = new BulkItemRequest[seqNos.length];
+        for (int i = 0; i < seqNos.length; i++) {
+            final String id = Long.toString(seqNos[i]);
+            items[i] = new BulkItemRequest(i, new IndexRequest("index").id(id).source("field", "value"));
+            items[i].setPrimaryResponse(
+                BulkItemResponse.success(i, DocWriteRequest.OpType.INDEX, new IndexResponse(SHARD_ID, id, seqNos[i], 1, 1, true))
+            );
+        }
+        return new BulkShardRequest(SHARD_ID, refreshPolicy, items);
+    }
+
+    private static List<Long> seqNos(BulkShardRequest request) {
+        return Arrays.stream(request.items()).map(item -> item.getPrimaryResponse().getResponse().getSeqNo()).toList();
+    }
+
+    private record SentRequest(
+        BulkShardRequest request,
+        long primaryTerm,
+        long globalCheckpoint,
+        long maxSeqNoOfUpdatesOrDeletes,
+        ActionListener<ReplicationOperation.ReplicaResponse> listener
+    ) {}
+}
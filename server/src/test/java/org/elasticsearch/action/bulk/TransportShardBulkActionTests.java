@@ -32,6 +32,7 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.IndexVersion;
+import org.elasticsearch.index.IndexingPressure;
 import org.elasticsearch.index.VersionType;
 import org.elasticsearch.index.bulk.stats.BulkStats;
 import org.elasticsearch.index.bulk.stats.ShardBulkStats;
@@ -53,7 +54,11 @@ import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.threadpool.ThreadPool.Names;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
@@ -66,6 +71,8 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -1105,6 +1112,76 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
         latch.await();
     }
 
+    public void testPresortTimeSeriesBulkItems() throws Exception {
+        boolean presort = randomBoolean();
+        Settings settings = indexSettings(IndexVersion.current(), 1, 0).put(IndexSettings.MODE.getKey(), "time_series")
+            .put(IndexMetadata.INDEX_ROUTING_PATH.getKey(), "dim")
+            .put(IndexSettings.TIME_SERIES_START_TIME.getKey(), "2000-01-01T00:00:00Z")
+            .put(IndexSettings.TIME_SERIES_END_TIME.getKey(), "2100-01-01T00:00:00Z")
+            .put(IndexSettings.TIME_SERIES_PRESORT_BULK_ITEMS_SETTING.getKey(), presort)
+            .build();
+        IndexMetadata metadata = IndexMetadata.builder("index").putMapping("""
+            { "properties": { "@timestamp": { "type": "date" }, "dim": { "type": "keyword", "time_series_dimension": true }}}""")
+            .settings(settings)
+            .primaryTerm(0, 1)
+            .build();
+        IndexShard shard = newShard(new ShardId(metadata.getIndex(), 0), true, "n1", metadata, null);
+        recoverShardFromStore(shard);
+
+        long startTime = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+        BulkItemRequest[] items = new BulkItemRequest[randomIntBetween(2, 20)];
+        for (int i = 0; i < items.length; i++) {
+            DocWriteRequest<IndexRequest> writeRequest = new IndexRequest("index").opType(DocWriteRequest.OpType.CREATE)
+                .source(Requests.INDEX_CONTENT_TYPE, "@timestamp", startTime + i * 1000L, "dim", randomFrom("a", "b", "c"));
+            items[i] = new BulkItemRequest(i, writeRequest);
+        }
+        BulkShardRequest bulkShardRequest = new BulkShardRequest(shard.shardId(), RefreshPolicy.NONE, items);
+
+        IndexingPressure indexingPressure = new IndexingPressure(Settings.EMPTY);
+        final CountDownLatch latch = new CountDownLatch(1);
+        TransportShardBulkAction.performOnPrimary(
+            bulkShardRequest,
+            shard,
+            null,
+            threadPool::absoluteTimeInMillis,
+            (update, shardId, listener) -> fail("no mapping update expected"),
+            listener -> listener.onFailure(new IllegalStateException("no failure expected")),
+            new LatchedActionListener<>(ActionTestUtils.assertNoFailureListener(result -> {
+                BulkItemRequest[] executed = result.replicaRequest().items();
+                Set<Object> completedDimensions = new HashSet<>();
+                for (int i = 0; i < executed.length; i++) {
+                    assertFalse(executed[i].getPrimaryResponse().isFailed());
+                    if (presort == false) {
+                        assertThat(executed[i].id(), equalTo(i));
+                    } else if (i > 0) {
+                        Map<String, Object> previous = ((IndexRequest) executed[i - 1].request()).sourceAsMap();
+                        Map<String, Object> current = ((IndexRequest) executed[i].request()).sourceAsMap();
+                        if (previous.get("dim").equals(current.get("dim"))) {
+                            // documents of the same time series are sorted by descending timestamp
+                            assertThat(executed[i].id(), lessThan(executed[i - 1].id()));
+                        } else {
+                            completedDimensions.add(previous.get("dim"));
+                            assertFalse(completedDimensions.contains(current.get("dim")));
+                        }
+                    }
+                }
+            }), latch),
+            threadPool,
+            Names.WRITE,
+            null,
+            null,
+            DocumentParsingProvider.EMPTY_INSTANCE,
+            indexingPressure
+        );
+
+        latch.await();
+        assertThat(getShardDocUIDs(shard), hasSize(items.length));
+        // the documents parsed ahead of their execution are accounted for until the request completed on the primary
+        assertThat(indexingPressure.stats().getTotalPrimaryBytes(), presort ? greaterThan(0L) : equalTo(0L));
+        assertThat(indexingPressure.stats().getCurrentPrimaryBytes(), equalTo(0L));
+        closeShards(shard);
+    }
+
     public void testNoopMappingUpdateInfiniteLoopPrevention() throws Exception {
         Engine.IndexResult mappingUpdate = new Engine.IndexResult(
             new Mapping(mock(RootObjectMapper.class), new MetadataFieldMapper[0], Collections.emptyMap()),
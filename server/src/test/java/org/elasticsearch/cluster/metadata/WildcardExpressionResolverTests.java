@@ -242,6 +242,42 @@ public class WildcardExpressionResolverTests extends ESTestCase {
         );
     }
 
+    public void testWildcardsWithLiteralPrefix() {
+        Metadata.Builder mdBuilder = Metadata.builder()
+            .put(indexBuilder("logs-a-prod"))
+            .put(indexBuilder("logs-a-dev"))
+            .put(indexBuilder("logs-b-prod"))
+            .put(indexBuilder("logs--prod"))
+            .put(indexBuilder("logs.c-prod"))
+            .put(indexBuilder("logr-prod"))
+            .put(indexBuilder("logs"));
+
+        ClusterState state = ClusterState.builder(new ClusterName("_name")).metadata(mdBuilder).build();
+
+        IndexNameExpressionResolver.Context context = new IndexNameExpressionResolver.Context(
+            state,
+            IndicesOptions.lenientExpandOpen(),
+            SystemIndexAccessLevel.NONE
+        );
+        assertThat(
+            newHashSet(IndexNameExpressionResolver.WildcardExpressionResolver.resolve(context, List.of("logs-*-prod"))),
+            equalTo(newHashSet("logs-a-prod", "logs-b-prod", "logs--prod"))
+        );
+        assertThat(
+            newHashSet(IndexNameExpressionResolver.WildcardExpressionResolver.resolve(context, List.of("logs*prod"))),
+            equalTo(newHashSet("logs-a-prod", "logs-b-prod", "logs--prod", "logs.c-prod"))
+        );
+        assertThat(
+            newHashSet(IndexNameExpressionResolver.WildcardExpressionResolver.resolve(context, List.of("logs*", "-logs-*-prod"))),
+            equalTo(newHashSet("logs", "logs-a-dev", "logs.c-prod"))
+        );
+        assertThat(
+            newHashSet(IndexNameExpressionResolver.WildcardExpressionResolver.resolve(context, List.of("l*-prod"))),
+            equalTo(newHashSet("logs-a-prod", "logs-b-prod", "logs--prod", "logs.c-prod", "logr-prod"))
+        );
+        assertThat(IndexNameExpressionResolver.WildcardExpressionResolver.resolve(context, List.of("logt-*-prod")).size(), equalTo(0));
+    }
+
     public void testAll() {
         Metadata.Builder mdBuilder = Metadata.builder()
             .put(indexBuilder("testXXX"))
@@ -22,6 +22,7 @@ import org.elasticsearch.cluster.node.DiscoveryNodes.Builder;
 import org.elasticsearch.cluster.routing.allocation.AllocationService;
 import org.elasticsearch.common.Randomness;
 import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.IndexNotFoundException;
@@ -29,6 +30,7 @@ import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.shard.ShardId;
 import org.junit.Before;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -503,6 +505,37 @@ public class RoutingTableTests extends ESAllocationTestCase {
         assertSame(originalTable, routingTableDiff.apply(originalTable));
     }
 
+    public void testRoutingNodesRoundtripSharesRoutingTable() {
+        final RoutingTable originalTable = clusterState.getRoutingTable();
+        assertSame(originalTable, RoutingTable.of(originalTable, clusterState.getRoutingNodes()));
+    }
+
+    public void testSharesRoutingOfUnchangedShards() throws IOException {
+        initPrimaries();
+        final RoutingTable previousTable = clusterState.routingTable();
+        final ShardRouting startedShard = randomFrom(shardsWithState(clusterState.getRoutingNodes(), INITIALIZING));
+        clusterState = startShardsAndReroute(ALLOCATION_SERVICE, clusterState, startedShard);
+
+        final BytesStreamOutput out = new BytesStreamOutput();
+        clusterState.routingTable().diff(previousTable).writeTo(out);
+        final RoutingTable receivedTable = RoutingTable.readDiffFrom(out.bytes().streamInput()).apply(previousTable);
+
+        for (RoutingTable table : List.of(clusterState.routingTable(), receivedTable)) {
+            for (IndexRoutingTable previousIndexRoutingTable : previousTable) {
+                final IndexRoutingTable indexRoutingTable = table.index(previousIndexRoutingTable.getIndex().getName());
+                for (int shardId = 0; shardId < previousIndexRoutingTable.size(); shardId++) {
+                    final IndexShardRoutingTable previousShardRoutingTable = previousIndexRoutingTable.shard(shardId);
+                    final IndexShardRoutingTable shardRoutingTable = indexRoutingTable.shard(shardId);
+                    if (previousShardRoutingTable.shardId().equals(startedShard.shardId())) {
+                        assertNotEquals(previousShardRoutingTable, shardRoutingTable);
+                    } else if (previousShardRoutingTable.equals(shardRoutingTable)) {
+                        assertSame(previousShardRoutingTable, shardRoutingTable);
+                    }
+                }
+            }
+        }
+    }
+
     /** reverse engineer the in sync aid based on the given indexRoutingTable **/
     public static IndexMetadata updateActiveAllocations(IndexRoutingTable indexRoutingTable, IndexMetadata indexMetadata) {
         IndexMetadata.Builder imdBuilder = IndexMetadata.builder(indexMetadata);
@@ -29,7 +29,9 @@ import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.ShardRoutingState;
 import org.elasticsearch.cluster.routing.allocation.AllocateUnassignedDecision;
 import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDecider;
 import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
+import org.elasticsearch.cluster.routing.allocation.decider.Decision;
 import org.elasticsearch.cluster.routing.allocation.decider.ThrottlingAllocationDecider;
 import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.settings.ClusterSettings;
@@ -45,6 +47,7 @@ import org.elasticsearch.test.gateway.TestGatewayAllocator;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -340,6 +343,51 @@ public class BalancedShardsAllocatorTests extends ESAllocationTestCase {
         }
     }
 
+    public void testDoNotConsultDecidersForBalancedIndices() {
+        var discoveryNodesBuilder = DiscoveryNodes.builder();
+        for (int node = 0; node < 3; node++) {
+            discoveryNodesBuilder.add(newNode("node-" + node));
+        }
+
+        var metadataBuilder = Metadata.builder();
+        var routingTableBuilder = RoutingTable.builder();
+        var balancedIndices = between(1, 10);
+        for (int i = 0; i < balancedIndices; i++) {
+            addIndex(metadataBuilder, routingTableBuilder, "balanced-" + i, Map.of("node-0", 1, "node-1", 1, "node-2", 1));
+        }
+        var unbalanced = randomBoolean();
+        if (unbalanced) {
+            addIndex(metadataBuilder, routingTableBuilder, "unbalanced", Map.of("node-0", 3));
+        }
+
+        var clusterState = ClusterState.builder(ClusterName.DEFAULT)
+            .nodes(discoveryNodesBuilder)
+            .metadata(metadataBuilder)
+            .routingTable(routingTableBuilder)
+            .build();
+
+        var indicesCheckedByDeciders = new HashSet<String>();
+        var allocation = new RoutingAllocation(
+            new AllocationDeciders(List.of(new AllocationDecider() {
+                @Override
+                public Decision canAllocate(IndexMetadata indexMetadata, RoutingNode node, RoutingAllocation allocation) {
+                    indicesCheckedByDeciders.add(indexMetadata.getIndex().getName());
+                    return Decision.YES;
+                }
+            })),
+            RoutingNodes.mutable(clusterState.routingTable(), clusterState.nodes()),
+            clusterState,
+            ClusterInfo.EMPTY,
+            SnapshotShardSizeInfo.EMPTY,
+            System.nanoTime()
+        );
+
+        new BalancedShardsAllocator(Settings.EMPTY).allocate(allocation);
+
+        assertThat(indicesCheckedByDeciders, equalTo(unbalanced ? Set.of("unbalanced") : Set.of()));
+        assertThat(RoutingNodesHelper.shardsWithState(allocation.routingNodes(), RELOCATING), hasSize(unbalanced ? 2 : 0));
+    }
+
     public void testGetIndexDiskUsageInBytes() {
         {
             final var indexDiskUsageInBytes = getIndexDiskUsageInBytes(
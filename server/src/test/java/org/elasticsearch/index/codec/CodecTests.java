@@ -24,6 +24,7 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.analysis.IndexAnalyzers;
+import org.elasticsearch.index.codec.zstd.Zstd814Codec;
 import org.elasticsearch.index.mapper.MapperRegistry;
 import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.index.similarity.SimilarityService;
@@ -56,6 +57,12 @@ public class CodecTests extends ESTestCase {
         assertStoredFieldsCompressionEquals(Lucene99Codec.Mode.BEST_COMPRESSION, codec);
     }
 
+    public void testZstd() throws Exception {
+        Codec codec = createCodecService().codec("zstd");
+        assertThat(codec, instanceOf(Zstd814Codec.class));
+        assertEquals(Zstd814Codec.NAME, codec.getName());
+    }
+
     // write some docs with it, inspect .si to see this was the used compression
     private void assertStoredFieldsCompressionEquals(Lucene99Codec.Mode expected, Codec actual) throws Exception {
         Directory dir = newDirectory();
@@ -8,6 +8,7 @@
 
 package org.elasticsearch.index.codec.tsdb;
 
+import org.apache.lucene.store.ByteBuffersDataOutput;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.IOContext;
 import org.apache.lucene.store.IndexInput;
@@ -191,6 +192,76 @@ public class ES87TSDBDocValuesEncoderTests extends LuceneTestCase {
         }
     }
 
+    public void testDecimalScaling() throws IOException {
+        long[] arr = new long[blockSize];
+        for (int i = 0; i < blockSize; ++i) {
+            arr[i] = NumericUtils.doubleToSortableLong(10 + (i % 4) * 0.25); // scaled to 1000, 1025, 1050 or 1075
+        }
+        final long expectedNumBytes = 3 // token + exponent
+            + 4 // token + GCD (1 byte) + min value (2 bytes)
+            + (blockSize * 2) / Byte.SIZE; // data
+        assertEquals(expectedNumBytes, doTestDecimalScaling(arr));
+    }
+
+    public void testDecimalScalingOfGauge() throws IOException {
+        long[] arr = new long[blockSize];
+        double value = 100;
+        for (int i = 0; i < blockSize; ++i) {
+            // two fractional digits, which doubles can't represent exactly
+            value = Math.round((value + random().nextGaussian()) * 100) / 100.0;
+            arr[i] = NumericUtils.doubleToSortableLong(value);
+        }
+        final long unscaledNumBytes = encodedNumBytes(arr.clone());
+        assertTrue(doTestDecimalScaling(arr) < unscaledNumBytes / 2);
+    }
+
+    public void testDecimalScalingIsNeverLarger() throws IOException {
+        final double[] specialValues = { Double.NaN, Double.POSITIVE_INFINITY, Double.MAX_VALUE, Double.MIN_VALUE };
+        long[] arr = new long[blockSize];
+        for (int iter = 0; iter < 100; ++iter) {
+            final int digits = random().nextInt(0, 18);
+            for (int i = 0; i < blockSize; ++i) {
+                final double value = switch (random().nextInt(5)) {
+                    case 0 -> Math.round(random().nextGaussian() * Math.pow(10, digits)) / Math.pow(10, digits);
+                    case 1 -> random().nextDouble();
+                    case 2 -> -0.0;
+                    case 3 -> specialValues[random().nextInt(specialValues.length)];
+                    default -> random().nextLong(-1000, 1000);
+                };
+                arr[i] = NumericUtils.doubleToSortableLong(value);
+            }
+            final long unscaledNumBytes = encodedNumBytes(arr.clone());
+            assertTrue(doTestDecimalScaling(arr) <= unscaledNumBytes);
+        }
+    }
+
+    private long encodedNumBytes(long[] arr) throws IOException {
+        ByteBuffersDataOutput out = new ByteBuffersDataOutput();
+        encoder.encode(arr, out);
+        return out.size();
+    }
+
+    private long doTestDecimalScaling(long[] arr) throws IOException {
+        final long[] expected = arr.clone();
+        final long numBytes;
+        try (Directory dir = newDirectory()) {
+            try (IndexOutput out = dir.createOutput("tests.bin", IOContext.DEFAULT)) {
+                encoder.encodeWithDecimalScaling(arr, out);
+                numBytes = out.getFilePointer();
+            }
+            try (IndexInput in = dir.openInput("tests.bin", IOContext.DEFAULT)) {
+                long[] decoded = new long[blockSize];
+                for (int i = 0; i < decoded.length; ++i) {
+                    decoded[i] = random().nextLong();
+                }
+                encoder.decode(in, decoded);
+                assertEquals(in.length(), in.getFilePointer());
+                assertArrayEquals(expected, decoded);
+            }
+        }
+        return numBytes;
+    }
+
     public void testEncodeOrdinalsSingleValueSmall() throws IOException {
         long[] arr = new long[blockSize];
         Arrays.fill(arr, 63);
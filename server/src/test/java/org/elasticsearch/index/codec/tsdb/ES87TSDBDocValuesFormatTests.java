@@ -11,13 +11,16 @@ package org.elasticsearch.index.codec.tsdb;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.codecs.Codec;
 import org.apache.lucene.document.Document;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.SortedSetDocValuesField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.analysis.MockAnalyzer;
@@ -27,6 +30,10 @@ import org.apache.lucene.tests.util.TestUtil;
 import org.apache.lucene.util.BytesRef;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
 
 public class ES87TSDBDocValuesFormatTests extends BaseDocValuesFormatTestCase {
 
@@ -116,4 +123,87 @@ public class ES87TSDBDocValuesFormatTests extends BaseDocValuesFormatTestCase {
         }
     }
 
+    public void testBulkReadDenseNumericValues() throws IOException {
+        final int numDocs = atLeast(1000);
+        final long[] expected = new long[numDocs];
+        try (Directory directory = newDirectory()) {
+            IndexWriterConfig conf = newIndexWriterConfig(new MockAnalyzer(random()));
+            conf.setMergePolicy(newLogMergePolicy());
+            try (RandomIndexWriter iwriter = new RandomIndexWriter(random(), directory, conf)) {
+                for (int i = 0; i < numDocs; i++) {
+                    expected[i] = random().nextBoolean() ? random().nextLong() : i * 10L;
+                    Document doc = new Document();
+                    doc.add(new NumericDocValuesField("field", expected[i]));
+                    iwriter.addDocument(doc);
+                }
+                iwriter.forceMerge(1);
+            }
+            try (IndexReader ireader = DirectoryReader.open(directory)) {
+                assert ireader.leaves().size() == 1;
+                NumericDocValues field = ireader.leaves().get(0).reader().getNumericDocValues("field");
+                assertTrue(field instanceof BulkNumericDocValues);
+                BulkNumericDocValues bulk = (BulkNumericDocValues) field;
+                int doc = 0;
+                while (doc < numDocs) {
+                    final int count = TestUtil.nextInt(random(), 1, Math.min(300, numDocs - doc));
+                    final int offset = random().nextInt(3);
+                    final long[] values = new long[offset + count];
+                    bulk.readValues(doc, count, values, offset);
+                    assertEquals(doc + count - 1, bulk.docID());
+                    assertArrayEquals(Arrays.copyOfRange(expected, doc, doc + count), Arrays.copyOfRange(values, offset, offset + count));
+                    doc += count + random().nextInt(200);
+                    if (doc < numDocs && random().nextBoolean()) {
+                        // single document reads and bulk reads can be interleaved
+                        assertTrue(bulk.advanceExact(doc));
+                        assertEquals(expected[doc], bulk.longValue());
+                    }
+                }
+            }
+        }
+    }
+
+    public void testSortedDocValuesLookupOrdInRandomOrder() throws IOException {
+        final int numTerms = atLeast(500);
+        final TreeSet<BytesRef> terms = new TreeSet<>();
+        while (terms.size() < numTerms) {
+            // long shared prefixes, like paths or container ids
+            terms.add(newBytesRef("/api/v" + random().nextInt(3) + "/resource/" + TestUtil.randomSimpleString(random(), 1, 20)));
+        }
+        try (Directory directory = newDirectory()) {
+            IndexWriterConfig conf = newIndexWriterConfig(new MockAnalyzer(random()));
+            conf.setMergePolicy(newLogMergePolicy());
+            try (RandomIndexWriter iwriter = new RandomIndexWriter(random(), directory, conf)) {
+                for (BytesRef term : terms) {
+                    Document doc = new Document();
+                    doc.add(new SortedDocValuesField("field", term));
+                    iwriter.addDocument(doc);
+                }
+                iwriter.forceMerge(1);
+            }
+            try (IndexReader ireader = maybeWrapWithMergingReader(DirectoryReader.open(directory))) {
+                assert ireader.leaves().size() == 1;
+                final List<BytesRef> sortedTerms = new ArrayList<>(terms);
+                SortedDocValues field = ireader.leaves().get(0).reader().getSortedDocValues("field");
+                assertEquals(numTerms, field.getValueCount());
+                for (int i = 0; i < numTerms * 2; i++) {
+                    final int ord = random().nextInt(numTerms);
+                    assertEquals(sortedTerms.get(ord), field.lookupOrd(ord));
+                    if (random().nextBoolean()) {
+                        assertEquals(ord, field.lookupTerm(sortedTerms.get(ord)));
+                    }
+                }
+                TermsEnum termsEnum = field.termsEnum();
+                termsEnum.seekExact(numTerms - 1);
+                for (int ord = numTerms - 1; ord >= 0; ord--) {
+                    termsEnum.seekExact(ord);
+                    assertEquals(sortedTerms.get(ord), termsEnum.term());
+                }
+                for (int ord = 1; ord < numTerms; ord++) {
+                    assertEquals(sortedTerms.get(ord), termsEnum.next());
+                }
+                assertNull(termsEnum.next());
+            }
+        }
+    }
+
 }
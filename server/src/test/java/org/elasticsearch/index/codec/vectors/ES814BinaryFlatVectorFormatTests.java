@@ -0,0 +1,86 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnFloatVectorQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.BaseKnnVectorsFormatTestCase;
+
+import java.io.IOException;
+
+public class ES814BinaryFlatVectorFormatTests extends BaseKnnVectorsFormatTestCase {
+    @Override
+    protected Codec getCodec() {
+        return new Lucene99Codec() {
+            @Override
+            public KnnVectorsFormat getKnnVectorsFormatForField(String field) {
+                return new ES814BinaryFlatVectorFormat();
+            }
+        };
+    }
+
+    public void testSearchWithVisitedLimit() {
+        assumeTrue("requires graph based vector codec", false);
+    }
+
+    public void testNearestNeighborIsRescored() throws IOException {
+        final int numDocs = atLeast(100);
+        final int dims = 32 + random().nextInt(100);
+        final VectorSimilarityFunction similarityFunction = VectorSimilarityFunction.values()[random().nextInt(
+            VectorSimilarityFunction.values().length
+        )];
+        final float[][] vectors = new float[numDocs][];
+        try (Directory dir = newDirectory(); IndexWriter w = new IndexWriter(dir, newIndexWriterConfig().setCodec(getCodec()))) {
+            for (int i = 0; i < numDocs; i++) {
+                vectors[i] = randomUnitVector(dims);
+                Document doc = new Document();
+                doc.add(new KnnFloatVectorField("field", vectors[i], similarityFunction));
+                doc.add(new StoredField("id", i));
+                w.addDocument(doc);
+            }
+            if (random().nextBoolean()) {
+                w.forceMerge(1);
+            }
+            try (IndexReader reader = DirectoryReader.open(w)) {
+                IndexSearcher searcher = newSearcher(reader);
+                final int target = random().nextInt(numDocs);
+                TopDocs topDocs = searcher.search(new KnnFloatVectorQuery("field", vectors[target], 1), 1);
+                assertEquals(1, topDocs.scoreDocs.length);
+                assertEquals(target, searcher.storedFields().document(topDocs.scoreDocs[0].doc).getField("id").numericValue().intValue());
+                // the score is the one of the float vectors, not of the quantized vectors
+                assertEquals(similarityFunction.compare(vectors[target], vectors[target]), topDocs.scoreDocs[0].score, 0f);
+            }
+        }
+    }
+
+    private static float[] randomUnitVector(int dims) {
+        final float[] vector = new float[dims];
+        double norm = 0;
+        for (int i = 0; i < dims; i++) {
+            vector[i] = random().nextFloat() * 2 - 1;
+            norm += vector[i] * vector[i];
+        }
+        for (int i = 0; i < dims; i++) {
+            vector[i] = (float) (vector[i] / Math.sqrt(norm));
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.FilterCodec;
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnFloatVectorQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopKnnCollector;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.BaseKnnVectorsFormatTestCase;
+import org.apache.lucene.tests.util.TestUtil;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ES814BinaryHnswVectorFormatTests extends BaseKnnVectorsFormatTestCase {
+    @Override
+    protected Codec getCodec() {
+        return new Lucene99Codec() {
+            @Override
+            public KnnVectorsFormat getKnnVectorsFormatForField(String field) {
+                return new ES814BinaryHnswVectorFormat();
+            }
+        };
+    }
+
+    public void testToString() {
+        FilterCodec customCodec = new FilterCodec("foo", Codec.getDefault()) {
+            @Override
+            public KnnVectorsFormat knnVectorsFormat() {
+                return new ES814BinaryHnswVectorFormat(10, 20);
+            }
+        };
+        String expectedString = "ES814BinaryHnswVectorFormat(name=ES814BinaryHnswVectorFormat, maxConn=10, beamWidth=20, "
+            + "flatVectorFormat=ES814LowBitFlatVectorsFormat(bits=1, confidenceInterval=null, "
+            + "rawVectorFormat=Lucene99FlatVectorsFormat()))";
+        assertEquals(expectedString, customCodec.knnVectorsFormat().toString());
+    }
+
+    public void testRescoredSearchCollectsIntoGivenCollector() throws IOException {
+        final int dims = TestUtil.nextInt(random(), 4, 64);
+        final int numDocs = TestUtil.nextInt(random(), 10, 200);
+        try (Directory dir = newDirectory(); IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig().setCodec(getCodec()))) {
+            for (int i = 0; i < numDocs; i++) {
+                Document doc = new Document();
+                doc.add(new KnnFloatVectorField("field", vector(dims), VectorSimilarityFunction.EUCLIDEAN));
+                writer.addDocument(doc);
+            }
+            writer.forceMerge(1);
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                LeafReader leafReader = getOnlyLeafReader(reader);
+                int k = TestUtil.nextInt(random(), 1, numDocs);
+                TopKnnCollector collector = new TopKnnCollector(k, Integer.MAX_VALUE);
+                leafReader.searchNearestVectors("field", vector(dims), collector, null);
+                assertTrue(collector.visitedCount() > 0);
+                ScoreDoc[] scoreDocs = collector.topDocs().scoreDocs;
+                assertEquals(k, scoreDocs.length);
+                for (int i = 1; i < scoreDocs.length; i++) {
+                    assertTrue(scoreDocs[i - 1].score >= scoreDocs[i].score);
+                }
+
+                // a collector whose visit limit is reached by the candidate search terminates early
+                TopKnnCollector limited = new TopKnnCollector(k, 1);
+                leafReader.searchNearestVectors("field", vector(dims), limited, null);
+                assertTrue(limited.earlyTerminated());
+            }
+        }
+    }
+
+    public void testRescoredSearchAcrossSegmentsKeepsRecall() throws IOException {
+        final int dims = TestUtil.nextInt(random(), 16, 64);
+        final int k = TestUtil.nextInt(random(), 5, 20);
+        final int numSegments = TestUtil.nextInt(random(), 3, 6);
+        // maximum inner product scores of these vectors are well above the [0, 1] range of the approximate binary scores
+        final VectorSimilarityFunction similarity = VectorSimilarityFunction.MAXIMUM_INNER_PRODUCT;
+        try (
+            Directory binaryDir = newDirectory();
+            Directory floatDir = newDirectory();
+            IndexWriter binaryWriter = new IndexWriter(
+                binaryDir,
+                newIndexWriterConfig().setCodec(getCodec()).setMergePolicy(NoMergePolicy.INSTANCE)
+            );
+            IndexWriter floatWriter = new IndexWriter(
+                floatDir,
+                newIndexWriterConfig().setCodec(new Lucene99Codec()).setMergePolicy(NoMergePolicy.INSTANCE)
+            )
+        ) {
+            for (int segment = 0; segment < numSegments; segment++) {
+                // segments of at most k vectors are searched exhaustively, so both indices should find the exact nearest neighbors
+                for (int i = 0; i < k; i++) {
+                    float[] vector = vector(dims);
+                    for (IndexWriter writer : new IndexWriter[] { binaryWriter, floatWriter }) {
+                        Document doc = new Document();
+                        doc.add(new KnnFloatVectorField("field", vector, similarity));
+                        writer.addDocument(doc);
+                    }
+                }
+                binaryWriter.flush();
+                floatWriter.flush();
+            }
+            try (
+                DirectoryReader binaryReader = DirectoryReader.open(binaryWriter);
+                DirectoryReader floatReader = DirectoryReader.open(floatWriter)
+            ) {
+                assertEquals(numSegments, binaryReader.leaves().size());
+                // searching several segments shares the minimum competitive similarity of the float scores between them
+                float[] query = vector(dims);
+                TopDocs binaryTopDocs = new IndexSearcher(binaryReader).search(new KnnFloatVectorQuery("field", query, k), k);
+                TopDocs floatTopDocs = new IndexSearcher(floatReader).search(new KnnFloatVectorQuery("field", query, k), k);
+                assertEquals(k, floatTopDocs.scoreDocs.length);
+                Set<Integer> expected = new HashSet<>();
+                for (ScoreDoc scoreDoc : floatTopDocs.scoreDocs) {
+                    expected.add(scoreDoc.doc);
+                }
+                int found = 0;
+                for (ScoreDoc scoreDoc : binaryTopDocs.scoreDocs) {
+                    if (expected.contains(scoreDoc.doc)) {
+                        found++;
+                    }
+                }
+                assertTrue("recall of " + found + " out of " + k, found >= 0.9 * k);
+            }
+        }
+    }
+
+    private static float[] vector(int dims) {
+        float[] vector = new float[dims];
+        for (int i = 0; i < dims; i++) {
+            vector[i] = random().nextFloat();
+        }
+        return vector;
+    }
+}
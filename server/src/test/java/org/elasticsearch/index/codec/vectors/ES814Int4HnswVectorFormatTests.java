@@ -0,0 +1,40 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.vectors;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.FilterCodec;
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.apache.lucene.tests.index.BaseKnnVectorsFormatTestCase;
+
+public class ES814Int4HnswVectorFormatTests extends BaseKnnVectorsFormatTestCase {
+    @Override
+    protected Codec getCodec() {
+        return new Lucene99Codec() {
+            @Override
+            public KnnVectorsFormat getKnnVectorsFormatForField(String field) {
+                return new ES814Int4HnswVectorFormat();
+            }
+        };
+    }
+
+    public void testToString() {
+        FilterCodec customCodec = new FilterCodec("foo", Codec.getDefault()) {
+            @Override
+            public KnnVectorsFormat knnVectorsFormat() {
+                return new ES814Int4HnswVectorFormat(10, 20, 0.9f);
+            }
+        };
+        String expectedString = "ES814Int4HnswVectorFormat(name=ES814Int4HnswVectorFormat, maxConn=10, beamWidth=20, "
+            + "flatVectorFormat=ES814LowBitFlatVectorsFormat(bits=4, confidenceInterval=0.9, "
+            + "rawVectorFormat=Lucene99FlatVectorsFormat()))";
+        assertEquals(expectedString, customCodec.knnVectorsFormat().toString());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.zstd;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.FilterCodec;
+import org.apache.lucene.codecs.StoredFieldsFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.apache.lucene.index.SegmentInfo;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.BaseStoredFieldsFormatTestCase;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tests the DEFLATE fallback of {@link Zstd814StoredFieldsFormat}, which is used when libzstd is not available.
+ */
+public class Zstd814DeflateStoredFieldsFormatTests extends BaseStoredFieldsFormatTestCase {
+
+    @Override
+    protected Codec getCodec() {
+        return new FilterCodec(Zstd814Codec.NAME, new Lucene99Codec()) {
+            private final StoredFieldsFormat storedFieldsFormat = new Zstd814StoredFieldsFormat(() -> null);
+
+            @Override
+            public StoredFieldsFormat storedFieldsFormat() {
+                return storedFieldsFormat;
+            }
+        };
+    }
+
+    public void testCompressesWithDeflate() throws IOException {
+        try (Directory directory = newDirectory()) {
+            final List<String> values = Zstd814StoredFieldsFormatTests.indexSingleSegment(directory, getCodec());
+            final SegmentInfo segment = SegmentInfos.readLatestCommit(directory).info(0).info;
+            assertEquals(ZstdDictionaryCompressor.Algorithm.DEFLATE, Zstd814StoredFieldsFormatTests.readAlgorithm(directory, segment));
+            Zstd814StoredFieldsFormatTests.assertStoredValues(directory, segment, new Zstd814StoredFieldsFormat(() -> null), values);
+        }
+    }
+}
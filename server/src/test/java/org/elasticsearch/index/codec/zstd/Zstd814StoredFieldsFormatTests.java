@@ -0,0 +1,135 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.zstd;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.codecs.StoredFieldsReader;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DocumentStoredFieldVisitor;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.FieldInfos;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.SegmentInfo;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.tests.index.BaseStoredFieldsFormatTestCase;
+import org.apache.lucene.tests.util.TestUtil;
+import org.elasticsearch.nativeaccess.NativeAccess;
+import org.junit.BeforeClass;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests {@link Zstd814StoredFieldsFormat} with libzstd, and is skipped where libzstd is not available.
+ */
+public class Zstd814StoredFieldsFormatTests extends BaseStoredFieldsFormatTestCase {
+
+    @BeforeClass
+    public static void assumeZstd() {
+        assumeTrue("requires libzstd on the library path", NativeAccess.instance().getZstd() != null);
+    }
+
+    @Override
+    protected Codec getCodec() {
+        return new Zstd814Codec();
+    }
+
+    public void testCompressesWithZstd() throws IOException {
+        try (Directory directory = newDirectory()) {
+            final List<String> values = indexSingleSegment(directory, getCodec());
+            final SegmentInfo segment = SegmentInfos.readLatestCommit(directory).info(0).info;
+            assertEquals(ZstdDictionaryCompressor.Algorithm.ZSTD, readAlgorithm(directory, segment));
+            assertStoredValues(directory, segment, new Zstd814StoredFieldsFormat(), values);
+        }
+    }
+
+    public void testJavaDecoderReadsNativeSegments() throws IOException {
+        try (Directory directory = newDirectory()) {
+            final List<String> values = indexSingleSegment(directory, getCodec());
+            final SegmentInfo segment = SegmentInfos.readLatestCommit(directory).info(0).info;
+            assertEquals(ZstdDictionaryCompressor.Algorithm.ZSTD, readAlgorithm(directory, segment));
+            assertStoredValues(directory, segment, new Zstd814StoredFieldsFormat(() -> null), values);
+        }
+    }
+
+    /**
+     * Indexes documents with a stored field into a single segment, with enough similar content to train a dictionary.
+     *
+     * @return the stored values, by doc id
+     */
+    static List<String> indexSingleSegment(Directory directory, Codec codec) throws IOException {
+        final String[] words = new String[50];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = TestUtil.randomSimpleString(random(), 2, 10);
+        }
+        final List<String> values = new ArrayList<>();
+        final IndexWriterConfig config = new IndexWriterConfig().setCodec(codec)
+            .setUseCompoundFile(false)
+            .setMergePolicy(NoMergePolicy.INSTANCE)
+            .setMaxBufferedDocs(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+            .setRAMBufferSizeMB(256);
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            final int numDocs = TestUtil.nextInt(random(), 1000, 3000);
+            for (int i = 0; i < numDocs; i++) {
+                final StringBuilder value = new StringBuilder("{\"id\":").append(i).append(",\"text\":\"");
+                final int numWords = TestUtil.nextInt(random(), 1, 20);
+                for (int j = 0; j < numWords; j++) {
+                    value.append(words[random().nextInt(words.length)]).append(' ');
+                }
+                values.add(value.append("\"}").toString());
+                final Document document = new Document();
+                document.add(new StoredField("source", values.get(i)));
+                writer.addDocument(document);
+            }
+            writer.commit();
+        }
+        return values;
+    }
+
+    /**
+     * Reads the stored values of a segment with the given format, which may decompress differently than the one that wrote it.
+     */
+    static void assertStoredValues(Directory directory, SegmentInfo segment, Zstd814StoredFieldsFormat format, List<String> values)
+        throws IOException {
+        final FieldInfos fieldInfos = segment.getCodec().fieldInfosFormat().read(directory, segment, "", IOContext.DEFAULT);
+        try (StoredFieldsReader reader = format.fieldsReader(directory, segment, fieldInfos, IOContext.DEFAULT)) {
+            for (int doc = 0; doc < values.size(); doc++) {
+                final DocumentStoredFieldVisitor visitor = new DocumentStoredFieldVisitor();
+                reader.document(doc, visitor);
+                assertEquals(values.get(doc), visitor.getDocument().get("source"));
+            }
+        }
+    }
+
+    /**
+     * Reads the algorithm that the stored fields of a segment are compressed with from its dictionary file.
+     */
+    static ZstdDictionaryCompressor.Algorithm readAlgorithm(Directory directory, SegmentInfo segment) throws IOException {
+        final String fileName = IndexFileNames.segmentFileName(segment.name, "", Zstd814StoredFieldsFormat.DICTIONARY_EXTENSION);
+        try (IndexInput in = directory.openInput(fileName, IOContext.READONCE)) {
+            CodecUtil.checkIndexHeader(
+                in,
+                Zstd814StoredFieldsFormat.DICTIONARY_CODEC_NAME,
+                Zstd814StoredFieldsFormat.VERSION_START,
+                Zstd814StoredFieldsFormat.VERSION_CURRENT,
+                segment.getId(),
+                ""
+            );
+            return ZstdDictionaryCompressor.Algorithm.readFrom(in);
+        }
+    }
+}
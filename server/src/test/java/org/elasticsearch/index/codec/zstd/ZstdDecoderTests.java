@@ -0,0 +1,126 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.zstd;
+
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Decompresses frames that libzstd compressed: {@code docs.ndjson} at levels 1 and 19, and at level 3 with the dictionary in
+ * {@code dictionary.binary}, which libzstd trained on similar documents.
+ */
+public class ZstdDecoderTests extends ESTestCase {
+
+    public void testDecompressesWithoutDictionary() throws IOException {
+        final byte[] expected = readResource("docs.ndjson");
+        assertDecompresses(new ZstdDecoder(null), readResource("docs-level1.binary"), expected);
+        assertDecompresses(new ZstdDecoder(null), readResource("docs-level19.binary"), expected);
+    }
+
+    public void testDecompressesWithDictionary() throws IOException {
+        final ZstdDecoder.Dictionary dictionary = new ZstdDecoder.Dictionary(readResource("dictionary.binary"));
+        assertDecompresses(new ZstdDecoder(dictionary), readResource("docs-dictionary-level3.binary"), readResource("docs.ndjson"));
+    }
+
+    public void testReusesDecoder() throws IOException {
+        final ZstdDecoder decoder = new ZstdDecoder(null);
+        final byte[] expected = readResource("docs.ndjson");
+        final byte[] level1 = readResource("docs-level1.binary");
+        final byte[] level19 = readResource("docs-level19.binary");
+        for (int i = 0; i < 5; i++) {
+            assertDecompresses(decoder, randomBoolean() ? level1 : level19, expected);
+        }
+    }
+
+    public void testDecompressesRleBlock() {
+        // 100,000 zeros, which libzstd compresses to a single RLE block
+        final byte[] compressed = HexFormat.of().parseHex("28b52ffda0a086010055000010000001009b8639c002");
+        final byte[] expected = new byte[100_000];
+        assertDecompresses(new ZstdDecoder(null), compressed, expected);
+    }
+
+    public void testDecompressesRawBlock() {
+        final byte[] content = randomByteArrayOfLength(between(256, 1000));
+        final byte[] compressed = new byte[4 + 1 + 2 + 3 + content.length];
+        // magic number, then a single segment frame with a two byte content size, which is stored minus 256
+        compressed[0] = (byte) 0x28;
+        compressed[1] = (byte) 0xB5;
+        compressed[2] = (byte) 0x2F;
+        compressed[3] = (byte) 0xFD;
+        compressed[4] = 0x60;
+        compressed[5] = (byte) (content.length - 256);
+        compressed[6] = (byte) ((content.length - 256) >> 8);
+        // last block, raw, followed by its content
+        final int blockHeader = 1 | (content.length << 3);
+        compressed[7] = (byte) blockHeader;
+        compressed[8] = (byte) (blockHeader >> 8);
+        compressed[9] = (byte) (blockHeader >> 16);
+        System.arraycopy(content, 0, compressed, 10, content.length);
+        assertDecompresses(new ZstdDecoder(null), compressed, content);
+    }
+
+    public void testRequiresDictionary() throws IOException {
+        final byte[] compressed = readResource("docs-dictionary-level3.binary");
+        final IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> new ZstdDecoder(null).decompress(compressed, 0, compressed.length, new byte[64 * 1024], 0, 64 * 1024)
+        );
+        assertThat(e.getMessage(), containsString("frame requires a dictionary"));
+    }
+
+    public void testRejectsTooSmallDestination() throws IOException {
+        final byte[] compressed = readResource("docs-level19.binary");
+        final int length = readResource("docs.ndjson").length - between(1, 1000);
+        final IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> new ZstdDecoder(null).decompress(compressed, 0, compressed.length, new byte[length], 0, length)
+        );
+        assertThat(e.getMessage(), containsString("destination is too small"));
+    }
+
+    public void testFailsOnCorruptInput() throws IOException {
+        final byte[] original = readResource(randomFrom("docs-level1.binary", "docs-level19.binary"));
+        final byte[] dst = new byte[64 * 1024];
+        final ZstdDecoder decoder = new ZstdDecoder(null);
+        for (int i = 0; i < 100; i++) {
+            final byte[] compressed = original.clone();
+            final int flips = between(1, 3);
+            for (int j = 0; j < flips; j++) {
+                compressed[randomInt(compressed.length - 1)] ^= (byte) (1 << randomInt(7));
+            }
+            final int length = randomBoolean() ? compressed.length : randomInt(compressed.length);
+            try {
+                // a corrupt frame may still decompress into some bytes, since content checksums are not verified
+                decoder.decompress(compressed, 0, length, dst, 0, dst.length);
+            } catch (IllegalArgumentException e) {
+                assertThat(e.getMessage(), containsString("corrupted zstd data"));
+            }
+        }
+    }
+
+    private static void assertDecompresses(ZstdDecoder decoder, byte[] compressed, byte[] expected) {
+        final int offset = between(0, 10);
+        final byte[] src = new byte[offset + compressed.length];
+        System.arraycopy(compressed, 0, src, offset, compressed.length);
+        final byte[] dst = new byte[offset + expected.length];
+        assertThat(decoder.decompress(src, offset, compressed.length, dst, offset, expected.length), equalTo(expected.length));
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, offset, dst.length));
+    }
+
+    private byte[] readResource(String name) throws IOException {
+        return Files.readAllBytes(getDataPath(name));
+    }
+}
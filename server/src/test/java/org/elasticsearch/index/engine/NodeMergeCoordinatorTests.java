@@ -0,0 +1,137 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.engine;
+
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class NodeMergeCoordinatorTests extends ESTestCase {
+
+    private static final ShardId SHARD_ID = new ShardId("index", "_na_", 0);
+
+    public void testLimitsConcurrentMerges() throws Exception {
+        final NodeMergeCoordinator coordinator = newCoordinator(oneConcurrentMerge());
+        final Releasable first = coordinator.acquire(SHARD_ID, 100, 0.0, () -> false);
+        assertThat(coordinator.runningMerges(), equalTo(1));
+
+        final AtomicBoolean secondAdmitted = new AtomicBoolean();
+        final Thread thread = new Thread(() -> {
+            try (Releasable ignored = coordinator.acquire(SHARD_ID, 50, 0.0, () -> false)) {
+                secondAdmitted.set(true);
+            }
+        });
+        thread.start();
+        assertBusy(() -> assertThat(coordinator.backlog(SHARD_ID), equalTo(new NodeMergeCoordinator.MergeBacklog(1, 50))));
+        assertFalse(secondAdmitted.get());
+
+        first.close();
+        thread.join();
+        assertTrue(secondAdmitted.get());
+        assertThat(coordinator.runningMerges(), equalTo(0));
+        assertThat(coordinator.backlog(SHARD_ID), equalTo(new NodeMergeCoordinator.MergeBacklog(0, 0)));
+    }
+
+    public void testAdmitsSmallestMergeFirst() throws Exception {
+        final NodeMergeCoordinator coordinator = newCoordinator(oneConcurrentMerge());
+        final List<Long> order = admissionOrder(coordinator, new long[] { 30, 10, 20 }, new double[] { 0.0, 0.0, 0.0 });
+        assertThat(order, contains(10L, 20L, 30L));
+    }
+
+    public void testAdmitsMergeWithMostDeletesFirst() throws Exception {
+        final NodeMergeCoordinator coordinator = newCoordinator(
+            oneConcurrentMerge().put("indices.merge.coordinator.priority", "most_deletes_first")
+        );
+        final List<Long> order = admissionOrder(coordinator, new long[] { 10, 20, 30 }, new double[] { 0.1, 0.5, 0.3 });
+        assertThat(order, contains(20L, 30L, 10L));
+    }
+
+    public void testAbortedMergeLeavesQueue() throws Exception {
+        final NodeMergeCoordinator coordinator = newCoordinator(oneConcurrentMerge());
+        final Releasable running = coordinator.acquire(SHARD_ID, 100, 0.0, () -> false);
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final Thread thread = new Thread(() -> coordinator.acquire(SHARD_ID, 50, 0.0, aborted::get).close());
+        thread.start();
+        assertBusy(() -> assertThat(coordinator.backlog(SHARD_ID).count(), equalTo(1L)));
+        aborted.set(true);
+        thread.join();
+        assertThat(coordinator.backlog(SHARD_ID).count(), equalTo(0L));
+        assertThat(coordinator.runningMerges(), equalTo(1));
+        running.close();
+        assertThat(coordinator.runningMerges(), equalTo(0));
+    }
+
+    public void testBacklogIsPerShard() throws Exception {
+        final NodeMergeCoordinator coordinator = newCoordinator(oneConcurrentMerge());
+        final ShardId otherShardId = new ShardId("other", "_na_", 0);
+        final Releasable running = coordinator.acquire(SHARD_ID, 100, 0.0, () -> false);
+        final Thread thread = new Thread(() -> coordinator.acquire(otherShardId, 70, 0.0, () -> false).close());
+        thread.start();
+        final NodeMergeCoordinator.MergeBacklog expected = new NodeMergeCoordinator.MergeBacklog(1, 70);
+        assertBusy(() -> assertThat(coordinator.backlog(otherShardId), equalTo(expected)));
+        assertThat(coordinator.backlog(SHARD_ID), equalTo(new NodeMergeCoordinator.MergeBacklog(0, 0)));
+        running.close();
+        thread.join();
+    }
+
+    public void testDynamicRateLimit() {
+        final ClusterSettings clusterSettings = new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        final NodeMergeCoordinator coordinator = new NodeMergeCoordinator(Settings.EMPTY, clusterSettings);
+        assertThat(coordinator.rateLimiter(), nullValue());
+        clusterSettings.applySettings(Settings.builder().put("indices.merge.coordinator.max_bytes_per_sec", "10mb").build());
+        assertThat(coordinator.rateLimiter(), notNullValue());
+        assertEquals(10.0, coordinator.rateLimiter().getMBPerSec(), 0.0);
+        clusterSettings.applySettings(Settings.builder().put("indices.merge.coordinator.max_bytes_per_sec", "0").build());
+        assertThat(coordinator.rateLimiter(), nullValue());
+    }
+
+    private static Settings.Builder oneConcurrentMerge() {
+        return Settings.builder().put("indices.merge.coordinator.max_concurrent_merges", 1);
+    }
+
+    private static NodeMergeCoordinator newCoordinator(Settings.Builder settings) {
+        final Settings nodeSettings = settings.build();
+        return new NodeMergeCoordinator(nodeSettings, new ClusterSettings(nodeSettings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
+    }
+
+    private static List<Long> admissionOrder(NodeMergeCoordinator coordinator, long[] sizes, double[] deletesRatios) throws Exception {
+        final List<Long> admitted = new CopyOnWriteArrayList<>();
+        final Releasable blocker = coordinator.acquire(SHARD_ID, Long.MAX_VALUE, 0.0, () -> false);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < sizes.length; i++) {
+            final long size = sizes[i];
+            final double deletesRatio = deletesRatios[i];
+            final Thread thread = new Thread(() -> {
+                try (Releasable ignored = coordinator.acquire(SHARD_ID, size, deletesRatio, () -> false)) {
+                    admitted.add(size);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        assertBusy(() -> assertThat(coordinator.backlog(SHARD_ID).count(), equalTo((long) sizes.length)));
+        blocker.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return admitted;
+    }
+}
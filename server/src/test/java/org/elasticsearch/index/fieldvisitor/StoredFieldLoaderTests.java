@@ -0,0 +1,77 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.fieldvisitor;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+
+public class StoredFieldLoaderTests extends ESTestCase {
+
+    public void testHasDenseDocs() {
+        assertFalse(StoredFieldLoader.hasDenseDocs(new int[0]));
+        assertTrue(StoredFieldLoader.hasDenseDocs(new int[] { 5 }));
+        assertTrue(StoredFieldLoader.hasDenseDocs(new int[] { 3, 4, 5, 6 }));
+        assertTrue(StoredFieldLoader.hasDenseDocs(new int[] { 0, 2, 4, 6 }));
+        assertFalse(StoredFieldLoader.hasDenseDocs(new int[] { 0, 2, 4, 9 }));
+        assertFalse(StoredFieldLoader.hasDenseDocs(new int[] { 0, 1, 3, 2 }));
+        assertFalse(StoredFieldLoader.hasDenseDocs(new int[] { 0, 1, 1, 2 }));
+        assertFalse(StoredFieldLoader.hasDenseDocs(new int[] { 0, Integer.MAX_VALUE }));
+    }
+
+    public void testLoadDenseDocs() throws IOException {
+        int numDocs = between(20, 2000);
+        try (Directory dir = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig())) {
+                for (int i = 0; i < numDocs; i++) {
+                    Document doc = new Document();
+                    doc.add(new StoredField("field", "value" + i));
+                    doc.add(new StoredField("other", i));
+                    writer.addDocument(doc);
+                }
+                writer.forceMerge(1);
+            }
+            try (
+                DirectoryReader reader = ElasticsearchDirectoryReader.wrap(
+                    DirectoryReader.open(dir),
+                    new ShardId("index", "_na_", 0)
+                )
+            ) {
+                LeafReaderContext ctx = reader.leaves().get(0);
+                // every other document, which is dense enough to use the sequential reader
+                List<Integer> docList = new ArrayList<>();
+                for (int doc = randomIntBetween(0, 1); doc < numDocs; doc += 2) {
+                    docList.add(doc);
+                }
+                int[] docs = docList.stream().mapToInt(Integer::intValue).toArray();
+                assertTrue(StoredFieldLoader.hasDenseDocs(docs));
+                LeafStoredFieldLoader loader = StoredFieldLoader.create(false, Set.of("field")).getLoader(ctx, docs);
+                for (int doc : docs) {
+                    loader.advanceTo(doc);
+                    assertThat(loader.storedFields().get("field"), contains("value" + doc));
+                    assertNull(loader.storedFields().get("other"));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.util.TestUtil;
+import org.apache.lucene.util.NumericUtils;
+import org.elasticsearch.index.codec.tsdb.BulkNumericDocValues;
+import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormat;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+public class BlockDocValuesReaderTests extends ESTestCase {
+
+    public void testBulkReadLongsMatchesDocByDocRead() throws IOException {
+        assertBulkReadMatchesDocByDocRead(new BlockDocValuesReader.LongsBlockLoader("field"));
+    }
+
+    public void testBulkReadDoublesMatchesDocByDocRead() throws IOException {
+        assertBulkReadMatchesDocByDocRead(new BlockDocValuesReader.DoublesBlockLoader("field", NumericUtils::sortableLongToDouble));
+    }
+
+    /**
+     * Reads every segment of an index that mixes dense and sparse segments once document by document, which never takes the bulk
+     * path, and once in pages of contiguous and of non-contiguous doc ids, which takes the bulk path for the dense segments.
+     */
+    private static void assertBulkReadMatchesDocByDocRead(BlockDocValuesReader.DocValuesBlockLoader loader) throws IOException {
+        try (Directory directory = newDirectory()) {
+            IndexWriterConfig config = new IndexWriterConfig().setCodec(TestUtil.alwaysDocValuesFormat(new ES87TSDBDocValuesFormat()))
+                .setMergePolicy(NoMergePolicy.INSTANCE);
+            try (IndexWriter writer = new IndexWriter(directory, config)) {
+                int numSegments = between(1, 4);
+                for (int s = 0; s < numSegments; s++) {
+                    boolean dense = randomBoolean();
+                    int numDocs = between(1, 3000);
+                    for (int i = 0; i < numDocs; i++) {
+                        Document doc = new Document();
+                        if (dense || randomBoolean()) {
+                            doc.add(new SortedNumericDocValuesField("field", randomBoolean() ? randomLong() : i));
+                        }
+                        writer.addDocument(doc);
+                    }
+                    writer.flush();
+                }
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                for (LeafReaderContext ctx : reader.leaves()) {
+                    int maxDoc = ctx.reader().maxDoc();
+                    List<Object> expected = new ArrayList<>(maxDoc);
+                    BlockLoader.ColumnAtATimeReader docByDocReader = loader.columnAtATimeReader(ctx);
+                    for (int doc = 0; doc < maxDoc; doc++) {
+                        expected.add(read(docByDocReader, new int[] { doc }).get(0));
+                    }
+                    if (expected.contains(null) == false) {
+                        assertThat(
+                            DocValues.unwrapSingleton(ctx.reader().getSortedNumericDocValues("field")),
+                            instanceOf(BulkNumericDocValues.class)
+                        );
+                    }
+
+                    List<Object> contiguous = new ArrayList<>(maxDoc);
+                    BlockLoader.ColumnAtATimeReader contiguousReader = loader.columnAtATimeReader(ctx);
+                    for (int from = 0; from < maxDoc;) {
+                        int count = Math.min(maxDoc - from, between(1, 1200));
+                        TestBlock block = read(contiguousReader, IntStream.range(from, from + count).toArray());
+                        for (int i = 0; i < count; i++) {
+                            contiguous.add(block.get(i));
+                        }
+                        from += count;
+                    }
+                    assertThat(contiguous, equalTo(expected));
+
+                    int[] sparseDocs = IntStream.range(0, maxDoc).filter(doc -> randomBoolean()).toArray();
+                    if (sparseDocs.length > 0) {
+                        TestBlock block = read(loader.columnAtATimeReader(ctx), sparseDocs);
+                        for (int i = 0; i < sparseDocs.length; i++) {
+                            assertThat(block.get(i), equalTo(expected.get(sparseDocs[i])));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static TestBlock read(BlockLoader.ColumnAtATimeReader reader, int[] docs) throws IOException {
+        TestBlock block = (TestBlock) reader.read(TestBlock.factory(docs.length), TestBlock.docs(docs));
+        assertThat(block.size(), equalTo(docs.length));
+        return block;
+    }
+}
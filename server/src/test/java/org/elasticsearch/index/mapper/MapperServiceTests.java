@@ -9,14 +9,17 @@
 package org.elasticsearch.index.mapper;
 
 import org.apache.lucene.index.IndexableField;
+import org.elasticsearch.TransportVersion;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.IndexVersions;
 import org.elasticsearch.index.mapper.MapperService.MergeReason;
+import org.elasticsearch.index.similarity.SimilarityService;
 import org.elasticsearch.indices.IndicesModule;
 import org.elasticsearch.test.index.IndexVersionUtils;
 import org.elasticsearch.xcontent.XContentBuilder;
@@ -33,6 +36,7 @@ import static org.elasticsearch.index.mapper.MapperService.INDEX_MAPPING_IGNORE_
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
@@ -63,6 +67,90 @@ public class MapperServiceTests extends MapperServiceTestCase {
         assertThat(oldLookup.fieldTypesLookup().get("cat"), nullValue());
     }
 
+    public void testSharesMappingLookupOfIdenticalMappings() throws IOException {
+        final MapperRegistry mapperRegistry = new IndicesModule(List.of()).getMapperRegistry();
+        final String mapping = """
+            {"_doc":{"properties":{"host":{"type":"keyword"},"bytes":{"type":"long"}}}}""";
+        final MapperService first = createMapperService(mapperRegistry, "index-1", Settings.EMPTY, mapping);
+        final MapperService second = createMapperService(mapperRegistry, "index-2", Settings.EMPTY, mapping);
+        assertSame(first.mappingLookup(), second.mappingLookup());
+        assertNotSame(first.documentMapper(), second.documentMapper());
+        assertEquals(first.documentMapper().mappingSource(), second.documentMapper().mappingSource());
+
+        final MapperService otherSettings = createMapperService(
+            mapperRegistry,
+            "index-3",
+            Settings.builder().put(FieldMapper.COERCE_SETTING.getKey(), false).build(),
+            mapping
+        );
+        assertNotSame(first.mappingLookup(), otherSettings.mappingLookup());
+
+        final MapperRegistry otherMapperRegistry = new IndicesModule(List.of()).getMapperRegistry();
+        final MapperService otherRegistry = createMapperService(otherMapperRegistry, "index-4", Settings.EMPTY, mapping);
+        assertNotSame(first.mappingLookup(), otherRegistry.mappingLookup());
+    }
+
+    public void testDoesNotShareMappingLookupWithIndexScopedAnalyzers() throws IOException {
+        final MapperRegistry mapperRegistry = new IndicesModule(List.of()).getMapperRegistry();
+        // text fields use the default analyzer of the index unless told otherwise
+        final String mapping = """
+            {"_doc":{"properties":{"message":{"type":"text"}}}}""";
+        final MapperService first = createMapperService(mapperRegistry, "index-1", Settings.EMPTY, mapping);
+        final MapperService second = createMapperService(mapperRegistry, "index-2", Settings.EMPTY, mapping);
+        assertNotSame(first.mappingLookup(), second.mappingLookup());
+        assertEquals(first.documentMapper().mappingSource(), second.documentMapper().mappingSource());
+    }
+
+    public void testDoesNotShareMappingLookupWithSimilarity() throws IOException {
+        final MapperRegistry mapperRegistry = new IndicesModule(List.of()).getMapperRegistry();
+        final String mapping = """
+            {"_doc":{"properties":{"host":{"type":"keyword","similarity":"boolean"}}}}""";
+        final MapperService first = createMapperService(mapperRegistry, "index-1", Settings.EMPTY, mapping);
+        final MapperService second = createMapperService(mapperRegistry, "index-2", Settings.EMPTY, mapping);
+        assertNotSame(first.mappingLookup(), second.mappingLookup());
+        assertNotNull(second.fieldType("host").getTextSearchInfo().similarity());
+    }
+
+    public void testMergeIntoSharedMappingLookup() throws IOException {
+        final MapperRegistry mapperRegistry = new IndicesModule(List.of()).getMapperRegistry();
+        final String mapping = """
+            {"_doc":{"properties":{"host":{"type":"keyword"}}}}""";
+        final MapperService first = createMapperService(mapperRegistry, "index-1", Settings.EMPTY, mapping);
+        final MapperService second = createMapperService(mapperRegistry, "index-2", Settings.EMPTY, mapping);
+        assertSame(first.mappingLookup(), second.mappingLookup());
+
+        final String update = """
+            {"_doc":{"properties":{"host":{"type":"keyword","ignore_above":256},"message":{"type":"text"}}}}""";
+        second.merge("_doc", new CompressedXContent(update), MergeReason.MAPPING_UPDATE);
+        assertThat(second.fieldType("message"), notNullValue());
+        assertThat(((KeywordFieldMapper.KeywordFieldType) second.fieldType("host")).ignoreAbove(), equalTo(256));
+        assertThat(first.fieldType("message"), nullValue());
+        assertThat(((KeywordFieldMapper.KeywordFieldType) first.fieldType("host")).ignoreAbove(), equalTo(Integer.MAX_VALUE));
+    }
+
+    private MapperService createMapperService(MapperRegistry mapperRegistry, String indexName, Settings settings, String mapping) {
+        final IndexMetadata indexMetadata = IndexMetadata.builder(indexName)
+            .settings(indexSettings(IndexVersion.current(), 1, 0).put(settings).put(IndexMetadata.SETTING_INDEX_UUID, randomUUID()))
+            .putMapping(mapping)
+            .build();
+        final IndexSettings indexSettings = new IndexSettings(indexMetadata, Settings.EMPTY);
+        final MapperService mapperService = new MapperService(
+            () -> TransportVersion.current(),
+            indexSettings,
+            createIndexAnalyzers(indexSettings),
+            parserConfig(),
+            new SimilarityService(indexSettings, null, Map.of()),
+            mapperRegistry,
+            () -> {
+                throw new UnsupportedOperationException();
+            },
+            indexSettings.getMode().buildIdFieldMapper(() -> true),
+            this::compileScript
+        );
+        mapperService.updateMapping(null, indexMetadata);
+        return mapperService;
+    }
+
     /**
      * Test that we can have at least the number of fields in new mappings that are defined by "index.mapping.total_fields.limit".
      * Any additional field should trigger an IllegalArgumentException.
@@ -548,6 +548,73 @@ public class DenseVectorFieldMapperTests extends MapperTestCase {
             e.getMessage(),
             containsString("Failed to parse mapping: [element_type] cannot be [byte] when using index type [int8_hnsw]")
         );
+        String quantizedIndexType = randomFrom("int4_hnsw", "int4_flat", "binary_hnsw", "binary_flat");
+        e = expectThrows(
+            MapperParsingException.class,
+            () -> createDocumentMapper(
+                fieldMapping(
+                    b -> b.field("type", "dense_vector")
+                        .field("dims", 3)
+                        .field("element_type", "byte")
+                        .field("similarity", "l2_norm")
+                        .field("index", true)
+                        .startObject("index_options")
+                        .field("type", quantizedIndexType)
+                        .endObject()
+                )
+            )
+        );
+        assertThat(
+            e.getMessage(),
+            containsString(
+                "Failed to parse mapping: [element_type] cannot be [byte] when using index type [" + quantizedIndexType + "]"
+            )
+        );
+        String int4IndexType = randomFrom("int4_hnsw", "int4_flat");
+        float invalidConfidenceInterval = randomBoolean()
+            ? (float) randomDoubleBetween(0.0, 0.89, true)
+            : (float) randomDoubleBetween(1.01, 10.0, true);
+        e = expectThrows(
+            MapperParsingException.class,
+            () -> createDocumentMapper(
+                fieldMapping(
+                    b -> b.field("type", "dense_vector")
+                        .field("dims", 3)
+                        .field("similarity", "l2_norm")
+                        .field("index", true)
+                        .startObject("index_options")
+                        .field("type", int4IndexType)
+                        .field("confidence_interval", invalidConfidenceInterval)
+                        .endObject()
+                )
+            )
+        );
+        assertThat(
+            e.getMessage(),
+            containsString(
+                "[confidence_interval] must be between 0.9 and 1.0 for field [field] but was [" + invalidConfidenceInterval + "]"
+            )
+        );
+        String binaryIndexType = randomFrom("binary_hnsw", "binary_flat");
+        e = expectThrows(
+            MapperParsingException.class,
+            () -> createDocumentMapper(
+                fieldMapping(
+                    b -> b.field("type", "dense_vector")
+                        .field("dims", 3)
+                        .field("similarity", "l2_norm")
+                        .field("index", true)
+                        .startObject("index_options")
+                        .field("type", binaryIndexType)
+                        .field("confidence_interval", 0.95)
+                        .endObject()
+                )
+            )
+        );
+        assertThat(
+            e.getMessage(),
+            containsString("[confidence_interval] cannot be set for field [field] when using index type [" + binaryIndexType + "]")
+        );
     }
 
     public void testInvalidParametersBeforeIndexedByDefault() {
@@ -1142,6 +1209,69 @@ public class DenseVectorFieldMapperTests extends MapperTestCase {
         assertEquals(expectedString, knnVectorsFormat.toString());
     }
 
+    public void testKnnInt4HNSWVectorsFormat() throws IOException {
+        final int m = randomIntBetween(1, DEFAULT_MAX_CONN + 10);
+        final int efConstruction = randomIntBetween(1, DEFAULT_BEAM_WIDTH + 10);
+        boolean setConfidenceInterval = randomBoolean();
+        float confidenceInterval = (float) randomDoubleBetween(0.90f, 1.0f, true);
+        MapperService mapperService = createMapperService(fieldMapping(b -> {
+            b.field("type", "dense_vector");
+            b.field("dims", 4);
+            b.field("index", true);
+            b.field("similarity", "dot_product");
+            b.startObject("index_options");
+            b.field("type", "int4_hnsw");
+            b.field("m", m);
+            b.field("ef_construction", efConstruction);
+            if (setConfidenceInterval) {
+                b.field("confidence_interval", confidenceInterval);
+            }
+            b.endObject();
+        }));
+        CodecService codecService = new CodecService(mapperService, BigArrays.NON_RECYCLING_INSTANCE);
+        Codec codec = codecService.codec("default");
+        assertThat(codec, instanceOf(PerFieldMapperCodec.class));
+        KnnVectorsFormat knnVectorsFormat = ((PerFieldMapperCodec) codec).getKnnVectorsFormatForField("field");
+        String expectedString = "ES814Int4HnswVectorFormat(name=ES814Int4HnswVectorFormat, maxConn="
+            + m
+            + ", beamWidth="
+            + efConstruction
+            + ", flatVectorFormat=ES814LowBitFlatVectorsFormat(bits=4, confidenceInterval="
+            + (setConfidenceInterval ? confidenceInterval : null)
+            + ", rawVectorFormat=Lucene99FlatVectorsFormat()"
+            + "))";
+        assertEquals(expectedString, knnVectorsFormat.toString());
+    }
+
+    public void testKnnBinaryVectorsFormat() throws IOException {
+        final boolean hnsw = randomBoolean();
+        MapperService mapperService = createMapperService(fieldMapping(b -> {
+            b.field("type", "dense_vector");
+            b.field("dims", 4);
+            b.field("index", true);
+            b.field("similarity", "l2_norm");
+            b.startObject("index_options");
+            b.field("type", hnsw ? "binary_hnsw" : "binary_flat");
+            b.endObject();
+        }));
+        CodecService codecService = new CodecService(mapperService, BigArrays.NON_RECYCLING_INSTANCE);
+        Codec codec = codecService.codec("default");
+        assertThat(codec, instanceOf(PerFieldMapperCodec.class));
+        KnnVectorsFormat knnVectorsFormat = ((PerFieldMapperCodec) codec).getKnnVectorsFormatForField("field");
+        String flatVectorFormat = "ES814LowBitFlatVectorsFormat(bits=1, confidenceInterval=null, "
+            + "rawVectorFormat=Lucene99FlatVectorsFormat())";
+        String expectedString = hnsw
+            ? "ES814BinaryHnswVectorFormat(name=ES814BinaryHnswVectorFormat, maxConn="
+                + DEFAULT_MAX_CONN
+                + ", beamWidth="
+                + DEFAULT_BEAM_WIDTH
+                + ", flatVectorFormat="
+                + flatVectorFormat
+                + ")"
+            : "ES814BinaryFlatVectorFormat(name=ES814BinaryFlatVectorFormat, format=" + flatVectorFormat + ")";
+        assertEquals(expectedString, knnVectorsFormat.toString());
+    }
+
     @Override
     protected IngestScriptSupport ingestScriptSupport() {
         throw new AssumptionViolatedException("not supported");
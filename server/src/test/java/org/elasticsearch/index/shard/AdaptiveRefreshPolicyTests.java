@@ -0,0 +1,79 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.shard;
+
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+public class AdaptiveRefreshPolicyTests extends ESTestCase {
+
+    private static final TimeValue MIN = TimeValue.timeValueSeconds(1);
+    private static final TimeValue MAX = TimeValue.timeValueSeconds(30);
+
+    public void testReadHeavyShardUsesMinInterval() {
+        final AdaptiveRefreshPolicy policy = new AdaptiveRefreshPolicy(0);
+        sampleEverySecond(policy, 10, 100, 10);
+        assertThat(policy.refreshInterval(MIN, MAX, 1), equalTo(MIN));
+        assertFalse(policy.shouldDeferRefresh(1000, MIN, MAX, 1));
+    }
+
+    public void testWriteHeavyShardWithoutSearchesUsesMaxInterval() {
+        final AdaptiveRefreshPolicy policy = new AdaptiveRefreshPolicy(0);
+        sampleEverySecond(policy, 10, 0, 1000);
+        assertThat(policy.refreshInterval(MIN, MAX, 1), equalTo(MAX));
+        assertTrue(policy.shouldDeferRefresh(MAX.millis() - 1, MIN, MAX, 1));
+        assertFalse(policy.shouldDeferRefresh(MAX.millis(), MIN, MAX, 1));
+    }
+
+    public void testWriteHeavyShardFollowsSearchArrivalRate() {
+        final AdaptiveRefreshPolicy policy = new AdaptiveRefreshPolicy(0);
+        // converge on 0.2 searches per second, one every 5 seconds
+        for (int i = 1; i <= 100; i++) {
+            policy.sample(i * 5000L, i, i * 5000L);
+        }
+        assertEquals(0.2, policy.searchRate(), 0.001);
+        assertEquals(1000.0, policy.indexingRate(), 0.001);
+        assertEquals(5000.0, policy.refreshInterval(MIN, MAX, 1).millis(), 1.0);
+    }
+
+    public void testManySegmentsStretchInterval() {
+        final AdaptiveRefreshPolicy policy = new AdaptiveRefreshPolicy(0);
+        for (int i = 1; i <= 100; i++) {
+            policy.sample(i * 5000L, i, i * 5000L);
+        }
+        final TimeValue few = policy.refreshInterval(MIN, MAX, AdaptiveRefreshPolicy.SEGMENT_COUNT_TARGET);
+        final TimeValue many = policy.refreshInterval(MIN, MAX, AdaptiveRefreshPolicy.SEGMENT_COUNT_TARGET * 2);
+        assertThat(many.millis(), greaterThan(few.millis()));
+        assertThat(policy.refreshInterval(MIN, MAX, AdaptiveRefreshPolicy.SEGMENT_COUNT_TARGET * 100), equalTo(MAX));
+    }
+
+    public void testRefreshResetsDeferral() {
+        final AdaptiveRefreshPolicy policy = new AdaptiveRefreshPolicy(0);
+        sampleEverySecond(policy, 10, 0, 1000);
+        policy.onRefresh(100_000);
+        assertTrue(policy.shouldDeferRefresh(100_000 + MIN.millis(), MIN, MAX, 1));
+        assertFalse(policy.shouldDeferRefresh(100_000 + MAX.millis(), MIN, MAX, 1));
+    }
+
+    public void testMaxIntervalBelowMinIntervalUsesMinInterval() {
+        final AdaptiveRefreshPolicy policy = new AdaptiveRefreshPolicy(0);
+        sampleEverySecond(policy, 10, 0, 1000);
+        final TimeValue min = TimeValue.timeValueSeconds(10);
+        assertThat(policy.refreshInterval(min, TimeValue.timeValueSeconds(5), 1), equalTo(min));
+    }
+
+    private static void sampleEverySecond(AdaptiveRefreshPolicy policy, int samples, long searchesPerSecond, long writesPerSecond) {
+        for (int i = 0; i <= samples; i++) {
+            policy.sample(i * 1000L, i * searchesPerSecond, i * writesPerSecond);
+        }
+    }
+}
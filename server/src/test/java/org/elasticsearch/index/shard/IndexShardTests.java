@@ -2281,6 +2281,37 @@ public class IndexShardTests extends IndexShardTestCase {
         closeShards(newShard);
     }
 
+    public void testRecoverFromStoreWithConcurrentTranslogReplay() throws IOException {
+        final Settings settings = Settings.builder()
+            .put(IndexSettings.INDEX_TRANSLOG_REPLAY_THREADS_SETTING.getKey(), between(2, 8))
+            .build();
+        final IndexShard shard = newStartedShard(true, settings);
+        final int numDocs = between(1, 50);
+        final Set<String> liveDocs = new HashSet<>();
+        final int totalOps = between(numDocs, 500);
+        for (int i = 0; i < totalOps; i++) {
+            final String id = Integer.toString(randomInt(numDocs - 1));
+            if (randomBoolean() && liveDocs.remove(id)) {
+                deleteDoc(shard, id);
+            } else {
+                indexDoc(shard, "_doc", id);
+                liveDocs.add(id);
+            }
+        }
+        IndexShard newShard = reinitShard(shard);
+        DiscoveryNode localNode = DiscoveryNodeUtils.builder("foo").roles(emptySet()).build();
+        newShard.markAsRecovering("store", new RecoveryState(newShard.routingEntry(), localNode, null));
+        assertTrue(recoverFromStore(newShard));
+        assertEquals(totalOps, newShard.recoveryState().getTranslog().recoveredOperations());
+        IndexShardTestCase.updateRoutingEntry(
+            newShard,
+            newShard.routingEntry().moveToStarted(ShardRouting.UNAVAILABLE_EXPECTED_SHARD_SIZE)
+        );
+        assertThat(newShard.getLocalCheckpoint(), equalTo(totalOps - 1L));
+        assertThat(getShardDocUIDs(newShard), equalTo(liveDocs));
+        closeShards(newShard);
+    }
+
     public void testRecoverFromStalePrimaryForceNewHistoryUUID() throws IOException {
         final IndexShard shard = newStartedShard(true);
         int totalOps = randomInt(10);
@@ -2912,6 +2943,64 @@ public class IndexShardTests extends IndexShardTestCase {
         closeShards(primary);
     }
 
+    public void testConcurrentTranslogRecoveryFailsWhenReplayFails() throws IOException {
+        final int replayThreads = between(2, 4);
+        Settings settings = indexSettings(IndexVersion.current(), 1, 1).put(
+            IndexSettings.INDEX_TRANSLOG_REPLAY_THREADS_SETTING.getKey(),
+            replayThreads
+        ).build();
+        IndexMetadata metadata = IndexMetadata.builder("test")
+            .putMapping("""
+                { "properties": { "foo":  { "type": "keyword"}}}""")
+            .settings(settings)
+            .primaryTerm(0, randomLongBetween(1, Long.MAX_VALUE))
+            .build();
+        IndexShard primary = newShard(new ShardId(metadata.getIndex(), 0), true, "n1", metadata, null);
+        // enough operations to fill the queues of all replaying threads
+        final int numOperations = between(replayThreads * 1024 + 1, replayThreads * 2048);
+        List<Translog.Operation> operations = new ArrayList<>(numOperations);
+        for (int i = 0; i < numOperations; i++) {
+            operations.add(
+                new Translog.Index(
+                    Integer.toString(i),
+                    i,
+                    primary.getPendingPrimaryTerm(),
+                    1,
+                    new BytesArray("{\"foo\" : \"bar\"}".getBytes(StandardCharsets.UTF_8)),
+                    null,
+                    -1
+                )
+            );
+        }
+        Translog.Snapshot snapshot = TestTranslog.newSnapshotFromOperations(operations);
+        primary.markAsRecovering(
+            "store",
+            new RecoveryState(primary.routingEntry(), getFakeDiscoNode(primary.routingEntry().currentNodeId()), null)
+        );
+        recoverFromStore(primary);
+
+        primary.state = IndexShardState.RECOVERING; // translog recovery on the next line would otherwise fail as we are in POST_RECOVERY
+        final int failAfterOperations = between(0, numOperations - 1);
+        final AtomicInteger recoveredOperations = new AtomicInteger();
+        final Runnable onOperationRecovered = () -> {
+            if (recoveredOperations.getAndIncrement() == failAfterOperations) {
+                throw new ElasticsearchException("simulated replay failure");
+            }
+        };
+        final RuntimeException e = expectThrows(
+            RuntimeException.class,
+            () -> primary.runTranslogRecovery(
+                primary.getEngine(),
+                snapshot,
+                Engine.Operation.Origin.LOCAL_TRANSLOG_RECOVERY,
+                onOperationRecovered
+            )
+        );
+        assertThat(e.getMessage(), equalTo("simulated replay failure"));
+
+        closeShards(primary);
+    }
+
     public void testShardActiveDuringInternalRecovery() throws IOException {
         boolean isPrimary = randomBoolean();
         IndexShard shard = newStartedShard(isPrimary);
@@ -3887,6 +3976,48 @@ public class IndexShardTests extends IndexShardTestCase {
         closeShards(primary);
     }
 
+    public void testScheduledRefreshWithAdaptiveRefresh() throws Exception {
+        Settings settings = indexSettings(IndexVersion.current(), 1, 1)
+            .put(IndexSettings.INDEX_REFRESH_INTERVAL_SETTING.getKey(), TimeValue.timeValueMillis(1))
+            .put(IndexSettings.INDEX_REFRESH_ADAPTIVE_ENABLED_SETTING.getKey(), true)
+            .put(IndexSettings.INDEX_REFRESH_ADAPTIVE_MAX_INTERVAL_SETTING.getKey(), TimeValue.timeValueHours(1))
+            .build();
+        IndexMetadata metadata = IndexMetadata.builder("test").putMapping("""
+            { "properties": { "foo":  { "type": "text"}}}""").settings(settings).primaryTerm(0, 1).build();
+        IndexShard primary = newShard(new ShardId(metadata.getIndex(), 0), true, "n1", metadata, null);
+        recoverShardFromStore(primary);
+
+        // The first scheduled refresh only records the search and indexing counts the rates are derived from:
+        PlainActionFuture<Boolean> future = new PlainActionFuture<>();
+        primary.scheduledRefresh(future);
+        future.actionGet();
+        long sampleTime = primary.getThreadPool().relativeTimeInMillis();
+        indexDoc(primary, "_doc", "0", "{\"foo\" : \"bar\"}");
+        indexDoc(primary, "_doc", "1", "{\"foo\" : \"bar\"}");
+        // wait until the thread-pool has moved the timestamp otherwise no rate can be derived from the next sample
+        assertBusy(() -> assertThat(primary.getThreadPool().relativeTimeInMillis(), greaterThan(sampleTime)));
+
+        // The shard is written to but never searched so the refresh is deferred up to the adaptive max interval:
+        long refreshesBefore = primary.refreshStats().getTotal();
+        PlainActionFuture<Boolean> future2 = new PlainActionFuture<>();
+        primary.scheduledRefresh(future2);
+        assertFalse(future2.actionGet());
+        assertTrue(primary.getEngine().refreshNeeded());
+        assertEquals(refreshesBefore, primary.refreshStats().getTotal());
+
+        // Once adaptive refresh is disabled the scheduled refresh makes the documents visible again:
+        IndexScopedSettings scopedSettings = primary.indexSettings().getScopedSettings();
+        settings = Settings.builder().put(settings).put(IndexSettings.INDEX_REFRESH_ADAPTIVE_ENABLED_SETTING.getKey(), false).build();
+        scopedSettings.applySettings(settings);
+        PlainActionFuture<Boolean> future3 = new PlainActionFuture<>();
+        primary.scheduledRefresh(future3);
+        assertTrue(future3.actionGet());
+        try (Engine.Searcher searcher = primary.acquireSearcher("test")) {
+            assertEquals(2, searcher.getIndexReader().numDocs());
+        }
+        closeShards(primary);
+    }
+
     public void testRefreshIsNeededWithRefreshListeners() throws IOException, InterruptedException {
         Settings settings = indexSettings(IndexVersion.current(), 1, 1).build();
         IndexMetadata metadata = IndexMetadata.builder("test").putMapping("""
@@ -4743,7 +4874,8 @@ public class IndexShardTests extends IndexShardTestCase {
                 config.getLeafSorter(),
                 config.getRelativeTimeInNanosSupplier(),
                 config.getIndexCommitListener(),
-                config.isPromotableToPrimary()
+                config.isPromotableToPrimary(),
+                config.getNodeMergeCoordinator()
             );
             return new InternalEngine(configWithWarmer);
         });
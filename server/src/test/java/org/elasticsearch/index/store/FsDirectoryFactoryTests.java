@@ -9,7 +9,10 @@ package org.elasticsearch.index.store;
 
 import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FilterDirectory;
 import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.IndexOutput;
 import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.store.NIOFSDirectory;
 import org.apache.lucene.store.NoLockFactory;
@@ -65,6 +68,50 @@ public class FsDirectoryFactoryTests extends ESTestCase {
         }
     }
 
+    public void testPrefetch() throws IOException {
+        Settings build = Settings.builder()
+            .put(IndexModule.INDEX_STORE_TYPE_SETTING.getKey(), randomFrom("mmapfs", "hybridfs"))
+            .putList(IndexModule.INDEX_STORE_PREFETCH_SETTING.getKey(), "vex", "veq")
+            .build();
+        try (Directory directory = newDirectory(build)) {
+            assertThat(directory, Matchers.instanceOf(FsDirectoryFactory.PrefetchDirectory.class));
+            FsDirectoryFactory.PrefetchDirectory prefetchDirectory = (FsDirectoryFactory.PrefetchDirectory) directory;
+            assertTrue(prefetchDirectory.usePrefetch("foo.vex", newIOContext(random())));
+            assertTrue(prefetchDirectory.usePrefetch("foo.veq", newIOContext(random())));
+            assertFalse(prefetchDirectory.usePrefetch("foo.vec", newIOContext(random())));
+            assertFalse(prefetchDirectory.usePrefetch("foo.vex", Store.READONCE_CHECKSUM));
+            // only the first bytes of large files are advised
+            long maxBytes = IndexModule.INDEX_STORE_PREFETCH_MAX_BYTES_SETTING.getDefault(Settings.EMPTY).getBytes();
+            assertEquals(maxBytes, prefetchDirectory.prefetchLength(maxBytes + randomLongBetween(1, Long.MAX_VALUE - maxBytes)));
+            long smallFileLength = randomLongBetween(0, maxBytes);
+            assertEquals(smallFileLength, prefetchDirectory.prefetchLength(smallFileLength));
+
+            // prefetching is only an advice and must not change what is read
+            try (IndexOutput output = directory.createOutput("foo.vex", IOContext.DEFAULT)) {
+                output.writeLong(42L);
+            }
+            try (IndexInput input = directory.openInput("foo.vex", IOContext.DEFAULT)) {
+                assertEquals(42L, input.readLong());
+            }
+        }
+
+        Settings noPrefetch = Settings.builder()
+            .put(IndexModule.INDEX_STORE_TYPE_SETTING.getKey(), randomFrom("mmapfs", "hybridfs", "niofs"))
+            .build();
+        try (Directory directory = newDirectory(noPrefetch)) {
+            assertThat(directory, Matchers.not(Matchers.instanceOf(FilterDirectory.class)));
+        }
+
+        Settings noPrefetchedBytes = Settings.builder()
+            .put(IndexModule.INDEX_STORE_TYPE_SETTING.getKey(), randomFrom("mmapfs", "hybridfs"))
+            .putList(IndexModule.INDEX_STORE_PREFETCH_SETTING.getKey(), "vex")
+            .put(IndexModule.INDEX_STORE_PREFETCH_MAX_BYTES_SETTING.getKey(), "0b")
+            .build();
+        try (Directory directory = newDirectory(noPrefetchedBytes)) {
+            assertThat(directory, Matchers.not(Matchers.instanceOf(FilterDirectory.class)));
+        }
+    }
+
     private Directory newDirectory(Settings settings) throws IOException {
         IndexSettings idxSettings = IndexSettingsModule.newIndexSettings("foo", settings);
         Path tempDir = createTempDir().resolve(idxSettings.getUUID()).resolve("0");
@@ -26,7 +26,8 @@ public class TranslogHeaderTests extends ESTestCase {
 
     public void testCurrentHeaderVersion() throws Exception {
         final String translogUUID = UUIDs.randomBase64UUID();
-        final TranslogHeader outHeader = new TranslogHeader(translogUUID, randomNonNegativeLong());
+        final boolean compressOperations = randomBoolean();
+        final TranslogHeader outHeader = new TranslogHeader(translogUUID, randomNonNegativeLong(), compressOperations);
         final long generation = randomNonNegativeLong();
         final Path translogFile = createTempDir().resolve(Translog.getFilename(generation));
         try (FileChannel channel = FileChannel.open(translogFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
@@ -37,6 +38,7 @@ public class TranslogHeaderTests extends ESTestCase {
             final TranslogHeader inHeader = TranslogHeader.read(translogUUID, translogFile, channel);
             assertThat(inHeader.getTranslogUUID(), equalTo(translogUUID));
             assertThat(inHeader.getPrimaryTerm(), equalTo(outHeader.getPrimaryTerm()));
+            assertThat(inHeader.compressesOperations(), equalTo(compressOperations));
             assertThat(inHeader.sizeInBytes(), equalTo((int) channel.position()));
         }
         final TranslogCorruptedException mismatchUUID = expectThrows(TranslogCorruptedException.class, () -> {
@@ -137,6 +137,7 @@ import static org.hamcrest.Matchers.hasToString;
 import static org.hamcrest.Matchers.in;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
@@ -420,6 +421,84 @@ public class TranslogTests extends ESTestCase {
         }
     }
 
+    public void testCompressedOperations() throws IOException {
+        final Settings settings = Settings.builder()
+            .put(IndexMetadata.SETTING_VERSION_CREATED, IndexVersion.current())
+            .put(IndexSettings.INDEX_TRANSLOG_COMPRESSION_SETTING.getKey(), true)
+            .build();
+        final Path path = createTempDir();
+        try (Translog compressedTranslog = createTranslog(getTranslogConfig(path, settings))) {
+            assertTrue(compressedTranslog.getCurrent().compressesOperations());
+            final List<Translog.Operation> ops = new ArrayList<>();
+            final List<Translog.Location> locations = new ArrayList<>();
+            final String repetitiveSource = "{\"message\":\"" + randomAlphaOfLength(10).repeat(between(50, 100)) + "\"}";
+            final Translog.Index compressible = TranslogOperationsUtils.indexOp("1", 0, primaryTerm.get(), repetitiveSource);
+            ops.add(compressible);
+            locations.add(compressedTranslog.add(compressible));
+            ops.add(new Translog.Delete("2", 1, primaryTerm.get()));
+            locations.add(compressedTranslog.add(ops.get(1)));
+            ops.add(TranslogOperationsUtils.indexOp("3", 2, primaryTerm.get(), randomUnicodeOfLengthBetween(500, 1000)));
+            locations.add(compressedTranslog.add(ops.get(2)));
+
+            try (BytesStreamOutput out = new BytesStreamOutput()) {
+                Translog.writeOperationWithSize(out, compressible);
+                assertThat(locations.get(0).size(), lessThan(out.size()));
+            }
+            for (int i = 0; i < ops.size(); i++) {
+                assertEquals(ops.get(i), compressedTranslog.readOperation(locations.get(i)));
+            }
+            compressedTranslog.rollGeneration();
+            try (Translog.Snapshot snapshot = compressedTranslog.newSnapshot()) {
+                assertThat(snapshot, SnapshotMatchers.equalsTo(ops));
+            }
+        }
+    }
+
+    public void testCompressedOperationFormat() throws IOException {
+        final Translog.Operation operation = randomFrom(
+            TranslogOperationsUtils.indexOp("1", 0, primaryTerm.get(), randomAlphaOfLength(between(0, 1024))),
+            TranslogOperationsUtils.indexOp("1", 0, primaryTerm.get(), "a".repeat(between(0, 1024))),
+            new Translog.Delete("2", 1, primaryTerm.get()),
+            new Translog.NoOp(2, primaryTerm.get(), randomAlphaOfLength(16))
+        );
+        try (BytesStreamOutput uncompressed = new BytesStreamOutput(); BytesStreamOutput compressed = new BytesStreamOutput()) {
+            Translog.writeOperationWithSize(uncompressed, operation);
+            Translog.writeCompressedOperationWithSize(compressed, uncompressed.bytes());
+            assertThat(compressed.bytes().getInt(0), equalTo(compressed.size() - Integer.BYTES));
+            assertThat(compressed.size(), lessThanOrEqualTo(uncompressed.size() + 1));
+            final BufferedChecksumStreamInput in = new BufferedChecksumStreamInput(compressed.bytes().streamInput(), "test");
+            assertEquals(operation, Translog.readOperation(in, true));
+
+            // the codec is covered by the checksum
+            final byte[] corruptedCodec = BytesReference.toBytes(compressed.bytes());
+            corruptedCodec[Integer.BYTES] = (byte) between(Translog.OPERATION_LZ4 + 1, Byte.MAX_VALUE);
+            final TranslogCorruptedException e = expectThrows(
+                TranslogCorruptedException.class,
+                () -> Translog.readOperation(new BufferedChecksumStreamInput(new BytesArray(corruptedCodec).streamInput(), "test"), true)
+            );
+            assertThat(e.getMessage(), containsString("checksum"));
+        }
+    }
+
+    public void testCompressedOperationWithInvalidLength() throws IOException {
+        final BytesStreamOutput payload = new BytesStreamOutput();
+        final BufferedChecksumStreamOutput checksumOut = new BufferedChecksumStreamOutput(payload);
+        checksumOut.writeByte(Translog.OPERATION_LZ4);
+        // an uncompressed length that LZ4 can not produce from the compressed bytes must be rejected before it is allocated
+        checksumOut.writeVInt(between(Translog.MAX_LZ4_COMPRESSION_RATIO + 1, Integer.MAX_VALUE));
+        checksumOut.writeVInt(1);
+        checksumOut.writeByte((byte) 0);
+        checksumOut.writeInt((int) checksumOut.getChecksum());
+        final BytesStreamOutput operation = new BytesStreamOutput();
+        operation.writeInt(payload.size());
+        payload.bytes().writeTo(operation);
+        final TranslogCorruptedException e = expectThrows(
+            TranslogCorruptedException.class,
+            () -> Translog.readOperation(new BufferedChecksumStreamInput(operation.bytes().streamInput(), "test"), true)
+        );
+        assertThat(e.getMessage(), containsString("invalid compressed operation lengths"));
+    }
+
     protected TranslogStats stats() throws IOException {
         // force flushing and updating of stats
         translog.sync();
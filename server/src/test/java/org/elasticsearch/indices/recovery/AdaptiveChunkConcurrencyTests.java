@@ -0,0 +1,119 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.indices.recovery;
+
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.containsString;
+
+public class AdaptiveChunkConcurrencyTests extends ESTestCase {
+
+    private static final int CHUNK_SIZE = 512 * 1024;
+
+    public void testStartsAtMinimum() {
+        final int min = between(1, 8);
+        final AdaptiveChunkConcurrency concurrency = new AdaptiveChunkConcurrency(CHUNK_SIZE, min, between(min, 32));
+        assertEquals(min, concurrency.concurrentChunks());
+    }
+
+    public void testGrowsWithoutQueueingUpToMaximum() {
+        final int min = between(1, 8);
+        final int max = between(min, 32);
+        final AdaptiveChunkConcurrency concurrency = new AdaptiveChunkConcurrency(CHUNK_SIZE, min, max);
+        final long roundTripNanos = randomLongBetween(1, 1_000_000_000L);
+        for (int window = min; window < max; window++) {
+            for (int i = 0; i < window; i++) {
+                assertEquals(window, concurrency.concurrentChunks());
+                concurrency.onChunkAcknowledged(roundTripNanos, CHUNK_SIZE);
+            }
+        }
+        assertEquals(max, concurrency.concurrentChunks());
+        final int acknowledgements = between(1, 100);
+        for (int i = 0; i < acknowledgements; i++) {
+            concurrency.onChunkAcknowledged(roundTripNanos, CHUNK_SIZE);
+        }
+        assertEquals(max, concurrency.concurrentChunks());
+    }
+
+    public void testShrinksOnQueueingDownToMinimum() {
+        final int min = between(1, 4);
+        final int max = between(16, 32);
+        final AdaptiveChunkConcurrency concurrency = new AdaptiveChunkConcurrency(CHUNK_SIZE, min, max);
+        final long roundTripNanos = randomLongBetween(1, 1_000_000);
+        while (concurrency.concurrentChunks() < max) {
+            concurrency.onChunkAcknowledged(roundTripNanos, CHUNK_SIZE);
+        }
+        concurrency.onChunkAcknowledged(roundTripNanos * AdaptiveChunkConcurrency.QUEUEING_FACTOR + 1, CHUNK_SIZE);
+        assertEquals(Math.max(min, max / 2), concurrency.concurrentChunks());
+        for (int i = 0; i < 10; i++) {
+            concurrency.onChunkAcknowledged(roundTripNanos * AdaptiveChunkConcurrency.QUEUEING_FACTOR + 1, CHUNK_SIZE);
+        }
+        assertEquals(min, concurrency.concurrentChunks());
+    }
+
+    public void testIgnoresSmallerChunks() {
+        final int min = between(1, 4);
+        final int max = between(16, 32);
+        final AdaptiveChunkConcurrency concurrency = new AdaptiveChunkConcurrency(CHUNK_SIZE, min, max);
+        final long roundTripNanos = randomLongBetween(1_000, 1_000_000);
+        // the smallest files are sent first and are acknowledged much faster than full chunks
+        final int smallChunks = between(1, 100);
+        for (int i = 0; i < smallChunks; i++) {
+            concurrency.onChunkAcknowledged(randomLongBetween(1, roundTripNanos / 10), between(1, CHUNK_SIZE - 1));
+        }
+        assertEquals(min, concurrency.concurrentChunks());
+        while (concurrency.concurrentChunks() < max) {
+            concurrency.onChunkAcknowledged(roundTripNanos, CHUNK_SIZE);
+            // the last chunk of a file may be slow without showing that requests are queueing
+            if (randomBoolean()) {
+                concurrency.onChunkAcknowledged(roundTripNanos * AdaptiveChunkConcurrency.QUEUEING_FACTOR * 10, between(1, CHUNK_SIZE - 1));
+            }
+        }
+        assertEquals(max, concurrency.concurrentChunks());
+    }
+
+    public void testForgetsLowestRoundTripTime() {
+        final int min = between(1, 4);
+        final int max = between(16, 32);
+        final AdaptiveChunkConcurrency concurrency = new AdaptiveChunkConcurrency(CHUNK_SIZE, min, max);
+        final long roundTripNanos = randomLongBetween(1, 1_000_000);
+        while (concurrency.concurrentChunks() < max) {
+            concurrency.onChunkAcknowledged(roundTripNanos, CHUNK_SIZE);
+        }
+        // the link got slower for good, which first looks like queueing
+        final long slowerRoundTripNanos = roundTripNanos * AdaptiveChunkConcurrency.QUEUEING_FACTOR + 1;
+        concurrency.onChunkAcknowledged(slowerRoundTripNanos, CHUNK_SIZE);
+        assertEquals(Math.max(min, max / 2), concurrency.concurrentChunks());
+        // once the fast round trips are forgotten, it takes fewer than max * max chunks to grow back to the maximum
+        for (int i = 0; i < 2 * AdaptiveChunkConcurrency.BASELINE_WINDOW + max * max; i++) {
+            concurrency.onChunkAcknowledged(slowerRoundTripNanos, CHUNK_SIZE);
+        }
+        assertEquals(max, concurrency.concurrentChunks());
+    }
+
+    public void testFixedWhenBoundsAreEqual() {
+        final int chunks = between(1, 8);
+        final AdaptiveChunkConcurrency concurrency = new AdaptiveChunkConcurrency(CHUNK_SIZE, chunks, chunks);
+        final int acknowledgements = between(1, 100);
+        for (int i = 0; i < acknowledgements; i++) {
+            concurrency.onChunkAcknowledged(randomLongBetween(1, 1_000_000_000L), CHUNK_SIZE);
+            assertEquals(chunks, concurrency.concurrentChunks());
+        }
+    }
+
+    public void testRejectsInvalidBounds() {
+        expectThrows(IllegalArgumentException.class, () -> new AdaptiveChunkConcurrency(CHUNK_SIZE, 0, between(0, 8)));
+        final int min = between(2, 8);
+        final IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> new AdaptiveChunkConcurrency(CHUNK_SIZE, min, between(1, min - 1))
+        );
+        assertThat(e.getMessage(), containsString("invalid concurrent chunks bounds"));
+    }
+}
@@ -26,6 +26,17 @@ public class RecoverySettingsDynamicUpdateTests extends ESTestCase {
         assertEquals(null, recoverySettings.rateLimiter());
     }
 
+    public void testMaxAdaptiveConcurrentFileChunks() {
+        assertEquals(0, recoverySettings.getMaxAdaptiveConcurrentFileChunks());
+        int maxChunks = between(0, 32);
+        clusterSettings.applySettings(
+            Settings.builder()
+                .put(RecoverySettings.INDICES_RECOVERY_MAX_ADAPTIVE_CONCURRENT_FILE_CHUNKS_SETTING.getKey(), maxChunks)
+                .build()
+        );
+        assertEquals(maxChunks, recoverySettings.getMaxAdaptiveConcurrentFileChunks());
+    }
+
     public void testRetryDelayStateSync() {
         long duration = between(1, 1000);
         TimeUnit timeUnit = randomFrom(TimeUnit.MILLISECONDS, TimeUnit.SECONDS, TimeUnit.MINUTES, TimeUnit.HOURS);
@@ -16,7 +16,9 @@ import org.elasticsearch.xcontent.XContentParser;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import static org.elasticsearch.common.xcontent.XContentParserUtils.ensureExpectedToken;
@@ -35,7 +37,22 @@ public class QueryProfileShardResultTests extends AbstractXContentSerializingTes
         }
 
         Long vectorOperationsCount = randomBoolean() ? null : randomNonNegativeLong();
-        return new QueryProfileShardResult(queryProfileResults, rewriteTime, profileCollector, vectorOperationsCount);
+        Map<String, Integer> knnFilterStrategies = null;
+        if (randomBoolean()) {
+            knnFilterStrategies = new LinkedHashMap<>();
+            for (String strategy : randomSubsetOf(List.of("exact", "filtered_hnsw", "post_filter"))) {
+                knnFilterStrategies.put(strategy, randomIntBetween(1, 100));
+            }
+        }
+        Long vectorMajorPageFaults = randomBoolean() ? null : randomNonNegativeLong();
+        return new QueryProfileShardResult(
+            queryProfileResults,
+            rewriteTime,
+            profileCollector,
+            vectorOperationsCount,
+            knnFilterStrategies,
+            vectorMajorPageFaults
+        );
     }
 
     @Override
@@ -63,6 +80,6 @@ public class QueryProfileShardResultTests extends AbstractXContentSerializingTes
 
     @Override
     protected Predicate<String> getRandomFieldsExcludeFilter() {
-        return ProfileResultTests.RANDOM_FIELDS_EXCLUDE_FILTER;
+        return ProfileResultTests.RANDOM_FIELDS_EXCLUDE_FILTER.or(s -> s.endsWith(QueryProfileShardResult.KNN_FILTER_STRATEGIES));
     }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopKnnCollector;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.search.profile.query.QueryProfiler;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.lessThan;
+
+public class ESKnnFloatVectorQueryTests extends ESTestCase {
+
+    /**
+     * Segments are searched with a collector that shares the similarity of the k-th best hit across segments, so segments that are
+     * searched after the one holding the nearest neighbors stop exploring their graph early.
+     */
+    public void testSegmentsShareMinCompetitiveSimilarity() throws IOException {
+        final int numSegments = 5;
+        final int docsPerSegment = 500;
+        final int k = 10;
+        final float[] target = new float[] { 1f, 0f };
+        try (Directory dir = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+                for (int segment = 0; segment < numSegments; segment++) {
+                    for (int i = 0; i < docsPerSegment; i++) {
+                        // unit vectors that get further away from the target from one segment to the next
+                        final double angle = Math.PI / 2 * (segment * docsPerSegment + i) / (numSegments * docsPerSegment);
+                        final Document doc = new Document();
+                        doc.add(
+                            new KnnFloatVectorField(
+                                "vector",
+                                new float[] { (float) Math.cos(angle), (float) Math.sin(angle) },
+                                VectorSimilarityFunction.DOT_PRODUCT
+                            )
+                        );
+                        writer.addDocument(doc);
+                    }
+                    writer.flush();
+                }
+            }
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                assertEquals(numSegments, reader.leaves().size());
+                long independentVisits = 0;
+                for (LeafReaderContext leaf : reader.leaves()) {
+                    final TopKnnCollector collector = new TopKnnCollector(k, Integer.MAX_VALUE);
+                    leaf.reader().searchNearestVectors("vector", target, collector, null);
+                    independentVisits += collector.visitedCount();
+                }
+
+                final ESKnnFloatVectorQuery query = new ESKnnFloatVectorQuery("vector", target, k, null);
+                // no executor so that segments are searched in order, starting with the one holding the nearest neighbors
+                final TopDocs topDocs = new IndexSearcher(reader).search(query, k);
+                assertEquals(k, topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    assertThat(scoreDoc.doc, lessThan(docsPerSegment));
+                }
+                final QueryProfiler profiler = new QueryProfiler();
+                query.profile(profiler);
+                assertThat(profiler.getVectorOpsCount(), lessThan(independentVisits));
+                // page faults are only counted once the query is profiled
+                assertNull(profiler.getVectorMajorPageFaults());
+            }
+        }
+    }
+
+    public void testFilterStrategyIsProfiled() throws IOException {
+        final int numDocs = 1000;
+        final int k = 10;
+        final float[] target = new float[] { 1f, 0f };
+        try (Directory dir = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig())) {
+                for (int i = 0; i < numDocs; i++) {
+                    final double angle = Math.PI / 2 * i / numDocs;
+                    final Document doc = new Document();
+                    doc.add(
+                        new KnnFloatVectorField(
+                            "vector",
+                            new float[] { (float) Math.cos(angle), (float) Math.sin(angle) },
+                            VectorSimilarityFunction.DOT_PRODUCT
+                        )
+                    );
+                    // a restrictive filter, and a broad one that matches the nearest neighbors
+                    doc.add(new StringField("rare", i % 50 == 0 ? "yes" : "no", Field.Store.NO));
+                    doc.add(new StringField("common", i < 900 ? "yes" : "no", Field.Store.NO));
+                    writer.addDocument(doc);
+                }
+                writer.forceMerge(1);
+            }
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                final IndexSearcher searcher = new IndexSearcher(reader);
+
+                final ESKnnFloatVectorQuery rareQuery = new ESKnnFloatVectorQuery(
+                    "vector",
+                    target,
+                    k,
+                    new TermQuery(new Term("rare", "yes"))
+                );
+                final TopDocs rareTopDocs = searcher.search(rareQuery, k);
+                assertEquals(k, rareTopDocs.scoreDocs.length);
+                for (int i = 0; i < k; i++) {
+                    // exact search finds the true nearest neighbors
+                    assertEquals(i * 50, rareTopDocs.scoreDocs[i].doc);
+                }
+                final QueryProfiler rareProfiler = new QueryProfiler();
+                rareQuery.profile(rareProfiler);
+                assertEquals(Map.of("exact", 1), rareProfiler.getKnnFilterStrategies());
+
+                final ESKnnFloatVectorQuery commonQuery = new ESKnnFloatVectorQuery(
+                    "vector",
+                    target,
+                    k,
+                    new TermQuery(new Term("common", "yes"))
+                );
+                final TopDocs commonTopDocs = searcher.search(commonQuery, k);
+                assertEquals(k, commonTopDocs.scoreDocs.length);
+                final QueryProfiler commonProfiler = new QueryProfiler();
+                commonQuery.profile(commonProfiler);
+                assertEquals(Map.of("post_filter", 1), commonProfiler.getKnnFilterStrategies());
+
+                final ESKnnFloatVectorQuery unfilteredQuery = new ESKnnFloatVectorQuery("vector", target, k, null);
+                searcher.search(unfilteredQuery, k);
+                final QueryProfiler unfilteredProfiler = new QueryProfiler();
+                unfilteredQuery.profile(unfilteredProfiler);
+                assertNull(unfilteredProfiler.getKnnFilterStrategies());
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopKnnCollector;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.Map;
+
+public class KnnFilterStrategyTests extends ESTestCase {
+
+    public void testSelect() {
+        // fewer matching documents than requested
+        assertEquals(KnnFilterStrategy.EXACT, KnnFilterStrategy.select(10, 10, 1_000_000));
+        assertEquals(KnnFilterStrategy.EXACT, KnnFilterStrategy.select(10, 100, 5));
+        // a restrictive filter makes the graph search visit more vectors than there are matching documents
+        assertEquals(KnnFilterStrategy.EXACT, KnnFilterStrategy.select(100, 10_000, 1_000_000));
+        // a moderately selective filter
+        assertEquals(KnnFilterStrategy.FILTERED_HNSW, KnnFilterStrategy.select(100, 100_000, 1_000_000));
+        // a filter that matches most documents
+        assertEquals(KnnFilterStrategy.POST_FILTER, KnnFilterStrategy.select(100, 900_000, 1_000_000));
+        assertEquals(KnnFilterStrategy.POST_FILTER, KnnFilterStrategy.select(100, 1_000_000, 1_000_000));
+    }
+
+    public void testPostFilterCandidates() {
+        assertEquals(20, KnnFilterStrategy.postFilterCandidates(10, 500, 1000));
+        assertEquals(10, KnnFilterStrategy.postFilterCandidates(10, 1000, 1000));
+        assertEquals(1000, KnnFilterStrategy.postFilterCandidates(600, 500, 1000));
+    }
+
+    public void testPostFilterCollector() {
+        final FixedBitSet filter = new FixedBitSet(6);
+        filter.set(1);
+        filter.set(2);
+        filter.set(4);
+        final TopKnnCollector segmentCollector = new TopKnnCollector(2, 100);
+        final KnnFilterStrategy.PostFilterCollector collector = new KnnFilterStrategy.PostFilterCollector(segmentCollector, filter, 4);
+        assertEquals(4, collector.k());
+        assertEquals(100, collector.visitLimit());
+
+        for (int doc = 0; doc < 6; doc++) {
+            collector.incVisitedCount(1);
+            collector.collect(doc, 1f - doc * 0.1f);
+        }
+        // visits count towards the collector of the segment
+        assertEquals(6, segmentCollector.visitedCount());
+        assertEquals(6, collector.visitedCount());
+        // the second best candidate that matches the filter bounds the search more tightly than the fourth best candidate
+        assertEquals(0.8f, collector.minCompetitiveSimilarity(), 1e-6f);
+
+        final TopDocs filtered = collector.topDocs();
+        assertEquals(new TotalHits(6, TotalHits.Relation.EQUAL_TO), filtered.totalHits);
+        assertEquals(2, filtered.scoreDocs.length);
+        assertEquals(1, filtered.scoreDocs[0].doc);
+        assertEquals(2, filtered.scoreDocs[1].doc);
+    }
+
+    public void testPostFilterCollectorRespectsVisitLimit() {
+        final TopKnnCollector segmentCollector = new TopKnnCollector(2, 3);
+        final KnnFilterStrategy.PostFilterCollector collector = new KnnFilterStrategy.PostFilterCollector(
+            segmentCollector,
+            new Bits.MatchAllBits(10),
+            4
+        );
+        collector.incVisitedCount(2);
+        assertFalse(collector.earlyTerminated());
+        collector.incVisitedCount(1);
+        assertTrue(collector.earlyTerminated());
+    }
+
+    public void testCounts() {
+        final KnnFilterStrategy.Counts counts = new KnnFilterStrategy.Counts();
+        assertEquals(Map.of(), counts.toMap());
+        counts.increment(KnnFilterStrategy.EXACT);
+        counts.increment(KnnFilterStrategy.POST_FILTER);
+        counts.increment(KnnFilterStrategy.EXACT);
+        assertEquals(Map.of("exact", 2, "post_filter", 1), counts.toMap());
+    }
+}
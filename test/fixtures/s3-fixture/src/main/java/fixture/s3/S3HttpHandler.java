@@ -94,6 +94,8 @@ public class S3HttpHandler implements HttpHandler {
                 if (blob == null) {
                     exchange.sendResponseHeaders(RestStatus.NOT_FOUND.getStatus(), -1);
                 } else {
+                    // a HEAD response has no body, so its length must be set manually
+                    exchange.getResponseHeaders().add("Content-Length", Integer.toString(blob.length()));
                     exchange.sendResponseHeaders(RestStatus.OK.getStatus(), -1);
                 }
             } else if (Regex.simpleMatch("GET /" + bucket + "/?uploads&prefix=*", request)) {
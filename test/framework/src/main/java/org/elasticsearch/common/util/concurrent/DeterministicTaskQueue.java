@@ -352,6 +352,11 @@ public class DeterministicTaskQueue {
                 return currentTimeMillis;
             }
 
+            @Override
+            public long rawRelativeTimeInNanos() {
+                return TimeUnit.MILLISECONDS.toNanos(currentTimeMillis);
+            }
+
             @Override
             public long absoluteTimeInMillis() {
                 return currentTimeMillis;